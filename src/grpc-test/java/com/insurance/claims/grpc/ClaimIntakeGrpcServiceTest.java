@@ -0,0 +1,205 @@
+package com.insurance.claims.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.insurance.claims.grpc.proto.ClaimDecisionReply;
+import com.insurance.claims.grpc.proto.ClaimIntakeGrpc;
+import com.insurance.claims.grpc.proto.ClaimSubmission;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.ClaimNumberGenerator;
+import com.insurance.claims.service.limit.AdaptiveConcurrencyLimiter;
+import com.insurance.claims.service.limit.ConcurrencyLimiterRegistry;
+import com.insurance.claims.service.limit.TrafficLane;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+
+/**
+ * gRPC批量进件服务测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:grpcintaketest",
+        "claims.grpc.enabled=true",
+        "claims.grpc.port=0",
+        "claims.grpc.max-inflight-per-stream=4",
+        "claims.grpc.worker-threads=4"
+})
+class ClaimIntakeGrpcServiceTest {
+
+    private static final int CLAIM_COUNT = 120;
+
+    @Autowired
+    private ClaimIntakeGrpcService intakeService;
+
+    @Autowired
+    private ClaimNumberGenerator claimNumberGenerator;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry limiterRegistry;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).addService(intakeService).build().start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试双向流批量提交：逐条回传决策，非法申请返回错误而不中断流")
+    void testBulkSubmission() throws InterruptedException {
+        // 准备测试数据：每10条中有1条缺少保单号
+        List<ClaimSubmission> submissions = IntStream.range(0, CLAIM_COUNT)
+                .mapToObj(i -> ClaimSubmission.newBuilder()
+                        .setCorrelationId("REQ-" + i)
+                        .setPolicyholderName("合作方客户" + i)
+                        .setPolicyNumber(i % 10 == 9 ? "" : String.format("POL%09d", 500_000 + i))
+                        .setFlightNumber("MU" + (1000 + i))
+                        .setScheduledDeparture("2025-06-26 08:00:00")
+                        .setActualDeparture("2025-06-26 14:00:00")
+                        .setDelayReason("天气原因")
+                        .setClaimedAmount("500.00")
+                        .build())
+                .collect(Collectors.toList());
+
+        // 执行
+        Map<String, ClaimDecisionReply> replies = new ConcurrentHashMap<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<ClaimSubmission> requests = ClaimIntakeGrpc.newStub(channel)
+                .submitClaims(new StreamObserver<ClaimDecisionReply>() {
+                    @Override
+                    public void onNext(ClaimDecisionReply reply) {
+                        replies.put(reply.getCorrelationId(), reply);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        failure.set(t);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.countDown();
+                    }
+                });
+        submissions.forEach(requests::onNext);
+        requests.onCompleted();
+
+        // 验证结果
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        assertEquals(CLAIM_COUNT, replies.size());
+
+        Set<String> claimNumbers = new HashSet<>();
+        for (int i = 0; i < CLAIM_COUNT; i++) {
+            ClaimDecisionReply reply = replies.get("REQ-" + i);
+            if (i % 10 == 9) {
+                assertEquals(ClaimIntakeGrpcService.INVALID_ARGUMENT, reply.getErrorCode());
+                assertTrue(reply.getErrorMessage().contains("policyNumber"));
+            } else {
+                assertEquals("", reply.getErrorCode(), reply.getErrorMessage());
+                assertFalse(reply.getStatus().isEmpty());
+                claimNumbers.add(reply.getClaimNumber());
+            }
+        }
+        assertEquals(CLAIM_COUNT - CLAIM_COUNT / 10, claimNumbers.size());
+        assertEquals(claimNumbers.size(), claimRepository.count());
+    }
+
+    @Test
+    @DisplayName("测试提交通道并发已满时gRPC申请以UNAVAILABLE回传且不落库")
+    void testSubmitLaneSaturated() {
+        // 准备测试数据：占满提交通道的全部并发许可
+        AdaptiveConcurrencyLimiter limiter = limiterRegistry.limiter(TrafficLane.SUBMIT);
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        ClaimSubmission submission = ClaimSubmission.newBuilder()
+                .setCorrelationId("REQ-BUSY")
+                .setPolicyholderName("合作方客户")
+                .setPolicyNumber("POL000600001")
+                .setFlightNumber("MU2001")
+                .setScheduledDeparture("2025-06-26 08:00:00")
+                .setActualDeparture("2025-06-26 14:00:00")
+                .setDelayReason("天气原因")
+                .setClaimedAmount("500.00")
+                .build();
+
+        // 执行
+        ClaimDecisionReply busy;
+        try {
+            busy = intakeService.handle(submission);
+        } finally {
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(0L);
+            }
+        }
+        ClaimDecisionReply accepted = intakeService.handle(submission);
+
+        // 验证结果
+        assertTrue(acquired > 0);
+        assertEquals(ClaimIntakeGrpcService.UNAVAILABLE, busy.getErrorCode());
+        assertEquals("", accepted.getErrorCode(), accepted.getErrorMessage());
+        assertEquals(1, claimRepository.count());
+        assertEquals(0, limiter.inflight());
+    }
+
+    @Test
+    @DisplayName("测试同一秒内生成的申请单号不重复")
+    void testClaimNumbersUnique() {
+        // 执行
+        Set<String> numbers = IntStream.range(0, 10_000)
+                .mapToObj(i -> claimNumberGenerator.next())
+                .collect(Collectors.toSet());
+
+        // 验证结果
+        assertEquals(10_000, numbers.size());
+        assertTrue(numbers.stream().allMatch(number -> number.matches("CLAIM\\d{20}")));
+    }
+}
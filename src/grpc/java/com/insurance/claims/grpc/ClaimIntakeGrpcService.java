@@ -0,0 +1,257 @@
+package com.insurance.claims.grpc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.grpc.proto.ClaimDecisionReply;
+import com.insurance.claims.grpc.proto.ClaimIntakeGrpc;
+import com.insurance.claims.grpc.proto.ClaimSubmission;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.limit.AdaptiveConcurrencyLimiter;
+import com.insurance.claims.service.limit.ConcurrencyLimiterRegistry;
+import com.insurance.claims.service.limit.TrafficLane;
+import com.insurance.claims.service.validation.ClaimValidation;
+import com.insurance.claims.service.validation.ClaimValidator;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * gRPC批量进件服务
+ * 每条流关闭自动拉取，启动时只向客户端请求 max-inflight-per-stream 条申请，每回传一条决策再请求一条；
+ * 客户端读取回传结果不及时（传输层不可写）时暂停拉取，直到可写后再补发请求，因此服务端为每条流缓冲的申请与结果都有上限。
+ * 申请在工作线程池中并发处理，决策结果按完成顺序回传。
+ * 每条申请与 HTTP 提交接口共用提交通道的并发许可，通道已满时该条申请以 UNAVAILABLE 回传，客户端可稍后重发。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.grpc.enabled", havingValue = "true")
+public class ClaimIntakeGrpcService extends ClaimIntakeGrpc.ClaimIntakeImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimIntakeGrpcService.class);
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    static final String INVALID_ARGUMENT = "INVALID_ARGUMENT";
+    static final String INTERNAL = "INTERNAL";
+    static final String UNAVAILABLE = "UNAVAILABLE";
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private ClaimValidator claimValidator;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry limiterRegistry;
+
+    @Value("${claims.limiter.enabled:true}")
+    private boolean limiterEnabled;
+
+    private final int maxInflightPerStream;
+    private final ExecutorService workers;
+
+    public ClaimIntakeGrpcService(
+            @Value("${claims.grpc.max-inflight-per-stream:32}") int maxInflightPerStream,
+            @Value("${claims.grpc.worker-threads:8}") int workerThreads) {
+        this.maxInflightPerStream = maxInflightPerStream;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "grpc-intake-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public StreamObserver<ClaimSubmission> submitClaims(StreamObserver<ClaimDecisionReply> responseObserver) {
+        ServerCallStreamObserver<ClaimDecisionReply> call =
+                (ServerCallStreamObserver<ClaimDecisionReply>) responseObserver;
+        IntakeStream stream = new IntakeStream(call);
+        call.disableAutoRequest();
+        call.setOnReadyHandler(stream::onReady);
+        call.setOnCancelHandler(stream::onCancel);
+        call.request(maxInflightPerStream);
+        return stream;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * 处理单条申请，参数错误与处理失败都以结果消息回传，不中断整条流
+     */
+    ClaimDecisionReply handle(ClaimSubmission submission) {
+        ClaimDecisionReply.Builder reply = ClaimDecisionReply.newBuilder()
+                .setCorrelationId(submission.getCorrelationId());
+
+        TravelDelayClaimRequest request;
+        try {
+            request = toRequest(submission);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return reply.setErrorCode(INVALID_ARGUMENT).setErrorMessage("字段格式错误: " + e.getMessage()).build();
+        }
+        ClaimValidation validation = claimValidator.check(request);
+        if (!validation.isValid()) {
+            String message = validation.fieldErrors().entrySet().stream()
+                    .map(entry -> entry.getKey() + ": " + entry.getValue())
+                    .collect(Collectors.joining("; "));
+            return reply.setErrorCode(INVALID_ARGUMENT).setErrorMessage(message).build();
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiterEnabled ? limiterRegistry.limiter(TrafficLane.SUBMIT) : null;
+        if (limiter != null && !limiter.tryAcquire()) {
+            logger.debug("提交通道并发已达上限 {}，拒绝gRPC申请: {}", limiter.limit(), submission.getCorrelationId());
+            return reply.setErrorCode(UNAVAILABLE).setErrorMessage("提交请求过多，请稍后重试").build();
+        }
+
+        long start = System.nanoTime();
+        try {
+            ClaimResponse response = claimService.processClaim(validation, false);
+            reply.setClaimNumber(response.getClaimNumber())
+                    .setStatus(response.getStatus().name())
+                    .setEligible(response.isEligible())
+                    .setRequiresManualReview(response.isRequiresManualReview());
+            if (response.getCalculatedAmount() != null) {
+                reply.setCalculatedAmount(response.getCalculatedAmount().toPlainString());
+            }
+            if (response.getReason() != null) {
+                reply.setReason(response.getReason());
+            }
+            if (response.getRuleName() != null) {
+                reply.setRuleName(response.getRuleName());
+            }
+            if (response.getRiskLevel() != null) {
+                reply.setRiskLevel(response.getRiskLevel());
+            }
+            return reply.build();
+        } catch (RuntimeException e) {
+            boolean invalid = e instanceof IllegalArgumentException || e.getCause() instanceof IllegalArgumentException;
+            if (!invalid) {
+                logger.error("gRPC进件处理失败，请求标识: {}", submission.getCorrelationId(), e);
+            }
+            return reply.setErrorCode(invalid ? INVALID_ARGUMENT : INTERNAL)
+                    .setErrorMessage(String.valueOf(e.getMessage()))
+                    .build();
+        } finally {
+            if (limiter != null) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static TravelDelayClaimRequest toRequest(ClaimSubmission submission) {
+        return TravelDelayClaimRequest.builder()
+                .policyholderName(emptyToNull(submission.getPolicyholderName()))
+                .policyNumber(emptyToNull(submission.getPolicyNumber()))
+                .productCode(emptyToNull(submission.getProductCode()))
+                .flightNumber(emptyToNull(submission.getFlightNumber()))
+                .scheduledDeparture(parseTime(submission.getScheduledDeparture()))
+                .actualDeparture(parseTime(submission.getActualDeparture()))
+                .delayReason(emptyToNull(submission.getDelayReason()))
+                .claimedAmount(submission.getClaimedAmount().isEmpty() ? null
+                        : new BigDecimal(submission.getClaimedAmount()))
+                .build();
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value.isEmpty() ? null : LocalDateTime.parse(value, TIME_FORMAT);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 单条双向流的状态：执行中的申请数、因不可写而推迟的拉取数、客户端是否已结束发送
+     */
+    private final class IntakeStream implements StreamObserver<ClaimSubmission> {
+
+        private final ServerCallStreamObserver<ClaimDecisionReply> call;
+        private int inflight;
+        private int deferredRequests;
+        private boolean halfClosed;
+        private boolean closed;
+
+        private IntakeStream(ServerCallStreamObserver<ClaimDecisionReply> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onNext(ClaimSubmission submission) {
+            synchronized (this) {
+                inflight++;
+            }
+            workers.execute(() -> complete(handle(submission)));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.warn("gRPC进件流异常中断: {}", t.getMessage());
+            onCancel();
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            halfClosed = true;
+            finishIfDrained();
+        }
+
+        synchronized void onReady() {
+            if (deferredRequests > 0 && !halfClosed && !closed) {
+                call.request(deferredRequests);
+                deferredRequests = 0;
+            }
+        }
+
+        synchronized void onCancel() {
+            closed = true;
+        }
+
+        private synchronized void complete(ClaimDecisionReply reply) {
+            inflight--;
+            if (closed) {
+                return;
+            }
+            call.onNext(reply);
+            if (!halfClosed) {
+                if (call.isReady()) {
+                    call.request(1);
+                } else {
+                    deferredRequests++;
+                }
+            }
+            finishIfDrained();
+        }
+
+        private void finishIfDrained() {
+            if (halfClosed && inflight == 0 && !closed) {
+                closed = true;
+                call.onCompleted();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.insurance.claims.grpc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+
+/**
+ * gRPC服务端生命周期
+ * 随应用上下文启动和停止，停止时先拒绝新流，再等待进行中的流在宽限期内结束
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.grpc.enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final ClaimIntakeGrpcService intakeService;
+    private final int port;
+    private final long shutdownGraceSeconds;
+
+    private volatile Server server;
+
+    public GrpcServerLifecycle(ClaimIntakeGrpcService intakeService,
+            @Value("${claims.grpc.port:9090}") int port,
+            @Value("${claims.grpc.shutdown-grace-seconds:10}") long shutdownGraceSeconds) {
+        this.intakeService = intakeService;
+        this.port = port;
+        this.shutdownGraceSeconds = shutdownGraceSeconds;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                    .addService(intakeService)
+                    .build()
+                    .start();
+            logger.info("gRPC批量进件服务已启动，端口: {}", server.getPort());
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC服务启动失败，端口: " + port, e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        logger.info("gRPC批量进件服务已停止");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 实际监听端口（配置为0时由系统分配）
+     */
+    public int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.archive.ClaimArchive;
+import com.insurance.claims.service.archive.ClaimArchiveService;
+
+/**
+ * 理赔归档监控端点
+ * GET 查询段数、归档申请数与压缩率，POST 立即归档超过保留期的已结案申请
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimarchive")
+public class ClaimArchiveEndpoint {
+
+    @Autowired
+    private ClaimArchive claimArchive;
+
+    @Autowired
+    private ClaimArchiveService claimArchiveService;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return claimArchive.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> archive() {
+        claimArchiveService.archiveNow();
+        return claimArchive.stats();
+    }
+}
@@ -0,0 +1,37 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.cache.ClaimSnapshotCache;
+
+/**
+ * 理赔申请快照缓存监控端点
+ * GET 查询命中率与合并加载次数，DELETE 清空缓存
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimcache")
+public class ClaimCacheEndpoint {
+
+    @Autowired
+    private ClaimSnapshotCache claimSnapshotCache;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return claimSnapshotCache.stats();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clear() {
+        claimSnapshotCache.clear();
+        return claimSnapshotCache.stats();
+    }
+}
@@ -0,0 +1,37 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.dedup.DuplicateClaimDetector;
+
+/**
+ * 重复申请过滤器监控端点
+ * GET 查询误判率与内存占用，POST 从数据库重建过滤器
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimdedup")
+public class ClaimDedupEndpoint {
+
+    @Autowired
+    private DuplicateClaimDetector duplicateClaimDetector;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return duplicateClaimDetector.stats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        duplicateClaimDetector.rebuild();
+        return duplicateClaimDetector.stats();
+    }
+}
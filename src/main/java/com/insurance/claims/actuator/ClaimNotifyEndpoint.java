@@ -0,0 +1,30 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.notify.ClaimSubscriptionRegistry;
+
+/**
+ * 决策推送监控端点
+ * GET 查询当前订阅数、订阅上限、拒绝订阅数与推送成功/失败数
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimnotify")
+public class ClaimNotifyEndpoint {
+
+    @Autowired
+    private ClaimSubscriptionRegistry subscriptionRegistry;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return subscriptionRegistry.stats();
+    }
+}
@@ -0,0 +1,33 @@
+package com.insurance.claims.actuator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.warmup.ClaimWarmupRunner;
+
+/**
+ * 启动预热健康指标
+ * 预热完成（或未启用）前为 OUT_OF_SERVICE，纳入就绪探针分组 /actuator/health/readiness
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimWarmupHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private ClaimWarmupRunner warmupRunner;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        ClaimWarmupRunner.State state = warmupRunner.getState();
+        if (state == ClaimWarmupRunner.State.COMPLETED || state == ClaimWarmupRunner.State.DISABLED) {
+            builder.up();
+        } else {
+            builder.outOfService();
+        }
+        builder.withDetails(warmupRunner.stats());
+    }
+}
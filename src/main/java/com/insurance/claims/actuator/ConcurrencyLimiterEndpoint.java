@@ -0,0 +1,30 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.limit.ConcurrencyLimiterRegistry;
+
+/**
+ * 并发限制监控端点
+ * GET 查询各通道的当前上限、执行中请求数与拒绝数
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimlimiter")
+public class ConcurrencyLimiterEndpoint {
+
+    @Autowired
+    private ConcurrencyLimiterRegistry limiterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return limiterRegistry.stats();
+    }
+}
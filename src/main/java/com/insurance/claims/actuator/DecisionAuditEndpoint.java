@@ -0,0 +1,46 @@
+package com.insurance.claims.actuator;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.audit.DecisionAuditJournal;
+import com.insurance.claims.service.audit.DecisionAuditReplayer;
+import com.insurance.claims.service.audit.DecisionReplayReport;
+
+/**
+ * 决策审计端点
+ * GET 查询审计日志写入与刷盘统计，POST 以当前规则回放时间范围内的决策（默认最近24小时）并返回核对报告；
+ * 不支持按历史规则版本回放，记录版本与当前版本不同的决策在报告中单独计数
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimaudit")
+public class DecisionAuditEndpoint {
+
+    @Autowired
+    private DecisionAuditJournal journal;
+
+    @Autowired
+    private DecisionAuditReplayer replayer;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return journal.stats();
+    }
+
+    @WriteOperation
+    public DecisionReplayReport replay(@Nullable String from, @Nullable String to) {
+        LocalDateTime end = to != null ? LocalDateTime.parse(to) : LocalDateTime.now();
+        LocalDateTime start = from != null ? LocalDateTime.parse(from) : end.minusHours(24);
+        return replayer.replay(start, end);
+    }
+}
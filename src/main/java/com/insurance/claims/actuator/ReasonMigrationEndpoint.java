@@ -0,0 +1,40 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.migration.ReasonCodeMigration;
+
+/**
+ * 决策原因代码迁移端点
+ * GET 查询各分片是否仍保留 approval_result 列；POST 执行迁移收尾（转换剩余旧版申请并删除旧列），
+ * 须在所有实例升级后由运维显式调用，执行后不可回滚到旧版本
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "claimreasonmigration")
+public class ReasonMigrationEndpoint {
+
+    @Autowired
+    private ReasonCodeMigration migration;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return migration.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> finalizeMigration() {
+        int migrated = migration.finalizeMigration();
+        Map<String, Object> status = migration.status();
+        status.put("migrated", migrated);
+        return status;
+    }
+}
@@ -0,0 +1,37 @@
+package com.insurance.claims.actuator;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.service.trace.RuleProfiler;
+
+/**
+ * 规则执行画像端点
+ * GET 查询按累计耗时排序的规则画像，DELETE 清空累计数据
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Endpoint(id = "ruleprofile")
+public class RuleProfileEndpoint {
+
+    @Autowired
+    private RuleProfiler ruleProfiler;
+
+    @ReadOperation
+    public Map<String, Object> profiles() {
+        return ruleProfiler.profiles();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> reset() {
+        ruleProfiler.reset();
+        return ruleProfiler.profiles();
+    }
+}
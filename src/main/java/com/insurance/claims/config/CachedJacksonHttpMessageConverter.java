@@ -0,0 +1,112 @@
+package com.insurance.claims.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * 复用预构建读写器的Jackson消息转换器
+ * 按目标类型缓存ObjectReader/ObjectWriter，常用报文类型在启动时预先构建，请求处理时不再查找根类型的序列化器；
+ * 报文格式（JSON、Smile、CBOR）由传入ObjectMapper的底层工厂决定。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class CachedJacksonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final Predicate<Class<?>> supportedTypes;
+    private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper        报文格式对应的ObjectMapper
+     * @param supportedTypes      允许处理的类型
+     * @param supportedMediaTypes 支持的媒体类型
+     */
+    public CachedJacksonHttpMessageConverter(ObjectMapper objectMapper, Predicate<Class<?>> supportedTypes,
+            MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.objectMapper = objectMapper;
+        this.supportedTypes = supportedTypes;
+    }
+
+    /**
+     * 预先构建指定类型的读写器
+     */
+    public CachedJacksonHttpMessageConverter prebuild(Type... types) {
+        for (Type type : types) {
+            reader(type);
+            writer(type);
+        }
+        return this;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * 获取指定类型的读取器
+     */
+    public ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, key -> objectMapper.readerFor(objectMapper.constructType(key)));
+    }
+
+    /**
+     * 获取指定类型的写入器
+     */
+    public ObjectWriter writer(Type type) {
+        return writers.computeIfAbsent(type, key -> objectMapper.writerFor(objectMapper.constructType(key)));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return supportedTypes.test(clazz);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readValue(GenericTypeResolver.resolveType(type, contextClass), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readValue(clazz, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Type target = type == null || type == Object.class || type instanceof Class<?> && ((Class<?>) type).isInterface()
+                ? object.getClass()
+                : type;
+        try {
+            writer(target).writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("报文序列化失败: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private Object readValue(Type type, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return reader(type).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("报文解析失败: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+}
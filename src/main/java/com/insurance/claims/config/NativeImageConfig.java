@@ -0,0 +1,83 @@
+package com.insurance.claims.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.insurance.claims.controller.ReviewQueueController;
+import com.insurance.claims.controller.TravelDelayClaimController;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.ClaimTrendPoint;
+import com.insurance.claims.dto.ClaimTrendStats;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.SettlementRun;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.store.ClaimEvent;
+import com.insurance.claims.service.store.EventSourcedClaimStore;
+
+/**
+ * 原生镜像配置
+ * 登记Spring AOT无法自行推断的反射与资源提示：以通配响应类型返回或由ObjectMapper直接读写（发件箱、归档、事件日志）的报文类型，
+ * 规则引擎通过反射访问的事实对象，以及运行时按路径加载的规则文件、决策表与决策原因模板字典。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.ClaimsRuntimeHints.class)
+public class NativeImageConfig {
+
+    /**
+     * 按JSON绑定方式登记的报文类型（含属性类型与嵌套类型）
+     */
+    static final Class<?>[] BINDING_TYPES = {
+            TravelDelayClaimRequest.class,
+            ClaimResponse.class,
+            ClaimTrendStats.class,
+            ClaimTrendPoint.class,
+            TravelDelayClaim.class,
+            SettlementRun.class,
+            ClaimDecisionEvent.class,
+            TravelDelayClaimController.ManualReviewRequest.class,
+            ReviewQueueController.LeaseRequest.class,
+            ReviewQueueController.ReleaseRequest.class,
+            ClaimEvent.class,
+            EventSourcedClaimStore.Snapshot.class
+    };
+
+    /**
+     * 规则条件与结果中通过反射访问的事实对象
+     */
+    static final Class<?>[] RULE_FACT_TYPES = { TravelDelayClaim.class, ClaimDecision.class, ClaimReasonCode.class };
+
+    static final String[] RULE_RESOURCES = { "rules/core/*.drl", "rules/products/*" };
+
+    /**
+     * 决策原因模板字典
+     */
+    static final String REASON_BUNDLE = "i18n/claim-reasons";
+
+    static class ClaimsRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(), BINDING_TYPES);
+            for (Class<?> type : RULE_FACT_TYPES) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+            for (String pattern : RULE_RESOURCES) {
+                hints.resources().registerPattern(pattern);
+            }
+            hints.resources().registerResourceBundle(REASON_BUNDLE);
+        }
+    }
+}
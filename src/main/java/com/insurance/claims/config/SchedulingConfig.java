@@ -0,0 +1,15 @@
+package com.insurance.claims.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,81 @@
+package com.insurance.claims.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.insurance.claims.service.shard.ClaimShardRouter;
+import com.insurance.claims.service.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 分片数据源配置（claims.sharding.enabled=true）
+ * 为 claims.sharding.urls 中的每个地址建立连接池（用户名、密码、驱动沿用 spring.datasource.*），
+ * 以按当前分片路由的数据源作为JPA的主数据源，并用LazyConnectionDataSourceProxy推迟取连接到首条语句执行时。
+ * ddl-auto 为 create/create-drop 时，默认分片由Hibernate建表，其余分片在启动完成前按同一映射建表。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Configuration
+@ConditionalOnProperty(name = "claims.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties,
+            @Value("${claims.sharding.urls}") String[] urls) {
+        Map<Integer, DataSource> shards = new LinkedHashMap<>();
+        for (int shard = 0; shard < urls.length; shard++) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls[shard].trim())
+                    .build();
+            dataSource.setPoolName("claims-shard-" + shard);
+            shards.put(shard, dataSource);
+        }
+        logger.info("理赔申请分片已配置，分片数: {}", urls.length);
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+            ClaimShardRouter shardRouter, @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return () -> {
+            if (!"create".equals(ddlAuto) && !"create-drop".equals(ddlAuto)) {
+                return;
+            }
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+                shardRouter.onShard(shard, () -> {
+                    sessionFactory.getSchemaManager().dropMappedObjects(true);
+                    sessionFactory.getSchemaManager().exportMappedObjects(true);
+                    return null;
+                });
+            }
+            logger.info("已在其余 {} 个分片上建表", shardRouter.shardCount() - 1);
+        };
+    }
+}
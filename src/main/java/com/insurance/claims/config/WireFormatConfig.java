@@ -0,0 +1,73 @@
+package com.insurance.claims.config;
+
+import java.lang.reflect.Type;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 报文格式配置
+ * 理赔接口除JSON外支持Smile（application/x-jackson-smile）与CBOR（application/cbor），按Content-Type解析请求、
+ * 按Accept协商响应格式。三种格式共用spring.jackson.*配置与Blackbird模块（以LambdaMetafactory生成的访问器替代反射），
+ * 理赔报文类型的读写器在启动时预先构建。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * 预先构建读写器的理赔报文类型
+     */
+    static final Type[] CLAIM_TYPES = { TravelDelayClaimRequest.class, ClaimResponse.class, TravelDelayClaim.class };
+
+    /**
+     * 原生镜像不支持运行时生成类，以空模块代替Blackbird，访问器退回反射
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+
+    /**
+     * 理赔报文的JSON转换器，其余类型（字符串、监控端点、接口文档等）仍由默认转换器处理
+     */
+    @Bean
+    public CachedJacksonHttpMessageConverter claimJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachedJacksonHttpMessageConverter(objectMapper, WireFormatConfig::isClaimType,
+                MediaType.APPLICATION_JSON).prebuild(CLAIM_TYPES);
+    }
+
+    @Bean
+    public CachedJacksonHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new CachedJacksonHttpMessageConverter(builder.factory(new SmileFactory()).build(),
+                type -> type != String.class, APPLICATION_SMILE).prebuild(CLAIM_TYPES);
+    }
+
+    @Bean
+    public CachedJacksonHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new CachedJacksonHttpMessageConverter(builder.factory(new CBORFactory()).build(),
+                type -> type != String.class, MediaType.APPLICATION_CBOR).prebuild(CLAIM_TYPES);
+    }
+
+    static boolean isClaimType(Class<?> type) {
+        return type.getName().startsWith("com.insurance.claims.dto.")
+                || type.getName().startsWith("com.insurance.claims.model.");
+    }
+}
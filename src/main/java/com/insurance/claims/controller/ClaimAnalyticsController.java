@@ -0,0 +1,96 @@
+package com.insurance.claims.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.insurance.claims.dto.ClaimTrendPoint;
+import com.insurance.claims.dto.ClaimTrendStats;
+import com.insurance.claims.service.analytics.RollingClaimAnalytics;
+import com.insurance.claims.service.analytics.RollingClaimAnalytics.Dimension;
+import com.insurance.claims.service.analytics.RollingClaimAnalytics.Metric;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 理赔趋势统计API控制器
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@RestController
+@RequestMapping("/analytics")
+@Validated
+@Tag(name = "理赔趋势统计", description = "按航班和航空公司统计最近24小时的理赔与赔付趋势")
+public class ClaimAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimAnalyticsController.class);
+
+    @Autowired
+    private RollingClaimAnalytics analytics;
+
+    /**
+     * 查询理赔量排名靠前的航班
+     */
+    @GetMapping("/flights/top")
+    @Operation(summary = "航班理赔排行", description = "查询最近一段时间内指定指标排名前K的航班")
+    public ResponseEntity<List<ClaimTrendStats>> getTopFlights(
+            @Parameter(description = "返回数量", example = "10") @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int k,
+            @Parameter(description = "统计小时数", example = "24") @RequestParam(defaultValue = "24") @Min(1) int hours,
+            @Parameter(description = "排序指标", example = "CLAIMS") @RequestParam(defaultValue = "CLAIMS") Metric metric) {
+
+        logger.debug("查询航班理赔排行，k: {}, hours: {}, metric: {}", k, hours, metric);
+        return ResponseEntity.ok(analytics.topK(Dimension.FLIGHT, metric, k, hours));
+    }
+
+    /**
+     * 查询理赔量排名靠前的航空公司
+     */
+    @GetMapping("/airlines/top")
+    @Operation(summary = "航空公司理赔排行", description = "查询最近一段时间内指定指标排名前K的航空公司")
+    public ResponseEntity<List<ClaimTrendStats>> getTopAirlines(
+            @Parameter(description = "返回数量", example = "10") @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int k,
+            @Parameter(description = "统计小时数", example = "24") @RequestParam(defaultValue = "24") @Min(1) int hours,
+            @Parameter(description = "排序指标", example = "CLAIMS") @RequestParam(defaultValue = "CLAIMS") Metric metric) {
+
+        logger.debug("查询航空公司理赔排行，k: {}, hours: {}, metric: {}", k, hours, metric);
+        return ResponseEntity.ok(analytics.topK(Dimension.AIRLINE, metric, k, hours));
+    }
+
+    /**
+     * 查询航班理赔时间序列
+     */
+    @GetMapping("/flights/{flightNumber}/series")
+    @Operation(summary = "航班理赔趋势", description = "按时间桶返回指定航班的理赔与赔付时间序列")
+    public ResponseEntity<List<ClaimTrendPoint>> getFlightSeries(
+            @Parameter(description = "航班号", required = true, example = "CZ3251") @PathVariable String flightNumber,
+            @Parameter(description = "统计小时数", example = "24") @RequestParam(defaultValue = "24") @Min(1) int hours) {
+
+        return ResponseEntity.ok(analytics.series(Dimension.FLIGHT, flightNumber, hours));
+    }
+
+    /**
+     * 查询航空公司理赔时间序列
+     */
+    @GetMapping("/airlines/{airlineCode}/series")
+    @Operation(summary = "航空公司理赔趋势", description = "按时间桶返回指定航空公司的理赔与赔付时间序列")
+    public ResponseEntity<List<ClaimTrendPoint>> getAirlineSeries(
+            @Parameter(description = "航空公司代码", required = true, example = "CZ") @PathVariable String airlineCode,
+            @Parameter(description = "统计小时数", example = "24") @RequestParam(defaultValue = "24") @Min(1) int hours) {
+
+        return ResponseEntity.ok(analytics.series(Dimension.AIRLINE, airlineCode, hours));
+    }
+}
@@ -0,0 +1,111 @@
+package com.insurance.claims.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.notify.ClaimSubscriptionRegistry;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 理赔决策推送API控制器
+ * 以Server-Sent Events推送决策结果，替代客户端轮询申请详情；事件名为决策事件类型（DECIDED/REVIEWED/PAID），
+ * 数据为JSON格式的决策事件。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@RestController
+@RequestMapping("/claims")
+@Validated
+@Tag(name = "理赔决策推送", description = "按申请单号或保单号订阅决策结果")
+public class ClaimSubscriptionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimSubscriptionController.class);
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @Autowired
+    private ClaimSubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    /**
+     * 订阅申请的决策结果，申请离开待处理状态后推送决策事件并结束事件流；
+     * 订阅时申请已有结果则立即推送 SNAPSHOT 事件并结束
+     */
+    @GetMapping(value = "/{claimNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅申请决策结果", description = "以Server-Sent Events推送申请的自动决策与人工审核结果")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "订阅成功"),
+            @ApiResponse(responseCode = "404", description = "申请单号不存在"),
+            @ApiResponse(responseCode = "503", description = "订阅数已达上限")
+    })
+    public ResponseEntity<SseEmitter> subscribeClaim(
+            @Parameter(description = "申请单号", required = true) @PathVariable @NotBlank String claimNumber) {
+
+        if (claimService.getClaimByNumber(claimNumber).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = subscriptionRegistry.subscribeClaim(claimNumber);
+        if (emitter == null) {
+            return unavailable();
+        }
+
+        // 订阅后再读取当前状态：决策在订阅之前提交时这里读到的是决策后的状态，之后提交时由订阅推送
+        TravelDelayClaim claim = claimService.getClaimByNumber(claimNumber).orElse(null);
+        if (claim != null && claim.getClaimStatus() != TravelDelayClaim.ClaimStatus.PENDING) {
+            subscriptionRegistry.sendSnapshot(emitter, claim);
+        }
+
+        logger.debug("订阅申请决策结果，申请单号: {}", claimNumber);
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 订阅保单下所有申请的决策结果，事件流持续到超时或客户端断开
+     */
+    @GetMapping(value = "/policy/{policyNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅保单决策结果", description = "以Server-Sent Events推送保单下所有申请的决策、审核与结算结果")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "订阅成功"),
+            @ApiResponse(responseCode = "503", description = "订阅数已达上限")
+    })
+    public ResponseEntity<SseEmitter> subscribePolicy(
+            @Parameter(description = "保单号", required = true) @PathVariable @NotBlank String policyNumber) {
+
+        SseEmitter emitter = subscriptionRegistry.subscribePolicy(policyNumber);
+        if (emitter == null) {
+            return unavailable();
+        }
+
+        logger.debug("订阅保单决策结果，保单号: {}", policyNumber);
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static ResponseEntity<SseEmitter> unavailable() {
+        logger.warn("决策推送订阅数已达上限，拒绝订阅");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.insurance.claims.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.insurance.claims.service.limit.AdaptiveConcurrencyLimiter;
+import com.insurance.claims.service.limit.ConcurrencyLimiterRegistry;
+import com.insurance.claims.service.limit.TrafficLane;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 理赔接口并发限制过滤器
+ * 在请求体解析之前按通道获取并发许可，超过上限时立即返回 503 与 Retry-After，
+ * 不让请求在线程池和数据库连接池中排队超时；请求结束后以实际耗时调整通道上限。
+ * 通道按解码并去掉分号参数后的应用内路径划分，与控制器映射看到的路径一致，编码或带路径参数的请求不会绕过限流。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    static {
+        PATH_HELPER.setAlwaysUseFullPath(true);
+    }
+
+    private final ConcurrencyLimiterRegistry limiterRegistry;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiterRegistry limiterRegistry,
+            @Value("${claims.limiter.enabled:true}") boolean enabled,
+            @Value("${claims.limiter.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.limiterRegistry = limiterRegistry;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = PATH_HELPER.getLookupPathForRequest(request);
+        TrafficLane lane = enabled ? laneOf(request.getMethod(), path) : null;
+        AdaptiveConcurrencyLimiter limiter = lane != null ? limiterRegistry.limiter(lane) : null;
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            logger.debug("{}通道并发已达上限 {}，拒绝请求: {}", lane.getDescription(), limiter.limit(), path);
+            reject(response, lane);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 按请求方法和路径划分通道，不属于理赔业务接口的请求（健康检查、监控端点、接口文档等）返回null
+     */
+    public static TrafficLane laneOf(String method, String path) {
+        if (path == null) {
+            return null;
+        }
+        // 决策推送的事件流是长连接，不经过限流：按请求耗时调整上限的算法不适用，且空闲连接不占用线程
+        if ("GET".equals(method) && path.startsWith("/claims/") && path.endsWith("/events")) {
+            return null;
+        }
+        if (path.startsWith("/claims/review/") || (path.startsWith("/claims/") && path.endsWith("/review"))) {
+            return TrafficLane.REVIEW;
+        }
+        if (path.equals("/claims/submit")) {
+            return TrafficLane.SUBMIT;
+        }
+        if ("GET".equals(method) && !path.equals("/claims/health")
+                && (path.startsWith("/claims/") || path.startsWith("/analytics/"))) {
+            return TrafficLane.READ;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, TrafficLane lane) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":503,\"error\":\"服务繁忙\",\"message\":\"" + lane.getDescription()
+                + "请求过多，请稍后重试\",\"lane\":\"" + lane.name() + "\"}");
+    }
+}
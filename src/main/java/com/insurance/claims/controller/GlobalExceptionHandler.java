@@ -13,6 +13,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.insurance.claims.exception.ClaimConflictException;
+
 /**
  * 全局异常处理器
  * 
@@ -68,6 +70,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    /**
+     * 处理并发冲突异常
+     */
+    @ExceptionHandler(ClaimConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleClaimConflictException(
+            ClaimConflictException ex) {
+
+        logger.warn("并发冲突: {}", ex.getMessage());
+
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("error", "并发冲突");
+        error.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     /**
      * 处理运行时异常
      */
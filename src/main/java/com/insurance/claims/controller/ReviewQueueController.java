@@ -0,0 +1,118 @@
+package com.insurance.claims.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.ReviewQueueService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * 人工审核工作队列API控制器
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@RestController
+@RequestMapping("/claims/review/queue")
+@Validated
+@Tag(name = "人工审核队列", description = "审核员按优先级租用待审核申请")
+public class ReviewQueueController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewQueueController.class);
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
+
+    /**
+     * 领取一批待审核申请
+     */
+    @PostMapping("/lease")
+    @Operation(summary = "领取待审核申请", description = "按优先级领取一批待审核申请，租约到期前其他审核员无法领取")
+    public ResponseEntity<List<TravelDelayClaim>> lease(
+            @Parameter(description = "领取参数", required = true) @Valid @RequestBody LeaseRequest request) {
+
+        logger.info("审核员领取待审核申请，审核员: {}, 批次大小: {}", request.reviewerId, request.batchSize);
+
+        List<TravelDelayClaim> claims = reviewQueueService.lease(
+                request.reviewerId,
+                request.batchSize,
+                request.leaseSeconds);
+
+        return ResponseEntity.ok(claims);
+    }
+
+    /**
+     * 释放审核租约
+     */
+    @PostMapping("/release")
+    @Operation(summary = "释放审核租约", description = "放弃已领取但未审核的申请，使其回到队列")
+    public ResponseEntity<Map<String, Object>> release(
+            @Parameter(description = "释放参数", required = true) @Valid @RequestBody ReleaseRequest request) {
+
+        int released = reviewQueueService.release(request.reviewerId, request.claimNumbers);
+        return ResponseEntity.ok(Map.of("released", released));
+    }
+
+    /**
+     * 查询队列中可领取的申请数量
+     */
+    @GetMapping("/size")
+    @Operation(summary = "查询审核队列长度", description = "查询当前可领取的待审核申请数量")
+    public ResponseEntity<Map<String, Object>> size() {
+        return ResponseEntity.ok(Map.of("available", reviewQueueService.availableCount()));
+    }
+
+    /**
+     * 领取请求内部类
+     */
+    @Schema(description = "领取待审核申请请求")
+    public static class LeaseRequest {
+
+        @Schema(description = "审核员标识", example = "reviewer-01", required = true)
+        @NotBlank(message = "审核员标识不能为空")
+        public String reviewerId;
+
+        @Schema(description = "批次大小", example = "10")
+        @Min(value = 1, message = "批次大小必须大于0")
+        public int batchSize = 10;
+
+        @Schema(description = "租约时长（秒）", example = "300")
+        @Min(value = 1, message = "租约时长必须大于0")
+        public Integer leaseSeconds;
+    }
+
+    /**
+     * 释放请求内部类
+     */
+    @Schema(description = "释放审核租约请求")
+    public static class ReleaseRequest {
+
+        @Schema(description = "审核员标识", example = "reviewer-01", required = true)
+        @NotBlank(message = "审核员标识不能为空")
+        public String reviewerId;
+
+        @Schema(description = "申请单号列表", required = true)
+        @NotEmpty(message = "申请单号列表不能为空")
+        public List<String> claimNumbers;
+    }
+}
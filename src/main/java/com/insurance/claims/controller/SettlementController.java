@@ -0,0 +1,71 @@
+package com.insurance.claims.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.insurance.claims.model.SettlementRun;
+import com.insurance.claims.service.settlement.SettlementService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * 赔款结算API控制器
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@RestController
+@RequestMapping("/settlements")
+@Tag(name = "赔款结算", description = "将已批准申请批量结算为已支付并生成银行付款文件")
+public class SettlementController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SettlementController.class);
+
+    @Autowired
+    private SettlementService settlementService;
+
+    /**
+     * 启动结算
+     */
+    @PostMapping("/run")
+    @Operation(summary = "启动结算", description = "异步结算所有已批准申请；存在未完成的批次时从检查点续跑，启用分片时每个分片一个批次")
+    public ResponseEntity<List<SettlementRun>> run() {
+        List<SettlementRun> runs = settlementService.trigger();
+        runs.forEach(run -> logger.info("结算批次已启动: {}", run.getRunNumber()));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(runs);
+    }
+
+    /**
+     * 查询最近的结算批次
+     */
+    @GetMapping
+    @Operation(summary = "查询结算批次", description = "查询最近的结算批次及进度")
+    public ResponseEntity<List<SettlementRun>> getRecentRuns() {
+        return ResponseEntity.ok(settlementService.getRecentRuns());
+    }
+
+    /**
+     * 查询结算批次详情
+     */
+    @GetMapping("/{runNumber}")
+    @Operation(summary = "查询结算批次详情", description = "根据批次号查询结算进度")
+    public ResponseEntity<SettlementRun> getRun(
+            @Parameter(description = "结算批次号", required = true, example = "SETTLE20250626143000") @PathVariable String runNumber) {
+
+        return settlementService.getRun(runNumber)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -1,11 +1,18 @@
 package com.insurance.claims.controller;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -13,13 +20,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.insurance.claims.dto.ClaimResponse;
 import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.exception.ClaimConflictException;
 import com.insurance.claims.model.TravelDelayClaim;
 import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.validation.ClaimValidation;
+import com.insurance.claims.service.validation.ClaimValidationError;
+import com.insurance.claims.service.validation.ClaimValidator;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -48,8 +60,12 @@ public class TravelDelayClaimController {
     @Autowired
     private TravelDelayClaimService claimService;
 
+    @Autowired
+    private ClaimValidator claimValidator;
+
     /**
      * 提交理赔申请
+     * 申请只校验一次，校验结果随申请传给业务服务；校验失败直接返回错误码与字段错误，不经过异常处理
      */
     @PostMapping("/submit")
     @Operation(summary = "提交理赔申请", description = "提交旅游延误险理赔申请，系统将自动判断是否符合理赔条件")
@@ -58,13 +74,20 @@ public class TravelDelayClaimController {
             @ApiResponse(responseCode = "400", description = "请求参数错误"),
             @ApiResponse(responseCode = "500", description = "系统内部错误")
     })
-    public ResponseEntity<ClaimResponse> submitClaim(
-            @Parameter(description = "理赔申请信息", required = true) @Valid @RequestBody TravelDelayClaimRequest request) {
+    public ResponseEntity<?> submitClaim(
+            @Parameter(description = "理赔申请信息", required = true) @RequestBody TravelDelayClaimRequest request,
+            @Parameter(description = "是否在决策明细中返回规则执行追踪") @RequestHeader(value = "X-Rule-Trace", defaultValue = "false") boolean traceRules) {
 
         logger.info("收到理赔申请，投保人: {}", request.getPolicyholderName());
 
+        ClaimValidation validation = claimValidator.check(request);
+        if (!validation.isValid()) {
+            logger.warn("理赔申请参数验证失败，错误码: {}", validation.errorCodes());
+            return ResponseEntity.badRequest().body(validationFailure(validation));
+        }
+
         try {
-            ClaimResponse response = claimService.processClaim(request);
+            ClaimResponse response = claimService.processClaim(validation, traceRules);
 
             logger.info("理赔申请处理完成，申请单号: {}", response.getClaimNumber());
             return ResponseEntity.ok(response);
@@ -81,22 +104,33 @@ public class TravelDelayClaimController {
 
     /**
      * 查询理赔申请详情
+     * 响应携带强ETag，客户端轮询时以 If-None-Match 带回，申请未变更时返回304且不序列化报文；
+     * 快照缓存命中时不访问数据库
      */
     @GetMapping("/{claimNumber}")
-    @Operation(summary = "查询理赔申请详情", description = "根据申请单号查询理赔申请的详细信息")
+    @Operation(summary = "查询理赔申请详情", description = "根据申请单号查询理赔申请的详细信息，支持 If-None-Match 条件请求")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "查询成功", content = @Content(schema = @Schema(implementation = TravelDelayClaim.class))),
+            @ApiResponse(responseCode = "304", description = "申请未变更"),
             @ApiResponse(responseCode = "404", description = "申请单号不存在")
     })
     public ResponseEntity<TravelDelayClaim> getClaimDetails(
-            @Parameter(description = "申请单号", required = true, example = "CLAIM20250626143000") @PathVariable @NotBlank String claimNumber) {
+            @Parameter(description = "申请单号", required = true, example = "CLAIM20250626143000000001") @PathVariable @NotBlank String claimNumber,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         logger.info("查询理赔申请详情，申请单号: {}", claimNumber);
 
         return claimService.getClaimByNumber(claimNumber)
                 .map(claim -> {
                     logger.info("找到理赔申请，状态: {}", claim.getClaimStatus());
-                    return ResponseEntity.ok(claim);
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE);
+                    String etag = etagOf(claim, LocaleContextHolder.getLocale(), accept);
+                    if (etag != null) {
+                        // 与 If-None-Match 匹配时由框架返回304，不写出报文
+                        response.eTag(etag);
+                    }
+                    return response.body(claim);
                 })
                 .orElseGet(() -> {
                     logger.warn("申请单号不存在: {}", claimNumber);
@@ -150,6 +184,18 @@ public class TravelDelayClaimController {
         return ResponseEntity.ok(claims);
     }
 
+    /**
+     * 按状态统计申请数量
+     */
+    @GetMapping("/stats/status")
+    @Operation(summary = "按状态统计申请", description = "统计各状态的理赔申请数量，启用分片时汇总所有分片")
+    public ResponseEntity<Map<TravelDelayClaim.ClaimStatus, Long>> getStatusCounts() {
+
+        logger.info("按状态统计申请数量");
+
+        return ResponseEntity.ok(claimService.getStatusCounts());
+    }
+
     /**
      * 人工审核申请
      */
@@ -158,6 +204,7 @@ public class TravelDelayClaimController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "审核完成"),
             @ApiResponse(responseCode = "404", description = "申请单号不存在"),
+            @ApiResponse(responseCode = "409", description = "申请已被其他审核员领取、已被并发修改或状态不允许审核"),
             @ApiResponse(responseCode = "400", description = "审核参数错误")
     })
     public ResponseEntity<TravelDelayClaim> manualReview(
@@ -170,7 +217,9 @@ public class TravelDelayClaimController {
             TravelDelayClaim updatedClaim = claimService.manualReview(
                     claimNumber,
                     request.approved,
-                    request.notes);
+                    request.notes,
+                    request.reviewerId,
+                    request.expectedVersion);
 
             logger.info("人工审核完成，申请单号: {}, 状态: {}", claimNumber, updatedClaim.getClaimStatus());
             return ResponseEntity.ok(updatedClaim);
@@ -179,6 +228,10 @@ public class TravelDelayClaimController {
             logger.warn("申请单号不存在: {}", claimNumber);
             return ResponseEntity.notFound().build();
 
+        } catch (ClaimConflictException e) {
+            logger.warn("人工审核冲突: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
         } catch (Exception e) {
             logger.error("人工审核时发生错误", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -203,6 +256,36 @@ public class TravelDelayClaimController {
         return ResponseEntity.ok(health);
     }
 
+    /**
+     * 申请详情的强ETag：申请版本号（没有版本号时为更新时间）加表示形式摘要。
+     * 同一版本按不同语言渲染审核结果、按不同格式输出的报文内容不同，摘要由渲染语言与 Accept 请求头计算
+     */
+    static String etagOf(TravelDelayClaim claim, Locale locale, String accept) {
+        String revision;
+        if (claim.getVersion() != null) {
+            revision = "v" + claim.getVersion();
+        } else if (claim.getUpdatedAt() != null) {
+            revision = "t" + claim.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        } else {
+            return null;
+        }
+        int representation = Objects.hash(locale.toLanguageTag(), accept);
+        return "\"" + revision + "-" + Integer.toHexString(representation) + "\"";
+    }
+
+    /**
+     * 校验失败响应，字段错误格式与全局参数验证失败响应一致，另附错误码
+     */
+    private static Map<String, Object> validationFailure(ClaimValidation validation) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "参数验证失败");
+        body.put("errorCodes", validation.errorCodes().stream().map(ClaimValidationError::name).toList());
+        body.put("validationErrors", validation.fieldErrors());
+        return body;
+    }
+
     /**
      * 人工审核请求内部类
      */
@@ -214,5 +297,11 @@ public class TravelDelayClaimController {
 
         @Schema(description = "审核备注", example = "经核实，延误确实由天气原因造成，批准理赔")
         public String notes;
+
+        @Schema(description = "审核员标识，通过审核队列领取的申请需与租约持有人一致", example = "reviewer-01")
+        public String reviewerId;
+
+        @Schema(description = "查询申请时读取到的版本号，用于检测并发修改", example = "1")
+        public Long expectedVersion;
     }
 }
@@ -25,7 +25,7 @@ import java.util.List;
 @Schema(description = "理赔申请响应")
 public class ClaimResponse {
 
-    @Schema(description = "申请单号", example = "CLAIM202506260001")
+    @Schema(description = "申请单号", example = "CLAIM20250626143000000001")
     private String claimNumber;
 
     @Schema(description = "处理状态", example = "APPROVED")
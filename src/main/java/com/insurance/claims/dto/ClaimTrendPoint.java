@@ -0,0 +1,41 @@
+package com.insurance.claims.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 理赔趋势时间序列数据点DTO
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "理赔趋势数据点")
+public class ClaimTrendPoint {
+
+    @Schema(description = "时间桶起始时间", example = "2025-06-26 14:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime bucketStart;
+
+    @Schema(description = "理赔申请数", example = "3")
+    private long claimCount;
+
+    @Schema(description = "批准数", example = "2")
+    private long approvedCount;
+
+    @Schema(description = "转人工审核数", example = "1")
+    private long reviewCount;
+
+    @Schema(description = "赔付总额", example = "900.00")
+    private BigDecimal payoutAmount;
+}
@@ -0,0 +1,38 @@
+package com.insurance.claims.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 航班/航空公司维度的理赔统计DTO
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "理赔趋势统计")
+public class ClaimTrendStats {
+
+    @Schema(description = "统计维度键（航班号或航空公司代码）", example = "CZ3251")
+    private String key;
+
+    @Schema(description = "理赔申请数", example = "12")
+    private long claimCount;
+
+    @Schema(description = "批准数", example = "10")
+    private long approvedCount;
+
+    @Schema(description = "转人工审核数", example = "2")
+    private long reviewCount;
+
+    @Schema(description = "赔付总额", example = "3600.00")
+    private BigDecimal payoutAmount;
+}
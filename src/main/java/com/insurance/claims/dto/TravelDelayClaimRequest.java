@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 
 /**
  * 旅游延误险理赔申请请求DTO
+ * 字段校验由 ClaimValidator 一次完成，校验注解保留用于接口文档，两者的规则需保持一致
  * 
  * @author AI Assistant
  * @since 2025-06-26
@@ -34,6 +35,10 @@ public class TravelDelayClaimRequest {
     @Pattern(regexp = "^POL\\d{9}$", message = "保单号格式不正确，应为POL开头后跟9位数字")
     private String policyNumber;
 
+    @Schema(description = "产品代码，可带地区后缀（如 INTL-EU），为空时按默认产品处理", example = "DOMESTIC")
+    @Pattern(regexp = "^[A-Z][A-Z0-9_]{1,19}(-[A-Z0-9]{2,10})?$", message = "产品代码格式不正确")
+    private String productCode;
+
     @Schema(description = "航班号", example = "CZ3251", required = true)
     @NotBlank(message = "航班号不能为空")
     @Pattern(regexp = "^[A-Z]{2}\\d{3,4}$", message = "航班号格式不正确")
@@ -0,0 +1,103 @@
+package com.insurance.claims.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 理赔决策事件
+ * 理赔申请完成自动决策、人工审核或赔款结算后发布，供统计、通知等下游组件订阅
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Value
+@Builder
+public class ClaimDecisionEvent {
+
+    /**
+     * 事件类型
+     */
+    Type type;
+
+    /**
+     * 申请单号
+     */
+    String claimNumber;
+
+    /**
+     * 保单号
+     */
+    String policyNumber;
+
+    /**
+     * 航班号
+     */
+    String flightNumber;
+
+    /**
+     * 决策后的理赔状态
+     */
+    TravelDelayClaim.ClaimStatus claimStatus;
+
+    /**
+     * 系统计算的理赔金额
+     */
+    BigDecimal calculatedAmount;
+
+    /**
+     * 风险等级
+     */
+    ClaimDecision.RiskLevel riskLevel;
+
+    /**
+     * 是否需要人工审核
+     */
+    boolean requiresManualReview;
+
+    /**
+     * 事件发生时间
+     */
+    LocalDateTime occurredAt;
+
+    /**
+     * 事件类型枚举
+     */
+    public enum Type {
+        DECIDED("自动决策"),
+        REVIEWED("人工审核"),
+        PAID("赔款结算");
+
+        private final String description;
+
+        Type(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * 根据理赔申请创建事件
+     */
+    public static ClaimDecisionEvent of(Type type, TravelDelayClaim claim, ClaimDecision decision) {
+        return ClaimDecisionEvent.builder()
+                .type(type)
+                .claimNumber(claim.getClaimNumber())
+                .policyNumber(claim.getPolicyNumber())
+                .flightNumber(claim.getFlightNumber())
+                .claimStatus(claim.getClaimStatus())
+                .calculatedAmount(claim.getCalculatedAmount())
+                .riskLevel(decision != null ? decision.getRiskLevel() : null)
+                .requiresManualReview(decision != null && decision.isRequiresManualReview())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.insurance.claims.exception;
+
+/**
+ * 理赔申请并发冲突异常
+ * 申请已被其他审核员租用或已被并发修改时抛出
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class ClaimConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ClaimConflictException(String message) {
+        super(message);
+    }
+
+    public ClaimConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
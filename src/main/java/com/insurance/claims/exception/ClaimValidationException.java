@@ -0,0 +1,47 @@
+package com.insurance.claims.exception;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.insurance.claims.service.validation.ClaimValidationError;
+
+/**
+ * 理赔申请校验失败异常
+ * 仅在调用方未先行处理校验结果、直接提交非法申请时抛出；属于业务拒绝而非系统故障，不记录调用栈
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class ClaimValidationException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long errors;
+
+    public ClaimValidationException(long errors) {
+        super(format(ClaimValidationError.describe(errors)));
+        this.errors = errors;
+    }
+
+    /**
+     * 错误码掩码
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return ClaimValidationError.describe(errors);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    private static String format(Map<String, String> fieldErrors) {
+        return fieldErrors.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,19 @@
+package com.insurance.claims.exception;
+
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 非法理赔状态流转异常
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class InvalidClaimTransitionException extends ClaimConflictException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidClaimTransitionException(String claimNumber, TravelDelayClaim.ClaimStatus from,
+            TravelDelayClaim.ClaimStatus to) {
+        super("申请 " + claimNumber + " 当前状态为" + from.getDescription() + "，不能变更为" + to.getDescription());
+    }
+}
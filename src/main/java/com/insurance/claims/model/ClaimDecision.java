@@ -33,10 +33,20 @@ public class ClaimDecision {
     private BigDecimal compensationAmount;
 
     /**
-     * 决策原因
+     * 决策原因（由原因代码与参数渲染的文本）
      */
     private String reason;
 
+    /**
+     * 决策原因代码
+     */
+    private ClaimReasonCode reasonCode;
+
+    /**
+     * 决策原因参数
+     */
+    private List<String> reasonParams;
+
     /**
      * 匹配的规则名称
      */
@@ -63,10 +73,47 @@ public class ClaimDecision {
     private boolean requiresManualReview;
 
     /**
-     * 审核建议
+     * 审核建议（由审核建议代码与参数渲染的文本）
      */
     private String reviewSuggestion;
 
+    /**
+     * 审核建议代码
+     */
+    private ClaimReasonCode reviewCode;
+
+    /**
+     * 审核建议参数
+     */
+    private List<String> reviewParams;
+
+    /**
+     * 设置决策原因代码与参数，并渲染原因文本
+     */
+    public void setReason(ClaimReasonCode code, Object... params) {
+        this.reasonCode = code;
+        this.reasonParams = ClaimReasonCode.params(params);
+        this.reason = code.render(reasonParams);
+    }
+
+    /**
+     * 设置审核建议代码与参数，并渲染审核建议文本
+     */
+    public void setReviewSuggestion(ClaimReasonCode code, Object... params) {
+        this.reviewCode = code;
+        this.reviewParams = ClaimReasonCode.params(params);
+        this.reviewSuggestion = code.render(reviewParams);
+    }
+
+    /**
+     * 清除审核建议
+     */
+    public void clearReviewSuggestion() {
+        this.reviewCode = null;
+        this.reviewParams = null;
+        this.reviewSuggestion = null;
+    }
+
     /**
      * 风险等级枚举
      */
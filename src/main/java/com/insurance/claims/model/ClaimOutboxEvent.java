@@ -0,0 +1,85 @@
+package com.insurance.claims.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 理赔事件发件箱实体
+ * 与理赔申请的状态变更在同一事务中写入，由中继程序批量投递给下游系统
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Entity
+@Table(name = "claim_outbox_event", indexes = {
+        @Index(name = "idx_outbox_partition_pending", columnList = "partition_key, published_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 申请单号
+     */
+    @Column(name = "claim_number", nullable = false)
+    private String claimNumber;
+
+    /**
+     * 分区号，同一申请的事件总在同一分区内按id顺序投递
+     */
+    @Column(name = "partition_key", nullable = false)
+    private Integer partitionKey;
+
+    /**
+     * 事件类型
+     */
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    /**
+     * 事件内容（JSON）
+     */
+    @Column(name = "payload", length = 4000, nullable = false)
+    private String payload;
+
+    /**
+     * 创建时间
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 投递成功时间
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /**
+     * 投递失败次数
+     */
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    /**
+     * 最近一次投递失败原因
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,212 @@
+package com.insurance.claims.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+/**
+ * 决策原因与审核建议代码
+ * 申请只保存代码与参数，展示文本在读取时按模板字典 i18n/claim-reasons 渲染：模板中的 {0}、{1}… 依次替换为参数，
+ * 处理HTTP请求时按请求的语言选择模板，其余情况使用默认（中文）模板。
+ * 延误时长档位类代码的参数统一为 延误小时数、档位下限、档位上限（不限时为空）。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public enum ClaimReasonCode {
+
+    // 决策原因
+
+    INCOMPLETE_INFO,
+    EARLY_DEPARTURE,
+    DELAY_BELOW_MINIMUM,
+    DELAY_WITHIN_RANGE,
+    DELAY_AT_LEAST,
+    ABNORMAL_DELAY,
+    DUPLICATE_CLAIM,
+    SYSTEM_ERROR,
+    MANUAL_APPROVED,
+    MANUAL_REJECTED,
+
+    // 审核建议
+
+    REVIEW_INCOMPLETE_INFO,
+    REVIEW_ABNORMAL_DELAY,
+    REVIEW_AMOUNT_MISMATCH,
+    REVIEW_FREQUENCY,
+    REVIEW_DUPLICATE,
+    REVIEW_SYSTEM_ERROR,
+
+    /**
+     * 迁移前以整句保存且无法识别的文本，参数为原文
+     */
+    LEGACY_TEXT;
+
+    /**
+     * 参数分隔符，参数中出现时替换为 ¦
+     */
+    public static final char PARAM_SEPARATOR = '|';
+
+    private static final String BUNDLE = "i18n/claim-reasons";
+    private static final ResourceBundle.Control NO_FALLBACK =
+            ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\d)}");
+
+    /**
+     * 迁移前自动决策需人工审核时写入审核备注的前缀，其后为审核建议原文
+     */
+    public static final String LEGACY_REVIEW_PREFIX = "需要人工审核: ";
+
+    /**
+     * 代码与参数
+     */
+    public record Reason(ClaimReasonCode code, List<String> params) {
+    }
+
+    /**
+     * 将迁移前以整句保存的中文原因或审核建议解析为代码与参数：按默认模板逐一匹配，
+     * 无法识别的文本保存为 LEGACY_TEXT，原文作为参数
+     *
+     * @param text 原文
+     * @return 代码与参数，原文为空时返回null
+     */
+    public static Reason parseLegacy(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        for (LegacyPattern legacy : LegacyPattern.ALL) {
+            Matcher matcher = legacy.pattern.matcher(text);
+            if (matcher.matches()) {
+                String[] params = new String[legacy.paramCount];
+                Arrays.fill(params, "");
+                for (int group = 1; group <= matcher.groupCount(); group++) {
+                    params[legacy.indexes[group - 1]] = matcher.group(group);
+                }
+                return new Reason(legacy.code, Arrays.asList(params));
+            }
+        }
+        return new Reason(LEGACY_TEXT, List.of(text));
+    }
+
+    /**
+     * 按当前语言渲染
+     */
+    public String render(List<String> params) {
+        LocaleContext context = LocaleContextHolder.getLocaleContext();
+        return render(params, context != null ? context.getLocale() : null);
+    }
+
+    /**
+     * 按指定语言渲染，locale 为 null 时使用默认模板
+     */
+    public String render(List<String> params, Locale locale) {
+        String template = bundle(locale).getString(name());
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder text = new StringBuilder(template.length() + 16);
+        while (matcher.find()) {
+            int index = matcher.group(1).charAt(0) - '0';
+            String value = params != null && index < params.size() ? params.get(index) : "";
+            matcher.appendReplacement(text, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(text);
+        return text.toString();
+    }
+
+    /**
+     * 将参数转为字符串列表，null 转为空字符串
+     */
+    public static List<String> params(Object... values) {
+        if (values == null || values.length == 0) {
+            return Collections.emptyList();
+        }
+        List<String> params = new ArrayList<>(values.length);
+        for (Object value : values) {
+            params.add(value != null ? value.toString() : "");
+        }
+        return params;
+    }
+
+    /**
+     * 编码参数用于存储，没有参数时返回 null
+     */
+    public static String encodeParams(List<String> params) {
+        if (params == null || params.isEmpty()) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) {
+                encoded.append(PARAM_SEPARATOR);
+            }
+            encoded.append(params.get(i).replace(PARAM_SEPARATOR, '¦'));
+        }
+        return encoded.toString();
+    }
+
+    public static List<String> decodeParams(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(encoded.split(Pattern.quote(String.valueOf(PARAM_SEPARATOR)), -1));
+    }
+
+    /**
+     * 由默认模板生成的旧文本匹配模式
+     */
+    private static final class LegacyPattern {
+
+        private static final List<LegacyPattern> ALL = compileAll();
+
+        private final ClaimReasonCode code;
+        private final Pattern pattern;
+        private final int[] indexes;
+        private final int paramCount;
+
+        private LegacyPattern(ClaimReasonCode code, String template) {
+            this.code = code;
+            StringBuilder regex = new StringBuilder();
+            List<Integer> order = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(template);
+            int last = 0;
+            while (matcher.find()) {
+                // 句中的参数均为数值，句末的参数可为任意文本
+                boolean trailing = matcher.end() == template.length();
+                regex.append(Pattern.quote(template.substring(last, matcher.start())))
+                        .append(trailing ? "(.*)" : "(-?\\d*)");
+                order.add(matcher.group(1).charAt(0) - '0');
+                last = matcher.end();
+            }
+            regex.append(Pattern.quote(template.substring(last)));
+            this.pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+            this.indexes = order.stream().mapToInt(Integer::intValue).toArray();
+            this.paramCount = order.stream().mapToInt(index -> index + 1).max().orElse(0);
+        }
+
+        private static List<LegacyPattern> compileAll() {
+            ResourceBundle templates = bundle(null);
+            List<LegacyPattern> patterns = new ArrayList<>();
+            for (ClaimReasonCode code : values()) {
+                if (code != LEGACY_TEXT) {
+                    patterns.add(new LegacyPattern(code, templates.getString(code.name())));
+                }
+            }
+            return patterns;
+        }
+    }
+
+    /**
+     * 加载模板字典（由 ResourceBundle 缓存），不回退到系统默认语言，没有对应语言的模板时使用默认模板
+     */
+    private static ResourceBundle bundle(Locale locale) {
+        return ResourceBundle.getBundle(BUNDLE, locale != null ? locale : Locale.ROOT,
+                ClaimReasonCode.class.getClassLoader(), NO_FALLBACK);
+    }
+}
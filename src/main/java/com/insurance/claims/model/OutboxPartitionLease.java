@@ -0,0 +1,47 @@
+package com.insurance.claims.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 发件箱分区租约实体
+ * 每个分区同一时刻只有一个中继轮询线程持有租约，保证同一申请的事件按顺序投递
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Entity
+@Table(name = "outbox_partition_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxPartitionLease {
+
+    /**
+     * 分区号
+     */
+    @Id
+    @Column(name = "partition_id")
+    private Integer partitionId;
+
+    /**
+     * 租约持有者
+     */
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    /**
+     * 租约到期时间
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+}
@@ -0,0 +1,117 @@
+package com.insurance.claims.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 赔款结算批次实体
+ * 记录结算进度检查点：已结算到的最大申请id与对应的付款文件偏移量，
+ * 两者与申请状态在同一事务中更新，崩溃后可据此续跑而不会重复付款
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Entity
+@Table(name = "settlement_run")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 结算批次号
+     */
+    @Column(name = "run_number", unique = true, nullable = false)
+    private String runNumber;
+
+    /**
+     * 批次状态
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    /**
+     * 银行付款文件路径
+     */
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    /**
+     * 检查点：已结算的最大申请id
+     */
+    @Column(name = "last_claim_id")
+    private Long lastClaimId;
+
+    /**
+     * 检查点：付款文件已确认写入的字节数
+     */
+    @Column(name = "file_offset")
+    private Long fileOffset;
+
+    /**
+     * 已结算申请数
+     */
+    @Column(name = "claim_count")
+    private Long claimCount;
+
+    /**
+     * 已结算总金额
+     */
+    @Column(name = "total_amount", precision = 15, scale = 2)
+    private BigDecimal totalAmount;
+
+    /**
+     * 开始时间
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * 完成时间
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * 最近一次执行失败的原因（批次保持结算中状态，重新触发时从检查点续跑）
+     */
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+
+    /**
+     * 结算批次状态枚举
+     */
+    public enum Status {
+        RUNNING("结算中"),
+        COMPLETED("已完成");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
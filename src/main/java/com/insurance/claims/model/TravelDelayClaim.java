@@ -2,6 +2,7 @@ package com.insurance.claims.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,14 +11,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.insurance.claims.exception.InvalidClaimTransitionException;
+
 /**
  * 旅游延误险理赔申请实体
  * 
@@ -25,13 +33,22 @@ import lombok.NoArgsConstructor;
  * @since 2025-06-26
  */
 @Entity
-@Table(name = "travel_delay_claim")
+@Table(name = "travel_delay_claim", indexes = {
+        @Index(name = "idx_claim_dedup", columnList = "policy_number, flight_number, scheduled_departure"),
+        @Index(name = "idx_claim_review_queue", columnList = "claim_status, review_priority, claim_date"),
+        @Index(name = "idx_claim_status_id", columnList = "claim_status, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TravelDelayClaim {
 
+    /**
+     * 原因参数列长度
+     */
+    private static final int PARAMS_LENGTH = 255;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -54,6 +71,12 @@ public class TravelDelayClaim {
     @Column(name = "policy_number", nullable = false)
     private String policyNumber;
 
+    /**
+     * 产品代码
+     */
+    @Column(name = "product_code", length = 32)
+    private String productCode;
+
     /**
      * 航班号
      */
@@ -66,6 +89,14 @@ public class TravelDelayClaim {
     @Column(name = "scheduled_departure")
     private LocalDateTime scheduledDeparture;
 
+    /**
+     * 重复申请判定键（保单号|航班号|计划起飞时间），只有判定为首个申请时填写；
+     * 唯一约束保证并发提交的相同申请中只有一条能被判定为首个申请
+     */
+    @JsonIgnore
+    @Column(name = "dedup_key", unique = true)
+    private String dedupKey;
+
     /**
      * 实际起飞时间
      */
@@ -104,13 +135,64 @@ public class TravelDelayClaim {
     private ClaimStatus claimStatus;
 
     /**
-     * 审核结果
+     * 风险等级
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "risk_level")
+    private ClaimDecision.RiskLevel riskLevel;
+
+    /**
+     * 人工审核优先级（越大越优先）
+     */
+    @Column(name = "review_priority")
+    private Integer reviewPriority;
+
+    /**
+     * 当前持有审核租约的审核员
+     */
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    /**
+     * 审核租约到期时间
+     */
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * 决策原因代码，展示文本见 {@link #getApprovalResult()}
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason_code", length = 32)
+    private ClaimReasonCode reasonCode;
+
+    /**
+     * 决策原因参数（编码后）
      */
-    @Column(name = "approval_result")
-    private String approvalResult;
+    @Column(name = "reason_params")
+    private String reasonParams;
 
     /**
-     * 审核备注
+     * 审核建议代码，展示文本见 {@link #getReviewSuggestion()}
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "review_code", length = 32)
+    private ClaimReasonCode reviewCode;
+
+    /**
+     * 审核建议参数（编码后）
+     */
+    @Column(name = "review_params")
+    private String reviewParams;
+
+    /**
+     * 作出自动决策的规则版本
+     */
+    @Column(name = "rule_set_version", length = 64)
+    private String ruleSetVersion;
+
+    /**
+     * 审核备注（审核员填写）
      */
     @Column(name = "approval_notes", length = 1000)
     private String approvalNotes;
@@ -127,6 +209,19 @@ public class TravelDelayClaim {
     @Column(name = "process_date")
     private LocalDateTime processDate;
 
+    /**
+     * 赔款结算批次id
+     */
+    @Column(name = "settlement_run_id")
+    private Long settlementRunId;
+
+    /**
+     * 乐观锁版本号
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     /**
      * 创建时间
      */
@@ -156,6 +251,65 @@ public class TravelDelayClaim {
         updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * 记录决策原因与审核建议的代码和参数
+     */
+    public void recordReason(ClaimReasonCode code, List<String> params, ClaimReasonCode review,
+            List<String> reviewParams) {
+        this.reasonCode = code;
+        this.reasonParams = encodeParams(params);
+        this.reviewCode = review;
+        this.reviewParams = review != null ? encodeParams(reviewParams) : null;
+    }
+
+    /**
+     * 审核结果，按当前语言由决策原因代码与参数渲染
+     */
+    public String getApprovalResult() {
+        return reasonCode != null ? reasonCode.render(ClaimReasonCode.decodeParams(reasonParams)) : null;
+    }
+
+    /**
+     * 审核建议，按当前语言由审核建议代码与参数渲染
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getReviewSuggestion() {
+        return reviewCode != null ? reviewCode.render(ClaimReasonCode.decodeParams(reviewParams)) : null;
+    }
+
+    /**
+     * 读取迁移前格式的归档时，将整句保存的审核结果解析为原因代码与参数
+     */
+    @JsonSetter("approvalResult")
+    void setLegacyApprovalResult(String text) {
+        ClaimReasonCode.Reason reason = ClaimReasonCode.parseLegacy(text);
+        if (reason != null && reasonCode == null) {
+            reasonCode = reason.code();
+            reasonParams = encodeParams(reason.params());
+        }
+    }
+
+    /**
+     * 编码参数，超出列长度时截断
+     */
+    private static String encodeParams(List<String> params) {
+        String encoded = ClaimReasonCode.encodeParams(params);
+        return encoded != null && encoded.length() > PARAMS_LENGTH ? encoded.substring(0, PARAMS_LENGTH) : encoded;
+    }
+
+    /**
+     * 按状态机流转理赔状态，非法流转抛出异常
+     * 
+     * @param target 目标状态
+     */
+    public void transitionTo(ClaimStatus target) {
+        ClaimStatus current = claimStatus == null ? ClaimStatus.PENDING : claimStatus;
+        if (!current.canTransitionTo(target)) {
+            throw new InvalidClaimTransitionException(claimNumber, current, target);
+        }
+        claimStatus = target;
+    }
+
     /**
      * 理赔状态枚举
      */
@@ -174,5 +328,19 @@ public class TravelDelayClaim {
         public String getDescription() {
             return description;
         }
+
+        /**
+         * 判断是否允许流转到目标状态：PENDING → APPROVED/REJECTED，APPROVED → PAID
+         */
+        public boolean canTransitionTo(ClaimStatus target) {
+            switch (this) {
+                case PENDING:
+                    return target == APPROVED || target == REJECTED;
+                case APPROVED:
+                    return target == PAID;
+                default:
+                    return false;
+            }
+        }
     }
 }
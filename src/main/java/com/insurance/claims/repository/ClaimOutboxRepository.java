@@ -0,0 +1,66 @@
+package com.insurance.claims.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.insurance.claims.model.ClaimOutboxEvent;
+
+/**
+ * 理赔事件发件箱数据访问接口
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Repository
+public interface ClaimOutboxRepository extends JpaRepository<ClaimOutboxEvent, Long> {
+
+    /**
+     * 按id顺序查询分区内未投递的事件
+     */
+    List<ClaimOutboxEvent> findByPartitionKeyAndPublishedAtIsNullOrderByIdAsc(Integer partitionKey, Pageable pageable);
+
+    /**
+     * 分区内是否存在未投递的事件
+     */
+    boolean existsByPartitionKeyAndPublishedAtIsNull(Integer partitionKey);
+
+    /**
+     * 统计未投递的事件数量
+     */
+    long countByPublishedAtIsNull();
+
+    /**
+     * 批量标记为已投递，仅当调用方仍持有该分区未过期的租约时生效
+     */
+    @Modifying
+    @Query("UPDATE ClaimOutboxEvent e SET e.publishedAt = :now WHERE e.id IN :ids AND EXISTS (" +
+            "SELECT l FROM OutboxPartitionLease l WHERE l.partitionId = :partition " +
+            "AND l.leaseOwner = :owner AND l.leaseExpiresAt > :now)")
+    int markPublished(
+            @Param("ids") List<Long> ids,
+            @Param("partition") Integer partition,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * 记录投递失败
+     */
+    @Modifying
+    @Query("UPDATE ClaimOutboxEvent e SET e.attempts = COALESCE(e.attempts, 0) + 1, e.lastError = :error " +
+            "WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * 删除指定时间之前已投递的事件
+     */
+    @Modifying
+    @Query("DELETE FROM ClaimOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,54 @@
+package com.insurance.claims.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.insurance.claims.model.OutboxPartitionLease;
+
+/**
+ * 发件箱分区租约数据访问接口
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Repository
+public interface OutboxPartitionLeaseRepository extends JpaRepository<OutboxPartitionLease, Integer> {
+
+    /**
+     * 原子地获取或续期分区租约，分区被他人持有且未过期时不更新
+     */
+    @Modifying
+    @Query("UPDATE OutboxPartitionLease l SET l.leaseOwner = :owner, l.leaseExpiresAt = :expiresAt " +
+            "WHERE l.partitionId = :partition " +
+            "AND (l.leaseOwner IS NULL OR l.leaseOwner = :owner OR l.leaseExpiresAt < :now)")
+    int acquire(
+            @Param("partition") Integer partition,
+            @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * 续期分区租约，仅当调用方仍持有未过期的租约时更新
+     */
+    @Modifying
+    @Query("UPDATE OutboxPartitionLease l SET l.leaseExpiresAt = :expiresAt " +
+            "WHERE l.partitionId = :partition AND l.leaseOwner = :owner AND l.leaseExpiresAt > :now")
+    int renew(
+            @Param("partition") Integer partition,
+            @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * 释放分区租约
+     */
+    @Modifying
+    @Query("UPDATE OutboxPartitionLease l SET l.leaseOwner = NULL, l.leaseExpiresAt = NULL " +
+            "WHERE l.partitionId = :partition AND l.leaseOwner = :owner")
+    int release(@Param("partition") Integer partition, @Param("owner") String owner);
+}
@@ -0,0 +1,34 @@
+package com.insurance.claims.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.insurance.claims.model.SettlementRun;
+
+/**
+ * 赔款结算批次数据访问接口
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Repository
+public interface SettlementRunRepository extends JpaRepository<SettlementRun, Long> {
+
+    /**
+     * 根据批次号查询
+     */
+    Optional<SettlementRun> findByRunNumber(String runNumber);
+
+    /**
+     * 根据状态查询
+     */
+    List<SettlementRun> findByStatus(SettlementRun.Status status);
+
+    /**
+     * 查询最近的结算批次
+     */
+    List<SettlementRun> findTop20ByOrderByIdDesc();
+}
@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -73,7 +75,7 @@ public interface TravelDelayClaimRepository extends JpaRepository<TravelDelayCla
     /**
      * 查询今日申请
      */
-    @Query("SELECT c FROM TravelDelayClaim c WHERE DATE(c.claimDate) = CURRENT_DATE")
+    @Query("SELECT c FROM TravelDelayClaim c WHERE c.claimDate >= CURRENT_DATE")
     List<TravelDelayClaim> findTodayClaims();
 
     /**
@@ -90,4 +92,110 @@ public interface TravelDelayClaimRepository extends JpaRepository<TravelDelayCla
             @Param("policyNumber") String policyNumber,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * 检查同一保单、航班和计划起飞时间是否已有理赔申请
+     */
+    boolean existsByPolicyNumberAndFlightNumberAndScheduledDeparture(
+            String policyNumber, String flightNumber, LocalDateTime scheduledDeparture);
+
+    /**
+     * 按主键顺序分批查询重复申请判定所需的字段（id、保单号、航班号、计划起飞时间）
+     */
+    @Query("SELECT c.id, c.policyNumber, c.flightNumber, c.scheduledDeparture FROM TravelDelayClaim c " +
+            "WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findDuplicateKeysAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 查询当前最大主键
+     */
+    @Query("SELECT MAX(c.id) FROM TravelDelayClaim c")
+    Long findMaxId();
+
+    /**
+     * 按有效优先级查询审核队列中未被租用（或租约已过期）的待审核申请id：
+     * 决策时确定的优先级加上等待时长的加权（每小时 agingPerHour 分，按分钟累计）
+     */
+    @Query("SELECT c.id FROM TravelDelayClaim c WHERE c.claimStatus = 'PENDING' " +
+            "AND (c.leaseExpiresAt IS NULL OR c.leaseExpiresAt < :now) " +
+            "ORDER BY COALESCE(c.reviewPriority, 0) + ((:now - c.claimDate) by minute) * :agingPerHour / 60 DESC, " +
+            "c.claimDate ASC")
+    List<Long> findReviewQueueCandidates(@Param("now") LocalDateTime now, @Param("agingPerHour") long agingPerHour,
+            Pageable pageable);
+
+    /**
+     * 原子地为审核员租用一批待审核申请，已被他人租用且未过期的申请不会被更新；
+     * 同时递增版本号，使与之并发的未持有租约的审核因版本冲突而重新校验
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TravelDelayClaim c SET c.leaseOwner = :reviewer, c.leaseExpiresAt = :expiresAt, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.id IN :ids AND c.claimStatus = 'PENDING' " +
+            "AND (c.leaseExpiresAt IS NULL OR c.leaseExpiresAt < :now)")
+    int acquireReviewLeases(
+            @Param("ids") List<Long> ids,
+            @Param("reviewer") String reviewer,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * 查询审核员在指定租约下持有的申请
+     */
+    List<TravelDelayClaim> findByLeaseOwnerAndLeaseExpiresAtOrderByReviewPriorityDescClaimDateAsc(
+            String leaseOwner, LocalDateTime leaseExpiresAt);
+
+    /**
+     * 释放审核员持有的租约
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TravelDelayClaim c SET c.leaseOwner = NULL, c.leaseExpiresAt = NULL, " +
+            "c.version = c.version + 1 " +
+            "WHERE c.claimNumber IN :claimNumbers AND c.leaseOwner = :reviewer")
+    int releaseReviewLeases(
+            @Param("claimNumbers") List<String> claimNumbers,
+            @Param("reviewer") String reviewer);
+
+    /**
+     * 统计审核队列中可租用的申请数量
+     */
+    @Query("SELECT COUNT(c) FROM TravelDelayClaim c WHERE c.claimStatus = 'PENDING' " +
+            "AND (c.leaseExpiresAt IS NULL OR c.leaseExpiresAt < :now)")
+    long countAvailableForReview(@Param("now") LocalDateTime now);
+
+    /**
+     * 按主键顺序分批查询待结算（已批准）申请的付款字段：
+     * id、申请单号、保单号、投保人姓名、航班号、理赔金额
+     */
+    @Query("SELECT c.id, c.claimNumber, c.policyNumber, c.policyholderName, c.flightNumber, c.calculatedAmount " +
+            "FROM TravelDelayClaim c WHERE c.claimStatus = 'APPROVED' AND c.id > :afterId ORDER BY c.id")
+    List<Object[]> findSettlementChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 批量将已批准申请标记为已支付
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TravelDelayClaim c SET c.claimStatus = 'PAID', c.settlementRunId = :runId, " +
+            "c.processDate = :now, c.updatedAt = :now, c.version = c.version + 1 " +
+            "WHERE c.id IN :ids AND c.claimStatus = 'APPROVED'")
+    int markPaid(@Param("ids") List<Long> ids, @Param("runId") Long runId, @Param("now") LocalDateTime now);
+
+    /**
+     * 按主键顺序分批查询可归档的已结案申请（指定状态且处理时间早于截止时间）
+     */
+    @Query("SELECT c FROM TravelDelayClaim c WHERE c.claimStatus IN :statuses AND c.processDate < :before " +
+            "AND c.id > :afterId ORDER BY c.id")
+    List<TravelDelayClaim> findArchivable(
+            @Param("statuses") List<TravelDelayClaim.ClaimStatus> statuses,
+            @Param("before") LocalDateTime before,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * 删除已写入归档的申请，仅删除仍处于已结案状态的记录
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TravelDelayClaim c WHERE c.id IN :ids AND c.claimStatus IN :statuses")
+    int deleteArchived(
+            @Param("ids") List<Long> ids,
+            @Param("statuses") List<TravelDelayClaim.ClaimStatus> statuses);
 }
@@ -0,0 +1,83 @@
+package com.insurance.claims.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 申请单号生成器
+ * 单号格式为 CLAIM + 秒级时间（yyyyMMddHHmmss）+ 6位秒内序号。同一秒内序号用尽时借用下一秒，
+ * 时钟回拨时沿用上次的时间继续递增序号，保证单号在本实例内单调且不重复。
+ * 启用分片时在时间与序号之间插入2位分片号，按单号即可确定申请所在分片。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimNumberGenerator {
+
+    private static final String PREFIX = "CLAIM";
+    private static final int MAX_SEQUENCE = 999_999;
+    private static final int TIME_END = PREFIX.length() + 14;
+    private static final int SHARDED_LENGTH = TIME_END + 2 + 6;
+    private static final DateTimeFormatter SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private long lastSecond = -1;
+    private int sequence;
+
+    /**
+     * 生成下一个申请单号
+     */
+    public String next() {
+        return next("");
+    }
+
+    /**
+     * 生成编码了分片号的申请单号
+     *
+     * @param shard 分片号（0-99）
+     */
+    public String next(int shard) {
+        if (shard < 0 || shard > 99) {
+            throw new IllegalArgumentException("分片号超出范围: " + shard);
+        }
+        return next(String.format("%02d", shard));
+    }
+
+    /**
+     * 解析申请单号中的分片号，单号未编码分片时返回-1
+     */
+    public static int shardOf(String claimNumber) {
+        if (claimNumber == null || claimNumber.length() != SHARDED_LENGTH || !claimNumber.startsWith(PREFIX)) {
+            return -1;
+        }
+        char high = claimNumber.charAt(TIME_END);
+        char low = claimNumber.charAt(TIME_END + 1);
+        if (high < '0' || high > '9' || low < '0' || low > '9') {
+            return -1;
+        }
+        return (high - '0') * 10 + (low - '0');
+    }
+
+    private synchronized String next(String shardTag) {
+        long second = Math.max(Instant.now().getEpochSecond(), lastSecond);
+        if (second == lastSecond) {
+            if (sequence == MAX_SEQUENCE) {
+                second++;
+                sequence = 0;
+            } else {
+                sequence++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastSecond = second;
+
+        String time = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault())
+                .format(SECOND_FORMAT);
+        return PREFIX + time + shardTag + String.format("%06d", sequence);
+    }
+}
@@ -0,0 +1,38 @@
+package com.insurance.claims.service;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.trace.RuleTrace;
+
+/**
+ * 理赔规则引擎
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public interface ClaimRuleEngine {
+
+    /**
+     * 引擎名称
+     */
+    String engineName();
+
+    /**
+     * 对指定申请生效的规则版本，用于决策审计与回放核对；规则随代码发布的引擎返回引擎名称
+     *
+     * @param claim 理赔申请
+     * @return 规则版本
+     */
+    default String ruleVersion(TravelDelayClaim claim) {
+        return engineName();
+    }
+
+    /**
+     * 执行理赔规则决策
+     * 
+     * @param claim 理赔申请（已计算延误时长）
+     * @param trace 规则执行追踪，未开启追踪时为null
+     * @return 理赔决策结果
+     */
+    ClaimDecision executeClaimRules(TravelDelayClaim claim, RuleTrace trace);
+}
@@ -0,0 +1,73 @@
+package com.insurance.claims.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.exception.ClaimConflictException;
+
+/**
+ * 乐观锁冲突重试执行器
+ * 每次尝试在独立事务中重新读取并修改申请，版本冲突时短暂退避后重试；
+ * 重试次数耗尽仍冲突时抛出 {@link ClaimConflictException}。
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimUpdateRetrier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimUpdateRetrier.class);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${claims.concurrency.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${claims.concurrency.backoff-millis:20}")
+    private long backoffMillis;
+
+    /**
+     * 在事务中执行申请更新，版本冲突时重试
+     * 
+     * @param claimNumber 申请单号
+     * @param update      更新操作，每次重试都会重新执行
+     * @return 更新结果
+     */
+    public <T> T execute(String claimNumber, Supplier<T> update) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return template.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ClaimConflictException("申请已被并发修改，请刷新后重试: " + claimNumber, e);
+                }
+                logger.debug("申请 {} 更新发生版本冲突，第{}次重试", claimNumber, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClaimConflictException("等待重试时被中断");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.insurance.claims.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.rules.RuleSetRegistry;
+import com.insurance.claims.service.trace.RuleTrace;
+
+/**
+ * Drools规则引擎服务
+ * 每次决策先在共用的核心规则上执行，核心规则未作出决策时再执行申请所属产品的规则集。
+ * 通过 claims.rules.engine=drools 启用，替代简单规则引擎执行决策。
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "claims.rules.engine", havingValue = "drools")
+public class DroolsRuleEngineService implements ClaimRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DroolsRuleEngineService.class);
+
+    private final RuleSetRegistry ruleSetRegistry;
+
+    @Autowired
+    public DroolsRuleEngineService(RuleSetRegistry ruleSetRegistry) {
+        this.ruleSetRegistry = ruleSetRegistry;
+    }
+
+    @Override
+    public String engineName() {
+        return "drools";
+    }
+
+    /**
+     * 规则版本：产品规则集名称与规则源文件摘要，如 domestic@1a2b3c4d5e6f
+     */
+    @Override
+    public String ruleVersion(TravelDelayClaim claim) {
+        String ruleSet = ruleSetRegistry.resolve(claim.getProductCode());
+        return ruleSet + "@" + ruleSetRegistry.version(ruleSet);
+    }
+
+    @Override
+    public ClaimDecision executeClaimRules(TravelDelayClaim claim, RuleTrace trace) {
+        ClaimDecision decision = ClaimDecision.builder()
+                .eligible(false)
+                .compensationAmount(BigDecimal.ZERO)
+                .decisionTime(LocalDateTime.now())
+                .ruleDetails(new ArrayList<>())
+                .build();
+
+        String ruleSet = ruleSetRegistry.resolve(claim.getProductCode());
+        int fired = ruleSetRegistry.coreRuleSet().execute(claim, decision, trace);
+        if (decision.getRuleName() == null) {
+            fired += ruleSetRegistry.productRuleSet(ruleSet).execute(claim, decision, trace);
+        }
+
+        logger.debug("Drools规则执行完成，申请单号: {}, 规则集: {}, 触发规则数: {}",
+                claim.getClaimNumber(), ruleSet, fired);
+        return decision;
+    }
+}
@@ -0,0 +1,224 @@
+package com.insurance.claims.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.cache.ClaimSnapshotCache;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+
+/**
+ * 人工审核工作队列服务
+ * 待审核申请按风险等级、申请金额排序，同优先级按申请时间先后处理。
+ * 领取时在决策优先级上叠加等待时长（每小时 aging-points-per-hour 分），低风险申请等待足够久后会排到新进的高风险申请之前，不会一直积压。
+ * 审核员以租约方式批量领取申请，租约通过带条件的原子UPDATE获取，
+ * 多个审核员并发领取时不会拿到同一申请，租约到期后申请自动回到队列。
+ * 启用分片时每个分片在独立事务中领取，起始分片轮转，优先级排序只在分片内有效。
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Service
+@Transactional
+public class ReviewQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewQueueService.class);
+
+    /**
+     * 候选申请数量相对批次大小的放大倍数，用于抵消并发领取时的冲突
+     */
+    private static final int CANDIDATE_FACTOR = 2;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimSnapshotCache claimSnapshotCache;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    @Value("${claims.review-queue.default-lease-seconds:300}")
+    private int defaultLeaseSeconds;
+
+    @Value("${claims.review-queue.max-lease-seconds:3600}")
+    private int maxLeaseSeconds;
+
+    @Value("${claims.review-queue.max-batch-size:50}")
+    private int maxBatchSize;
+
+    @Value("${claims.review-queue.aging-points-per-hour:1000}")
+    private long agingPointsPerHour;
+
+    /**
+     * 计算审核优先级：风险等级为主，申请金额为辅
+     * 
+     * @param riskLevel     风险等级
+     * @param claimedAmount 申请金额
+     * @return 优先级，越大越优先
+     */
+    public static int priorityOf(ClaimDecision.RiskLevel riskLevel, BigDecimal claimedAmount) {
+        int riskWeight = riskLevel == null ? 0 : (riskLevel.ordinal() + 1) * 10_000;
+        int amountWeight = claimedAmount == null ? 0 : Math.min(9_999, claimedAmount.intValue());
+        return riskWeight + amountWeight;
+    }
+
+    /**
+     * 计算领取时的有效优先级：决策优先级加上等待时长的加权，与候选查询的排序表达式一致
+     *
+     * @param claim              待审核申请
+     * @param now                领取时间
+     * @param agingPointsPerHour 每等待一小时增加的优先级
+     * @return 有效优先级，越大越优先
+     */
+    public static long effectivePriority(TravelDelayClaim claim, LocalDateTime now, long agingPointsPerHour) {
+        long base = claim.getReviewPriority() == null ? 0 : claim.getReviewPriority();
+        long waitedMinutes = claim.getClaimDate() == null ? 0 : Duration.between(claim.getClaimDate(), now).toMinutes();
+        return base + waitedMinutes * agingPointsPerHour / 60;
+    }
+
+    /**
+     * 领取一批待审核申请
+     * 
+     * @param reviewerId   审核员标识
+     * @param batchSize    批次大小
+     * @param leaseSeconds 租约时长（秒），为空时使用默认值
+     * @return 本次领取到的申请，按优先级排序
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TravelDelayClaim> lease(String reviewerId, int batchSize, Integer leaseSeconds) {
+        if (reviewerId == null || reviewerId.isBlank()) {
+            throw new IllegalArgumentException("审核员标识不能为空");
+        }
+
+        int size = Math.max(1, Math.min(batchSize, maxBatchSize));
+        int seconds = leaseSeconds == null ? defaultLeaseSeconds : Math.max(1, Math.min(leaseSeconds, maxLeaseSeconds));
+
+        // 数据库时间戳精度有限，截断到毫秒以便按租约到期时间精确回查
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime expiresAt = now.plusSeconds(seconds);
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        List<TravelDelayClaim> leased = new ArrayList<>();
+        int first = Math.floorMod(nextShard.getAndIncrement(), shardRouter.shardCount());
+        for (int i = 0; i < shardRouter.shardCount() && leased.size() < size; i++) {
+            int remaining = size - leased.size();
+            leased.addAll(shardRouter.onShard((first + i) % shardRouter.shardCount(), () -> template.execute(
+                    status -> leaseOnShard(reviewerId, remaining, now, expiresAt))));
+        }
+        leased.sort(Comparator
+                .comparingLong((TravelDelayClaim claim) -> effectivePriority(claim, now, agingPointsPerHour))
+                .reversed()
+                .thenComparing(TravelDelayClaim::getClaimDate, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        logger.info("审核员 {} 领取待审核申请 {} 条，租约到期时间: {}", reviewerId, leased.size(), expiresAt);
+        return leased;
+    }
+
+    private List<TravelDelayClaim> leaseOnShard(String reviewerId, int size, LocalDateTime now,
+            LocalDateTime expiresAt) {
+        int acquired = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && acquired < size; attempt++) {
+            List<Long> candidates = claimRepository.findReviewQueueCandidates(
+                    now, agingPointsPerHour, PageRequest.of(0, (size - acquired) * CANDIDATE_FACTOR));
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = candidates.size() > size - acquired
+                    ? new ArrayList<>(candidates.subList(0, size - acquired))
+                    : candidates;
+            acquired += claimRepository.acquireReviewLeases(ids, reviewerId, expiresAt, now);
+        }
+
+        List<TravelDelayClaim> leased = claimRepository
+                .findByLeaseOwnerAndLeaseExpiresAtOrderByReviewPriorityDescClaimDateAsc(reviewerId, expiresAt);
+        claimSnapshotCache.invalidateAfterCommit(leased.stream().map(TravelDelayClaim::getClaimNumber).toList());
+        return leased;
+    }
+
+    /**
+     * 释放审核员持有的租约，申请重新回到队列
+     * 
+     * @param reviewerId   审核员标识
+     * @param claimNumbers 申请单号列表
+     * @return 释放的数量
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int release(String reviewerId, List<String> claimNumbers) {
+        if (claimNumbers == null || claimNumbers.isEmpty()) {
+            return 0;
+        }
+
+        // 单号未编码分片时在每个分片上释放
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int released = shardRouter.forEachShard(shard -> {
+            List<String> onShard = claimNumbers.stream()
+                    .filter(number -> {
+                        int target = shardRouter.shardOfClaimNumber(number);
+                        return target == shard || target < 0;
+                    })
+                    .toList();
+            if (onShard.isEmpty()) {
+                return 0;
+            }
+            return template.execute(status -> {
+                int count = claimRepository.releaseReviewLeases(onShard, reviewerId);
+                claimSnapshotCache.invalidateAfterCommit(onShard);
+                return count;
+            });
+        }).stream().mapToInt(Integer::intValue).sum();
+        logger.info("审核员 {} 释放审核租约 {} 条", reviewerId, released);
+        return released;
+    }
+
+    /**
+     * 统计可领取的待审核申请数量
+     */
+    @Transactional(readOnly = true)
+    public long availableCount() {
+        LocalDateTime now = LocalDateTime.now();
+        return shardRouter.scatter(() -> claimRepository.countAvailableForReview(now)).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * 判断申请是否被其他审核员持有有效租约
+     * 
+     * @param claim      理赔申请
+     * @param reviewerId 当前审核员标识
+     * @return 是否被他人租用
+     */
+    public static boolean isLeasedByOther(TravelDelayClaim claim, String reviewerId) {
+        return claim.getLeaseOwner() != null
+                && claim.getLeaseExpiresAt() != null
+                && claim.getLeaseExpiresAt().isAfter(LocalDateTime.now())
+                && !claim.getLeaseOwner().equals(reviewerId);
+    }
+}
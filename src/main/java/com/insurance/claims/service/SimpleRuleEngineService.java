@@ -9,7 +9,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
 import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.trace.RuleTrace;
+import com.insurance.claims.service.validation.ClaimValidationError;
+import com.insurance.claims.service.validation.ClaimValidator;
 
 /**
  * 简单规则引擎服务（不使用Drools）
@@ -19,10 +23,23 @@ import com.insurance.claims.model.TravelDelayClaim;
  * @since 2025-06-26
  */
 @Service
-public class SimpleRuleEngineService {
+public class SimpleRuleEngineService implements ClaimRuleEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleRuleEngineService.class);
 
+    private static final String RULE_COMPLETENESS = "信息完整性检查规则";
+    private static final String RULE_EARLY_DEPARTURE = "提前起飞规则";
+    private static final String RULE_UNDER_4_HOURS = "延误不足4小时拒赔规则";
+    private static final String RULE_4_TO_8_HOURS = "延误4-8小时理赔规则";
+    private static final String RULE_8_TO_24_HOURS = "延误8小时以上理赔规则";
+    private static final String RULE_ABNORMAL_DELAY = "异常延误审核规则";
+    private static final String RULE_AMOUNT_MISMATCH = "申请金额一致性检查规则";
+
+    @Override
+    public String engineName() {
+        return "simple";
+    }
+
     /**
      * 执行理赔规则决策
      * 
@@ -30,6 +47,18 @@ public class SimpleRuleEngineService {
      * @return 理赔决策结果
      */
     public ClaimDecision executeClaimRules(TravelDelayClaim claim) {
+        return executeClaimRules(claim, null);
+    }
+
+    /**
+     * 执行理赔规则决策，规则按顺序评估，首个匹配的延误规则决定结果
+     * 
+     * @param claim 理赔申请
+     * @param trace 规则执行追踪，未开启追踪时为null
+     * @return 理赔决策结果
+     */
+    @Override
+    public ClaimDecision executeClaimRules(TravelDelayClaim claim, RuleTrace trace) {
         logger.info("开始执行理赔规则，申请单号: {}", claim.getClaimNumber());
 
         try {
@@ -42,12 +71,13 @@ public class SimpleRuleEngineService {
                     .build();
 
             // 数据验证
-            if (!validateClaimData(claim)) {
-                decision.setReason("关键信息缺失：请补充完整的航班时间、保单号和航班号信息");
-                decision.setRuleName("信息完整性检查规则");
+            if (RuleTrace.evaluate(trace, RULE_COMPLETENESS, !validateClaimData(claim))) {
+                decision.setReason(ClaimReasonCode.INCOMPLETE_INFO);
+                decision.setRuleName(RULE_COMPLETENESS);
                 decision.setRiskLevel(ClaimDecision.RiskLevel.HIGH);
                 decision.setRequiresManualReview(true);
-                decision.setReviewSuggestion("请客户补充完整的申请信息后重新提交");
+                decision.setReviewSuggestion(ClaimReasonCode.REVIEW_INCOMPLETE_INFO);
+                RuleTrace.fired(trace, RULE_COMPLETENESS);
                 logger.warn("数据验证失败: {}", decision.getReason());
                 return decision;
             }
@@ -57,59 +87,63 @@ public class SimpleRuleEngineService {
             claim.setDelayHours(delayHours);
 
             // 执行业务规则
-            if (delayHours < 0) {
+            if (RuleTrace.evaluate(trace, RULE_EARLY_DEPARTURE, delayHours < 0)) {
                 // 提前起飞
                 decision.setEligible(false);
                 decision.setCompensationAmount(BigDecimal.ZERO);
-                decision.setReason("航班提前起飞，不符合延误理赔条件");
-                decision.setRuleName("提前起飞规则");
+                decision.setReason(ClaimReasonCode.EARLY_DEPARTURE);
+                decision.setRuleName(RULE_EARLY_DEPARTURE);
                 decision.setRiskLevel(ClaimDecision.RiskLevel.LOW);
                 decision.setRequiresManualReview(false);
 
-            } else if (delayHours < 4) {
+            } else if (RuleTrace.evaluate(trace, RULE_UNDER_4_HOURS, delayHours < 4)) {
                 // 延误不足4小时
                 decision.setEligible(false);
                 decision.setCompensationAmount(BigDecimal.ZERO);
-                decision.setReason("延误" + delayHours + "小时，不足4小时不符合理赔条件");
-                decision.setRuleName("延误不足4小时拒赔规则");
+                decision.setReason(ClaimReasonCode.DELAY_BELOW_MINIMUM, delayHours, null, 4);
+                decision.setRuleName(RULE_UNDER_4_HOURS);
                 decision.setRiskLevel(ClaimDecision.RiskLevel.LOW);
                 decision.setRequiresManualReview(false);
 
-            } else if (delayHours >= 4 && delayHours < 8) {
+            } else if (RuleTrace.evaluate(trace, RULE_4_TO_8_HOURS, delayHours >= 4 && delayHours < 8)) {
                 // 延误4-8小时，赔付300元
                 decision.setEligible(true);
                 decision.setCompensationAmount(new BigDecimal("300.00"));
-                decision.setReason("延误" + delayHours + "小时，符合4-8小时理赔条件");
-                decision.setRuleName("延误4-8小时理赔规则");
+                decision.setReason(ClaimReasonCode.DELAY_WITHIN_RANGE, delayHours, 4, 8);
+                decision.setRuleName(RULE_4_TO_8_HOURS);
                 decision.setRiskLevel(ClaimDecision.RiskLevel.LOW);
                 decision.setRequiresManualReview(false);
 
-            } else if (delayHours >= 8 && delayHours <= 24) {
+            } else if (RuleTrace.evaluate(trace, RULE_8_TO_24_HOURS, delayHours >= 8 && delayHours <= 24)) {
                 // 延误8小时以上，赔付600元
                 decision.setEligible(true);
                 decision.setCompensationAmount(new BigDecimal("600.00"));
-                decision.setReason("延误" + delayHours + "小时，符合8小时以上理赔条件");
-                decision.setRuleName("延误8小时以上理赔规则");
+                decision.setReason(ClaimReasonCode.DELAY_AT_LEAST, delayHours, 8, null);
+                decision.setRuleName(RULE_8_TO_24_HOURS);
                 decision.setRiskLevel(ClaimDecision.RiskLevel.LOW);
                 decision.setRequiresManualReview(false);
 
             } else {
                 // 延误超过24小时，需要人工审核
+                RuleTrace.evaluate(trace, RULE_ABNORMAL_DELAY, true);
                 decision.setEligible(false);
                 decision.setCompensationAmount(BigDecimal.ZERO);
-                decision.setReason("延误时长异常（" + delayHours + "小时），需要人工审核");
-                decision.setRuleName("异常延误审核规则");
+                decision.setReason(ClaimReasonCode.ABNORMAL_DELAY, delayHours);
+                decision.setRuleName(RULE_ABNORMAL_DELAY);
                 decision.setRiskLevel(ClaimDecision.RiskLevel.HIGH);
                 decision.setRequiresManualReview(true);
-                decision.setReviewSuggestion("延误时长超过24小时，建议核实航班信息和延误原因");
+                decision.setReviewSuggestion(ClaimReasonCode.REVIEW_ABNORMAL_DELAY);
             }
+            RuleTrace.fired(trace, decision.getRuleName());
 
             // 检查申请金额是否与系统计算一致
             if (claim.getClaimedAmount() != null && decision.isEligible()) {
-                if (claim.getClaimedAmount().compareTo(decision.getCompensationAmount()) != 0) {
+                if (RuleTrace.evaluate(trace, RULE_AMOUNT_MISMATCH,
+                        claim.getClaimedAmount().compareTo(decision.getCompensationAmount()) != 0)) {
                     decision.setRequiresManualReview(true);
                     decision.setRiskLevel(ClaimDecision.RiskLevel.MEDIUM);
-                    decision.setReviewSuggestion("申请金额与系统计算不一致，建议人工核实");
+                    decision.setReviewSuggestion(ClaimReasonCode.REVIEW_AMOUNT_MISMATCH);
+                    RuleTrace.fired(trace, RULE_AMOUNT_MISMATCH);
                     logger.warn("申请金额{}与系统计算金额{}不一致",
                             claim.getClaimedAmount(), decision.getCompensationAmount());
                 }
@@ -124,21 +158,23 @@ public class SimpleRuleEngineService {
             logger.error("规则执行异常，申请单号: {}", claim.getClaimNumber(), e);
 
             // 返回异常处理决策
-            return ClaimDecision.builder()
+            ClaimDecision decision = ClaimDecision.builder()
                     .eligible(false)
                     .compensationAmount(BigDecimal.ZERO)
-                    .reason("系统异常，请联系客服处理")
                     .ruleName("异常处理规则")
                     .decisionTime(LocalDateTime.now())
                     .riskLevel(ClaimDecision.RiskLevel.HIGH)
                     .requiresManualReview(true)
-                    .reviewSuggestion("系统执行规则时发生异常: " + e.getMessage())
                     .build();
+            decision.setReason(ClaimReasonCode.SYSTEM_ERROR);
+            decision.setReviewSuggestion(ClaimReasonCode.REVIEW_SYSTEM_ERROR, e.getMessage());
+            return decision;
         }
     }
 
     /**
-     * 验证理赔申请数据的完整性
+     * 验证理赔申请关键字段的完整性
+     * 经业务服务提交的申请已由 ClaimValidator 完整校验，这里只做规则引擎所需字段的空值检查
      * 
      * @param claim 理赔申请
      * @return 验证结果
@@ -149,39 +185,11 @@ public class SimpleRuleEngineService {
             return false;
         }
 
-        boolean isValid = true;
-        StringBuilder errors = new StringBuilder();
-
-        if (claim.getPolicyNumber() == null || claim.getPolicyNumber().trim().isEmpty()) {
-            errors.append("保单号不能为空; ");
-            isValid = false;
+        long missing = ClaimValidator.missingRequiredFields(claim);
+        if (missing != 0) {
+            logger.warn("理赔申请数据验证失败: {}", ClaimValidationError.describe(missing).values());
         }
-
-        if (claim.getFlightNumber() == null || claim.getFlightNumber().trim().isEmpty()) {
-            errors.append("航班号不能为空; ");
-            isValid = false;
-        }
-
-        if (claim.getScheduledDeparture() == null) {
-            errors.append("计划起飞时间不能为空; ");
-            isValid = false;
-        }
-
-        if (claim.getActualDeparture() == null) {
-            errors.append("实际起飞时间不能为空; ");
-            isValid = false;
-        }
-
-        if (claim.getPolicyholderName() == null || claim.getPolicyholderName().trim().isEmpty()) {
-            errors.append("投保人姓名不能为空; ");
-            isValid = false;
-        }
-
-        if (!isValid) {
-            logger.warn("理赔申请数据验证失败: {}", errors.toString());
-        }
-
-        return isValid;
+        return missing == 0;
     }
 
     /**
@@ -1,21 +1,42 @@
 package com.insurance.claims.service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.insurance.claims.dto.ClaimResponse;
 import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.exception.ClaimConflictException;
+import com.insurance.claims.exception.ClaimValidationException;
 import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
 import com.insurance.claims.model.TravelDelayClaim;
-import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.archive.ClaimArchive;
+import com.insurance.claims.service.audit.DecisionAuditJournal;
+import com.insurance.claims.service.audit.DecisionAuditRecord;
+import com.insurance.claims.service.cache.ClaimSnapshotCache;
+import com.insurance.claims.service.dedup.DuplicateClaimDetector;
+import com.insurance.claims.service.fraud.FraudScreeningResult;
+import com.insurance.claims.service.fraud.FraudScreeningService;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+import com.insurance.claims.service.store.ClaimStore;
+import com.insurance.claims.service.trace.RuleProfiler;
+import com.insurance.claims.service.trace.RuleTrace;
+import com.insurance.claims.service.validation.ClaimValidation;
+import com.insurance.claims.service.validation.ClaimValidator;
 
 /**
  * 旅游延误险理赔业务服务
@@ -30,68 +51,174 @@ public class TravelDelayClaimService {
     private static final Logger logger = LoggerFactory.getLogger(TravelDelayClaimService.class);
 
     @Autowired
-    private TravelDelayClaimRepository claimRepository;
+    private ClaimStore claimStore;
 
     @Autowired
     private SimpleRuleEngineService ruleEngineService;
 
+    @Autowired
+    private ClaimRuleEngine claimRuleEngine;
+
+    @Autowired
+    private RuleProfiler ruleProfiler;
+
+    @Autowired
+    private FraudScreeningService fraudScreeningService;
+
+    @Autowired
+    private DuplicateClaimDetector duplicateClaimDetector;
+
+    @Autowired
+    private ClaimUpdateRetrier updateRetrier;
+
+    @Autowired
+    private ClaimNumberGenerator claimNumberGenerator;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Autowired
+    private ClaimValidator claimValidator;
+
+    @Autowired
+    private ClaimSnapshotCache claimSnapshotCache;
+
+    @Autowired
+    private ClaimArchive claimArchive;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DecisionAuditJournal decisionAuditJournal;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     /**
      * 处理理赔申请
      * 
      * @param request 理赔申请请求
      * @return 理赔处理结果
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ClaimResponse processClaim(TravelDelayClaimRequest request) {
+        return processClaim(request, false);
+    }
+
+    /**
+     * 处理理赔申请
+     * 
+     * @param request    理赔申请请求
+     * @param traceRules 是否追踪本次规则执行（未要求时按采样率决定）
+     * @return 理赔处理结果
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ClaimResponse processClaim(TravelDelayClaimRequest request, boolean traceRules) {
+        return processClaim(claimValidator.check(request), traceRules);
+    }
+
+    /**
+     * 处理已校验的理赔申请，不再重复校验
+     * 申请在独立事务中保存与决策；与并发提交的相同申请发生判定键唯一约束冲突时，
+     * 回查确认后在新事务中按重复申请重新处理。
+     * 
+     * @param validation 校验结果
+     * @param traceRules 是否追踪本次规则执行（未要求时按采样率决定）
+     * @return 理赔处理结果
+     * @throws ClaimValidationException 申请未通过校验
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ClaimResponse processClaim(ClaimValidation validation, boolean traceRules) {
+        if (!validation.isValid()) {
+            throw new ClaimValidationException(validation.getErrors());
+        }
+        TravelDelayClaimRequest request = validation.getRequest();
         logger.info("开始处理理赔申请，投保人: {}, 保单号: {}",
                 request.getPolicyholderName(), request.getPolicyNumber());
 
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        TravelDelayClaim[] attempt = new TravelDelayClaim[1];
         try {
-            // 1. 转换请求为实体对象
-            TravelDelayClaim claim = convertRequestToClaim(request);
-
-            // 2. 计算延误时长
-            int delayHours = ruleEngineService.calculateDelayHours(claim);
-            claim.setDelayHours(delayHours);
-
-            // 3. 数据验证
-            if (!ruleEngineService.validateClaimData(claim)) {
-                throw new IllegalArgumentException("理赔申请数据不完整或格式错误");
+            try {
+                return template.execute(status -> decide(request, traceRules, attempt, false));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt[0] == null || !duplicateClaimDetector.confirmConflict(attempt[0])) {
+                    throw e;
+                }
+                return template.execute(status -> decide(request, traceRules, attempt, true));
             }
-
-            // 4. 保存申请记录
-            claim = claimRepository.save(claim);
-            logger.info("理赔申请已保存，申请单号: {}", claim.getClaimNumber());
-
-            // 5. 执行规则引擎决策
-            ClaimDecision decision = ruleEngineService.executeClaimRules(claim);
-
-            // 6. 更新申请状态和结果
-            updateClaimWithDecision(claim, decision);
-            claim = claimRepository.save(claim);
-
-            // 7. 构建响应结果
-            ClaimResponse response = buildClaimResponse(claim, decision);
-
-            logger.info("理赔申请处理完成，申请单号: {}, 结果: {}",
-                    claim.getClaimNumber(),
-                    decision.isEligible() ? "批准" : "拒绝");
-
-            return response;
-
         } catch (Exception e) {
             logger.error("处理理赔申请失败", e);
             throw new RuntimeException("处理理赔申请失败: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 在当前事务中保存申请并执行规则决策
+     *
+     * @param attempt        回传本次构造的申请，供唯一约束冲突后回查
+     * @param knownDuplicate 是否已确认与已提交的申请重复
+     */
+    private ClaimResponse decide(TravelDelayClaimRequest request, boolean traceRules, TravelDelayClaim[] attempt,
+            boolean knownDuplicate) {
+        // 1. 转换请求为实体对象
+        TravelDelayClaim claim = convertRequestToClaim(request);
+        attempt[0] = claim;
+
+        // 2. 计算延误时长
+        int delayHours = ruleEngineService.calculateDelayHours(claim);
+        claim.setDelayHours(delayHours);
+
+        // 3. 重复申请检测（需在保存之前）
+        DuplicateClaimDetector.Result duplicate = knownDuplicate
+                ? DuplicateClaimDetector.Result.DUPLICATE
+                : duplicateClaimDetector.check(claim);
+
+        // 4. 保存申请记录
+        claim = claimStore.submit(claim);
+        duplicateClaimDetector.register(claim);
+        logger.info("理赔申请已保存，申请单号: {}", claim.getClaimNumber());
+
+        // 5. 频率风控筛查
+        FraudScreeningResult screening = fraudScreeningService.screen(claim);
+
+        // 6. 执行规则引擎决策
+        RuleTrace trace = ruleProfiler.start(claimRuleEngine.engineName(), traceRules);
+        ClaimDecision decision = claimRuleEngine.executeClaimRules(claim, trace);
+        ruleProfiler.finish(trace, decision);
+        DecisionAuditRecord audit = decisionAuditJournal.capture(claim, decision);
+        fraudScreeningService.applyTo(screening, decision);
+        duplicateClaimDetector.applyTo(duplicate, decision);
+
+        // 7. 更新申请状态和结果（需要人工审核时保持待处理状态）
+        updateClaimWithDecision(claim, decision, claimRuleEngine.ruleVersion(claim));
+        claim = claimStore.decide(claim);
+        eventPublisher.publishEvent(ClaimDecisionEvent.of(ClaimDecisionEvent.Type.DECIDED, claim, decision));
+        // 审计记录在事务提交后写入，提交失败的决策不进入审计日志
+        decisionAuditJournal.append(audit, claim);
+
+        // 8. 构建响应结果
+        ClaimResponse response = buildClaimResponse(claim, decision);
+
+        logger.info("理赔申请处理完成，申请单号: {}, 结果: {}",
+                claim.getClaimNumber(),
+                decision.isEligible() ? "批准" : "拒绝");
+
+        return response;
+    }
+
     /**
      * 根据申请单号查询理赔申请
+     * 优先读取快照缓存，并发未命中合并为一次存储查询；存储中不存在时查询归档
      * 
      * @param claimNumber 申请单号
-     * @return 理赔申请信息
+     * @return 理赔申请信息（只读快照）
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<TravelDelayClaim> getClaimByNumber(String claimNumber) {
-        return claimRepository.findByClaimNumber(claimNumber);
+        return claimSnapshotCache.get(claimNumber,
+                number -> claimStore.findByClaimNumber(number).or(() -> claimArchive.find(number)));
     }
 
     /**
@@ -101,7 +228,7 @@ public class TravelDelayClaimService {
      * @return 理赔申请列表
      */
     public List<TravelDelayClaim> getClaimsByPolicyNumber(String policyNumber) {
-        return claimRepository.findByPolicyNumber(policyNumber);
+        return claimStore.findByPolicyNumber(policyNumber);
     }
 
     /**
@@ -110,7 +237,7 @@ public class TravelDelayClaimService {
      * @return 需要审核的申请列表
      */
     public List<TravelDelayClaim> getClaimsRequiringReview() {
-        return claimRepository.findClaimsRequiringReview();
+        return claimStore.findClaimsRequiringReview();
     }
 
     /**
@@ -119,42 +246,79 @@ public class TravelDelayClaimService {
      * @return 今日申请列表
      */
     public List<TravelDelayClaim> getTodayClaims() {
-        return claimRepository.findTodayClaims();
+        return claimStore.findTodayClaims();
+    }
+
+    /**
+     * 按状态统计申请数量
+     * 
+     * @return 各状态的申请数量
+     */
+    public Map<TravelDelayClaim.ClaimStatus, Long> getStatusCounts() {
+        return claimStore.countByClaimStatus();
     }
 
     /**
      * 人工审核申请
+     * 每次尝试在独立事务中重新读取申请，版本冲突时自动重试；
+     * 申请已被他人审核、状态不允许流转或与客户端持有的版本不一致时抛出冲突异常。
      * 
-     * @param claimNumber 申请单号
-     * @param approved    是否批准
-     * @param notes       审核备注
+     * @param claimNumber     申请单号
+     * @param approved        是否批准
+     * @param notes           审核备注
+     * @param reviewerId      审核员标识（可为空）
+     * @param expectedVersion 客户端读取到的版本号（可为空）
      * @return 更新后的申请信息
      */
-    public TravelDelayClaim manualReview(String claimNumber, boolean approved, String notes) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TravelDelayClaim manualReview(String claimNumber, boolean approved, String notes, String reviewerId,
+            Long expectedVersion) {
         logger.info("开始人工审核，申请单号: {}, 结果: {}", claimNumber, approved ? "批准" : "拒绝");
 
-        TravelDelayClaim claim = claimRepository.findByClaimNumber(claimNumber)
+        TravelDelayClaim claim = updateRetrier.execute(claimNumber,
+                () -> applyManualReview(claimNumber, approved, notes, reviewerId, expectedVersion));
+
+        logger.info("人工审核完成，申请单号: {}, 状态: {}", claimNumber, claim.getClaimStatus());
+        return claim;
+    }
+
+    private TravelDelayClaim applyManualReview(String claimNumber, boolean approved, String notes, String reviewerId,
+            Long expectedVersion) {
+        TravelDelayClaim claim = claimStore.findByClaimNumber(claimNumber)
                 .orElseThrow(() -> new IllegalArgumentException("申请单号不存在: " + claimNumber));
 
-        claim.setClaimStatus(approved ? TravelDelayClaim.ClaimStatus.APPROVED : TravelDelayClaim.ClaimStatus.REJECTED);
-        claim.setApprovalResult(approved ? "人工审核通过" : "人工审核拒绝");
+        if (expectedVersion != null && !expectedVersion.equals(claim.getVersion())) {
+            throw new ClaimConflictException("申请已被修改，当前版本: " + claim.getVersion() + ", 申请单号: " + claimNumber);
+        }
+        if (ReviewQueueService.isLeasedByOther(claim, reviewerId)) {
+            throw new ClaimConflictException("申请已被审核员 " + claim.getLeaseOwner() + " 领取: " + claimNumber);
+        }
+
+        claim.transitionTo(approved ? TravelDelayClaim.ClaimStatus.APPROVED : TravelDelayClaim.ClaimStatus.REJECTED);
+        claim.setReasonCode(approved ? ClaimReasonCode.MANUAL_APPROVED : ClaimReasonCode.MANUAL_REJECTED);
+        claim.setReasonParams(null);
         claim.setApprovalNotes(notes);
         claim.setProcessDate(LocalDateTime.now());
+        claim.setLeaseOwner(null);
+        claim.setLeaseExpiresAt(null);
 
-        claim = claimRepository.save(claim);
-
-        logger.info("人工审核完成，申请单号: {}, 状态: {}", claimNumber, claim.getClaimStatus());
+        claim = claimStore.review(claim);
+        eventPublisher.publishEvent(ClaimDecisionEvent.of(ClaimDecisionEvent.Type.REVIEWED, claim, null));
         return claim;
     }
 
     /**
-     * 转换请求对象为实体对象
+     * 转换请求对象为实体对象，启用分片时申请单号编码保单所属分片
      */
     private TravelDelayClaim convertRequestToClaim(TravelDelayClaimRequest request) {
+        String claimNumber = shardRouter.isSharded()
+                ? claimNumberGenerator.next(shardRouter.shardOfPolicy(request.getPolicyNumber()))
+                : claimNumberGenerator.next();
         return TravelDelayClaim.builder()
-                .claimNumber(generateClaimNumber())
+                .claimNumber(claimNumber)
                 .policyholderName(request.getPolicyholderName())
                 .policyNumber(request.getPolicyNumber())
+                .productCode(request.getProductCode())
                 .flightNumber(request.getFlightNumber())
                 .scheduledDeparture(request.getScheduledDeparture())
                 .actualDeparture(request.getActualDeparture())
@@ -165,28 +329,20 @@ public class TravelDelayClaimService {
                 .build();
     }
 
-    /**
-     * 生成申请单号
-     */
-    private String generateClaimNumber() {
-        String datePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String timePart = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HHmmss"));
-        return "CLAIM" + datePart + timePart;
-    }
-
     /**
      * 根据决策结果更新申请信息
      */
-    private void updateClaimWithDecision(TravelDelayClaim claim, ClaimDecision decision) {
+    private void updateClaimWithDecision(TravelDelayClaim claim, ClaimDecision decision, String ruleSetVersion) {
         claim.setCalculatedAmount(decision.getCompensationAmount());
-        claim.setApprovalResult(decision.getReason());
+        claim.recordReason(decision.getReasonCode(), decision.getReasonParams(),
+                decision.isRequiresManualReview() ? decision.getReviewCode() : null, decision.getReviewParams());
+        claim.setRuleSetVersion(ruleSetVersion);
         claim.setProcessDate(LocalDateTime.now());
+        claim.setRiskLevel(decision.getRiskLevel());
+        claim.setReviewPriority(ReviewQueueService.priorityOf(decision.getRiskLevel(), claim.getClaimedAmount()));
 
-        if (decision.isRequiresManualReview()) {
-            claim.setClaimStatus(TravelDelayClaim.ClaimStatus.PENDING);
-            claim.setApprovalNotes("需要人工审核: " + decision.getReviewSuggestion());
-        } else {
-            claim.setClaimStatus(decision.isEligible() ? TravelDelayClaim.ClaimStatus.APPROVED
+        if (!decision.isRequiresManualReview()) {
+            claim.transitionTo(decision.isEligible() ? TravelDelayClaim.ClaimStatus.APPROVED
                     : TravelDelayClaim.ClaimStatus.REJECTED);
         }
     }
@@ -194,7 +350,7 @@ public class TravelDelayClaimService {
     /**
      * 构建响应对象
      */
-    private ClaimResponse buildClaimResponse(TravelDelayClaim claim, ClaimDecision decision) {
+    public static ClaimResponse buildClaimResponse(TravelDelayClaim claim, ClaimDecision decision) {
         ClaimResponse.ClaimDetails details = ClaimResponse.ClaimDetails.builder()
                 .policyholderName(claim.getPolicyholderName())
                 .policyNumber(claim.getPolicyNumber())
@@ -0,0 +1,39 @@
+package com.insurance.claims.service.analytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 理赔决策事件监听器
+ * 在事务提交后将决策结果写入滚动统计
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimAnalyticsListener {
+
+    @Autowired
+    private RollingClaimAnalytics analytics;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClaimDecision(ClaimDecisionEvent event) {
+        if (event.getType() == ClaimDecisionEvent.Type.PAID) {
+            return;
+        }
+
+        boolean approved = event.getClaimStatus() == TravelDelayClaim.ClaimStatus.APPROVED;
+        boolean decided = event.getType() == ClaimDecisionEvent.Type.DECIDED;
+
+        analytics.record(
+                event.getFlightNumber(),
+                decided,
+                approved,
+                decided && event.isRequiresManualReview(),
+                event.getCalculatedAmount());
+    }
+}
@@ -0,0 +1,328 @@
+package com.insurance.claims.service.analytics;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.dto.ClaimTrendPoint;
+import com.insurance.claims.dto.ClaimTrendStats;
+
+/**
+ * 滚动窗口理赔统计存储
+ * 以固定时长的时间桶组成环形缓冲区，每个时间桶内按航班号和航空公司维护紧凑的计数聚合。
+ * 每个时间桶内的键数量有上限，超出部分合并到溢出键，因此内存占用与航班数量无关。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class RollingClaimAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingClaimAnalytics.class);
+
+    /**
+     * 超出键数量上限后合并统计的溢出键
+     */
+    public static final String OVERFLOW_KEY = "OTHER";
+
+    private static final int CLAIMS = 0;
+    private static final int APPROVED = 1;
+    private static final int REVIEWS = 2;
+    private static final int PAYOUT_CENTS = 3;
+    private static final int COUNTER_COUNT = 4;
+
+    /**
+     * 统计维度
+     */
+    public enum Dimension {
+        FLIGHT,
+        AIRLINE
+    }
+
+    /**
+     * 排序指标
+     */
+    public enum Metric {
+        CLAIMS,
+        APPROVED,
+        REVIEWS,
+        PAYOUT
+    }
+
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final int maxKeysPerBucket;
+    private final AtomicReferenceArray<TimeBucket> ring;
+
+    @Autowired
+    public RollingClaimAnalytics(
+            @Value("${claims.analytics.bucket-minutes:15}") int bucketMinutes,
+            @Value("${claims.analytics.window-hours:24}") int windowHours,
+            @Value("${claims.analytics.max-keys-per-bucket:2048}") int maxKeysPerBucket) {
+        this(Clock.systemDefaultZone(), bucketMinutes, windowHours, maxKeysPerBucket);
+    }
+
+    RollingClaimAnalytics(Clock clock, int bucketMinutes, int windowHours, int maxKeysPerBucket) {
+        if (bucketMinutes <= 0 || windowHours <= 0 || maxKeysPerBucket <= 0) {
+            throw new IllegalArgumentException("统计窗口参数必须大于0");
+        }
+        this.clock = clock;
+        this.bucketMillis = TimeUnit.MINUTES.toMillis(bucketMinutes);
+        this.windowBuckets = (int) Math.max(1, TimeUnit.HOURS.toMillis(windowHours) / bucketMillis);
+        this.maxKeysPerBucket = maxKeysPerBucket;
+        // 多预留一个槽位，避免当前时间桶覆盖窗口内最早的时间桶
+        this.ring = new AtomicReferenceArray<>(windowBuckets + 1);
+        logger.info("理赔滚动统计已初始化，时间桶: {}分钟, 桶数量: {}, 单桶键上限: {}",
+                bucketMinutes, windowBuckets, maxKeysPerBucket);
+    }
+
+    /**
+     * 记录一次理赔决策
+     *
+     * @param flightNumber  航班号
+     * @param claimed       是否计为新的理赔申请
+     * @param approved      是否批准
+     * @param review        是否转人工审核
+     * @param payoutAmount  赔付金额
+     */
+    public void record(String flightNumber, boolean claimed, boolean approved, boolean review,
+            BigDecimal payoutAmount) {
+        if (flightNumber == null || flightNumber.isEmpty()) {
+            return;
+        }
+
+        TimeBucket bucket = currentBucket();
+        long payoutCents = approved && payoutAmount != null
+                ? payoutAmount.movePointRight(2).longValue()
+                : 0L;
+
+        add(bucket.aggregate(bucket.flights, flightNumber), claimed, approved, review, payoutCents);
+        add(bucket.aggregate(bucket.airlines, airlineCode(flightNumber)), claimed, approved, review, payoutCents);
+    }
+
+    /**
+     * 查询指定时间范围内排名前K的统计键
+     *
+     * @param dimension 统计维度
+     * @param metric    排序指标
+     * @param k         返回数量
+     * @param hours     统计最近多少小时
+     * @return 按指标倒序排列的统计结果
+     */
+    public List<ClaimTrendStats> topK(Dimension dimension, Metric metric, int k, int hours) {
+        if (k <= 0) {
+            return List.of();
+        }
+
+        Map<String, long[]> merged = new HashMap<>();
+        for (TimeBucket bucket : bucketsWithin(hours)) {
+            bucket.mapFor(dimension).forEach((key, aggregate) -> {
+                long[] totals = merged.computeIfAbsent(key, ignored -> new long[COUNTER_COUNT]);
+                for (int i = 0; i < COUNTER_COUNT; i++) {
+                    totals[i] += aggregate.get(i);
+                }
+            });
+        }
+
+        int index = metricIndex(metric);
+        Comparator<Map.Entry<String, long[]>> byMetric = Comparator.comparingLong(e -> e.getValue()[index]);
+        PriorityQueue<Map.Entry<String, long[]>> heap = new PriorityQueue<>(k + 1, byMetric);
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        List<ClaimTrendStats> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<String, long[]> entry = heap.poll();
+            result.add(toStats(entry.getKey(), entry.getValue()));
+        }
+        result.sort(Comparator.comparingLong((ClaimTrendStats s) -> metricValue(s, metric)).reversed());
+        return result;
+    }
+
+    /**
+     * 查询指定键的时间序列
+     *
+     * @param dimension 统计维度
+     * @param key       航班号或航空公司代码
+     * @param hours     统计最近多少小时
+     * @return 按时间升序排列的数据点，无数据的时间桶以0填充
+     */
+    public List<ClaimTrendPoint> series(Dimension dimension, String key, int hours) {
+        long currentEpoch = clock.millis() / bucketMillis;
+        int buckets = bucketCount(hours);
+        List<ClaimTrendPoint> points = new ArrayList<>(buckets);
+
+        for (long epoch = currentEpoch - buckets + 1; epoch <= currentEpoch; epoch++) {
+            TimeBucket bucket = ring.get(slot(epoch));
+            AtomicLongArray aggregate = bucket != null && bucket.epoch == epoch
+                    ? bucket.mapFor(dimension).get(key)
+                    : null;
+
+            points.add(ClaimTrendPoint.builder()
+                    .bucketStart(LocalDateTime.ofInstant(Instant.ofEpochMilli(epoch * bucketMillis),
+                            ZoneId.systemDefault()))
+                    .claimCount(aggregate != null ? aggregate.get(CLAIMS) : 0)
+                    .approvedCount(aggregate != null ? aggregate.get(APPROVED) : 0)
+                    .reviewCount(aggregate != null ? aggregate.get(REVIEWS) : 0)
+                    .payoutAmount(BigDecimal.valueOf(aggregate != null ? aggregate.get(PAYOUT_CENTS) : 0, 2))
+                    .build());
+        }
+        return points;
+    }
+
+    /**
+     * 根据航班号提取航空公司代码（航班号开头的非数字部分）
+     */
+    public static String airlineCode(String flightNumber) {
+        int end = 0;
+        while (end < flightNumber.length() && !Character.isDigit(flightNumber.charAt(end))) {
+            end++;
+        }
+        if (end == 0) {
+            return flightNumber.substring(0, Math.min(2, flightNumber.length()));
+        }
+        return flightNumber.substring(0, end);
+    }
+
+    private void add(AtomicLongArray aggregate, boolean claimed, boolean approved, boolean review,
+            long payoutCents) {
+        if (claimed) {
+            aggregate.incrementAndGet(CLAIMS);
+        }
+        if (approved) {
+            aggregate.incrementAndGet(APPROVED);
+            aggregate.addAndGet(PAYOUT_CENTS, payoutCents);
+        }
+        if (review) {
+            aggregate.incrementAndGet(REVIEWS);
+        }
+    }
+
+    /**
+     * 获取当前时间桶，过期的槽位通过CAS替换为新的时间桶
+     */
+    private TimeBucket currentBucket() {
+        long epoch = clock.millis() / bucketMillis;
+        int slot = slot(epoch);
+        while (true) {
+            TimeBucket bucket = ring.get(slot);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket;
+            }
+            TimeBucket fresh = new TimeBucket(epoch, maxKeysPerBucket);
+            if (ring.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private List<TimeBucket> bucketsWithin(int hours) {
+        long currentEpoch = clock.millis() / bucketMillis;
+        long oldestEpoch = currentEpoch - bucketCount(hours) + 1;
+        List<TimeBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            TimeBucket bucket = ring.get(i);
+            if (bucket != null && bucket.epoch >= oldestEpoch && bucket.epoch <= currentEpoch) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    private int bucketCount(int hours) {
+        long requested = TimeUnit.HOURS.toMillis(Math.max(1, hours)) / bucketMillis;
+        return (int) Math.max(1, Math.min(windowBuckets, requested));
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) ring.length());
+    }
+
+    private static int metricIndex(Metric metric) {
+        switch (metric) {
+            case APPROVED:
+                return APPROVED;
+            case REVIEWS:
+                return REVIEWS;
+            case PAYOUT:
+                return PAYOUT_CENTS;
+            default:
+                return CLAIMS;
+        }
+    }
+
+    private static long metricValue(ClaimTrendStats stats, Metric metric) {
+        switch (metric) {
+            case APPROVED:
+                return stats.getApprovedCount();
+            case REVIEWS:
+                return stats.getReviewCount();
+            case PAYOUT:
+                return stats.getPayoutAmount().movePointRight(2).longValue();
+            default:
+                return stats.getClaimCount();
+        }
+    }
+
+    private static ClaimTrendStats toStats(String key, long[] totals) {
+        return ClaimTrendStats.builder()
+                .key(key)
+                .claimCount(totals[CLAIMS])
+                .approvedCount(totals[APPROVED])
+                .reviewCount(totals[REVIEWS])
+                .payoutAmount(BigDecimal.valueOf(totals[PAYOUT_CENTS], 2))
+                .build();
+    }
+
+    /**
+     * 时间桶：保存单个时间段内各航班、各航空公司的计数
+     */
+    private static final class TimeBucket {
+
+        private final long epoch;
+        private final int maxKeys;
+        private final ConcurrentHashMap<String, AtomicLongArray> flights = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, AtomicLongArray> airlines = new ConcurrentHashMap<>();
+
+        private TimeBucket(long epoch, int maxKeys) {
+            this.epoch = epoch;
+            this.maxKeys = maxKeys;
+        }
+
+        private Map<String, AtomicLongArray> mapFor(Dimension dimension) {
+            return dimension == Dimension.AIRLINE ? airlines : flights;
+        }
+
+        private AtomicLongArray aggregate(ConcurrentHashMap<String, AtomicLongArray> map, String key) {
+            AtomicLongArray existing = map.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            String effectiveKey = map.size() >= maxKeys ? OVERFLOW_KEY : key;
+            return map.computeIfAbsent(effectiveKey, ignored -> new AtomicLongArray(COUNTER_COUNT));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.insurance.claims.service.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 归档段文件
+ * 数据文件（.seg）只追加写入记录，读取时通过内存映射按偏移量访问；
+ * 记录格式：记录长度(int) | CRC32(int) | 申请单号长度(short) | 申请单号 | 原始长度(int) | 压缩内容。
+ * 活动段的申请单号索引保存在堆内；段写满封存后生成按申请单号哈希排序的索引文件（.idx），
+ * 每项16字节（哈希、偏移量），查询时对映射的索引做二分查找，再用记录中的申请单号排除哈希碰撞。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class ArchiveSegment implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveSegment.class);
+
+    private static final int INDEX_MAGIC = 0x43494458;
+    private static final int INDEX_HEADER_BYTES = 8;
+    private static final int INDEX_ENTRY_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final int number;
+    private final Path dataPath;
+    private final Path indexPath;
+    private final FileChannel channel;
+
+    private volatile long size;
+    private volatile MappedByteBuffer data;
+    private volatile MappedByteBuffer index;
+    private volatile Map<String, Long> pending;
+    private int entries;
+
+    private ArchiveSegment(int number, Path dataPath, Path indexPath, FileChannel channel) {
+        this.number = number;
+        this.dataPath = dataPath;
+        this.indexPath = indexPath;
+        this.channel = channel;
+    }
+
+    /**
+     * 打开段文件：已有索引文件的段直接映射索引，否则扫描数据文件重建堆内索引并截掉末尾不完整的记录
+     */
+    static ArchiveSegment open(Path directory, int number) throws IOException {
+        String baseName = String.format("segment-%06d", number);
+        Path dataPath = directory.resolve(baseName + ".seg");
+        Path indexPath = directory.resolve(baseName + ".idx");
+        FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ArchiveSegment segment = new ArchiveSegment(number, dataPath, indexPath, channel);
+        segment.size = channel.size();
+
+        if (Files.exists(indexPath)) {
+            segment.mapIndex();
+        } else {
+            segment.recover();
+        }
+        return segment;
+    }
+
+    int number() {
+        return number;
+    }
+
+    long size() {
+        return size;
+    }
+
+    int entries() {
+        return entries;
+    }
+
+    boolean isSealed() {
+        return index != null;
+    }
+
+    /**
+     * 追加一条记录（不刷盘）
+     *
+     * @return 记录偏移量
+     */
+    long append(String claimNumber, byte[] compressed, int compressedLength, int rawLength) throws IOException {
+        byte[] key = claimNumber.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 2 + key.length + 4 + compressedLength;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + bodyLength);
+        record.putInt(bodyLength + 4);
+        record.putInt(0);
+        record.putShort((short) key.length);
+        record.put(key);
+        record.putInt(rawLength);
+        record.put(compressed, 0, compressedLength);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_BYTES, bodyLength);
+        record.putInt(4, (int) crc.getValue());
+        record.flip();
+
+        long offset = size;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        size = offset + record.limit();
+        return offset;
+    }
+
+    /**
+     * 刷盘后将本批记录加入堆内索引，使其对查询可见
+     */
+    void commit(Map<String, Long> offsets) throws IOException {
+        channel.force(false);
+        pending.putAll(offsets);
+        entries += offsets.size();
+    }
+
+    /**
+     * 封存段：按哈希排序写出索引文件并映射，之后查询不再使用堆内索引
+     */
+    synchronized void seal() throws IOException {
+        if (isSealed()) {
+            return;
+        }
+        List<long[]> sorted = new ArrayList<>(pending.size());
+        pending.forEach((claimNumber, offset) -> sorted.add(new long[] { hash(claimNumber), offset }));
+        sorted.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(b[1], a[1]));
+
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER_BYTES + sorted.size() * INDEX_ENTRY_BYTES);
+        buffer.putInt(INDEX_MAGIC).putInt(sorted.size());
+        for (long[] entry : sorted) {
+            buffer.putLong(entry[0]).putLong(entry[1]);
+        }
+        buffer.flip();
+
+        Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        mapIndex();
+        logger.info("归档段已封存: {}, 记录数: {}, 大小: {} 字节", dataPath.getFileName(), entries, size);
+    }
+
+    /**
+     * 按申请单号查找记录，返回压缩内容的读取视图
+     */
+    Record find(String claimNumber) {
+        Map<String, Long> heapIndex = pending;
+        if (heapIndex != null) {
+            Long offset = heapIndex.get(claimNumber);
+            return offset != null ? read(offset) : null;
+        }
+
+        ByteBuffer indexView = index;
+        long hash = hash(claimNumber);
+        int low = 0;
+        int high = indexView.getInt(4) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midHash = indexView.getLong(INDEX_HEADER_BYTES + mid * INDEX_ENTRY_BYTES);
+            if (midHash < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int count = indexView.getInt(4);
+        for (int i = low; i < count; i++) {
+            int position = INDEX_HEADER_BYTES + i * INDEX_ENTRY_BYTES;
+            if (indexView.getLong(position) != hash) {
+                break;
+            }
+            Record record = read(indexView.getLong(position + 8));
+            if (record.claimNumber.equals(claimNumber)) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Record read(long offset) {
+        ByteBuffer view = mapped(offset);
+        int position = (int) offset;
+        int length = view.getInt(position);
+        int keyLength = view.getShort(position + RECORD_HEADER_BYTES);
+        byte[] key = new byte[keyLength];
+        view.get(position + RECORD_HEADER_BYTES + 2, key);
+        int rawLength = view.getInt(position + RECORD_HEADER_BYTES + 2 + keyLength);
+        int payloadStart = position + RECORD_HEADER_BYTES + 2 + keyLength + 4;
+        byte[] payload = new byte[position + 4 + length - payloadStart];
+        view.get(payloadStart, payload);
+        return new Record(new String(key, StandardCharsets.UTF_8), payload, rawLength);
+    }
+
+    /**
+     * 返回覆盖指定记录的数据映射；活动段追加后按需重新映射
+     */
+    private ByteBuffer mapped(long offset) {
+        MappedByteBuffer current = data;
+        if (current == null || offset + RECORD_HEADER_BYTES > current.capacity()
+                || offset + 4 + current.getInt((int) offset) > current.capacity()) {
+            synchronized (this) {
+                current = data;
+                if (current == null || current.capacity() < size) {
+                    if (size > Integer.MAX_VALUE) {
+                        throw new IllegalStateException("归档段超过映射上限: " + dataPath);
+                    }
+                    try {
+                        current = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("归档段映射失败: " + dataPath, e);
+                    }
+                    data = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void mapIndex() throws IOException {
+        try (FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedIndex = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+            if (mappedIndex.capacity() < INDEX_HEADER_BYTES || mappedIndex.getInt(0) != INDEX_MAGIC) {
+                throw new IOException("归档索引文件格式错误: " + indexPath);
+            }
+            entries = mappedIndex.getInt(4);
+            index = mappedIndex;
+            pending = null;
+        }
+    }
+
+    /**
+     * 扫描数据文件重建堆内索引，遇到长度越界或校验失败的记录时截断（崩溃时未刷盘的尾部）
+     */
+    private void recover() throws IOException {
+        Map<String, Long> offsets = new ConcurrentHashMap<>();
+        long position = scan((offsetAndKey) -> offsets.put(offsetAndKey.claimNumber, offsetAndKey.offset));
+        if (position < size) {
+            logger.warn("归档段 {} 末尾存在不完整记录，截断 {} 字节", dataPath.getFileName(), size - position);
+            channel.truncate(position);
+            channel.force(false);
+            size = position;
+        }
+        pending = offsets;
+        entries = offsets.size();
+    }
+
+    private long scan(Consumer<IndexedKey> consumer) throws IOException {
+        if (size == 0) {
+            return 0;
+        }
+        MappedByteBuffer view = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        long position = 0;
+        while (position + RECORD_HEADER_BYTES <= size) {
+            int length = view.getInt((int) position);
+            if (length <= 6 || position + 4 + length > size) {
+                break;
+            }
+            int bodyLength = length - 4;
+            byte[] body = new byte[bodyLength];
+            view.get((int) position + RECORD_HEADER_BYTES, body);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != view.getInt((int) position + 4)) {
+                break;
+            }
+            int keyLength = ByteBuffer.wrap(body).getShort();
+            consumer.accept(new IndexedKey(new String(body, 2, keyLength, StandardCharsets.UTF_8), position));
+            position += 4 + length;
+        }
+        return position;
+    }
+
+    /**
+     * 申请单号的64位FNV-1a哈希
+     */
+    static long hash(String claimNumber) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : claimNumber.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class IndexedKey {
+        private final String claimNumber;
+        private final long offset;
+
+        private IndexedKey(String claimNumber, long offset) {
+            this.claimNumber = claimNumber;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * 归档记录：申请单号与压缩内容
+     */
+    static final class Record {
+        final String claimNumber;
+        final byte[] compressed;
+        final int rawLength;
+
+        private Record(String claimNumber, byte[] compressed, int rawLength) {
+            this.claimNumber = claimNumber;
+            this.compressed = compressed;
+            this.rawLength = rawLength;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.insurance.claims.service.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.store.ClaimStorageJson;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 已结案理赔申请归档
+ * 申请序列化为JSON后逐条压缩，顺序追加到归档段文件；段文件超过上限后封存并生成紧凑的申请单号索引，
+ * 再开启新段。查询从最新的段向前查找，同一申请被重复归档时以最新记录为准。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimArchive.class);
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d{6})\\.seg");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 归档专用的ObjectMapper，不写入渲染后的原因文本
+     */
+    private ObjectMapper storageMapper;
+
+    @Value("${claims.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${claims.archive.directory:data/archive}")
+    private String directory;
+
+    @Value("${claims.archive.segment-max-bytes:67108864}")
+    private long segmentMaxBytes;
+
+    private final CopyOnWriteArrayList<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] compressBuffer = new byte[8192];
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    /**
+     * 打开归档目录中的段文件，除最后一段外缺少索引的段在此补建索引
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        storageMapper = ClaimStorageJson.mapper(objectMapper);
+        if (!enabled) {
+            return;
+        }
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+
+        List<Integer> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(root)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    numbers.add(Integer.parseInt(matcher.group(1)));
+                }
+            });
+        }
+        numbers.sort(null);
+
+        for (int i = 0; i < numbers.size(); i++) {
+            ArchiveSegment segment = ArchiveSegment.open(root, numbers.get(i));
+            if (i < numbers.size() - 1 && !segment.isSealed()) {
+                segment.seal();
+            }
+            segments.add(segment);
+        }
+        if (segments.isEmpty() || active().isSealed()) {
+            segments.add(ArchiveSegment.open(root, segments.isEmpty() ? 1 : active().number() + 1));
+        }
+        logger.info("理赔归档已打开: {}, 段数: {}, 归档申请: {}", root.toAbsolutePath(), segments.size(), entries());
+    }
+
+    /**
+     * 追加一批申请并刷盘；返回后这些申请即可从归档中查询
+     *
+     * @param claims 待归档申请
+     */
+    public synchronized void append(List<TravelDelayClaim> claims) {
+        if (!enabled) {
+            throw new IllegalStateException("理赔归档未启用");
+        }
+        if (claims.isEmpty()) {
+            return;
+        }
+        ArchiveSegment segment = active();
+        try {
+            Map<String, Long> offsets = new HashMap<>(claims.size() * 2);
+            for (TravelDelayClaim claim : claims) {
+                byte[] json = storageMapper.writeValueAsBytes(claim);
+                int compressedLength = compress(json);
+                offsets.put(claim.getClaimNumber(),
+                        segment.append(claim.getClaimNumber(), compressBuffer, compressedLength, json.length));
+                rawBytes.addAndGet(json.length);
+                compressedBytes.addAndGet(compressedLength);
+            }
+            segment.commit(offsets);
+
+            if (segment.size() >= segmentMaxBytes) {
+                segment.seal();
+                segments.add(ArchiveSegment.open(Paths.get(directory), segment.number() + 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入理赔归档失败", e);
+        }
+    }
+
+    /**
+     * 按申请单号查询归档申请
+     *
+     * @param claimNumber 申请单号
+     * @return 归档时的申请快照
+     */
+    public Optional<TravelDelayClaim> find(String claimNumber) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lookups.incrementAndGet();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            ArchiveSegment.Record record = segments.get(i).find(claimNumber);
+            if (record != null) {
+                hits.incrementAndGet();
+                return Optional.of(decode(record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 归档统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("segments", segments.size());
+        stats.put("archivedClaims", entries());
+        stats.put("bytesOnDisk", segments.stream().mapToLong(ArchiveSegment::size).sum());
+        stats.put("lookups", lookups.get());
+        stats.put("hits", hits.get());
+        long raw = rawBytes.get();
+        stats.put("compressionRatio", raw == 0 ? 0.0 : (double) compressedBytes.get() / raw);
+        return stats;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (ArchiveSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.warn("关闭归档段失败: {}", segment.number(), e);
+            }
+        }
+        segments.clear();
+        deflater.end();
+    }
+
+    private ArchiveSegment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private long entries() {
+        return segments.stream().mapToLong(ArchiveSegment::entries).sum();
+    }
+
+    private int compress(byte[] json) {
+        deflater.reset();
+        deflater.setInput(json);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressBuffer.length) {
+                compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+            }
+            length += deflater.deflate(compressBuffer, length, compressBuffer.length - length);
+        }
+        return length;
+    }
+
+    private TravelDelayClaim decode(ArchiveSegment.Record record) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(record.compressed);
+            byte[] json = new byte[record.rawLength];
+            int length = 0;
+            while (length < json.length && !inflater.finished()) {
+                int inflated = inflater.inflate(json, length, json.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("压缩内容不完整");
+                }
+                length += inflated;
+            }
+            return storageMapper.readValue(json, 0, length, TravelDelayClaim.class);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("归档记录解压失败: " + record.claimNumber, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("归档记录解析失败: " + record.claimNumber, e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.insurance.claims.service.archive;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.cache.ClaimSnapshotCache;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 理赔申请归档服务
+ * 将处理时间超过保留期的已拒绝、已支付申请分批写入归档并刷盘，再在独立事务中从申请表删除，
+ * 使申请表只保留近期和未结案的数据。删除前崩溃时申请会在下次执行时被再次归档，查询以最新记录为准。
+ * 启用分片时依次归档各分片。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Service
+public class ClaimArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimArchiveService.class);
+
+    /**
+     * 可归档的终态
+     */
+    static final List<TravelDelayClaim.ClaimStatus> CLOSED_STATUSES =
+            List.of(TravelDelayClaim.ClaimStatus.REJECTED, TravelDelayClaim.ClaimStatus.PAID);
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimArchive claimArchive;
+
+    @Autowired
+    private ClaimSnapshotCache claimSnapshotCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Value("${claims.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${claims.archive.retention-days:90}")
+    private long retentionDays;
+
+    @Value("${claims.archive.batch-size:500}")
+    private int batchSize;
+
+    private Counter archivedCounter;
+
+    @PostConstruct
+    public void init() {
+        archivedCounter = Counter.builder("claims.archive.archived")
+                .description("已移入归档的申请数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 定时归档，默认不启用
+     */
+    @Scheduled(cron = "${claims.archive.cron:-}")
+    public void scheduledArchive() {
+        archiveNow();
+    }
+
+    /**
+     * 归档处理时间早于保留期的已结案申请
+     *
+     * @return 本次归档的申请数
+     */
+    public int archiveNow() {
+        return archiveBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * 归档处理时间早于指定时间的已结案申请
+     *
+     * @param before 截止时间
+     * @return 本次归档的申请数
+     */
+    public synchronized int archiveBefore(LocalDateTime before) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int archived = shardRouter.forEachShard(shard -> archiveShard(before)).stream()
+                .mapToInt(Integer::intValue).sum();
+
+        if (archived > 0) {
+            logger.info("归档已结案申请 {} 条，截止时间: {}，耗时 {} ms",
+                    archived, before, System.currentTimeMillis() - start);
+        }
+        return archived;
+    }
+
+    private int archiveShard(LocalDateTime before) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        long afterId = 0L;
+        int archived = 0;
+
+        while (true) {
+            List<TravelDelayClaim> batch = claimRepository.findArchivable(CLOSED_STATUSES, before, afterId,
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            claimArchive.append(batch);
+
+            List<Long> ids = new ArrayList<>(batch.size());
+            List<String> claimNumbers = new ArrayList<>(batch.size());
+            for (TravelDelayClaim claim : batch) {
+                ids.add(claim.getId());
+                claimNumbers.add(claim.getClaimNumber());
+            }
+            Integer deleted = template.execute(status -> {
+                int count = claimRepository.deleteArchived(ids, CLOSED_STATUSES);
+                claimSnapshotCache.invalidateAfterCommit(claimNumbers);
+                return count;
+            });
+
+            archived += deleted != null ? deleted : 0;
+            archivedCounter.increment(deleted != null ? deleted : 0);
+            afterId = ids.get(ids.size() - 1);
+        }
+        return archived;
+    }
+}
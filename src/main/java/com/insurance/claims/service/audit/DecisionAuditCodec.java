@@ -0,0 +1,147 @@
+package com.insurance.claims.service.audit;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 决策审计记录二进制编码
+ * 时间为毫秒数（按UTC换算，不含时区），金额为 scale(byte) + 未缩放值(long)，字符串为 长度(short) + UTF-8，
+ * 枚举为序号(byte)；空值分别以 Long.MIN_VALUE、Integer.MIN_VALUE、Byte.MIN_VALUE、-1 表示。
+ * 记录以格式版本号开头，读取时按版本号解码。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+final class DecisionAuditCodec {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte FLAG_ELIGIBLE = 1;
+    private static final byte FLAG_MANUAL_REVIEW = 2;
+
+    private static final ClaimDecision.RiskLevel[] RISK_LEVELS = ClaimDecision.RiskLevel.values();
+    private static final TravelDelayClaim.ClaimStatus[] CLAIM_STATUSES = TravelDelayClaim.ClaimStatus.values();
+
+    private DecisionAuditCodec() {
+    }
+
+    /**
+     * 编码到缓冲区当前位置，空间不足时抛出 BufferOverflowException
+     */
+    static void encode(DecisionAuditRecord record, ByteBuffer buffer) {
+        buffer.put(FORMAT_VERSION);
+        putTime(buffer, record.getDecidedAt());
+        putString(buffer, record.getClaimNumber());
+        putString(buffer, record.getPolicyNumber());
+        putString(buffer, record.getPolicyholderName());
+        putString(buffer, record.getProductCode());
+        putString(buffer, record.getFlightNumber());
+        putTime(buffer, record.getScheduledDeparture());
+        putTime(buffer, record.getActualDeparture());
+        buffer.putInt(record.getDelayHours() != null ? record.getDelayHours() : Integer.MIN_VALUE);
+        putAmount(buffer, record.getClaimedAmount());
+        putString(buffer, record.getRuleEngine());
+        putString(buffer, record.getRuleVersion());
+        buffer.put((byte) ((record.isEligible() ? FLAG_ELIGIBLE : 0)
+                | (record.isRequiresManualReview() ? FLAG_MANUAL_REVIEW : 0)));
+        putAmount(buffer, record.getCompensationAmount());
+        putString(buffer, record.getRuleName());
+        buffer.put(record.getRiskLevel() != null ? (byte) record.getRiskLevel().ordinal() : -1);
+        buffer.put(record.getClaimStatus() != null ? (byte) record.getClaimStatus().ordinal() : -1);
+        putAmount(buffer, record.getCalculatedAmount());
+    }
+
+    static DecisionAuditRecord decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("不支持的决策审计记录格式版本: " + version);
+        }
+        DecisionAuditRecord record = new DecisionAuditRecord();
+        record.setDecidedAt(getTime(buffer));
+        record.setClaimNumber(getString(buffer));
+        record.setPolicyNumber(getString(buffer));
+        record.setPolicyholderName(getString(buffer));
+        record.setProductCode(getString(buffer));
+        record.setFlightNumber(getString(buffer));
+        record.setScheduledDeparture(getTime(buffer));
+        record.setActualDeparture(getTime(buffer));
+        int delayHours = buffer.getInt();
+        record.setDelayHours(delayHours != Integer.MIN_VALUE ? delayHours : null);
+        record.setClaimedAmount(getAmount(buffer));
+        record.setRuleEngine(getString(buffer));
+        record.setRuleVersion(getString(buffer));
+        byte flags = buffer.get();
+        record.setEligible((flags & FLAG_ELIGIBLE) != 0);
+        record.setRequiresManualReview((flags & FLAG_MANUAL_REVIEW) != 0);
+        record.setCompensationAmount(getAmount(buffer));
+        record.setRuleName(getString(buffer));
+        byte riskLevel = buffer.get();
+        record.setRiskLevel(riskLevel >= 0 ? RISK_LEVELS[riskLevel] : null);
+        byte claimStatus = buffer.get();
+        record.setClaimStatus(claimStatus >= 0 ? CLAIM_STATUSES[claimStatus] : null);
+        record.setCalculatedAmount(getAmount(buffer));
+        return record;
+    }
+
+    /**
+     * 读取记录的决策时间（毫秒），不解码其余字段
+     */
+    static long peekDecidedAt(ByteBuffer buffer) {
+        return buffer.getLong(buffer.position() + 1);
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+        buffer.putLong(time != null ? toMillis(time) : Long.MIN_VALUE);
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long millis = buffer.getLong();
+        return millis != Long.MIN_VALUE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+
+    private static void putAmount(ByteBuffer buffer, BigDecimal amount) {
+        if (amount == null) {
+            buffer.put(Byte.MIN_VALUE);
+            return;
+        }
+        buffer.put((byte) amount.scale());
+        buffer.putLong(amount.unscaledValue().longValueExact());
+    }
+
+    private static BigDecimal getAmount(ByteBuffer buffer) {
+        byte scale = buffer.get();
+        return scale != Byte.MIN_VALUE ? BigDecimal.valueOf(buffer.getLong(), scale) : null;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) Math.min(bytes.length, Short.MAX_VALUE));
+        buffer.put(bytes, 0, Math.min(bytes.length, Short.MAX_VALUE));
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
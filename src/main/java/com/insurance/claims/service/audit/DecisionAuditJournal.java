@@ -0,0 +1,542 @@
+package com.insurance.claims.service.audit;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.ClaimRuleEngine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 自动决策审计日志
+ * 决策事务提交后请求线程只把审计记录放入定长环形缓冲区（占位一次原子自增、发布一次数组写入），不做编码和I/O；
+ * 单个写线程按顺序取出记录，编码为二进制后写入内存映射的段文件（decisions-段号.seg），
+ * 每累计 fsync-batch 条或每隔 fsync-interval-millis 毫秒刷盘一次。缓冲区满时请求线程最多等待 offer-timeout-millis 毫秒，
+ * 仍无空位（写线程跟不上或磁盘故障）则丢弃该记录并计入 dropped，不让请求线程无限期阻塞。写线程捕获写入与刷盘异常并计数后继续运行。
+ * 段文件头为 魔数(int) | 格式版本(int)，记录格式：内容长度(int) | CRC32(int) | 内容；读取时遇到长度为0或校验失败的记录即结束该段，
+ * 因此崩溃时未刷盘的尾部记录被忽略。每条记录之后写入长度0作为结束标记，续写时不会读到旧的残留内容。
+ * 启动时在最后一个段的最后一条有效记录之后续写，段写满后才创建新段；最后修改时间早于 retention-days 天的已写满段
+ * 在启动和切换段时删除（0表示永久保留）。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class DecisionAuditJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecisionAuditJournal.class);
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("decisions-(\\d{10})\\.seg");
+    private static final int SEGMENT_MAGIC = 0x44414a31;
+    private static final int SEGMENT_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+    private static final int DRAIN_BATCH = 1024;
+
+    @Autowired
+    private ClaimRuleEngine claimRuleEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final long fsyncIntervalNanos;
+    private final long fsyncBatch;
+    private final long retentionDays;
+    private final long offerTimeoutNanos;
+
+    private final AtomicReferenceArray<DecisionAuditRecord> ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    private volatile long written;
+    private volatile long forced;
+    private volatile long syncTarget;
+
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong fsyncFailures = new AtomicLong();
+    private volatile long fsyncs;
+    private volatile int segmentIndex;
+    private final AtomicLong expiredSegments = new AtomicLong();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private final CRC32 crc = new CRC32();
+
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean writerParked;
+
+    public DecisionAuditJournal(
+            @Value("${claims.audit.enabled:true}") boolean enabled,
+            @Value("${claims.audit.directory:data/decision-audit}") String directory,
+            @Value("${claims.audit.ring-capacity:8192}") int ringCapacity,
+            @Value("${claims.audit.segment-bytes:67108864}") long segmentBytes,
+            @Value("${claims.audit.fsync-interval-millis:50}") long fsyncIntervalMillis,
+            @Value("${claims.audit.fsync-batch:512}") long fsyncBatch,
+            @Value("${claims.audit.retention-days:365}") long retentionDays,
+            @Value("${claims.audit.offer-timeout-millis:100}") long offerTimeoutMillis) {
+        if (Integer.bitCount(ringCapacity) != 1) {
+            throw new IllegalArgumentException("决策审计环形缓冲区容量须为2的幂: " + ringCapacity);
+        }
+        if (segmentBytes < SEGMENT_HEADER_BYTES + RECORD_HEADER_BYTES + MAX_RECORD_BYTES
+                || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("决策审计段文件大小超出范围: " + segmentBytes);
+        }
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.fsyncBatch = fsyncBatch;
+        this.retentionDays = retentionDays;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.ring = new AtomicReferenceArray<>(ringCapacity);
+        this.mask = ringCapacity - 1;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        List<Path> segments = segmentFiles();
+        Path last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last == null || !reopenSegment(last)) {
+            openSegment(last == null ? 1 : indexOf(last) + 1);
+        }
+        deleteExpiredSegments();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "decision-audit");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("决策审计日志已启动，目录: {}, 段号: {}, 写入位置: {}", directory.toAbsolutePath(), segmentIndex,
+                segment.position());
+    }
+
+    /**
+     * 记录规则引擎的输入、规则版本与原始输出，需在频率风控、重复检测调整决策之前调用
+     *
+     * @return 待补充最终结果的审计记录，未启用时返回null
+     */
+    public DecisionAuditRecord capture(TravelDelayClaim claim, ClaimDecision decision) {
+        if (!enabled) {
+            return null;
+        }
+        return DecisionAuditRecord.capture(claim, claimRuleEngine.engineName(), claimRuleEngine.ruleVersion(claim),
+                decision);
+    }
+
+    /**
+     * 补充申请最终的状态与金额后发布，决策事务提交后才写入审计日志；事务回滚时不记录
+     */
+    public void append(DecisionAuditRecord record, TravelDelayClaim claim) {
+        if (record == null) {
+            return;
+        }
+        record.setClaimStatus(claim.getClaimStatus());
+        record.setCalculatedAmount(claim.getCalculatedAmount());
+        eventPublisher.publishEvent(record);
+    }
+
+    /**
+     * 决策事务提交后放入环形缓冲区，不等待写盘；没有活动事务时立即放入
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDecisionCommitted(DecisionAuditRecord record) {
+        offer(record);
+    }
+
+    /**
+     * 等待调用前放入的记录全部写入并刷盘
+     */
+    public void sync() {
+        if (!running) {
+            return;
+        }
+        long target = claimed.get();
+        syncTarget = Math.max(syncTarget, target);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (forced < target && running) {
+            LockSupport.unpark(writer);
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("等待决策审计日志刷盘超时");
+            }
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * 按写入顺序读取决策时间在指定范围内的记录（含两端）
+     *
+     * @return 读取的记录数
+     */
+    public long read(LocalDateTime from, LocalDateTime to, Consumer<DecisionAuditRecord> consumer)
+            throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long fromMillis = DecisionAuditCodec.toMillis(from);
+        long toMillis = DecisionAuditCodec.toMillis(to);
+        long count = 0;
+        for (Path path : segmentFiles()) {
+            try {
+                count += readSegment(path, fromMillis, toMillis, consumer);
+            } catch (NoSuchFileException e) {
+                // 读取期间按保留期限删除的段
+                logger.debug("决策审计段文件已删除: {}", path);
+            }
+        }
+        return count;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("directory", directory.toAbsolutePath().toString());
+        stats.put("ringCapacity", ring.length());
+        stats.put("appended", claimed.get());
+        stats.put("written", written);
+        stats.put("pending", claimed.get() - consumed);
+        stats.put("fsyncs", fsyncs);
+        stats.put("producerStalls", stalls.get());
+        stats.put("failed", failed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("fsyncFailures", fsyncFailures.get());
+        stats.put("segment", segmentIndex);
+        stats.put("retentionDays", retentionDays);
+        stats.put("expiredSegments", expiredSegments.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * 有空位时才占位，等待超时的记录不占用序号，写线程不会等待一个永远不会发布的位置
+     */
+    private void offer(DecisionAuditRecord record) {
+        if (!running) {
+            failed.incrementAndGet();
+            return;
+        }
+        long sequence;
+        long deadline = 0;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - consumed < ring.length()) {
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+                continue;
+            }
+            if (deadline == 0) {
+                stalls.incrementAndGet();
+                deadline = System.nanoTime() + offerTimeoutNanos;
+            } else if (System.nanoTime() - deadline > 0) {
+                if (dropped.incrementAndGet() == 1) {
+                    logger.warn("决策审计缓冲区持续已满，开始丢弃记录，申请单号: {}", record.getClaimNumber());
+                }
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+        }
+        ring.set((int) (sequence & mask), record);
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void writeLoop() {
+        long lastForce = System.nanoTime();
+        while (running || consumed < claimed.get()) {
+            int drained = drain();
+            long now = System.nanoTime();
+            if (consumed > forced && (consumed - forced >= fsyncBatch || syncTarget > forced
+                    || now - lastForce >= fsyncIntervalNanos)) {
+                forceSafely();
+                lastForce = now;
+            }
+            if (drained == 0) {
+                writerParked = true;
+                if (ring.get((int) (consumed & mask)) == null && running) {
+                    LockSupport.parkNanos(consumed > forced
+                            ? Math.max(0, fsyncIntervalNanos - (now - lastForce)) : fsyncIntervalNanos);
+                }
+                writerParked = false;
+            }
+        }
+        forceSafely();
+    }
+
+    /**
+     * 写线程内刷盘，失败时计数并记录日志，已取出的记录视为已处理，避免写线程退出后请求线程等待缓冲区
+     */
+    private void forceSafely() {
+        try {
+            force();
+        } catch (RuntimeException e) {
+            fsyncFailures.incrementAndGet();
+            forced = consumed;
+            logger.error("决策审计日志刷盘失败，段号: {}", segmentIndex, e);
+        }
+    }
+
+    /**
+     * 取出已发布的记录写入当前段
+     */
+    private int drain() {
+        int drained = 0;
+        while (drained < DRAIN_BATCH) {
+            int slot = (int) (consumed & mask);
+            DecisionAuditRecord record = ring.get(slot);
+            if (record == null) {
+                break;
+            }
+            ring.set(slot, null);
+            consumed = consumed + 1;
+            drained++;
+            try {
+                write(record);
+                written = written + 1;
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+                logger.error("决策审计记录写入失败，申请单号: {}", record.getClaimNumber(), e);
+            }
+        }
+        return drained;
+    }
+
+    private void write(DecisionAuditRecord record) throws IOException {
+        int length = encode(record);
+        if (segment.remaining() < RECORD_HEADER_BYTES + length) {
+            force();
+            channel.close();
+            openSegment(segmentIndex + 1);
+            deleteExpiredSegments();
+        }
+        crc.reset();
+        crc.update(scratch.array(), 0, length);
+        segment.putInt(length);
+        segment.putInt((int) crc.getValue());
+        segment.put(scratch.array(), 0, length);
+        if (segment.remaining() >= Integer.BYTES) {
+            segment.putInt(segment.position(), 0);
+        }
+    }
+
+    private int encode(DecisionAuditRecord record) {
+        while (true) {
+            scratch.clear();
+            try {
+                DecisionAuditCodec.encode(record, scratch);
+                return scratch.position();
+            } catch (BufferOverflowException e) {
+                if (scratch.capacity() >= MAX_RECORD_BYTES) {
+                    throw new IllegalArgumentException("决策审计记录超过 " + MAX_RECORD_BYTES + " 字节");
+                }
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * 刷盘已取出的记录（写入失败的记录计入失败数，不阻塞等待刷盘的调用方）
+     */
+    private void force() {
+        long target = consumed;
+        if (target > forced) {
+            segment.force();
+            forced = target;
+            fsyncs++;
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        for (int candidate = index;; candidate++) {
+            Path path = directory.resolve(String.format("decisions-%010d.seg", candidate));
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            segment.putInt(SEGMENT_MAGIC);
+            segment.putInt(DecisionAuditCodec.FORMAT_VERSION);
+            segmentIndex = candidate;
+            return;
+        }
+    }
+
+    /**
+     * 在已有段的最后一条有效记录之后续写；段头无法识别、格式版本不同或剩余空间不足一条最大记录时返回false
+     */
+    private boolean reopenSegment(Path path) throws IOException {
+        FileChannel existing = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = existing.size();
+        if (size < SEGMENT_HEADER_BYTES || size > Integer.MAX_VALUE) {
+            existing.close();
+            return false;
+        }
+        MappedByteBuffer view = existing.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        int end = view.getInt(0) == SEGMENT_MAGIC && view.getInt(4) == DecisionAuditCodec.FORMAT_VERSION
+                ? scanRecords(view, (int) size, null) : -1;
+        if (end < 0 || size - end < RECORD_HEADER_BYTES + MAX_RECORD_BYTES) {
+            existing.close();
+            return false;
+        }
+        view.position(end);
+        if (view.remaining() >= Integer.BYTES) {
+            view.putInt(end, 0);
+        }
+        channel = existing;
+        segment = view;
+        segmentIndex = indexOf(path);
+        return true;
+    }
+
+    /**
+     * 删除最后修改时间超过保留期限的段，当前写入的段不删除
+     */
+    private void deleteExpiredSegments() throws IOException {
+        if (retentionDays <= 0) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
+        for (Path path : segmentFiles()) {
+            if (indexOf(path) != segmentIndex && Files.getLastModifiedTime(path).compareTo(cutoff) < 0) {
+                Files.deleteIfExists(path);
+                expiredSegments.incrementAndGet();
+                logger.info("删除超过保留期限的决策审计段文件: {}", path);
+            }
+        }
+    }
+
+    private long readSegment(Path path, long fromMillis, long toMillis, Consumer<DecisionAuditRecord> consumer)
+            throws IOException {
+        long count = 0;
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = readChannel.size();
+            if (size < SEGMENT_HEADER_BYTES) {
+                return 0;
+            }
+            MappedByteBuffer view = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (view.getInt(0) != SEGMENT_MAGIC) {
+                logger.warn("忽略无法识别的决策审计段文件: {}", path);
+                return 0;
+            }
+            long[] matched = new long[1];
+            scanRecords(view, (int) Math.min(size, Integer.MAX_VALUE), body -> {
+                ByteBuffer record = ByteBuffer.wrap(body);
+                long decidedAt = DecisionAuditCodec.peekDecidedAt(record);
+                if (decidedAt >= fromMillis && decidedAt <= toMillis) {
+                    consumer.accept(DecisionAuditCodec.decode(record));
+                    matched[0]++;
+                }
+            });
+            count = matched[0];
+        }
+        return count;
+    }
+
+    /**
+     * 按顺序校验段内记录，遇到长度为0或校验失败的记录即结束
+     *
+     * @return 最后一条有效记录之后的位置
+     */
+    private static int scanRecords(ByteBuffer view, int size, Consumer<byte[]> consumer) {
+        CRC32 checksum = new CRC32();
+        int position = SEGMENT_HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= size) {
+            int length = view.getInt(position);
+            if (length <= 0 || length > MAX_RECORD_BYTES || position + RECORD_HEADER_BYTES + length > size) {
+                break;
+            }
+            byte[] body = new byte[length];
+            view.get(position + RECORD_HEADER_BYTES, body);
+            checksum.reset();
+            checksum.update(body);
+            if ((int) checksum.getValue() != view.getInt(position + 4)) {
+                break;
+            }
+            if (consumer != null) {
+                consumer.accept(body);
+            }
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            listing.filter(path -> SEGMENT_FILE.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .forEach(files::add);
+        }
+        return files;
+    }
+
+    private static int indexOf(Path path) {
+        Matcher matcher = SEGMENT_FILE.matcher(path.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+}
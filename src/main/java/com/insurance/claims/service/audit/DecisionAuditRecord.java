@@ -0,0 +1,123 @@
+package com.insurance.claims.service.audit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 自动决策审计记录
+ * 规则引擎的输入（参与规则判断的申请字段）、规则引擎与规则版本、规则引擎的原始输出，
+ * 以及经频率风控与重复申请检测调整后申请最终的状态与金额。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class DecisionAuditRecord {
+
+    /**
+     * 决策时间
+     */
+    private LocalDateTime decidedAt;
+
+    // 规则输入
+
+    private String claimNumber;
+    private String policyNumber;
+    private String policyholderName;
+    private String productCode;
+    private String flightNumber;
+    private LocalDateTime scheduledDeparture;
+    private LocalDateTime actualDeparture;
+    private Integer delayHours;
+    private BigDecimal claimedAmount;
+
+    // 规则引擎与版本
+
+    private String ruleEngine;
+    private String ruleVersion;
+
+    // 规则引擎输出
+
+    private boolean eligible;
+    private BigDecimal compensationAmount;
+    private String ruleName;
+    private ClaimDecision.RiskLevel riskLevel;
+    private boolean requiresManualReview;
+
+    // 最终结果
+
+    private TravelDelayClaim.ClaimStatus claimStatus;
+    private BigDecimal calculatedAmount;
+
+    /**
+     * 记录规则引擎的输入与输出，需在频率风控、重复检测调整决策之前调用
+     */
+    static DecisionAuditRecord capture(TravelDelayClaim claim, String ruleEngine, String ruleVersion,
+            ClaimDecision decision) {
+        return DecisionAuditRecord.builder()
+                .decidedAt(decision.getDecisionTime() != null ? decision.getDecisionTime() : LocalDateTime.now())
+                .claimNumber(claim.getClaimNumber())
+                .policyNumber(claim.getPolicyNumber())
+                .policyholderName(claim.getPolicyholderName())
+                .productCode(claim.getProductCode())
+                .flightNumber(claim.getFlightNumber())
+                .scheduledDeparture(claim.getScheduledDeparture())
+                .actualDeparture(claim.getActualDeparture())
+                .delayHours(claim.getDelayHours())
+                .claimedAmount(claim.getClaimedAmount())
+                .ruleEngine(ruleEngine)
+                .ruleVersion(ruleVersion)
+                .eligible(decision.isEligible())
+                .compensationAmount(decision.getCompensationAmount())
+                .ruleName(decision.getRuleName())
+                .riskLevel(decision.getRiskLevel())
+                .requiresManualReview(decision.isRequiresManualReview())
+                .build();
+    }
+
+    /**
+     * 由记录的输入重建规则引擎所需的申请
+     */
+    public TravelDelayClaim toClaim() {
+        return TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyNumber(policyNumber)
+                .policyholderName(policyholderName)
+                .productCode(productCode)
+                .flightNumber(flightNumber)
+                .scheduledDeparture(scheduledDeparture)
+                .actualDeparture(actualDeparture)
+                .delayHours(delayHours)
+                .claimedAmount(claimedAmount)
+                .claimStatus(TravelDelayClaim.ClaimStatus.PENDING)
+                .claimDate(decidedAt)
+                .build();
+    }
+
+    /**
+     * 判断规则引擎的输出是否与记录一致（金额按数值比较）
+     */
+    public boolean reproducedBy(ClaimDecision decision) {
+        return eligible == decision.isEligible()
+                && requiresManualReview == decision.isRequiresManualReview()
+                && riskLevel == decision.getRiskLevel()
+                && Objects.equals(ruleName, decision.getRuleName())
+                && sameAmount(compensationAmount, decision.getCompensationAmount());
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null || b == null ? a == b : a.compareTo(b) == 0;
+    }
+}
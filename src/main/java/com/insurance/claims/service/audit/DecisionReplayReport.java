@@ -0,0 +1,98 @@
+package com.insurance.claims.service.audit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.insurance.claims.model.ClaimDecision;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 决策回放核对报告
+ * 回放使用的规则版本与记录的版本相同却未能复现的决策（sameVersionMismatches）说明规则执行不确定或审计记录有误，
+ * 版本不同的决策（otherVersionDecisions）不是对记录版本的复现，其差异反映规则变更的影响。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Data
+@NoArgsConstructor
+public class DecisionReplayReport {
+
+    /**
+     * 报告中保留的差异样例上限
+     */
+    static final int MAX_SAMPLES = 50;
+
+    private String ruleEngine;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long decisions;
+    private long reproduced;
+    private long mismatched;
+    private long sameVersionMismatches;
+
+    /**
+     * 记录的规则版本与回放版本不同的决策数（历史规则源文件不保留，无法按记录版本回放）
+     */
+    private long otherVersionDecisions;
+
+    /**
+     * 按记录的规则版本统计的回放决策数
+     */
+    private Map<String, Long> decisionsByRecordedVersion = new TreeMap<>();
+
+    private List<Mismatch> samples = new ArrayList<>();
+
+    DecisionReplayReport(String ruleEngine, LocalDateTime from, LocalDateTime to) {
+        this.ruleEngine = ruleEngine;
+        this.from = from;
+        this.to = to;
+    }
+
+    void add(DecisionAuditRecord record, String replayVersion, ClaimDecision replayed) {
+        decisions++;
+        decisionsByRecordedVersion.merge(String.valueOf(record.getRuleVersion()), 1L, Long::sum);
+        boolean sameVersion = replayVersion.equals(record.getRuleVersion());
+        if (!sameVersion) {
+            otherVersionDecisions++;
+        }
+        if (record.reproducedBy(replayed)) {
+            reproduced++;
+            return;
+        }
+        mismatched++;
+        if (sameVersion) {
+            sameVersionMismatches++;
+        }
+        if (samples.size() < MAX_SAMPLES) {
+            samples.add(new Mismatch(record.getClaimNumber(), record.getDecidedAt(), record.getRuleVersion(),
+                    replayVersion, summary(record.isEligible(), record.getCompensationAmount(), record.getRuleName()),
+                    summary(replayed.isEligible(), replayed.getCompensationAmount(), replayed.getRuleName())));
+        }
+    }
+
+    private static String summary(boolean eligible, Object amount, String ruleName) {
+        return (eligible ? "赔付 " : "不赔付 ") + amount + " / " + ruleName;
+    }
+
+    /**
+     * 未能复现的决策
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mismatch {
+        private String claimNumber;
+        private LocalDateTime decidedAt;
+        private String recordedVersion;
+        private String replayVersion;
+        private String recorded;
+        private String replayed;
+    }
+}
@@ -0,0 +1,223 @@
+package com.insurance.claims.service.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 理赔申请快照缓存
+ * 按申请单号缓存已提交的申请快照，容量有限并带过期时间。同一申请单号的并发未命中只触发一次数据库查询，
+ * 其余请求等待同一次加载的结果。申请状态变更在事务提交后失效对应条目；加载期间同一申请发生过失效时，
+ * 加载结果只返回给本次请求而不写入缓存，避免旧数据覆盖失效。失效只标记该申请正在进行的加载，不影响其他申请的加载。
+ * 缓存中的对象为只读快照，调用方不应修改。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimSnapshotCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Flight> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ClaimSnapshotCache(
+            @Value("${claims.cache.claim.enabled:true}") boolean enabled,
+            @Value("${claims.cache.claim.max-size:10000}") int maxSize,
+            @Value("${claims.cache.claim.ttl-seconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * 读取申请快照，未命中时通过加载函数查询
+     *
+     * @param claimNumber 申请单号
+     * @param loader      未命中时的加载函数
+     * @return 申请快照
+     */
+    public Optional<TravelDelayClaim> get(String claimNumber,
+            Function<String, Optional<TravelDelayClaim>> loader) {
+        if (!enabled) {
+            return loader.apply(claimNumber);
+        }
+
+        Entry entry = entries.get(claimNumber);
+        if (entry != null && !entry.isExpired()) {
+            hits.incrementAndGet();
+            return Optional.of(entry.claim);
+        }
+        misses.incrementAndGet();
+
+        Flight flight = new Flight();
+        Flight existing = loading.putIfAbsent(claimNumber, flight);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            loads.incrementAndGet();
+            Optional<TravelDelayClaim> loaded = loader.apply(claimNumber);
+            loaded.ifPresent(claim -> store(claimNumber, claim, flight));
+            flight.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(claimNumber, flight);
+        }
+    }
+
+    /**
+     * 立即失效指定申请
+     */
+    public void invalidate(String claimNumber) {
+        Flight flight = loading.get(claimNumber);
+        if (flight != null) {
+            flight.invalidated = true;
+        }
+        entries.remove(claimNumber);
+    }
+
+    /**
+     * 在当前事务提交后失效指定申请，没有活动事务时立即失效
+     */
+    public void invalidateAfterCommit(Collection<String> claimNumbers) {
+        if (!enabled || claimNumbers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            claimNumbers.forEach(this::invalidate);
+            return;
+        }
+
+        List<String> pending = List.copyOf(claimNumbers);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pending.forEach(ClaimSnapshotCache.this::invalidate);
+            }
+        });
+    }
+
+    /**
+     * 理赔状态变更（决策、人工审核、结算支付）提交后失效缓存
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onClaimDecision(ClaimDecisionEvent event) {
+        if (enabled && event.getClaimNumber() != null) {
+            invalidate(event.getClaimNumber());
+        }
+    }
+
+    public void clear() {
+        loading.values().forEach(flight -> flight.invalidated = true);
+        entries.clear();
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long lookups = hits.get() + misses.get();
+        stats.put("enabled", enabled);
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hits.get() / lookups);
+        stats.put("loads", loads.get());
+        stats.put("coalescedLoads", coalesced.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private void store(String claimNumber, TravelDelayClaim claim, Flight flight) {
+        // 与失效操作在同一个键上串行执行：失效先标记加载再移除条目，写入时未被标记则此后的失效必然会移除该条目
+        entries.compute(claimNumber, (key, current) ->
+                !flight.invalidated ? new Entry(claim, System.nanoTime() + ttlNanos) : current);
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * 超出容量时先清理过期条目，仍超出则按迭代顺序近似淘汰
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt - now <= 0);
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static Optional<TravelDelayClaim> await(CompletableFuture<Optional<TravelDelayClaim>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 进行中的加载；加载期间该申请被失效时标记，结果不写入缓存
+     */
+    private static final class Flight extends CompletableFuture<Optional<TravelDelayClaim>> {
+
+        private volatile boolean invalidated;
+    }
+
+    private static final class Entry {
+
+        private final TravelDelayClaim claim;
+        private final long expiresAt;
+
+        private Entry(TravelDelayClaim claim, long expiresAt) {
+            this.claim = claim;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+}
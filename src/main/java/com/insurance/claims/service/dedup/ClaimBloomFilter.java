@@ -0,0 +1,192 @@
+package com.insurance.claims.service.dedup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的布隆过滤器
+ * 使用64位哈希的双重哈希法生成k个位置，位数组基于AtomicLongArray以CAS方式置位。
+ * 判定不存在时结果一定准确，判定可能存在时需要回查数据库确认。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class ClaimBloomFilter {
+
+    private static final int MAGIC = 0x434C4246; // "CLBF"
+    private static final int FORMAT_VERSION = 1;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final long expectedInsertions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * 按预期元素数量和目标误判率创建过滤器
+     *
+     * @param expectedInsertions 预期元素数量
+     * @param falsePositiveRate  目标误判率
+     */
+    public ClaimBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("布隆过滤器参数不合法");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    private ClaimBloomFilter(long[] words, int hashFunctions, long expectedInsertions, long insertions) {
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words.length << 6;
+        this.hashFunctions = hashFunctions;
+        this.expectedInsertions = expectedInsertions;
+        this.insertions.set(insertions);
+    }
+
+    /**
+     * 加入元素
+     *
+     * @return 是否有位被新置为1（false表示该元素可能已存在）
+     */
+    public boolean put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashFunctions; i++) {
+            changed |= setBit(index(h1 + i * h2));
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+        return changed;
+    }
+
+    /**
+     * 判断元素是否可能存在
+     */
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前元素数量估算的误判率：(1 - e^(-kn/m))^k
+     */
+    public double expectedFalsePositiveRate() {
+        double fill = 1 - Math.exp(-(double) hashFunctions * insertions.get() / bitSize);
+        return Math.pow(fill, hashFunctions);
+    }
+
+    /**
+     * 位数组占用的内存（字节）
+     */
+    public long memoryBytes() {
+        return bitSize >>> 3;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * 写出过滤器快照
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(expectedInsertions);
+        out.writeInt(hashFunctions);
+        out.writeLong(insertions.get());
+        out.writeInt(bits.length());
+        for (int i = 0; i < bits.length(); i++) {
+            out.writeLong(bits.get(i));
+        }
+    }
+
+    /**
+     * 读取过滤器快照
+     */
+    public static ClaimBloomFilter readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("布隆过滤器快照格式不正确");
+        }
+        long expectedInsertions = in.readLong();
+        int hashFunctions = in.readInt();
+        long insertions = in.readLong();
+        int words = in.readInt();
+        if (words <= 0 || hashFunctions <= 0) {
+            throw new IOException("布隆过滤器快照已损坏");
+        }
+        long[] data = new long[words];
+        for (int i = 0; i < words; i++) {
+            data[i] = in.readLong();
+        }
+        return new ClaimBloomFilter(data, hashFunctions, expectedInsertions, insertions);
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        long positive = combinedHash & 0xFFFFFFFFL;
+        return positive % bitSize;
+    }
+
+    /**
+     * FNV-1a 64位哈希，末尾做一次混合以改善低位分布
+     */
+    static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,408 @@
+package com.insurance.claims.service.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+import com.insurance.claims.service.store.ClaimStore;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 重复理赔申请检测服务
+ * 以（保单号、航班号、计划起飞时间）为键维护布隆过滤器：绝大多数新申请直接判定为不重复，
+ * 只有过滤器判定可能存在时才回查数据库索引确认。过滤器启动时从快照文件加载并从数据库追平增量，
+ * 也可在容量不足时在线重建。启用分片时各分片的申请id互相独立，不使用快照，启动时从每个分片全量构建。
+ * 判定为不重复的申请写入唯一的判定键，并发提交的相同申请由唯一约束拦截，冲突回查确认后按重复申请处理。
+ * 在线重建时，开始前已登记但事务尚未提交的键先写入新过滤器，重建期间登记的键同时写入新旧过滤器，
+ * 切换与登记互斥，数据库扫描看不到的未提交申请也不会从新过滤器中丢失。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Service
+public class DuplicateClaimDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateClaimDetector.class);
+
+    private static final int WARM_UP_BATCH_SIZE = 5000;
+
+    private static final String RULE_NAME = "重复理赔检查规则";
+
+    /**
+     * 确认重复后的处理方式
+     */
+    public enum Action {
+        REJECT,
+        REVIEW
+    }
+
+    /**
+     * 检测结果
+     */
+    public enum Result {
+        UNIQUE,
+        DUPLICATE
+    }
+
+    @Autowired
+    private ClaimStore claimStore;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    private final boolean enabled;
+    private final Action action;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final String snapshotPath;
+
+    private volatile ClaimBloomFilter filter;
+    private volatile ClaimBloomFilter rebuilding;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> uncommittedKeys = new ConcurrentHashMap<>();
+    private final AtomicLong highWaterId = new AtomicLong();
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong confirmedDuplicates = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public DuplicateClaimDetector(
+            @Value("${claims.dedup.enabled:true}") boolean enabled,
+            @Value("${claims.dedup.action:REJECT}") Action action,
+            @Value("${claims.dedup.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${claims.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${claims.dedup.snapshot-path:}") String snapshotPath) {
+        this.enabled = enabled;
+        this.action = action;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshotPath = snapshotPath;
+        this.filter = new ClaimBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * 启动时加载快照并从数据库追平快照之后的申请
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        boolean restored = !shardRouter.isSharded() && loadSnapshot();
+        long loaded = catchUpAllShards(filter, highWaterId.get());
+
+        logger.info("重复申请过滤器已预热，{}，追加 {} 条，元素数: {}, 内存: {} KB, 耗时: {} ms",
+                restored ? "已加载快照" : "全量构建", loaded, filter.insertions(),
+                filter.memoryBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 检测申请是否重复，需在保存申请之前调用；判定为不重复时写入申请的重复申请判定键
+     *
+     * @param claim 理赔申请
+     * @return 检测结果
+     */
+    public Result check(TravelDelayClaim claim) {
+        if (!enabled || !hasKey(claim)) {
+            return Result.UNIQUE;
+        }
+
+        checks.incrementAndGet();
+        if (!filter.mightContain(keyOf(claim))) {
+            filterNegatives.incrementAndGet();
+            claim.setDedupKey(keyOf(claim));
+            return Result.UNIQUE;
+        }
+
+        boolean exists = claimStore.existsDuplicate(
+                claim.getPolicyNumber(), claim.getFlightNumber(), claim.getScheduledDeparture());
+        if (exists) {
+            confirmedDuplicates.incrementAndGet();
+            logger.warn("检测到重复理赔申请，保单号: {}, 航班号: {}, 计划起飞时间: {}",
+                    claim.getPolicyNumber(), claim.getFlightNumber(), claim.getScheduledDeparture());
+            return Result.DUPLICATE;
+        }
+
+        falsePositives.incrementAndGet();
+        claim.setDedupKey(keyOf(claim));
+        return Result.UNIQUE;
+    }
+
+    /**
+     * 保存申请因判定键唯一约束冲突失败后回查确认：冲突的事务已回滚，与之并发的相同申请已提交时即为重复申请
+     *
+     * @param claim 保存失败的理赔申请
+     * @return 是否确认为重复申请
+     */
+    public boolean confirmConflict(TravelDelayClaim claim) {
+        if (!enabled || claim.getDedupKey() == null) {
+            return false;
+        }
+
+        boolean exists = claimStore.existsDuplicate(
+                claim.getPolicyNumber(), claim.getFlightNumber(), claim.getScheduledDeparture());
+        if (exists) {
+            confirmedDuplicates.incrementAndGet();
+            logger.warn("并发提交的重复理赔申请，保单号: {}, 航班号: {}, 计划起飞时间: {}",
+                    claim.getPolicyNumber(), claim.getFlightNumber(), claim.getScheduledDeparture());
+        }
+        return exists;
+    }
+
+    /**
+     * 登记已保存的申请
+     *
+     * @param claim 已保存的理赔申请
+     */
+    public void register(TravelDelayClaim claim) {
+        if (!enabled || !hasKey(claim)) {
+            return;
+        }
+
+        String key = keyOf(claim);
+        swapLock.readLock().lock();
+        try {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                trackUntilCompletion(key);
+            }
+            filter.put(key);
+            ClaimBloomFilter pending = rebuilding;
+            if (pending != null) {
+                pending.put(key);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (claim.getId() != null) {
+            highWaterId.accumulateAndGet(claim.getId(), Math::max);
+        }
+    }
+
+    /**
+     * 记录事务尚未结束的登记键，事务提交或回滚后移除
+     */
+    private void trackUntilCompletion(String key) {
+        uncommittedKeys.merge(key, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                uncommittedKeys.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        });
+    }
+
+    /**
+     * 将检测结果应用到规则决策：确认重复的申请按配置直接拒赔或转人工审核
+     *
+     * @param result   检测结果
+     * @param decision 规则引擎决策
+     */
+    public void applyTo(Result result, ClaimDecision decision) {
+        if (result != Result.DUPLICATE) {
+            return;
+        }
+
+        if (action == Action.REJECT) {
+            decision.setEligible(false);
+            decision.setCompensationAmount(BigDecimal.ZERO);
+            decision.setReason(ClaimReasonCode.DUPLICATE_CLAIM);
+            decision.setRuleName(RULE_NAME);
+            decision.setRiskLevel(ClaimDecision.RiskLevel.HIGH);
+            decision.setRequiresManualReview(false);
+            decision.clearReviewSuggestion();
+        } else {
+            decision.setRequiresManualReview(true);
+            decision.setRiskLevel(ClaimDecision.RiskLevel.HIGH);
+            decision.setReviewSuggestion(ClaimReasonCode.REVIEW_DUPLICATE);
+        }
+        if (decision.getRuleDetails() == null) {
+            decision.setRuleDetails(new ArrayList<>());
+        }
+        decision.getRuleDetails().add(RULE_NAME + ": 保单号、航班号与计划起飞时间均与已有申请相同");
+    }
+
+    /**
+     * 从数据库全量重建过滤器，容量按当前元素数量的两倍扩容
+     */
+    public synchronized void rebuild() {
+        long capacity = Math.max(expectedInsertions, filter.insertions() * 2);
+        long start = System.currentTimeMillis();
+
+        ClaimBloomFilter fresh = new ClaimBloomFilter(capacity, falsePositiveRate);
+        swapLock.writeLock().lock();
+        try {
+            rebuilding = fresh;
+            uncommittedKeys.keySet().forEach(fresh::put);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        try {
+            long loaded = catchUpAllShards(fresh, 0L);
+            swapLock.writeLock().lock();
+            try {
+                filter = fresh;
+                rebuilding = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            logger.info("重复申请过滤器重建完成，容量: {}, 元素数: {}, 耗时: {} ms",
+                    capacity, loaded, System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = null;
+        }
+        saveSnapshot();
+    }
+
+    /**
+     * 过滤器统计信息：误判率与内存占用
+     */
+    public Map<String, Object> stats() {
+        ClaimBloomFilter current = filter;
+        long possibleMatches = confirmedDuplicates.get() + falsePositives.get();
+        long nonDuplicates = filterNegatives.get() + falsePositives.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("action", action);
+        stats.put("capacity", current.expectedInsertions());
+        stats.put("insertions", current.insertions());
+        stats.put("bitSize", current.bitSize());
+        stats.put("hashFunctions", current.hashFunctions());
+        stats.put("memoryBytes", current.memoryBytes());
+        stats.put("targetFalsePositiveRate", falsePositiveRate);
+        stats.put("expectedFalsePositiveRate", current.expectedFalsePositiveRate());
+        stats.put("observedFalsePositiveRate", nonDuplicates == 0 ? 0.0 : (double) falsePositives.get() / nonDuplicates);
+        stats.put("checks", checks.get());
+        stats.put("databaseLookups", possibleMatches);
+        stats.put("confirmedDuplicates", confirmedDuplicates.get());
+        stats.put("falsePositives", falsePositives.get());
+        return stats;
+    }
+
+    /**
+     * 关闭时写出快照
+     */
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!enabled || snapshotPath == null || snapshotPath.isBlank() || shardRouter.isSharded()) {
+            return;
+        }
+
+        Path target = Paths.get(snapshotPath);
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeLong(highWaterId.get());
+                filter.writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("重复申请过滤器快照已保存: {}", target);
+        } catch (IOException e) {
+            logger.warn("保存重复申请过滤器快照失败: {}", e.getMessage());
+        }
+    }
+
+    private boolean loadSnapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank() || !Files.isRegularFile(Paths.get(snapshotPath))) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Paths.get(snapshotPath)), 1 << 16))) {
+            long snapshotHighWater = in.readLong();
+            Long maxId = claimStore.findMaxId();
+            if (snapshotHighWater > (maxId != null ? maxId : 0L)) {
+                logger.warn("重复申请过滤器快照与当前数据库不一致，将全量构建");
+                return false;
+            }
+            filter = ClaimBloomFilter.readFrom(in);
+            highWaterId.set(snapshotHighWater);
+            return true;
+        } catch (IOException e) {
+            logger.warn("重复申请过滤器快照无法读取，将全量构建: {}", e.getMessage());
+            filter = new ClaimBloomFilter(expectedInsertions, falsePositiveRate);
+            highWaterId.set(0L);
+            return false;
+        }
+    }
+
+    private long catchUpAllShards(ClaimBloomFilter target, long afterId) {
+        return shardRouter.forEachShard(shard -> catchUp(target, afterId)).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * 按主键顺序分批加载当前分片指定id之后的申请
+     */
+    private long catchUp(ClaimBloomFilter target, long afterId) {
+        long loaded = 0;
+        long lastId = afterId;
+        while (true) {
+            List<Object[]> rows = claimStore.findDuplicateKeysAfterId(lastId, WARM_UP_BATCH_SIZE);
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                if (row[1] != null && row[2] != null && row[3] != null) {
+                    target.put(keyOf((String) row[1], (String) row[2], (LocalDateTime) row[3]));
+                    loaded++;
+                }
+            }
+            if (rows.size() < WARM_UP_BATCH_SIZE) {
+                break;
+            }
+        }
+        highWaterId.accumulateAndGet(lastId, Math::max);
+        return loaded;
+    }
+
+    private static boolean hasKey(TravelDelayClaim claim) {
+        return claim.getPolicyNumber() != null
+                && claim.getFlightNumber() != null
+                && claim.getScheduledDeparture() != null;
+    }
+
+    private static String keyOf(TravelDelayClaim claim) {
+        return keyOf(claim.getPolicyNumber(), claim.getFlightNumber(), claim.getScheduledDeparture());
+    }
+
+    private static String keyOf(String policyNumber, String flightNumber, LocalDateTime scheduledDeparture) {
+        return policyNumber + '|' + flightNumber + '|' + scheduledDeparture;
+    }
+}
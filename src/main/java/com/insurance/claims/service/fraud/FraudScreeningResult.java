@@ -0,0 +1,43 @@
+package com.insurance.claims.service.fraud;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * 理赔频率风控筛查结果
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Value
+public class FraudScreeningResult {
+
+    private static final FraudScreeningResult PASSED = new FraudScreeningResult(false, List.of(), 0, 0, 0);
+
+    /**
+     * 是否触发频率阈值
+     */
+    boolean flagged;
+
+    /**
+     * 触发的阈值说明
+     */
+    List<String> violations;
+
+    /**
+     * 滑动窗口内同一保单、同一投保人、同一航班的申请次数（含本次）
+     */
+    int policyClaims;
+    int policyholderClaims;
+    int flightClaims;
+
+    public static FraudScreeningResult passed() {
+        return PASSED;
+    }
+
+    public static FraudScreeningResult flagged(List<String> violations, int policyClaims, int policyholderClaims,
+            int flightClaims) {
+        return new FraudScreeningResult(true, List.copyOf(violations), policyClaims, policyholderClaims, flightClaims);
+    }
+}
@@ -0,0 +1,169 @@
+package com.insurance.claims.service.fraud;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.store.ClaimStore;
+
+/**
+ * 理赔频率风控筛查服务
+ * 在规则执行前按保单号、投保人姓名和航班号统计滑动窗口内的申请次数，
+ * 超过阈值的申请转人工审核并标记为高风险。计数完全在内存中完成，不访问数据库。
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Service
+public class FraudScreeningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FraudScreeningService.class);
+
+    private static final String RULE_NAME = "理赔频率风控规则";
+
+    @Autowired
+    private ClaimStore claimStore;
+
+    private final boolean enabled;
+    private final int windowHours;
+    private final int maxClaimsPerPolicy;
+    private final int maxClaimsPerPolicyholder;
+    private final int maxClaimsPerFlight;
+
+    private final SlidingWindowCounter policyCounter;
+    private final SlidingWindowCounter policyholderCounter;
+    private final SlidingWindowCounter flightCounter;
+
+    public FraudScreeningService(
+            @Value("${claims.fraud.enabled:true}") boolean enabled,
+            @Value("${claims.fraud.window-hours:24}") int windowHours,
+            @Value("${claims.fraud.slot-minutes:60}") int slotMinutes,
+            @Value("${claims.fraud.stripes:64}") int stripes,
+            @Value("${claims.fraud.max-claims-per-policy:3}") int maxClaimsPerPolicy,
+            @Value("${claims.fraud.max-claims-per-policyholder:5}") int maxClaimsPerPolicyholder,
+            @Value("${claims.fraud.max-claims-per-flight:500}") int maxClaimsPerFlight) {
+        this.enabled = enabled;
+        this.windowHours = windowHours;
+        this.maxClaimsPerPolicy = maxClaimsPerPolicy;
+        this.maxClaimsPerPolicyholder = maxClaimsPerPolicyholder;
+        this.maxClaimsPerFlight = maxClaimsPerFlight;
+
+        long slotMillis = TimeUnit.MINUTES.toMillis(slotMinutes);
+        int slotCount = (int) Math.max(1, TimeUnit.HOURS.toMillis(windowHours) / slotMillis);
+        this.policyCounter = new SlidingWindowCounter(slotMillis, slotCount, stripes);
+        this.policyholderCounter = new SlidingWindowCounter(slotMillis, slotCount, stripes);
+        this.flightCounter = new SlidingWindowCounter(slotMillis, slotCount, stripes);
+    }
+
+    /**
+     * 启动时从数据库加载窗口内的历史申请，避免重启后计数归零
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TravelDelayClaim> recentClaims = claimStore.findByClaimDateBetween(now.minusHours(windowHours), now);
+        for (TravelDelayClaim claim : recentClaims) {
+            long timestamp = claim.getClaimDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            count(claim, timestamp);
+        }
+        logger.info("理赔频率风控计数已预热，加载最近{}小时申请 {} 条", windowHours, recentClaims.size());
+    }
+
+    /**
+     * 筛查理赔申请，本次申请计入滑动窗口
+     * 
+     * @param claim 理赔申请
+     * @return 筛查结果
+     */
+    public FraudScreeningResult screen(TravelDelayClaim claim) {
+        if (!enabled) {
+            return FraudScreeningResult.passed();
+        }
+
+        int[] counts = count(claim, System.currentTimeMillis());
+        List<String> violations = null;
+
+        if (counts[0] > maxClaimsPerPolicy) {
+            violations = addViolation(violations,
+                    "同一保单" + windowHours + "小时内申请" + counts[0] + "次，超过上限" + maxClaimsPerPolicy + "次");
+        }
+        if (counts[1] > maxClaimsPerPolicyholder) {
+            violations = addViolation(violations,
+                    "同一投保人" + windowHours + "小时内申请" + counts[1] + "次，超过上限" + maxClaimsPerPolicyholder + "次");
+        }
+        if (counts[2] > maxClaimsPerFlight) {
+            violations = addViolation(violations,
+                    "同一航班" + windowHours + "小时内申请" + counts[2] + "次，超过上限" + maxClaimsPerFlight + "次");
+        }
+
+        if (violations == null) {
+            return FraudScreeningResult.passed();
+        }
+
+        logger.warn("理赔申请触发频率风控，保单号: {}, 原因: {}", claim.getPolicyNumber(), violations);
+        return FraudScreeningResult.flagged(violations, counts[0], counts[1], counts[2]);
+    }
+
+    /**
+     * 将筛查结果应用到规则决策：触发阈值的申请转人工审核并标记为高风险。
+     * 审核建议参数依次为 窗口小时数、保单申请次数、保单上限、投保人申请次数、投保人上限、航班申请次数、航班上限
+     * 
+     * @param result   筛查结果
+     * @param decision 规则引擎决策
+     */
+    public void applyTo(FraudScreeningResult result, ClaimDecision decision) {
+        if (!result.isFlagged()) {
+            return;
+        }
+
+        decision.setRequiresManualReview(true);
+        decision.setRiskLevel(ClaimDecision.RiskLevel.HIGH);
+        decision.setReviewSuggestion(ClaimReasonCode.REVIEW_FREQUENCY, windowHours,
+                result.getPolicyClaims(), maxClaimsPerPolicy,
+                result.getPolicyholderClaims(), maxClaimsPerPolicyholder,
+                result.getFlightClaims(), maxClaimsPerFlight);
+        if (decision.getRuleDetails() == null) {
+            decision.setRuleDetails(new ArrayList<>());
+        }
+        for (String violation : result.getViolations()) {
+            decision.getRuleDetails().add(RULE_NAME + ": " + violation);
+        }
+    }
+
+    private int[] count(TravelDelayClaim claim, long timestamp) {
+        int[] counts = new int[3];
+        if (claim.getPolicyNumber() != null) {
+            counts[0] = policyCounter.incrementAndGet(claim.getPolicyNumber(), timestamp);
+        }
+        if (claim.getPolicyholderName() != null) {
+            counts[1] = policyholderCounter.incrementAndGet(claim.getPolicyholderName().trim(), timestamp);
+        }
+        if (claim.getFlightNumber() != null) {
+            counts[2] = flightCounter.incrementAndGet(claim.getFlightNumber(), timestamp);
+        }
+        return counts;
+    }
+
+    private static List<String> addViolation(List<String> violations, String violation) {
+        List<String> list = violations != null ? violations : new ArrayList<>(3);
+        list.add(violation);
+        return list;
+    }
+}
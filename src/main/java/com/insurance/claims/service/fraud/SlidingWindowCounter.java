@@ -0,0 +1,198 @@
+package com.insurance.claims.service.fraud;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段锁滑动窗口计数器
+ * 窗口被划分为固定数量的时间槽，每个键维护一个环形计数数组和窗口内总数。
+ * 键按哈希分布到多个锁分段，不同分段之间的更新互不阻塞。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class SlidingWindowCounter {
+
+    /**
+     * 每个分段执行多少次操作后清理一次过期键
+     */
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final long slotMillis;
+    private final int slotCount;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param slotMillis 单个时间槽长度（毫秒）
+     * @param slotCount  窗口包含的时间槽数量
+     * @param stripes    锁分段数量，会向上取整为2的幂
+     */
+    public SlidingWindowCounter(long slotMillis, int slotCount, int stripes) {
+        if (slotMillis <= 0 || slotCount <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("滑动窗口参数必须大于0");
+        }
+        this.slotMillis = slotMillis;
+        this.slotCount = slotCount;
+
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        this.stripeMask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * 计数加一并返回窗口内的最新总数
+     *
+     * @param key       计数键
+     * @param timestamp 事件时间（毫秒）
+     * @return 窗口内计数
+     */
+    public int incrementAndGet(String key, long timestamp) {
+        long epoch = timestamp / slotMillis;
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                window = new Window(slotCount, epoch);
+                stripe.windows.put(key, window);
+            }
+            int total = window.add(epoch);
+            if (++stripe.operations % PURGE_INTERVAL == 0) {
+                stripe.purge(epoch - slotCount);
+            }
+            return total;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 查询窗口内的计数
+     *
+     * @param key       计数键
+     * @param timestamp 当前时间（毫秒）
+     * @return 窗口内计数
+     */
+    public int get(String key, long timestamp) {
+        long epoch = timestamp / slotMillis;
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                return 0;
+            }
+            window.advance(epoch);
+            return window.total;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 当前跟踪的键数量
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.windows.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 清空所有计数
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.windows.clear();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    /**
+     * 锁分段
+     */
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows = new HashMap<>();
+        private long operations;
+
+        private void purge(long expiredEpoch) {
+            Iterator<Window> iterator = windows.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().head <= expiredEpoch) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 单个键的环形时间槽计数
+     */
+    private static final class Window {
+
+        private final int[] counts;
+        private long head;
+        private int total;
+
+        private Window(int slotCount, long epoch) {
+            this.counts = new int[slotCount];
+            this.head = epoch;
+        }
+
+        private int add(long epoch) {
+            advance(epoch);
+            if (epoch > head - counts.length) {
+                counts[slot(epoch)]++;
+                total++;
+            }
+            return total;
+        }
+
+        /**
+         * 将窗口推进到指定时间槽，清除滑出窗口的计数
+         */
+        private void advance(long epoch) {
+            if (epoch <= head) {
+                return;
+            }
+            long steps = Math.min(epoch - head, counts.length);
+            for (long i = 1; i <= steps; i++) {
+                int slot = slot(head + i);
+                total -= counts[slot];
+                counts[slot] = 0;
+            }
+            head = epoch;
+        }
+
+        private int slot(long epoch) {
+            return (int) Math.floorMod(epoch, (long) counts.length);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.insurance.claims.service.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于延迟梯度的自适应并发限制器
+ * 维护长期与短期平均响应时间：短期延迟未超过长期延迟的容忍倍数时，在并发饱和的情况下按 sqrt(limit) 逐步放大上限；
+ * 短期延迟升高时按两者比值（不低于0.5）收缩上限。并发数达到上限的请求立即拒绝，不排队等待。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_ALPHA = 0.01;
+    private static final double SHORT_RTT_ALPHA = 0.2;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    /**
+     * @param initialLimit 初始并发上限
+     * @param minLimit     并发上限下界
+     * @param maxLimit     并发上限上界
+     * @param tolerance    短期延迟相对长期延迟的容忍倍数，越小越早收缩
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1.0) {
+            throw new IllegalArgumentException("并发限制参数无效: min=" + minLimit + ", max=" + maxLimit
+                    + ", tolerance=" + tolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 尝试获取执行许可，并发数已达上限时立即返回false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                shed.incrementAndGet();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放许可并以本次响应时间调整并发上限
+     *
+     * @param rttNanos 本次请求耗时（纳秒）
+     */
+    public void release(long rttNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        update(Math.max(1, rttNanos), inflightBefore);
+    }
+
+    /**
+     * 当前并发上限
+     */
+    public int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * 当前执行中的请求数
+     */
+    public int inflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 累计放行请求数
+     */
+    public long accepted() {
+        return accepted.get();
+    }
+
+    /**
+     * 累计拒绝请求数
+     */
+    public long shed() {
+        return shed.get();
+    }
+
+    /**
+     * 短期平均响应时间（毫秒）
+     */
+    public synchronized double shortRttMillis() {
+        return shortRttNanos / 1_000_000.0;
+    }
+
+    private synchronized void update(long rttNanos, int inflightBefore) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_ALPHA;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+            // 延迟回落后长期均值快速跟随，避免旧的高延迟基线掩盖新的拥塞
+            if (longRttNanos > shortRttNanos * 2) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        double current = limit;
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        // 并发未饱和时不放大上限，避免空闲时上限无限增长
+        if (gradient >= 1.0 && inflightBefore * 2 < current) {
+            return;
+        }
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,94 @@
+package com.insurance.claims.service.limit;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 各通道的并发限制器
+ * 通道参数位于 claims.limiter.lanes.&lt;通道&gt;（initial-limit、min-limit、max-limit、tolerance），
+ * 提交通道的容忍倍数最小，数据库延迟升高时最先收缩，为查询和人工审核保留并发额度。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<TrafficLane, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(TrafficLane.class);
+
+    @Autowired
+    public ConcurrencyLimiterRegistry(Environment environment, MeterRegistry meterRegistry) {
+        this(buildLimiters(environment));
+        limiters.forEach((lane, limiter) -> {
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("claims.limiter.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("当前并发上限")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("claims.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::inflight)
+                    .description("执行中的请求数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("claims.limiter.shed", limiter, AdaptiveConcurrencyLimiter::shed)
+                    .description("因超过并发上限被拒绝的请求数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    public ConcurrencyLimiterRegistry(Map<TrafficLane, AdaptiveConcurrencyLimiter> limiters) {
+        this.limiters.putAll(limiters);
+    }
+
+    /**
+     * 获取通道的限制器，未配置的通道不限流
+     */
+    public AdaptiveConcurrencyLimiter limiter(TrafficLane lane) {
+        return limiters.get(lane);
+    }
+
+    /**
+     * 各通道的上限、并发数与拒绝数
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        limiters.forEach((lane, limiter) -> {
+            Map<String, Object> laneStats = new LinkedHashMap<>();
+            laneStats.put("limit", limiter.limit());
+            laneStats.put("inflight", limiter.inflight());
+            laneStats.put("accepted", limiter.accepted());
+            laneStats.put("shed", limiter.shed());
+            laneStats.put("shortRttMillis", limiter.shortRttMillis());
+            stats.put(lane.name(), laneStats);
+        });
+        return stats;
+    }
+
+    private static Map<TrafficLane, AdaptiveConcurrencyLimiter> buildLimiters(Environment environment) {
+        Map<TrafficLane, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(TrafficLane.class);
+        limiters.put(TrafficLane.READ, build(environment, TrafficLane.READ, 40, 8, 400, 2.0));
+        limiters.put(TrafficLane.REVIEW, build(environment, TrafficLane.REVIEW, 10, 4, 50, 2.0));
+        limiters.put(TrafficLane.SUBMIT, build(environment, TrafficLane.SUBMIT, 20, 2, 200, 1.5));
+        return limiters;
+    }
+
+    private static AdaptiveConcurrencyLimiter build(Environment environment, TrafficLane lane,
+            int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        String prefix = "claims.limiter.lanes." + lane.name().toLowerCase(Locale.ROOT) + ".";
+        return new AdaptiveConcurrencyLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+                environment.getProperty(prefix + "tolerance", Double.class, tolerance));
+    }
+}
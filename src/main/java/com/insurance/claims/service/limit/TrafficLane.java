@@ -0,0 +1,24 @@
+package com.insurance.claims.service.limit;
+
+/**
+ * 并发限制通道
+ * 各通道独立限流，提交流量激增时不会挤占查询与人工审核的并发额度
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public enum TrafficLane {
+    READ("查询"),
+    REVIEW("人工审核"),
+    SUBMIT("提交申请");
+
+    private final String description;
+
+    TrafficLane(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,216 @@
+package com.insurance.claims.service.migration;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+
+/**
+ * 决策原因代码迁移
+ * 早期版本在 approval_result 列保存整句中文审核结果，在 approval_notes 列以“需要人工审核: ”前缀保存审核建议。
+ * 启动时（预热与对外就绪之前）在每个分片上按主键分批将其解析为原因代码与参数写入新列，旧列与旧文本保持不变，
+ * 滚动发布或回滚期间仍在运行旧版本的实例照常读写。无法识别的旧文本保存为 LEGACY_TEXT 代码，原文作为参数，不丢失信息。
+ * 所有实例升级后由运维显式收尾（{@link #finalizeMigration()}，actuator 端点 claimreasonmigration）：
+ * 转换旧版本实例期间写入的申请，清除已转换的审核建议备注，再删除 approval_result 列。
+ * 表中没有 approval_result 列时视为已迁移，直接跳过。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReasonCodeMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReasonCodeMigration.class);
+
+    private static final String TABLE = "travel_delay_claim";
+    private static final String LEGACY_COLUMN = "approval_result";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Value("${claims.reason-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${claims.reason-migration.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${claims.reason-migration.drop-legacy-column:false}")
+    private boolean dropLegacyColumn;
+
+    private record LegacyRow(long id, String approvalResult, String approvalNotes) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (dropLegacyColumn) {
+            finalizeMigration();
+        } else {
+            migrate();
+        }
+    }
+
+    /**
+     * 在所有分片上执行迁移
+     *
+     * @return 转换的申请数量
+     */
+    public int migrate() {
+        return shardRouter.forEachShard(this::migrateShard).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * 迁移收尾，须在所有实例都升级到按代码读写的版本之后执行：转换剩余的旧版申请，
+     * 清除已转换为审核建议代码的备注，删除 approval_result 列。不可逆
+     *
+     * @return 收尾时转换的申请数量
+     */
+    public int finalizeMigration() {
+        return shardRouter.forEachShard(this::finalizeShard).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * 各分片的迁移状态
+     */
+    public Map<String, Object> status() {
+        List<Boolean> legacyColumns = shardRouter.forEachShard(shard -> hasLegacyColumn(new JdbcTemplate(dataSource)));
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("dropLegacyColumn", dropLegacyColumn);
+        status.put("shards", legacyColumns.size());
+        status.put("shardsWithLegacyColumn", legacyColumns.stream().filter(Boolean::booleanValue).count());
+        return status;
+    }
+
+    private int finalizeShard(int shard) {
+        int migrated = migrateShard(shard);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (!hasLegacyColumn(jdbcTemplate)) {
+            return migrated;
+        }
+        int cleared = jdbcTemplate.update("UPDATE " + TABLE + " SET approval_notes = NULL"
+                + " WHERE review_code IS NOT NULL AND approval_notes LIKE ?", ClaimReasonCode.LEGACY_REVIEW_PREFIX + "%");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + LEGACY_COLUMN);
+        logger.info("决策原因代码迁移收尾完成，分片: {}, 转换申请数: {}, 清除审核建议备注: {}, 已删除 {} 列",
+                shard, migrated, cleared, LEGACY_COLUMN);
+        return migrated;
+    }
+
+    private int migrateShard(int shard) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (!hasLegacyColumn(jdbcTemplate)) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        logger.info("开始迁移决策原因代码，分片: {}, 批大小: {}", shard, batchSize);
+        jdbcTemplate.setMaxRows(batchSize);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            List<LegacyRow> rows = template.execute(status -> migrateBatch(jdbcTemplate, afterId));
+            if (rows.isEmpty()) {
+                break;
+            }
+            migrated += rows.size();
+            lastId = rows.get(rows.size() - 1).id();
+        }
+
+        logger.info("决策原因代码迁移完成，分片: {}, 转换申请数: {}, 耗时: {} ms",
+                shard, migrated, System.currentTimeMillis() - start);
+        return migrated;
+    }
+
+    /**
+     * 转换主键大于 afterId 的一批申请，只写入代码列，不修改旧列与备注
+     */
+    private List<LegacyRow> migrateBatch(JdbcTemplate jdbcTemplate, long afterId) {
+        List<LegacyRow> rows = jdbcTemplate.query(
+                "SELECT id, " + LEGACY_COLUMN + ", approval_notes FROM " + TABLE
+                        + " WHERE id > ? AND reason_code IS NULL"
+                        + " AND (" + LEGACY_COLUMN + " IS NOT NULL OR approval_notes LIKE ?) ORDER BY id",
+                (rs, rowNum) -> new LegacyRow(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                afterId, ClaimReasonCode.LEGACY_REVIEW_PREFIX + "%");
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (LegacyRow row : rows) {
+            ClaimReasonCode.Reason reason = ClaimReasonCode.parseLegacy(row.approvalResult());
+            ClaimReasonCode.Reason review = null;
+            String notes = row.approvalNotes();
+            if (notes != null && notes.startsWith(ClaimReasonCode.LEGACY_REVIEW_PREFIX)) {
+                review = ClaimReasonCode.parseLegacy(notes.substring(ClaimReasonCode.LEGACY_REVIEW_PREFIX.length()));
+            }
+
+            // 经实体编码参数，与应用写入的格式和列长度一致
+            TravelDelayClaim claim = new TravelDelayClaim();
+            claim.recordReason(reason != null ? reason.code() : null, reason != null ? reason.params() : null,
+                    review != null ? review.code() : null, review != null ? review.params() : null);
+            updates.add(new Object[] { name(claim.getReasonCode()), claim.getReasonParams(),
+                    name(claim.getReviewCode()), claim.getReviewParams(), row.id() });
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET reason_code = ?, reason_params = ?, review_code = ?,"
+                + " review_params = ? WHERE id = ?", updates);
+        return rows;
+    }
+
+    /**
+     * 查询元数据判断旧列是否存在，表名按数据库的大小写习惯依次尝试
+     */
+    private boolean hasLegacyColumn(JdbcTemplate jdbcTemplate) {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[] { TABLE, TABLE.toUpperCase(Locale.ROOT) }) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                    while (columns.next()) {
+                        if (LEGACY_COLUMN.equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    private static String name(ClaimReasonCode code) {
+        return code != null ? code.name() : null;
+    }
+}
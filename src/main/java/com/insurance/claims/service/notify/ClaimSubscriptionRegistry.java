@@ -0,0 +1,380 @@
+package com.insurance.claims.service.notify;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.cache.ClaimSnapshotCache;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 理赔决策推送订阅表
+ * 客户端按申请单号或保单号订阅（Server-Sent Events），决策、人工审核、结算事务提交后向订阅者推送决策事件。
+ * 每个键只保存一个订阅者数组，写时复制，空闲连接只占用数组槽位与Servlet异步上下文，不占用线程；
+ * 提交事务的请求线程只做一次哈希查找并把事件放入各订阅者的待发队列，由少量分发线程按订阅者依次写出。
+ * 同一订阅者同一时刻只有一个分发线程在写，事件顺序不变；不读取数据的客户端只会阻塞一个分发线程，
+ * 待发事件超过队列上限的订阅者被移除并在当前写入返回后关闭，不影响其他订阅者。
+ * 按申请单号的订阅在申请离开待处理状态后结束，按保单号的订阅持续到超时或客户端断开。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimSubscriptionRegistry.class);
+
+    /**
+     * 已离开待处理状态时发送的当前状态事件名
+     */
+    public static final String SNAPSHOT_EVENT = "SNAPSHOT";
+
+    /**
+     * 建议客户端断线重连的间隔
+     */
+    private static final long RECONNECT_MILLIS = 5000;
+
+    /**
+     * 心跳消息
+     */
+    private static final Message HEARTBEAT = new Message(null, null, false);
+
+    private final ClaimSnapshotCache claimSnapshotCache;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final int dispatcherThreads;
+    private final int queueCapacity;
+
+    private final ConcurrentHashMap<String, Subscriber[]> byClaim = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Subscriber[]> byPolicy = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    private final AtomicLong subscriptions = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public ClaimSubscriptionRegistry(
+            ClaimSnapshotCache claimSnapshotCache,
+            @Value("${claims.notify.max-subscribers:100000}") int maxSubscribers,
+            @Value("${claims.notify.timeout-seconds:600}") long timeoutSeconds,
+            @Value("${claims.notify.dispatcher-threads:4}") int dispatcherThreads,
+            @Value("${claims.notify.queue-capacity:64}") int queueCapacity) {
+        this.claimSnapshotCache = claimSnapshotCache;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.dispatcherThreads = Math.max(1, dispatcherThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(this.dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "claim-notify-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 订阅指定申请的决策事件
+     *
+     * @return 事件流，订阅数已达上限时返回null
+     */
+    public SseEmitter subscribeClaim(String claimNumber) {
+        return subscribe(byClaim, claimNumber);
+    }
+
+    /**
+     * 订阅指定保单下所有申请的决策事件
+     *
+     * @return 事件流，订阅数已达上限时返回null
+     */
+    public SseEmitter subscribePolicy(String policyNumber) {
+        return subscribe(byPolicy, policyNumber);
+    }
+
+    /**
+     * 订阅时申请已离开待处理状态（决策先于订阅提交）：发送当前状态并结束按申请单号的订阅
+     */
+    public void sendSnapshot(SseEmitter emitter, TravelDelayClaim claim) {
+        Subscriber subscriber = find(byClaim.get(claim.getClaimNumber()), emitter);
+        if (subscriber != null) {
+            enqueue(subscriber, new Message(SNAPSHOT_EVENT, ClaimDecisionEvent.of(null, claim, null), true));
+        }
+    }
+
+    /**
+     * 决策事务提交后推送；没有订阅者时不分配对象也不切换线程。
+     * 查找订阅者之前先失效申请快照：此后订阅的客户端读取当前状态时必然读到决策后的结果，不会漏掉本次决策
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClaimDecision(ClaimDecisionEvent event) {
+        if (event.getClaimNumber() != null) {
+            claimSnapshotCache.invalidate(event.getClaimNumber());
+        }
+        Subscriber[] claimSubscribers = event.getClaimNumber() != null ? byClaim.get(event.getClaimNumber()) : null;
+        Subscriber[] policySubscribers = event.getPolicyNumber() != null ? byPolicy.get(event.getPolicyNumber())
+                : null;
+        if (claimSubscribers == null && policySubscribers == null) {
+            return;
+        }
+        String name = event.getType().name();
+        if (claimSubscribers != null) {
+            Message message = new Message(name, event,
+                    event.getClaimStatus() != TravelDelayClaim.ClaimStatus.PENDING);
+            for (Subscriber subscriber : claimSubscribers) {
+                enqueue(subscriber, message);
+            }
+        }
+        if (policySubscribers != null) {
+            Message message = new Message(name, event, false);
+            for (Subscriber subscriber : policySubscribers) {
+                enqueue(subscriber, message);
+            }
+        }
+    }
+
+    /**
+     * 定时向所有订阅者发送注释行，及时发现已断开的连接并释放槽位
+     */
+    @Scheduled(fixedDelayString = "${claims.notify.heartbeat-millis:30000}")
+    public void heartbeat() {
+        if (subscribers.get() == 0) {
+            return;
+        }
+        byClaim.values().forEach(this::ping);
+        byPolicy.values().forEach(this::ping);
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * 推送统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.get());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("claimKeys", byClaim.size());
+        stats.put("policyKeys", byPolicy.size());
+        stats.put("dispatcherThreads", dispatcherThreads);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("subscriptions", subscriptions.get());
+        stats.put("rejected", rejected.get());
+        stats.put("delivered", delivered.get());
+        stats.put("failed", failed.get());
+        stats.put("dropped", dropped.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        byClaim.values().forEach(group -> Arrays.stream(group).forEach(subscriber -> subscriber.emitter.complete()));
+        byPolicy.values().forEach(group -> Arrays.stream(group).forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private SseEmitter subscribe(ConcurrentHashMap<String, Subscriber[]> index, String key) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            rejected.incrementAndGet();
+            return null;
+        }
+        subscriptions.incrementAndGet();
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        subscriber.unsubscribe = () -> {
+            if (remove(index, key, subscriber)) {
+                subscribers.decrementAndGet();
+            }
+        };
+        index.merge(key, new Subscriber[] { subscriber }, ClaimSubscriptionRegistry::append);
+        emitter.onCompletion(subscriber.unsubscribe);
+        emitter.onTimeout(subscriber.unsubscribe);
+        emitter.onError(e -> subscriber.unsubscribe.run());
+        try {
+            // 首个事件在事件流初始化时随响应头一起写出，客户端无需等到首次推送或心跳才确认订阅成功
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * 放入订阅者的待发队列；超过队列上限说明客户端跟不上推送，移除该订阅者，由分发线程在当前写入返回后关闭
+     */
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (subscriber.closing) {
+            return;
+        }
+        if (subscriber.pending.incrementAndGet() > queueCapacity) {
+            subscriber.pending.decrementAndGet();
+            subscriber.closing = true;
+            dropped.incrementAndGet();
+            subscriber.unsubscribe.run();
+            logger.warn("订阅者待发事件超过上限 {}，移除该订阅", queueCapacity);
+        } else {
+            subscriber.queue.offer(message);
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            logger.debug("推送分发已停止，忽略订阅者的待发事件");
+        }
+    }
+
+    /**
+     * 依次写出订阅者的待发事件；关闭标记只在分发线程上处理，避免与阻塞中的写入争用事件流
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            Message message;
+            while (!subscriber.closing && (message = subscriber.queue.poll()) != null) {
+                subscriber.pending.decrementAndGet();
+                if (!send(subscriber.emitter, message)) {
+                    subscriber.closing = true;
+                    subscriber.closed.set(true);
+                } else if (message.last()) {
+                    subscriber.closing = true;
+                }
+            }
+            if (subscriber.closing && subscriber.closed.compareAndSet(false, true)) {
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+            }
+        } finally {
+            subscriber.draining.set(false);
+        }
+        boolean remaining = subscriber.closing ? !subscriber.closed.get() : !subscriber.queue.isEmpty();
+        if (remaining) {
+            schedule(subscriber);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, Message message) {
+        try {
+            if (message.name() == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().name(message.name())
+                        .data(message.event(), MediaType.APPLICATION_JSON));
+                delivered.incrementAndGet();
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 连接已断开或已结束，由完成回调移除订阅
+            if (message.name() != null) {
+                failed.incrementAndGet();
+            }
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void ping(Subscriber[] group) {
+        for (Subscriber subscriber : group) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    private static Subscriber find(Subscriber[] group, SseEmitter emitter) {
+        if (group != null) {
+            for (Subscriber subscriber : group) {
+                if (subscriber.emitter == emitter) {
+                    return subscriber;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从键的订阅者数组中移除，数组为空时删除键
+     *
+     * @return 是否移除成功（完成、超时、出错回调与超限移除可能先后触发多次）
+     */
+    private static boolean remove(ConcurrentHashMap<String, Subscriber[]> index, String key, Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        index.computeIfPresent(key, (k, group) -> {
+            for (int i = 0; i < group.length; i++) {
+                if (group[i] == subscriber) {
+                    removed[0] = true;
+                    if (group.length == 1) {
+                        return null;
+                    }
+                    Subscriber[] remaining = new Subscriber[group.length - 1];
+                    System.arraycopy(group, 0, remaining, 0, i);
+                    System.arraycopy(group, i + 1, remaining, i, group.length - i - 1);
+                    return remaining;
+                }
+            }
+            return group;
+        });
+        return removed[0];
+    }
+
+    private static Subscriber[] append(Subscriber[] current, Subscriber[] added) {
+        Subscriber[] merged = Arrays.copyOf(current, current.length + added.length);
+        System.arraycopy(added, 0, merged, current.length, added.length);
+        return merged;
+    }
+
+    /**
+     * 待发消息，name为空表示心跳；last表示写出后结束事件流
+     */
+    private record Message(String name, ClaimDecisionEvent event, boolean last) {
+    }
+
+    /**
+     * 订阅者与其待发队列；队列按需分配节点，空闲订阅不预留容量
+     */
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final ConcurrentLinkedQueue<Message> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean closing;
+        Runnable unsubscribe;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.insurance.claims.service.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.insurance.claims.model.ClaimOutboxEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 本地文件投递目标
+ * 以JSON Lines格式追加写入文件，每批写完后刷盘
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+            @Value("${claims.outbox.file-path:data/outbox/claim-events.jsonl}") String filePath) throws IOException {
+        this.objectMapper = objectMapper;
+        Path path = Paths.get(filePath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<ClaimOutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (ClaimOutboxEvent event : events) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("id", event.getId());
+            node.put("claimNumber", event.getClaimNumber());
+            node.put("eventType", event.getEventType());
+            node.put("createdAt", event.getCreatedAt().toString());
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+            lines.append(objectMapper.writeValueAsString(node)).append('\n');
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
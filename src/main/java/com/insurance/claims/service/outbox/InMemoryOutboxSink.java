@@ -0,0 +1,51 @@
+package com.insurance.claims.service.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.model.ClaimOutboxEvent;
+
+/**
+ * 进程内投递目标
+ * 保留最近投递的若干事件，供测试和本地调试查看
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final ArrayDeque<ClaimOutboxEvent> events = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(@Value("${claims.outbox.memory-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<ClaimOutboxEvent> batch) {
+        for (ClaimOutboxEvent event : batch) {
+            if (events.size() >= capacity) {
+                events.pollFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * 已投递事件的快照
+     */
+    public synchronized List<ClaimOutboxEvent> received() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.insurance.claims.service.outbox;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.ClaimOutboxEvent;
+import com.insurance.claims.repository.ClaimOutboxRepository;
+
+/**
+ * 发件箱事件写入器
+ * 同步监听理赔决策事件，在发布事件的同一事务中写入发件箱表：
+ * 理赔状态更新回滚时发件箱记录一并回滚，提交时二者同时可见
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxEventWriter {
+
+    @Autowired
+    private ClaimOutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${claims.outbox.partitions:16}")
+    private int partitions;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onClaimDecision(ClaimDecisionEvent event) throws JsonProcessingException {
+        outboxRepository.save(ClaimOutboxEvent.builder()
+                .claimNumber(event.getClaimNumber())
+                .partitionKey(partitionOf(event.getClaimNumber(), partitions))
+                .eventType(event.getType().name())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .attempts(0)
+                .build());
+    }
+
+    /**
+     * 计算申请所属分区
+     */
+    public static int partitionOf(String claimNumber, int partitions) {
+        return Math.floorMod(claimNumber.hashCode(), partitions);
+    }
+}
@@ -0,0 +1,318 @@
+package com.insurance.claims.service.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.model.ClaimOutboxEvent;
+import com.insurance.claims.model.OutboxPartitionLease;
+import com.insurance.claims.repository.ClaimOutboxRepository;
+import com.insurance.claims.repository.OutboxPartitionLeaseRepository;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 发件箱中继
+ * 多个轮询线程按分区并发投递发件箱事件：轮询线程先以条件UPDATE抢占分区租约
+ * （数据库不支持SKIP LOCKED时的等价做法，抢占失败即跳过该分区），再按id顺序批量读取、投递、标记。
+ * 同一分区同一时刻只有一个持有者，因此同一申请的事件按写入顺序投递；
+ * 投递成功但标记前崩溃的批次会在租约过期后被重新投递（至少一次）。
+ * 续期与标记都以“租约仍归本节点且未过期”为条件，投递期间租约被他人接管时不标记、该分区本轮停止，由新持有者重新投递。
+ * 启用分片时发件箱事件与申请写在同一分片，每个分片有各自的分区租约，轮询线程依次处理各分片上分配给它的分区。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    /**
+     * 单次持有租约期间最多投递的批次数，避免长期占用分区
+     */
+    private static final int MAX_BATCHES_PER_LEASE = 20;
+
+    @Autowired
+    private ClaimOutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxPartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Value("${claims.outbox.partitions:16}")
+    private int partitions;
+
+    @Value("${claims.outbox.pollers:4}")
+    private int pollers;
+
+    @Value("${claims.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${claims.outbox.poll-interval-millis:200}")
+    private long pollIntervalMillis;
+
+    @Value("${claims.outbox.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${claims.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final String nodeId = "relay-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService executor;
+    private AtomicLongArray partitionLagMillis;
+
+    private Counter publishedCounter;
+    private Counter failureCounter;
+    private Timer batchTimer;
+    private Timer deliveryLatency;
+
+    /**
+     * 启动时补齐分区租约记录并启动轮询线程
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        partitionLagMillis = new AtomicLongArray(partitions * shardRouter.shardCount());
+        registerMetrics();
+        shardRouter.forEachShard(shard -> transactionTemplate.execute(status -> {
+            for (int partition = 0; partition < partitions; partition++) {
+                if (!leaseRepository.existsById(partition)) {
+                    leaseRepository.save(OutboxPartitionLease.builder().partitionId(partition).build());
+                }
+            }
+            return null;
+        }));
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(pollers, r -> {
+            Thread thread = new Thread(r, "outbox-relay-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int worker = 0; worker < pollers; worker++) {
+            int assigned = worker;
+            executor.scheduleWithFixedDelay(() -> pollSafely(assigned), pollIntervalMillis, pollIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        logger.info("发件箱中继已启动，节点: {}, 分区数: {}, 轮询线程: {}, 批大小: {}",
+                nodeId, partitions, pollers, batchSize);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+    }
+
+    /**
+     * 轮询分配给指定轮询线程的所有分区（所有分片）
+     *
+     * @param worker 轮询线程序号
+     * @return 本轮投递的事件数
+     */
+    public int pollOnce(int worker) {
+        return shardRouter.forEachShard(shard -> {
+            int published = 0;
+            for (int partition = worker; partition < partitions; partition += pollers) {
+                published += drainPartition(shard, partition);
+            }
+            return published;
+        }).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * 定期清理已投递且超过保留期的事件
+     */
+    @Scheduled(fixedDelayString = "${claims.outbox.purge-interval-millis:600000}")
+    public void purgePublished() {
+        if (transactionTemplate == null) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int deleted = shardRouter.forEachShard(shard -> transactionTemplate.execute(
+                status -> outboxRepository.deletePublishedBefore(cutoff))).stream().mapToInt(Integer::intValue).sum();
+        if (deleted > 0) {
+            logger.info("已清理 {} 条已投递的发件箱事件", deleted);
+        }
+    }
+
+    private void pollSafely(int worker) {
+        try {
+            pollOnce(worker);
+        } catch (RuntimeException e) {
+            logger.warn("发件箱轮询失败，轮询线程: {}, 原因: {}", worker, e.getMessage());
+        }
+    }
+
+    private int drainPartition(int shard, int partition) {
+        int lagIndex = shard * partitions + partition;
+        if (!outboxRepository.existsByPartitionKeyAndPublishedAtIsNull(partition)) {
+            partitionLagMillis.set(lagIndex, 0L);
+            return 0;
+        }
+        if (!acquireLease(partition)) {
+            return 0;
+        }
+
+        int published = 0;
+        try {
+            for (int round = 0; round < MAX_BATCHES_PER_LEASE; round++) {
+                List<ClaimOutboxEvent> batch = outboxRepository.findByPartitionKeyAndPublishedAtIsNullOrderByIdAsc(
+                        partition, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    partitionLagMillis.set(lagIndex, 0L);
+                    break;
+                }
+                partitionLagMillis.set(lagIndex,
+                        Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+                if (!publishBatch(partition, batch)) {
+                    break;
+                }
+                published += batch.size();
+                if (batch.size() < batchSize || !renewLease(partition)) {
+                    break;
+                }
+            }
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.release(partition, nodeId));
+        }
+        return published;
+    }
+
+    /**
+     * 投递一个批次并标记为已投递；失败或租约已丢失时该分区本轮停止投递以保证顺序
+     */
+    private boolean publishBatch(int partition, List<ClaimOutboxEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.publish(batch);
+        } catch (Exception e) {
+            failureCounter.increment();
+            ClaimOutboxEvent head = batch.get(0);
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            logger.warn("发件箱事件投递失败，分区: {}, 事件id: {}, 原因: {}", head.getPartitionKey(), head.getId(), reason);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.recordFailure(head.getId(),
+                    reason.length() > 1000 ? reason.substring(0, 1000) : reason));
+            return false;
+        }
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ClaimOutboxEvent event : batch) {
+            ids.add(event.getId());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Integer marked = transactionTemplate.execute(status ->
+                outboxRepository.markPublished(ids, partition, nodeId, now));
+        if (marked == null || marked == 0) {
+            logger.warn("分区租约已丢失，放弃标记已投递的批次，分区: {}, 事件数: {}", partition, batch.size());
+            return false;
+        }
+
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        publishedCounter.increment(batch.size());
+        for (ClaimOutboxEvent event : batch) {
+            deliveryLatency.record(Duration.between(event.getCreatedAt(), now));
+        }
+        return true;
+    }
+
+    private boolean acquireLease(int partition) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                leaseRepository.acquire(partition, nodeId, now.plusSeconds(leaseSeconds), now));
+        return acquired != null && acquired == 1;
+    }
+
+    private boolean renewLease(int partition) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer renewed = transactionTemplate.execute(status ->
+                leaseRepository.renew(partition, nodeId, now.plusSeconds(leaseSeconds), now));
+        return renewed != null && renewed == 1;
+    }
+
+    private void registerMetrics() {
+        publishedCounter = Counter.builder("claims.outbox.published")
+                .description("已投递的发件箱事件数")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("claims.outbox.failures")
+                .description("发件箱批次投递失败次数")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("claims.outbox.batch")
+                .description("单批次投递与标记耗时")
+                .register(meterRegistry);
+        deliveryLatency = Timer.builder("claims.outbox.delivery.latency")
+                .description("事件从写入发件箱到投递完成的耗时")
+                .register(meterRegistry);
+        Gauge.builder("claims.outbox.lag.seconds", this, relay -> relay.maxLagMillis() / 1000.0)
+                .description("各分区最早未投递事件的等待时长")
+                .register(meterRegistry);
+        Gauge.builder("claims.outbox.pending", this, relay -> relay.pendingCount())
+                .description("未投递的发件箱事件数")
+                .register(meterRegistry);
+    }
+
+    private long pendingCount() {
+        return shardRouter.scatter(outboxRepository::countByPublishedAtIsNull).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    private long maxLagMillis() {
+        long max = 0;
+        for (int i = 0; i < partitionLagMillis.length(); i++) {
+            max = Math.max(max, partitionLagMillis.get(i));
+        }
+        return max;
+    }
+}
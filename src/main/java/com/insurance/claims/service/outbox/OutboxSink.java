@@ -0,0 +1,24 @@
+package com.insurance.claims.service.outbox;
+
+import java.util.List;
+
+import com.insurance.claims.model.ClaimOutboxEvent;
+
+/**
+ * 发件箱事件投递目标
+ * 实现类需保证一个批次内的事件按列表顺序投递；抛出异常时整批视为失败并在稍后重试，
+ * 因此下游需要按事件id做幂等处理（至少一次投递语义）
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public interface OutboxSink {
+
+    /**
+     * 投递一批事件
+     *
+     * @param events 按id升序排列的事件
+     * @throws Exception 投递失败
+     */
+    void publish(List<ClaimOutboxEvent> events) throws Exception;
+}
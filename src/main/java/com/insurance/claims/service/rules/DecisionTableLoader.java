@@ -0,0 +1,182 @@
+package com.insurance.claims.service.rules;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.drools.decisiontable.parser.csv.CsvLineParser;
+import org.drools.decisiontable.parser.xls.ExcelParser;
+import org.drools.template.parser.DataListener;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+
+/**
+ * 决策表加载器
+ * 读取精算维护的Excel（xls/xlsx）或CSV决策表，表头行之前的标题行与CSV中以#开头的注释行被忽略。
+ * 表头列（不区分大小写）：region, min_delay_hours, max_delay_hours, eligible, amount, risk_level,
+ * manual_review, rule_name, reason_code, review_code；reason_code 与 review_code 为 {@link ClaimReasonCode} 的名称，
+ * reason_code 可留空，由是否赔付与延误时长区间推导，原因文本在展示时按延误小时数与区间边界渲染。
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public final class DecisionTableLoader {
+
+    private static final String HEADER_MARKER = "min_delay_hours";
+
+    private DecisionTableLoader() {
+    }
+
+    /**
+     * 解析决策表
+     *
+     * @param fileName 文件名，按扩展名区分格式
+     * @param input    文件内容
+     * @return 按表中顺序排列的行
+     */
+    public static List<DecisionTableRuleSet.Row> load(String fileName, InputStream input) {
+        RowCollector collector = new RowCollector(fileName);
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".xls") || lower.endsWith(".xlsx")) {
+            new ExcelParser(collector).parseFile(input);
+        } else {
+            parseCsv(input, collector);
+        }
+        return collector.rows;
+    }
+
+    private static void parseCsv(InputStream input, RowCollector collector) {
+        CsvLineParser lineParser = new CsvLineParser();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            collector.startSheet(null);
+            String line;
+            int rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    rowNumber++;
+                    continue;
+                }
+                List<String> cells = lineParser.parse(line);
+                collector.newRow(rowNumber, cells.size());
+                for (int column = 0; column < cells.size(); column++) {
+                    collector.newCell(rowNumber, column, cells.get(column), DataListener.NON_MERGED);
+                }
+                rowNumber++;
+            }
+            collector.finishSheet();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 按单元格回调收集行数据，遇到表头行后开始解析
+     */
+    private static final class RowCollector implements DataListener {
+
+        private final String fileName;
+        private final List<DecisionTableRuleSet.Row> rows = new ArrayList<>();
+        private final Map<String, Integer> columns = new HashMap<>();
+        private TreeMap<Integer, String> currentCells;
+        private int currentRow = -1;
+
+        private RowCollector(String fileName) {
+            this.fileName = fileName;
+        }
+
+        @Override
+        public void startSheet(String name) {
+            columns.clear();
+            currentCells = null;
+        }
+
+        @Override
+        public void finishSheet() {
+            flush();
+        }
+
+        @Override
+        public void newRow(int rowNumber, int columnCount) {
+            flush();
+            currentRow = rowNumber;
+            currentCells = new TreeMap<>();
+        }
+
+        @Override
+        public void newCell(int row, int column, String value, int mergedColStart) {
+            if (currentCells != null && value != null) {
+                currentCells.put(column, value.trim());
+            }
+        }
+
+        private void flush() {
+            if (currentCells == null || currentCells.isEmpty()) {
+                return;
+            }
+            TreeMap<Integer, String> cells = currentCells;
+            currentCells = null;
+
+            if (columns.isEmpty()) {
+                if (cells.values().stream().anyMatch(HEADER_MARKER::equalsIgnoreCase)) {
+                    cells.forEach((column, header) -> columns.put(header.toLowerCase(Locale.ROOT), column));
+                }
+                return;
+            }
+
+            try {
+                rows.add(new DecisionTableRuleSet.Row(
+                        text(cells, "region"),
+                        integer(cells, "min_delay_hours"),
+                        integer(cells, "max_delay_hours"),
+                        Boolean.parseBoolean(text(cells, "eligible")),
+                        decimal(cells, "amount"),
+                        riskLevel(cells),
+                        Boolean.parseBoolean(text(cells, "manual_review")),
+                        text(cells, "rule_name"),
+                        reasonCode(cells, "reason_code"),
+                        reasonCode(cells, "review_code")));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("决策表 " + fileName + " 第 " + (currentRow + 1) + " 行格式错误: "
+                        + e.getMessage(), e);
+            }
+        }
+
+        private String text(Map<Integer, String> cells, String header) {
+            Integer column = columns.get(header);
+            String value = column != null ? cells.get(column) : null;
+            return value == null || value.isEmpty() ? null : value;
+        }
+
+        private Integer integer(Map<Integer, String> cells, String header) {
+            String value = text(cells, header);
+            // Excel数值单元格可能带有小数部分
+            return value == null ? null : new BigDecimal(value).intValueExact();
+        }
+
+        private BigDecimal decimal(Map<Integer, String> cells, String header) {
+            String value = text(cells, header);
+            return value == null ? null : new BigDecimal(value);
+        }
+
+        private ClaimReasonCode reasonCode(Map<Integer, String> cells, String header) {
+            String value = text(cells, header);
+            return value == null ? null : ClaimReasonCode.valueOf(value.toUpperCase(Locale.ROOT));
+        }
+
+        private ClaimDecision.RiskLevel riskLevel(Map<Integer, String> cells) {
+            String value = text(cells, "risk_level");
+            return value == null ? null : ClaimDecision.RiskLevel.valueOf(value.toUpperCase(Locale.ROOT));
+        }
+    }
+}
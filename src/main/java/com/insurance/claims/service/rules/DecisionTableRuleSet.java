@@ -0,0 +1,215 @@
+package com.insurance.claims.service.rules;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.trace.RuleTrace;
+
+/**
+ * 由决策表编译的规则集
+ * 决策表的每一行是一个延误时长区间 [最小时长, 最大时长) 及其赔付结果，可限定地区。
+ * 编译时按小时展开为稠密数组，地区专属的行优先于不限地区的行，同一地区内靠前的行优先；
+ * 执行时只需一到两次数组下标访问，与行数无关，也不会在规则网络中为每一行生成规则。
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class DecisionTableRuleSet implements ProductRuleSet {
+
+    /**
+     * 稠密展开的小时上限，超出的区间边界视为配置错误
+     */
+    static final int MAX_DENSE_HOURS = 1000;
+
+    /**
+     * 决策表中的一行
+     */
+    public static final class Row {
+
+        private final String region;
+        private final Integer minDelayHours;
+        private final Integer maxDelayHours;
+        private final boolean eligible;
+        private final BigDecimal amount;
+        private final ClaimDecision.RiskLevel riskLevel;
+        private final boolean manualReview;
+        private final String ruleName;
+        private final ClaimReasonCode reasonCode;
+        private final ClaimReasonCode reviewCode;
+
+        /**
+         * @param reasonCode 决策原因代码，为空时按是否赔付与区间推导：
+         *                   赔付且不限上限为 DELAY_AT_LEAST，赔付为 DELAY_WITHIN_RANGE，不赔付为 DELAY_BELOW_MINIMUM
+         * @param reviewCode 审核建议代码，仅在需要人工审核时生效
+         */
+        public Row(String region, Integer minDelayHours, Integer maxDelayHours, boolean eligible, BigDecimal amount,
+                ClaimDecision.RiskLevel riskLevel, boolean manualReview, String ruleName, ClaimReasonCode reasonCode,
+                ClaimReasonCode reviewCode) {
+            this.region = region == null || region.isEmpty() ? null : region;
+            this.minDelayHours = minDelayHours;
+            this.maxDelayHours = maxDelayHours;
+            this.eligible = eligible;
+            this.amount = amount != null ? amount : BigDecimal.ZERO;
+            this.riskLevel = riskLevel != null ? riskLevel : ClaimDecision.RiskLevel.LOW;
+            this.manualReview = manualReview;
+            this.ruleName = ruleName;
+            this.reasonCode = reasonCode != null ? reasonCode
+                    : !eligible ? ClaimReasonCode.DELAY_BELOW_MINIMUM
+                    : maxDelayHours == null ? ClaimReasonCode.DELAY_AT_LEAST
+                    : ClaimReasonCode.DELAY_WITHIN_RANGE;
+            this.reviewCode = reviewCode;
+        }
+
+        private boolean covers(int hours) {
+            return (minDelayHours == null || hours >= minDelayHours)
+                    && (maxDelayHours == null || hours < maxDelayHours);
+        }
+
+        private void applyTo(ClaimDecision decision, int delayHours) {
+            decision.setEligible(eligible);
+            decision.setCompensationAmount(amount);
+            decision.setReason(reasonCode, delayHours, minDelayHours, maxDelayHours);
+            decision.setRuleName(ruleName);
+            decision.setDecisionTime(LocalDateTime.now());
+            decision.setRiskLevel(riskLevel);
+            decision.setRequiresManualReview(manualReview);
+            if (manualReview && reviewCode != null) {
+                decision.setReviewSuggestion(reviewCode);
+            } else {
+                decision.clearReviewSuggestion();
+            }
+        }
+    }
+
+    /**
+     * 单个地区的稠密查找表：下标为延误小时数，负数与超出上限的时长单独存放
+     */
+    private static final class Lookup {
+
+        private final Row[] byHour;
+        private Row negative;
+        private Row beyond;
+
+        private Lookup(int hours) {
+            this.byHour = new Row[hours];
+        }
+
+        private Row get(int hours) {
+            if (hours < 0) {
+                return negative;
+            }
+            return hours < byHour.length ? byHour[hours] : beyond;
+        }
+
+        private void fill(Row row) {
+            for (int hour = 0; hour < byHour.length; hour++) {
+                if (row.covers(hour)) {
+                    byHour[hour] = row;
+                }
+            }
+            if (row.covers(-1)) {
+                negative = row;
+            }
+            if (row.covers(byHour.length)) {
+                beyond = row;
+            }
+        }
+    }
+
+    private final String name;
+    private final int rowCount;
+    private final Lookup anyRegion;
+    private final Map<String, Lookup> byRegion;
+
+    private DecisionTableRuleSet(String name, int rowCount, Lookup anyRegion, Map<String, Lookup> byRegion) {
+        this.name = name;
+        this.rowCount = rowCount;
+        this.anyRegion = anyRegion;
+        this.byRegion = byRegion;
+    }
+
+    /**
+     * 编译决策表
+     *
+     * @param name 规则集名称
+     * @param rows 按优先级排列的决策表行
+     * @return 编译后的规则集
+     */
+    public static DecisionTableRuleSet compile(String name, List<Row> rows) {
+        int denseHours = 0;
+        for (Row row : rows) {
+            for (Integer bound : new Integer[] { row.minDelayHours, row.maxDelayHours }) {
+                if (bound != null) {
+                    if (bound > MAX_DENSE_HOURS) {
+                        throw new IllegalArgumentException("决策表 " + name + " 的延误时长区间超出上限 "
+                                + MAX_DENSE_HOURS + " 小时: " + bound);
+                    }
+                    denseHours = Math.max(denseHours, bound);
+                }
+            }
+        }
+
+        Lookup anyRegion = new Lookup(denseHours);
+        Map<String, Lookup> byRegion = new HashMap<>();
+        // 倒序填充，靠前的行覆盖靠后的行
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            Row row = rows.get(i);
+            if (row.region == null) {
+                anyRegion.fill(row);
+            } else {
+                int hours = denseHours;
+                byRegion.computeIfAbsent(row.region, region -> new Lookup(hours)).fill(row);
+            }
+        }
+        return new DecisionTableRuleSet(name, rows.size(), anyRegion, byRegion);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int execute(TravelDelayClaim claim, ClaimDecision decision, RuleTrace trace) {
+        if (claim.getDelayHours() == null) {
+            return 0;
+        }
+
+        int delayHours = claim.getDelayHours();
+        Row row = null;
+        Lookup regional = byRegion.isEmpty() ? null : byRegion.get(regionOf(claim.getProductCode()));
+        if (regional != null) {
+            row = regional.get(delayHours);
+        }
+        if (row == null) {
+            row = anyRegion.get(delayHours);
+        }
+        if (row == null) {
+            RuleTrace.evaluate(trace, name, false);
+            return 0;
+        }
+
+        RuleTrace.evaluate(trace, row.ruleName, true);
+        row.applyTo(decision, delayHours);
+        RuleTrace.fired(trace, row.ruleName);
+        return 1;
+    }
+
+    private static String regionOf(String productCode) {
+        if (productCode == null) {
+            return null;
+        }
+        int separator = productCode.indexOf('-');
+        return separator > 0 ? productCode.substring(separator + 1) : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.insurance.claims.service.rules;
+
+import org.kie.api.KieBase;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.runtime.KieSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.trace.DroolsRuleTraceListener;
+import com.insurance.claims.service.trace.RuleTrace;
+
+/**
+ * 由DRL规则文件编译的规则集
+ * 每次执行使用独立的有状态会话，开启追踪时在会话上注册议程与规则运行时监听器
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class DrlRuleSet implements ProductRuleSet {
+
+    private static final Logger logger = LoggerFactory.getLogger(DrlRuleSet.class);
+
+    private final String name;
+    private final KieBase kieBase;
+
+    public DrlRuleSet(String name, KieBase kieBase) {
+        this.name = name;
+        this.kieBase = kieBase;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    public KieBase kieBase() {
+        return kieBase;
+    }
+
+    @Override
+    public int execute(TravelDelayClaim claim, ClaimDecision decision, RuleTrace trace) {
+        KieSession session = kieBase.newKieSession();
+        try {
+            session.setGlobal("logger", logger);
+            if (trace != null) {
+                DroolsRuleTraceListener listener = new DroolsRuleTraceListener(trace);
+                session.addEventListener((AgendaEventListener) listener);
+                session.addEventListener((RuleRuntimeEventListener) listener);
+            }
+            session.insert(claim);
+            session.insert(decision);
+            return session.fireAllRules();
+        } finally {
+            session.dispose();
+        }
+    }
+}
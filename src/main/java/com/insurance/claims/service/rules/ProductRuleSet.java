@@ -0,0 +1,29 @@
+package com.insurance.claims.service.rules;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.trace.RuleTrace;
+
+/**
+ * 编译后的规则集
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public interface ProductRuleSet {
+
+    /**
+     * 规则集名称
+     */
+    String name();
+
+    /**
+     * 在决策对象上执行规则集
+     *
+     * @param claim    理赔申请
+     * @param decision 决策对象，规则作出决策时写入
+     * @param trace    规则执行追踪，未开启追踪时为null
+     * @return 触发的规则数
+     */
+    int execute(TravelDelayClaim claim, ClaimDecision decision, RuleTrace trace);
+}
@@ -0,0 +1,208 @@
+package com.insurance.claims.service.rules;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.io.ResourceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按产品划分的规则集注册表
+ * 核心规则（信息完整性检查、异常延误审核）启动时编译一次，供所有产品共用；
+ * 产品规则集按需编译并缓存，只包含该产品的赔付档位规则，因此新增产品只增加其自身规则的内存占用。
+ * 产品规则集可以是DRL规则文件，也可以是精算维护的决策表（xlsx/xls/csv），决策表编译为稠密查找表而非规则。
+ * 产品代码按"精确匹配 → 去掉地区后缀匹配 → 默认规则集"的顺序路由到规则集，路由只涉及两次哈希查找。
+ * 规则版本取核心规则与产品规则集源文件内容的摘要，规则文件任何改动都会产生新版本。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.rules.engine", havingValue = "drools")
+public class RuleSetRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleSetRegistry.class);
+
+    private static final String GROUP_ID = "com.insurance.claims";
+
+    private static final String[] TABLE_EXTENSIONS = { ".xlsx", ".xls", ".csv" };
+
+    private final KieServices kieServices = KieServices.Factory.get();
+    private final String coreDrl;
+    private final String ruleSetLocation;
+    private final String defaultRuleSet;
+    private final Map<String, String> routes = new HashMap<>();
+    private final DrlRuleSet coreRuleSet;
+    private final ConcurrentHashMap<String, ProductRuleSet> productRuleSets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RuleSetRegistry(Environment environment,
+            @Value("${claims.rules.core-drl:rules/core/claim-core.drl}") String coreDrl,
+            @Value("${claims.rules.rule-set-location:rules/products}") String ruleSetLocation,
+            @Value("${claims.rules.default-rule-set:domestic}") String defaultRuleSet) {
+        this(coreDrl, ruleSetLocation, defaultRuleSet, Binder.get(environment)
+                .bind("claims.rules.routes", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+    }
+
+    public RuleSetRegistry(String coreDrl, String ruleSetLocation, String defaultRuleSet, Map<String, String> routes) {
+        this.coreDrl = coreDrl;
+        this.ruleSetLocation = ruleSetLocation;
+        this.defaultRuleSet = defaultRuleSet;
+        routes.forEach((productCode, ruleSet) -> this.routes.put(productCode.toUpperCase(Locale.ROOT), ruleSet));
+        this.coreRuleSet = new DrlRuleSet("core", compileDrl("core", coreDrl));
+    }
+
+    /**
+     * 根据产品代码确定规则集
+     *
+     * @param productCode 产品代码，可带地区后缀，不区分大小写，为空时使用默认规则集
+     * @return 规则集名称
+     */
+    public String resolve(String productCode) {
+        if (productCode == null || productCode.isEmpty()) {
+            return defaultRuleSet;
+        }
+        String normalized = productCode.toUpperCase(Locale.ROOT);
+        String ruleSet = routes.get(normalized);
+        if (ruleSet == null) {
+            int regionSeparator = normalized.indexOf('-');
+            if (regionSeparator > 0) {
+                ruleSet = routes.get(normalized.substring(0, regionSeparator));
+            }
+        }
+        return ruleSet != null ? ruleSet : defaultRuleSet;
+    }
+
+    /**
+     * 各产品共用的核心规则
+     */
+    public DrlRuleSet coreRuleSet() {
+        return coreRuleSet;
+    }
+
+    /**
+     * 获取产品规则集，首次使用时编译
+     *
+     * @param ruleSet 规则集名称
+     * @return 产品规则集
+     */
+    public ProductRuleSet productRuleSet(String ruleSet) {
+        return productRuleSets.computeIfAbsent(ruleSet, this::load);
+    }
+
+    /**
+     * 已加载的产品规则集
+     */
+    public Set<String> loadedRuleSets() {
+        return new TreeSet<>(productRuleSets.keySet());
+    }
+
+    /**
+     * 规则集版本：核心规则与产品规则集源文件的SHA-256摘要（前12位十六进制）
+     *
+     * @param ruleSet 规则集名称
+     * @return 规则集版本
+     */
+    public String version(String ruleSet) {
+        return versions.computeIfAbsent(ruleSet, this::digest);
+    }
+
+    private String digest(String name) {
+        String sourcePath = ruleSetLocation + "/" + name + ".drl";
+        for (int i = 0; !exists(sourcePath) && i < TABLE_EXTENSIONS.length; i++) {
+            sourcePath = ruleSetLocation + "/" + name + TABLE_EXTENSIONS[i];
+        }
+        if (!exists(sourcePath)) {
+            throw new IllegalArgumentException("规则集不存在: " + name + " (" + ruleSetLocation + ")");
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String path : new String[] { coreDrl, sourcePath }) {
+                try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+                    digest.update(input.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 12);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ProductRuleSet load(String name) {
+        String drlPath = ruleSetLocation + "/" + name + ".drl";
+        if (exists(drlPath)) {
+            return new DrlRuleSet(name, compileDrl(name, drlPath));
+        }
+
+        for (String extension : TABLE_EXTENSIONS) {
+            String tablePath = ruleSetLocation + "/" + name + extension;
+            if (exists(tablePath)) {
+                long start = System.currentTimeMillis();
+                try (InputStream input = getClass().getClassLoader().getResourceAsStream(tablePath)) {
+                    DecisionTableRuleSet table = DecisionTableRuleSet.compile(name,
+                            DecisionTableLoader.load(tablePath, input));
+                    logger.info("决策表已编译: {} ({}), 行数: {}, 耗时: {} ms",
+                            name, tablePath, table.rowCount(), System.currentTimeMillis() - start);
+                    return table;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        throw new IllegalArgumentException("规则集不存在: " + name + " (" + ruleSetLocation + ")");
+    }
+
+    private boolean exists(String path) {
+        return getClass().getClassLoader().getResource(path) != null;
+    }
+
+    private KieBase compileDrl(String name, String drlPath) {
+        if (!exists(drlPath)) {
+            throw new IllegalArgumentException("规则集不存在: " + name + " (" + drlPath + ")");
+        }
+
+        long start = System.currentTimeMillis();
+        ReleaseId releaseId = kieServices.newReleaseId(GROUP_ID, "rules-" + name, "1.0.0");
+        KieFileSystem fileSystem = kieServices.newKieFileSystem();
+        fileSystem.generateAndWritePomXML(releaseId);
+        fileSystem.write(kieServices.getResources().newClassPathResource(drlPath, "UTF-8")
+                .setResourceType(ResourceType.DRL));
+
+        KieBuilder builder = kieServices.newKieBuilder(fileSystem).buildAll();
+        if (builder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("规则集 " + name + " 编译失败: " + builder.getResults().getMessages());
+        }
+        KieBase kieBase = kieServices.newKieContainer(releaseId).getKieBase();
+        logger.info("规则集已编译: {} ({}), 耗时: {} ms", name, drlPath, System.currentTimeMillis() - start);
+        return kieBase;
+    }
+}
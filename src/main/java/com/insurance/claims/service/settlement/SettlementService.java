@@ -0,0 +1,365 @@
+package com.insurance.claims.service.settlement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.SettlementRun;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.SettlementRunRepository;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+import com.insurance.claims.service.store.ClaimStore;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 赔款结算服务
+ * 按主键顺序分块读取已批准申请，顺序写入银行付款文件，再以批量UPDATE将申请标记为已支付。
+ * 每个分块的付款文件先落盘，申请状态与检查点（最大申请id、文件偏移量）在同一事务中提交；
+ * 崩溃后续跑时将文件截断到检查点偏移量，因此已提交的申请不会再次出现在付款文件中。
+ * 启用分片时每个分片各自建立结算批次（批次号带 -Snn 分片后缀）与付款文件，批次记录与申请在同一分片，检查点仍与申请状态同事务提交。
+ * 同一分片的批次执行持有分片锁串行进行，异步触发与同步执行不会同时写同一付款文件和检查点。
+ * 存储在事务提交后才记录支付时（事件溯源模式），续跑前按检查点内的付款行补记仍为已批准的申请。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Service
+public class SettlementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SettlementService.class);
+
+    private static final DateTimeFormatter RUN_NUMBER_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final String SHARD_SUFFIX = "-S";
+
+    @Autowired
+    private ClaimStore claimStore;
+
+    @Autowired
+    private SettlementRunRepository runRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Value("${claims.settlement.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${claims.settlement.output-dir:data/settlements}")
+    private String outputDir;
+
+    private final ConcurrentHashMap<Integer, ReentrantLock> shardLocks = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "claim-settlement");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 定时结算，默认不启用
+     */
+    @Scheduled(cron = "${claims.settlement.cron:-}")
+    public void scheduledSettlement() {
+        trigger();
+    }
+
+    /**
+     * 异步启动结算：每个分片存在未完成的批次时续跑该批次，否则创建新批次
+     *
+     * @return 本次执行的结算批次，按分片号排列
+     */
+    public synchronized List<SettlementRun> trigger() {
+        List<SettlementRun> runs = shardRouter.forEachShard(this::startOrResume);
+        for (int shard = 0; shard < runs.size(); shard++) {
+            int target = shard;
+            Long runId = runs.get(shard).getId();
+            executor.submit(() -> shardRouter.onShard(target, () -> execute(target, runId)));
+        }
+        return runs;
+    }
+
+    /**
+     * 同步执行结算直至完成，依次处理各分片
+     *
+     * @return 完成后的结算批次，按分片号排列
+     */
+    public synchronized List<SettlementRun> runNow() {
+        return shardRouter.forEachShard(shard -> execute(shard, startOrResume(shard).getId()));
+    }
+
+    /**
+     * 根据批次号查询，按批次号中的分片后缀定位分片
+     */
+    public Optional<SettlementRun> getRun(String runNumber) {
+        int shard = shardOfRun(runNumber);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        return shardRouter.onShard(shard, () -> runRepository.findByRunNumber(runNumber));
+    }
+
+    /**
+     * 查询最近的结算批次，启用分片时合并各分片的最近批次
+     */
+    public List<SettlementRun> getRecentRuns() {
+        if (!shardRouter.isSharded()) {
+            return runRepository.findTop20ByOrderByIdDesc();
+        }
+        return shardRouter.gather(runRepository::findTop20ByOrderByIdDesc).stream()
+                .sorted(Comparator.comparing(SettlementRun::getStartedAt).reversed())
+                .limit(20)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int shardOfRun(String runNumber) {
+        if (!shardRouter.isSharded()) {
+            return 0;
+        }
+        int index = runNumber.lastIndexOf(SHARD_SUFFIX);
+        if (index < 0 || index + SHARD_SUFFIX.length() + 2 != runNumber.length()) {
+            return -1;
+        }
+        try {
+            int shard = Integer.parseInt(runNumber.substring(index + SHARD_SUFFIX.length()));
+            return shard < shardRouter.shardCount() ? shard : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SettlementRun startOrResume(int shard) {
+        List<SettlementRun> running = runRepository.findByStatus(SettlementRun.Status.RUNNING);
+        if (!running.isEmpty()) {
+            SettlementRun run = running.get(0);
+            logger.info("续跑未完成的结算批次: {}, 检查点申请id: {}", run.getRunNumber(), run.getLastClaimId());
+            return run;
+        }
+
+        String runNumber = "SETTLE" + LocalDateTime.now().format(RUN_NUMBER_FORMAT)
+                + (shardRouter.isSharded() ? SHARD_SUFFIX + String.format("%02d", shard) : "");
+        SettlementRun run = runRepository.save(SettlementRun.builder()
+                .runNumber(runNumber)
+                .status(SettlementRun.Status.RUNNING)
+                .filePath(Paths.get(outputDir, runNumber + ".txt").toString())
+                .lastClaimId(0L)
+                .fileOffset(0L)
+                .claimCount(0L)
+                .totalAmount(BigDecimal.ZERO)
+                .startedAt(LocalDateTime.now())
+                .build());
+        logger.info("创建结算批次: {}", runNumber);
+        return run;
+    }
+
+    /**
+     * 持有分片锁执行批次；等待锁期间批次可能已由另一次执行完成，此时直接返回
+     */
+    private SettlementRun execute(int shard, Long runId) {
+        ReentrantLock lock = shardLocks.computeIfAbsent(shard, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            return execute(runId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SettlementRun execute(Long runId) {
+        SettlementRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("结算批次不存在: " + runId));
+        if (run.getStatus() != SettlementRun.Status.RUNNING) {
+            return run;
+        }
+
+        long start = System.currentTimeMillis();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Path path = Paths.get(run.getFilePath());
+
+        try (PayoutFileWriter writer = PayoutFileWriter.open(path, run.getFileOffset())) {
+            if (run.getClaimCount() > 0) {
+                reconcilePaid(run, path, template);
+            }
+            if (run.getFileOffset() == 0) {
+                writer.writeLine("H|" + run.getRunNumber() + "|" + run.getStartedAt());
+                run.setFileOffset(writer.sync());
+                run = runRepository.save(run);
+            }
+
+            while (true) {
+                SettlementRun checkpoint = run;
+                SettlementRun next;
+                try {
+                    next = template.execute(status -> settleChunk(checkpoint, writer));
+                } catch (RuntimeException e) {
+                    writer.rollbackTo(committedOffset(checkpoint));
+                    throw e;
+                }
+                if (next == null) {
+                    break;
+                }
+                run = next;
+            }
+
+            writer.writeLine("T|" + run.getClaimCount() + "|" + run.getTotalAmount());
+            run.setFileOffset(writer.sync());
+            run.setStatus(SettlementRun.Status.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            run = runRepository.save(run);
+
+            logger.info("结算批次 {} 完成，结算申请 {} 条，总金额 {} 元，耗时 {} ms",
+                    run.getRunNumber(), run.getClaimCount(), run.getTotalAmount(), System.currentTimeMillis() - start);
+            return run;
+
+        } catch (IOException | RuntimeException e) {
+            logger.error("结算批次 {} 执行失败，可重新触发从检查点续跑", run.getRunNumber(), e);
+            SettlementRun failed = runRepository.findById(runId).orElse(run);
+            failed.setFailureReason(e.getMessage());
+            runRepository.save(failed);
+            if (e instanceof IOException) {
+                throw new UncheckedIOException((IOException) e);
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    /**
+     * 分块事务失败后应截断到的偏移量：提交后的回调失败时检查点已经提交，以数据库中的检查点为准
+     */
+    private long committedOffset(SettlementRun checkpoint) {
+        try {
+            return runRepository.findById(checkpoint.getId()).map(SettlementRun::getFileOffset)
+                    .orElse(checkpoint.getFileOffset());
+        } catch (RuntimeException e) {
+            logger.warn("读取结算检查点失败，按本地检查点截断付款文件: {}", e.getMessage());
+            return checkpoint.getFileOffset();
+        }
+    }
+
+    /**
+     * 续跑前补记支付：付款文件已截断到检查点，其中的付款行均已随检查点提交；
+     * 对应申请仍为已批准说明检查点提交后、记录支付前发生了崩溃，重新标记为已支付（已支付的申请不受影响）
+     */
+    private void reconcilePaid(SettlementRun run, Path path, TransactionTemplate template) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int end = line.indexOf('|', 2);
+                if (!line.startsWith("D|") || end < 0) {
+                    continue;
+                }
+                claimStore.findByClaimNumber(line.substring(2, end))
+                        .filter(claim -> claim.getClaimStatus() == TravelDelayClaim.ClaimStatus.APPROVED)
+                        .ifPresent(claim -> ids.add(claim.getId()));
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+            template.executeWithoutResult(status -> claimStore.markPaid(chunk, run.getId(), now));
+        }
+        logger.warn("结算批次 {} 续跑前补记支付 {} 条", run.getRunNumber(), ids.size());
+    }
+
+    /**
+     * 结算一个分块，返回更新后的检查点；没有待结算申请时返回null
+     */
+    private SettlementRun settleChunk(SettlementRun run, PayoutFileWriter writer) {
+        List<Object[]> rows = claimStore.findSettlementChunk(run.getLastClaimId(), chunkSize);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        BigDecimal chunkTotal = BigDecimal.ZERO;
+        StringBuilder line = new StringBuilder(128);
+        long offset;
+        try {
+            for (Object[] row : rows) {
+                BigDecimal amount = row[5] != null ? (BigDecimal) row[5] : BigDecimal.ZERO;
+                ids.add((Long) row[0]);
+                chunkTotal = chunkTotal.add(amount);
+
+                line.setLength(0);
+                line.append("D|").append(row[1])
+                        .append('|').append(row[2])
+                        .append('|').append(row[3])
+                        .append('|').append(row[4])
+                        .append('|').append(amount.toPlainString());
+                writer.writeLine(line);
+            }
+            offset = writer.sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = claimStore.markPaid(ids, run.getId(), now);
+        if (updated != ids.size()) {
+            throw new IllegalStateException("结算分块状态不一致，预期更新 " + ids.size() + " 条，实际 " + updated + " 条");
+        }
+
+        SettlementRun saved = runRepository.findById(run.getId())
+                .orElseThrow(() -> new IllegalStateException("结算批次不存在: " + run.getRunNumber()));
+        saved.setLastClaimId(ids.get(ids.size() - 1));
+        saved.setFileOffset(offset);
+        saved.setClaimCount(run.getClaimCount() + ids.size());
+        saved.setTotalAmount(run.getTotalAmount().add(chunkTotal));
+
+        for (Object[] row : rows) {
+            eventPublisher.publishEvent(ClaimDecisionEvent.builder()
+                    .type(ClaimDecisionEvent.Type.PAID)
+                    .claimNumber((String) row[1])
+                    .policyNumber((String) row[2])
+                    .flightNumber((String) row[4])
+                    .claimStatus(TravelDelayClaim.ClaimStatus.PAID)
+                    .calculatedAmount((BigDecimal) row[5])
+                    .occurredAt(now)
+                    .build());
+        }
+
+        logger.debug("结算分块完成，批次: {}, 本块 {} 条，检查点申请id: {}",
+                run.getRunNumber(), ids.size(), saved.getLastClaimId());
+        return saved;
+    }
+}
@@ -0,0 +1,206 @@
+package com.insurance.claims.service.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.claims.service.ClaimNumberGenerator;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 理赔申请分片路由
+ * 按保单号哈希将申请分配到 claims.sharding.urls 配置的分片之一，申请单号中编码分片号，按单号查询只访问一个分片；
+ * 跨分片查询在各分片上并行执行后合并。未启用分片时只有默认分片，所有方法直接在调用线程执行。
+ * 同一事务内只能访问一个分片：事务首次经路由访问数据库时记录分片，之后访问其他分片会抛出异常，
+ * 避免语句被静默发往事务已持有连接的分片。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimShardRouter {
+
+    /**
+     * 申请单号中分片号占两位
+     */
+    public static final int MAX_SHARDS = 100;
+
+    private final int shardCount;
+    private final long scatterTimeoutMillis;
+    private final ExecutorService scatterExecutor;
+
+    public ClaimShardRouter(
+            @Value("${claims.sharding.enabled:false}") boolean enabled,
+            @Value("${claims.sharding.urls:}") String[] urls,
+            @Value("${claims.sharding.scatter-timeout-millis:5000}") long scatterTimeoutMillis) {
+        if (enabled && (urls.length < 1 || urls.length > MAX_SHARDS)) {
+            throw new IllegalArgumentException("分片数量须在1到" + MAX_SHARDS + "之间: " + urls.length);
+        }
+        this.shardCount = enabled ? urls.length : 1;
+        this.scatterTimeoutMillis = scatterTimeoutMillis;
+        if (shardCount > 1) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.scatterExecutor = Executors.newFixedThreadPool(shardCount * 2, r -> {
+                Thread thread = new Thread(r, "claim-shard-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.scatterExecutor = null;
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * 保单号所属分片
+     */
+    public int shardOfPolicy(String policyNumber) {
+        return shardCount == 1 || policyNumber == null ? 0 : Math.floorMod(policyNumber.hashCode(), shardCount);
+    }
+
+    /**
+     * 申请单号所属分片，单号未编码分片（历史单号或外部导入的单号）时返回-1
+     */
+    public int shardOfClaimNumber(String claimNumber) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int shard = ClaimNumberGenerator.shardOf(claimNumber);
+        return shard < shardCount ? shard : -1;
+    }
+
+    /**
+     * 在指定分片上执行
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        bindToTransaction(shard);
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * 依次在每个分片上执行，用于结算、归档等按分片分批处理的任务
+     *
+     * @return 各分片的结果，按分片号排列
+     */
+    public <T> List<T> forEachShard(IntFunction<T> work) {
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            results.add(onShard(target, () -> work.apply(target)));
+        }
+        return results;
+    }
+
+    /**
+     * 在所有分片上并行执行同一查询，每个分片在独立的连接（与调用方事务无关）上执行
+     *
+     * @return 各分片的结果，按分片号排列
+     */
+    public <T> List<T> scatter(Supplier<T> query) {
+        if (shardCount == 1) {
+            return List.of(query.get());
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> onShard(target, query)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scatterTimeoutMillis);
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("跨分片查询被中断", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("跨分片查询超时（" + scatterTimeoutMillis + " ms）", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new IllegalStateException("跨分片查询失败", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 在所有分片上并行执行列表查询并合并结果
+     */
+    public <T> List<T> gather(Supplier<List<T>> query) {
+        List<T> merged = new ArrayList<>();
+        scatter(query).forEach(merged::addAll);
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 记录事务访问的分片；事务挂起时解除绑定、恢复时重新绑定，内层独立事务可以访问其他分片
+     */
+    private void bindToTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Integer bound = (Integer) TransactionSynchronizationManager.getResource(this);
+        if (bound == null) {
+            TransactionSynchronizationManager.bindResource(this, shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ClaimShardRouter.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(ClaimShardRouter.this, shard);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ClaimShardRouter.this);
+                }
+            });
+        } else if (bound != shard) {
+            throw new IllegalStateException("同一事务不能访问多个分片，已访问分片: " + bound + ", 目标分片: " + shard);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.insurance.claims.service.shard;
+
+/**
+ * 当前线程的目标分片
+ * 由 {@link ClaimShardRouter} 在访问数据库前设置，{@link ShardRoutingDataSource} 据此选择连接；
+ * 未设置时使用默认分片（0号）。发件箱事件、发件箱分区租约与结算批次和申请一样按分片存放，没有只位于默认分片的全局表，
+ * 发件箱中继与结算由调用方经 {@link ClaimShardRouter} 逐个分片访问。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 当前线程的分片，未设置时为null
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.insurance.claims.service.shard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 按 {@link ShardContext} 路由的数据源
+ * 需由LazyConnectionDataSourceProxy包装：事务开始时不立即取连接，首条语句执行时才按当前分片选择物理连接，
+ * 之后该事务的全部语句都使用这一连接。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<Integer, DataSource> shards;
+
+    public ShardRoutingDataSource(Map<Integer, DataSource> shards) {
+        this.shards = shards;
+        setTargetDataSources(Map.copyOf(shards));
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.insurance.claims.service.store;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.insurance.claims.model.TravelDelayClaim;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 理赔申请生命周期事件
+ * 提交事件携带完整申请，决策、审核、支付事件只携带本次变更的字段；
+ * 申请当前状态由提交事件起依次折叠后续事件得到，每个事件使版本号加一。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimEvent {
+
+    public enum Type {
+        SUBMITTED,
+        DECIDED,
+        REVIEWED,
+        PAID
+    }
+
+    /**
+     * 日志序号，由事件日志分配并保存在记录头中
+     */
+    @JsonIgnore
+    private long sequence;
+
+    private Type type;
+
+    private String claimNumber;
+
+    private LocalDateTime occurredAt;
+
+    /**
+     * 本事件写入的申请字段
+     */
+    private TravelDelayClaim changes;
+
+    static ClaimEvent submitted(TravelDelayClaim claim) {
+        return of(Type.SUBMITTED, claim.getClaimNumber(), claim.getCreatedAt(), copyOf(claim));
+    }
+
+    static ClaimEvent decided(TravelDelayClaim claim) {
+        return of(Type.DECIDED, claim.getClaimNumber(), LocalDateTime.now(), TravelDelayClaim.builder()
+                .claimStatus(claim.getClaimStatus())
+                .calculatedAmount(claim.getCalculatedAmount())
+                .reasonCode(claim.getReasonCode())
+                .reasonParams(claim.getReasonParams())
+                .reviewCode(claim.getReviewCode())
+                .reviewParams(claim.getReviewParams())
+                .ruleSetVersion(claim.getRuleSetVersion())
+                .approvalNotes(claim.getApprovalNotes())
+                .processDate(claim.getProcessDate())
+                .riskLevel(claim.getRiskLevel())
+                .reviewPriority(claim.getReviewPriority())
+                .build());
+    }
+
+    static ClaimEvent reviewed(TravelDelayClaim claim) {
+        return of(Type.REVIEWED, claim.getClaimNumber(), LocalDateTime.now(), TravelDelayClaim.builder()
+                .claimStatus(claim.getClaimStatus())
+                .reasonCode(claim.getReasonCode())
+                .reasonParams(claim.getReasonParams())
+                .approvalNotes(claim.getApprovalNotes())
+                .processDate(claim.getProcessDate())
+                .build());
+    }
+
+    static ClaimEvent paid(String claimNumber, Long runId, LocalDateTime now) {
+        return of(Type.PAID, claimNumber, now, TravelDelayClaim.builder()
+                .claimStatus(TravelDelayClaim.ClaimStatus.PAID)
+                .settlementRunId(runId)
+                .processDate(now)
+                .build());
+    }
+
+    private static ClaimEvent of(Type type, String claimNumber, LocalDateTime occurredAt, TravelDelayClaim changes) {
+        return ClaimEvent.builder()
+                .type(type)
+                .claimNumber(claimNumber)
+                .occurredAt(occurredAt)
+                .changes(changes)
+                .build();
+    }
+
+    /**
+     * 将本事件折叠到申请的当前状态上，返回新的状态对象，不修改入参
+     *
+     * @param current 当前状态，提交事件时为null
+     * @return 新状态
+     */
+    TravelDelayClaim applyTo(TravelDelayClaim current) {
+        if (type == Type.SUBMITTED) {
+            return copyOf(changes);
+        }
+
+        TravelDelayClaim next = copyOf(current);
+        switch (type) {
+            case DECIDED:
+                next.setCalculatedAmount(changes.getCalculatedAmount());
+                next.setRiskLevel(changes.getRiskLevel());
+                next.setReviewPriority(changes.getReviewPriority());
+                next.setReasonCode(changes.getReasonCode());
+                next.setReasonParams(changes.getReasonParams());
+                next.setReviewCode(changes.getReviewCode());
+                next.setReviewParams(changes.getReviewParams());
+                next.setRuleSetVersion(changes.getRuleSetVersion());
+                next.setApprovalNotes(changes.getApprovalNotes());
+                break;
+            case REVIEWED:
+                next.setReasonCode(changes.getReasonCode());
+                next.setReasonParams(changes.getReasonParams());
+                next.setApprovalNotes(changes.getApprovalNotes());
+                next.setLeaseOwner(null);
+                next.setLeaseExpiresAt(null);
+                break;
+            case PAID:
+                next.setSettlementRunId(changes.getSettlementRunId());
+                break;
+            default:
+                throw new IllegalStateException("未知的理赔事件类型: " + type);
+        }
+        next.setClaimStatus(changes.getClaimStatus());
+        next.setProcessDate(changes.getProcessDate());
+        next.setVersion(current.getVersion() + 1);
+        next.setUpdatedAt(occurredAt);
+        return next;
+    }
+
+    /**
+     * 复制申请的全部字段
+     */
+    static TravelDelayClaim copyOf(TravelDelayClaim claim) {
+        return TravelDelayClaim.builder()
+                .id(claim.getId())
+                .claimNumber(claim.getClaimNumber())
+                .policyholderName(claim.getPolicyholderName())
+                .policyNumber(claim.getPolicyNumber())
+                .productCode(claim.getProductCode())
+                .flightNumber(claim.getFlightNumber())
+                .scheduledDeparture(claim.getScheduledDeparture())
+                .actualDeparture(claim.getActualDeparture())
+                .delayHours(claim.getDelayHours())
+                .delayReason(claim.getDelayReason())
+                .claimedAmount(claim.getClaimedAmount())
+                .calculatedAmount(claim.getCalculatedAmount())
+                .claimStatus(claim.getClaimStatus())
+                .riskLevel(claim.getRiskLevel())
+                .reviewPriority(claim.getReviewPriority())
+                .leaseOwner(claim.getLeaseOwner())
+                .leaseExpiresAt(claim.getLeaseExpiresAt())
+                .reasonCode(claim.getReasonCode())
+                .reasonParams(claim.getReasonParams())
+                .reviewCode(claim.getReviewCode())
+                .reviewParams(claim.getReviewParams())
+                .ruleSetVersion(claim.getRuleSetVersion())
+                .approvalNotes(claim.getApprovalNotes())
+                .claimDate(claim.getClaimDate())
+                .processDate(claim.getProcessDate())
+                .settlementRunId(claim.getSettlementRunId())
+                .version(claim.getVersion())
+                .createdAt(claim.getCreatedAt())
+                .updatedAt(claim.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,366 @@
+package com.insurance.claims.service.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 理赔事件日志
+ * 事件顺序追加到日志段文件（events-起始序号.log），记录格式：内容长度(int) | CRC32(int) | 序号(long) | 事件内容，
+ * 校验和覆盖序号与事件内容。追加请求进入队列，由单个写线程成组提交：队列中积压的请求（最多 maxBatch 条）
+ * 一次写入、一次刷盘，刷盘后按序号顺序回调提交监听器，再唤醒等待的调用线程。
+ * 写线程刷盘期间到达的请求自然组成下一批，因此并发越高，每次刷盘分摊的事件越多。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class ClaimEventLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimEventLog.class);
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("events-(\\d{20})\\.log");
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    /**
+     * 事件内容回放处理
+     */
+    @FunctionalInterface
+    interface RecordHandler {
+        void handle(long sequence, byte[] payload) throws IOException;
+    }
+
+    private final Path directory;
+    private final int maxBatch;
+    private final Consumer<List<ClaimEvent>> commitListener;
+
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final CopyOnWriteArrayList<Segment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+
+    private FileChannel channel;
+    private long size;
+    private long lastSequence;
+    private Thread writer;
+    private volatile boolean running;
+
+    ClaimEventLog(Path directory, int maxBatch, Consumer<List<ClaimEvent>> commitListener) {
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        this.commitListener = commitListener;
+    }
+
+    /**
+     * 按序号顺序回放全部日志段中序号大于 afterSequence 的事件；最后一段末尾不完整或校验失败的记录
+     * （崩溃时未刷盘的尾部）会被截断。回放完成后打开最后一段用于追加。
+     *
+     * @return 回放的事件数量
+     */
+    long replay(long afterSequence, RecordHandler handler) throws IOException {
+        Files.createDirectories(directory);
+        List<Segment> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher matcher = SEGMENT_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    found.add(new Segment(Long.parseLong(matcher.group(1)), path));
+                }
+            });
+        }
+        found.sort((a, b) -> Long.compare(a.firstSequence, b.firstSequence));
+        segments.addAll(found);
+
+        lastSequence = afterSequence;
+        long replayed = 0;
+        for (int i = 0; i < found.size(); i++) {
+            boolean last = i == found.size() - 1;
+            replayed += replaySegment(found.get(i), afterSequence, handler, last);
+        }
+
+        if (found.isEmpty()) {
+            openSegment(lastSequence + 1);
+        } else {
+            channel = FileChannel.open(found.get(found.size() - 1).path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            size = channel.size();
+        }
+        return replayed;
+    }
+
+    /**
+     * 启动写线程
+     */
+    void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "claim-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 追加一条事件，返回的Future在事件刷盘并通知提交监听器后完成
+     */
+    CompletableFuture<Void> append(ClaimEvent event, byte[] payload) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("理赔事件日志已关闭"));
+        }
+        PendingAppend pending = new PendingAppend(event, payload);
+        queue.add(pending);
+        return pending.done;
+    }
+
+    /**
+     * 关闭当前日志段，后续事件写入从下一个序号开始的新段；只能在提交监听器中（写线程内）调用
+     *
+     * @return 新段的起始序号
+     */
+    long roll() throws IOException {
+        channel.close();
+        openSegment(lastSequence + 1);
+        return lastSequence + 1;
+    }
+
+    /**
+     * 删除起始序号早于指定序号的日志段（其中的事件均已包含在快照中），当前活动段不删除
+     */
+    void deleteSegmentsBefore(long firstSequence) {
+        for (Segment segment : segments) {
+            if (segment.firstSequence < firstSequence && segment != segments.get(segments.size() - 1)) {
+                try {
+                    Files.deleteIfExists(segment.path);
+                    segments.remove(segment);
+                } catch (IOException e) {
+                    logger.warn("删除理赔事件日志段失败: {}", segment.path, e);
+                }
+            }
+        }
+    }
+
+    long appended() {
+        return appended.get();
+    }
+
+    long batches() {
+        return batches.get();
+    }
+
+    long listenerFailures() {
+        return listenerFailures.get();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * 将追加失败的原因转换为非受检异常
+     */
+    static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof IOException) {
+            return new UncheckedIOException((IOException) cause);
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException | RuntimeException e) {
+                logger.error("理赔事件写入失败，本批 {} 条", batch.size(), e);
+                for (PendingAppend pending : batch) {
+                    pending.done.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+        PendingAppend pending;
+        while ((pending = queue.poll()) != null) {
+            pending.done.completeExceptionally(new IllegalStateException("理赔事件日志已关闭"));
+        }
+    }
+
+    /**
+     * 一次写入并刷盘整批记录；写入失败时截回本批之前的位置并回退序号
+     */
+    private void commit(List<PendingAppend> batch) throws IOException {
+        int total = 0;
+        for (PendingAppend pending : batch) {
+            total += RECORD_HEADER_BYTES + 8 + pending.payload.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        long sequence = lastSequence;
+        CRC32 crc = new CRC32();
+        for (PendingAppend pending : batch) {
+            sequence++;
+            int start = buffer.position();
+            buffer.putInt(8 + pending.payload.length);
+            buffer.putInt(0);
+            buffer.putLong(sequence);
+            buffer.put(pending.payload);
+            crc.reset();
+            crc.update(buffer.array(), start + RECORD_HEADER_BYTES, 8 + pending.payload.length);
+            buffer.putInt(start + 4, (int) crc.getValue());
+            pending.event.setSequence(sequence);
+        }
+        buffer.flip();
+
+        long offset = size;
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            channel.truncate(offset);
+            throw e;
+        }
+        size = offset + total;
+        lastSequence = sequence;
+        appended.addAndGet(batch.size());
+        batches.incrementAndGet();
+
+        List<ClaimEvent> events = new ArrayList<>(batch.size());
+        for (PendingAppend pending : batch) {
+            events.add(pending.event);
+        }
+        // 本批已刷盘，监听器失败（如滚动日志段出错）不应让调用方误以为写入失败
+        try {
+            commitListener.accept(events);
+        } catch (RuntimeException e) {
+            listenerFailures.incrementAndGet();
+            logger.error("理赔事件提交监听处理失败，本批 {} 条已落盘，序号至 {}", batch.size(), sequence, e);
+        }
+        for (PendingAppend pending : batch) {
+            pending.done.complete(null);
+        }
+    }
+
+    private long replaySegment(Segment segment, long afterSequence, RecordHandler handler, boolean last)
+            throws IOException {
+        long replayed = 0;
+        try (FileChannel readChannel = FileChannel.open(segment.path, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long fileSize = readChannel.size();
+            if (fileSize == 0) {
+                return 0;
+            }
+            MappedByteBuffer view = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            long position = 0;
+            CRC32 crc = new CRC32();
+            while (position + RECORD_HEADER_BYTES <= fileSize) {
+                int length = view.getInt((int) position);
+                if (length < 8 || position + RECORD_HEADER_BYTES + length > fileSize) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                view.get((int) position + RECORD_HEADER_BYTES, body);
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != view.getInt((int) position + 4)) {
+                    break;
+                }
+                ByteBuffer bodyView = ByteBuffer.wrap(body);
+                long sequence = bodyView.getLong();
+                if (sequence > afterSequence) {
+                    byte[] payload = new byte[length - 8];
+                    bodyView.get(payload);
+                    handler.handle(sequence, payload);
+                    replayed++;
+                }
+                lastSequence = Math.max(lastSequence, sequence);
+                position += RECORD_HEADER_BYTES + length;
+            }
+            if (position < fileSize) {
+                if (!last) {
+                    throw new IOException("理赔事件日志段中间存在损坏的记录: " + segment.path);
+                }
+                logger.warn("理赔事件日志段 {} 末尾存在不完整记录，截断 {} 字节",
+                        segment.path.getFileName(), fileSize - position);
+                readChannel.truncate(position);
+                readChannel.force(false);
+            }
+        }
+        return replayed;
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("events-%020d.log", firstSequence));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        size = channel.size();
+        segments.add(new Segment(firstSequence, path));
+    }
+
+    private static final class Segment {
+        private final long firstSequence;
+        private final Path path;
+
+        private Segment(long firstSequence, Path path) {
+            this.firstSequence = firstSequence;
+            this.path = path;
+        }
+    }
+
+    private static final class PendingAppend {
+        private final ClaimEvent event;
+        private final byte[] payload;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingAppend(ClaimEvent event, byte[] payload) {
+            this.event = event;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.insurance.claims.service.store;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 申请持久化用的JSON配置
+ * 事件日志、快照与归档只保存原因代码与参数，不写入按语言渲染的审核结果与审核建议文本；
+ * 读取迁移前写入的整句审核结果时仍由实体解析为代码。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public final class ClaimStorageJson {
+
+    private ClaimStorageJson() {
+    }
+
+    /**
+     * 基于应用的ObjectMapper创建持久化用的副本
+     */
+    public static ObjectMapper mapper(ObjectMapper objectMapper) {
+        return objectMapper.copy().addMixIn(TravelDelayClaim.class, RenderedTextIgnored.class);
+    }
+
+    @JsonIgnoreProperties(value = { "approvalResult", "reviewSuggestion" }, allowSetters = true)
+    private abstract static class RenderedTextIgnored {
+    }
+}
@@ -0,0 +1,93 @@
+package com.insurance.claims.service.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+
+/**
+ * 理赔申请存储
+ * 申请生命周期的写入（提交、规则决策、人工审核、结算支付）与业务服务使用的查询。
+ * 由 claims.store.mode 选择实现：jpa（默认，数据库表）或 event-sourced（事件日志）。
+ * 审核队列租约与已结案归档只支持数据库表存储。
+ * 启用分片（claims.sharding.enabled=true）时，数据库表存储按保单号或申请单号路由到所属分片，跨分片查询并行汇总；
+ * 按id游标分批读取与批量支付只作用于当前分片，由调用方经 {@link com.insurance.claims.service.shard.ClaimShardRouter}
+ * 逐个分片调用。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public interface ClaimStore {
+
+    /**
+     * 保存新提交的申请
+     *
+     * @param claim 理赔申请
+     * @return 已保存的申请（含id与版本号）
+     */
+    TravelDelayClaim submit(TravelDelayClaim claim);
+
+    /**
+     * 保存规则决策结果
+     *
+     * @param claim 已写入决策结果的申请，版本号须与存储中的一致
+     * @return 更新后的申请
+     */
+    TravelDelayClaim decide(TravelDelayClaim claim);
+
+    /**
+     * 保存人工审核结果并立即提交到存储，版本冲突时抛出乐观锁异常
+     *
+     * @param claim 已写入审核结果的申请，版本号须与存储中的一致
+     * @return 更新后的申请
+     */
+    TravelDelayClaim review(TravelDelayClaim claim);
+
+    /**
+     * 批量将已批准申请标记为已支付（当前分片）
+     *
+     * @return 实际标记的申请数量
+     */
+    int markPaid(List<Long> ids, Long runId, LocalDateTime now);
+
+    Optional<TravelDelayClaim> findByClaimNumber(String claimNumber);
+
+    List<TravelDelayClaim> findByPolicyNumber(String policyNumber);
+
+    /**
+     * 查询需要人工审核的申请：延误超过24小时或仍待处理
+     */
+    List<TravelDelayClaim> findClaimsRequiringReview();
+
+    List<TravelDelayClaim> findTodayClaims();
+
+    List<TravelDelayClaim> findByClaimDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * 按状态统计申请数量，没有申请的状态不出现在结果中
+     */
+    Map<ClaimStatus, Long> countByClaimStatus();
+
+    /**
+     * 检查同一保单、航班和计划起飞时间是否已有理赔申请
+     */
+    boolean existsDuplicate(String policyNumber, String flightNumber, LocalDateTime scheduledDeparture);
+
+    /**
+     * 查询当前分片最大申请id，没有申请时返回null
+     */
+    Long findMaxId();
+
+    /**
+     * 按id顺序查询当前分片指定id之后的重复申请判定字段：id、保单号、航班号、计划起飞时间
+     */
+    List<Object[]> findDuplicateKeysAfterId(Long afterId, int limit);
+
+    /**
+     * 按id顺序查询当前分片指定id之后的待结算（已批准）申请：id、申请单号、保单号、投保人姓名、航班号、理赔金额
+     */
+    List<Object[]> findSettlementChunk(Long afterId, int limit);
+}
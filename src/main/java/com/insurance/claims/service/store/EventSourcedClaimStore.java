@@ -0,0 +1,522 @@
+package com.insurance.claims.service.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.insurance.claims.model.TravelDelayClaim;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 事件溯源理赔申请存储（claims.store.mode=event-sourced）
+ * 申请的提交、决策、审核、支付以事件追加到 {@link ClaimEventLog}，成组提交刷盘；申请当前状态由事件折叠得到，
+ * 与各查询所需的投影（保单号、待审核、申请日期、重复申请键、待结算）一起保存在内存中，由日志写线程按序号顺序更新。
+ * 每累计 snapshot-interval 个事件，写线程滚动日志段并将当前全部状态交给后台线程写出快照；快照落盘后删除已被覆盖的日志段。
+ * 启动时加载最新快照，再回放快照之后的事件。同一申请的写入按申请单号分段加锁并校验版本号，冲突时抛出乐观锁异常。
+ * 事件日志不参与数据库事务：事件刷盘即生效，不随调用方事务回滚。支付事件例外：在事务中标记支付时推迟到事务提交后追加，
+ * 使支付状态不早于结算检查点生效；提交后、追加前崩溃由结算续跑按付款文件补记，重复的支付事件在折叠时忽略。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.store.mode", havingValue = "event-sourced")
+public class EventSourcedClaimStore implements ClaimStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSourcedClaimStore.class);
+
+    private static final String SNAPSHOT_FILE = "snapshot.json";
+    private static final int LOCK_STRIPES = 64;
+
+    private final ObjectMapper objectMapper;
+    private final String directory;
+    private final int maxBatch;
+    private final long snapshotInterval;
+
+    private final Map<String, TravelDelayClaim> claims = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, String> claimsById = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, String> approvedById = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> claimsByPolicy = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, Set<String>> claimsByDate = new ConcurrentSkipListMap<>();
+    private final Set<String> reviewCandidates = ConcurrentHashMap.newKeySet();
+    private final Set<String> duplicateKeys = ConcurrentHashMap.newKeySet();
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Object[] dedupLocks = new Object[LOCK_STRIPES];
+    private final AtomicLong lastId = new AtomicLong();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "claim-event-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ObjectWriter eventWriter;
+    private ObjectReader eventReader;
+    private ClaimEventLog eventLog;
+    private Path snapshotPath;
+    private long eventsSinceSnapshot;
+    private volatile long snapshotSequence;
+
+    public EventSourcedClaimStore(
+            ObjectMapper objectMapper,
+            @Value("${claims.store.event-log.directory:data/claim-events}") String directory,
+            @Value("${claims.store.event-log.max-batch:256}") int maxBatch,
+            @Value("${claims.store.event-log.snapshot-interval:50000}") long snapshotInterval) {
+        this.objectMapper = ClaimStorageJson.mapper(objectMapper);
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        this.snapshotInterval = snapshotInterval;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+            dedupLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * 加载快照并回放之后的事件，然后启动日志写线程
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        long start = System.currentTimeMillis();
+        eventWriter = objectMapper.writerFor(ClaimEvent.class);
+        eventReader = objectMapper.readerFor(ClaimEvent.class);
+
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        snapshotPath = root.resolve(SNAPSHOT_FILE);
+
+        Snapshot snapshot = loadSnapshot();
+        if (snapshot != null) {
+            for (TravelDelayClaim claim : snapshot.getClaims()) {
+                claims.put(claim.getClaimNumber(), claim);
+                index(null, claim);
+            }
+            snapshotSequence = snapshot.getSequence();
+        }
+
+        eventLog = new ClaimEventLog(root, maxBatch, this::committed);
+        long replayed = eventLog.replay(snapshotSequence, (sequence, payload) -> {
+            ClaimEvent event = eventReader.readValue(payload);
+            event.setSequence(sequence);
+            fold(event);
+        });
+        eventLog.start();
+
+        logger.info("事件溯源理赔存储已加载，快照序号: {}, 快照申请 {} 条，回放事件 {} 条，当前申请 {} 条，耗时 {} ms",
+                snapshotSequence, snapshot != null ? snapshot.getClaims().size() : 0, replayed, claims.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        eventLog.close();
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public TravelDelayClaim submit(TravelDelayClaim claim) {
+        String claimNumber = claim.getClaimNumber();
+        synchronized (lockFor(claimNumber)) {
+            if (claims.containsKey(claimNumber)) {
+                throw new DataIntegrityViolationException("申请单号已存在: " + claimNumber);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            TravelDelayClaim submitted = ClaimEvent.copyOf(claim);
+            submitted.setId(lastId.incrementAndGet());
+            submitted.setVersion(0L);
+            submitted.setCreatedAt(now);
+            submitted.setUpdatedAt(now);
+            if (submitted.getClaimDate() == null) {
+                submitted.setClaimDate(now);
+            }
+            if (submitted.getClaimStatus() == null) {
+                submitted.setClaimStatus(TravelDelayClaim.ClaimStatus.PENDING);
+            }
+            String dedupKey = claim.getDedupKey();
+            if (dedupKey == null) {
+                await(append(ClaimEvent.submitted(submitted)));
+                return current(claimNumber);
+            }
+            // 与数据库表的唯一约束一致：同一判定键只接受一条首个申请，锁在申请单号分段锁之后获取
+            synchronized (dedupLocks[(dedupKey.hashCode() & 0x7fffffff) % LOCK_STRIPES]) {
+                if (duplicateKeys.contains(dedupKey)) {
+                    throw new DataIntegrityViolationException("重复申请判定键已存在: " + dedupKey);
+                }
+                await(append(ClaimEvent.submitted(submitted)));
+                return current(claimNumber);
+            }
+        }
+    }
+
+    @Override
+    public TravelDelayClaim decide(TravelDelayClaim claim) {
+        return update(claim, ClaimEvent.decided(claim));
+    }
+
+    @Override
+    public TravelDelayClaim review(TravelDelayClaim claim) {
+        return update(claim, ClaimEvent.reviewed(claim));
+    }
+
+    /**
+     * 一次性追加整批支付事件再统一等待，使整批共享成组提交。
+     * 在事务中调用时只校验状态，支付事件在事务提交后追加：检查点事务失败时申请保持已批准，续跑时仍会结算
+     */
+    @Override
+    public int markPaid(List<Long> ids, Long runId, LocalDateTime now) {
+        List<String> approved = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            String claimNumber = claimsById.get(id);
+            if (claimNumber != null
+                    && claims.get(claimNumber).getClaimStatus() == TravelDelayClaim.ClaimStatus.APPROVED) {
+                approved.add(claimNumber);
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendPaid(approved, runId, now);
+            return approved.size();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                appendPaid(approved, runId, now);
+            }
+        });
+        return approved.size();
+    }
+
+    @Override
+    public Optional<TravelDelayClaim> findByClaimNumber(String claimNumber) {
+        TravelDelayClaim claim = claims.get(claimNumber);
+        return claim != null ? Optional.of(ClaimEvent.copyOf(claim)) : Optional.empty();
+    }
+
+    @Override
+    public List<TravelDelayClaim> findByPolicyNumber(String policyNumber) {
+        return copies(claimsByPolicy.getOrDefault(policyNumber, Set.of()));
+    }
+
+    @Override
+    public List<TravelDelayClaim> findClaimsRequiringReview() {
+        return copies(reviewCandidates);
+    }
+
+    @Override
+    public List<TravelDelayClaim> findTodayClaims() {
+        LocalDate today = LocalDate.now();
+        return byDate(claimsByDate.subMap(today.atStartOfDay(), true, today.plusDays(1).atStartOfDay(), false));
+    }
+
+    @Override
+    public List<TravelDelayClaim> findByClaimDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return byDate(claimsByDate.subMap(startDate, true, endDate, true));
+    }
+
+    @Override
+    public Map<TravelDelayClaim.ClaimStatus, Long> countByClaimStatus() {
+        Map<TravelDelayClaim.ClaimStatus, Long> counts = new EnumMap<>(TravelDelayClaim.ClaimStatus.class);
+        for (TravelDelayClaim claim : claims.values()) {
+            counts.merge(claim.getClaimStatus(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean existsDuplicate(String policyNumber, String flightNumber, LocalDateTime scheduledDeparture) {
+        return duplicateKeys.contains(duplicateKey(policyNumber, flightNumber, scheduledDeparture));
+    }
+
+    @Override
+    public Long findMaxId() {
+        Map.Entry<Long, String> last = claimsById.lastEntry();
+        return last != null ? last.getKey() : null;
+    }
+
+    @Override
+    public List<Object[]> findDuplicateKeysAfterId(Long afterId, int limit) {
+        List<Object[]> rows = new ArrayList<>(Math.min(limit, 1024));
+        for (String claimNumber : claimsById.tailMap(afterId, false).values()) {
+            TravelDelayClaim claim = claims.get(claimNumber);
+            rows.add(new Object[] { claim.getId(), claim.getPolicyNumber(), claim.getFlightNumber(),
+                    claim.getScheduledDeparture() });
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Object[]> findSettlementChunk(Long afterId, int limit) {
+        List<Object[]> rows = new ArrayList<>(Math.min(limit, 1024));
+        for (String claimNumber : approvedById.tailMap(afterId, false).values()) {
+            TravelDelayClaim claim = claims.get(claimNumber);
+            rows.add(new Object[] { claim.getId(), claim.getClaimNumber(), claim.getPolicyNumber(),
+                    claim.getPolicyholderName(), claim.getFlightNumber(), claim.getCalculatedAmount() });
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 存储状态
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("claims", claims.size());
+        stats.put("appendedEvents", eventLog.appended());
+        stats.put("commitBatches", eventLog.batches());
+        stats.put("listenerFailures", eventLog.listenerFailures());
+        stats.put("logSegments", eventLog.segmentCount());
+        stats.put("snapshotSequence", snapshotSequence);
+        return stats;
+    }
+
+    private TravelDelayClaim update(TravelDelayClaim claim, ClaimEvent event) {
+        String claimNumber = claim.getClaimNumber();
+        synchronized (lockFor(claimNumber)) {
+            TravelDelayClaim current = claims.get(claimNumber);
+            if (current == null) {
+                throw new IllegalArgumentException("申请单号不存在: " + claimNumber);
+            }
+            if (!Objects.equals(current.getVersion(), claim.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(TravelDelayClaim.class, claimNumber);
+            }
+            await(append(event));
+            return current(claimNumber);
+        }
+    }
+
+    private void appendPaid(List<String> claimNumbers, Long runId, LocalDateTime now) {
+        List<CompletableFuture<Void>> appends = new ArrayList<>(claimNumbers.size());
+        for (String claimNumber : claimNumbers) {
+            synchronized (lockFor(claimNumber)) {
+                if (claims.get(claimNumber).getClaimStatus() == TravelDelayClaim.ClaimStatus.APPROVED) {
+                    appends.add(append(ClaimEvent.paid(claimNumber, runId, now)));
+                }
+            }
+        }
+        for (CompletableFuture<Void> pending : appends) {
+            await(pending);
+        }
+    }
+
+    private CompletableFuture<Void> append(ClaimEvent event) {
+        try {
+            return eventLog.append(event, eventWriter.writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("理赔事件序列化失败: " + event.getClaimNumber(), e);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> pending) {
+        try {
+            pending.join();
+        } catch (CompletionException e) {
+            throw ClaimEventLog.unwrap(e);
+        }
+    }
+
+    private TravelDelayClaim current(String claimNumber) {
+        return ClaimEvent.copyOf(claims.get(claimNumber));
+    }
+
+    /**
+     * 提交监听：日志写线程在每批事件刷盘后按序号顺序调用，折叠事件并在需要时发起快照
+     */
+    private void committed(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            fold(event);
+        }
+        eventsSinceSnapshot += events.size();
+        if (eventsSinceSnapshot >= snapshotInterval && snapshotRunning.compareAndSet(false, true)) {
+            eventsSinceSnapshot = 0;
+            long sequence = events.get(events.size() - 1).getSequence();
+            List<TravelDelayClaim> states = new ArrayList<>(claims.values());
+            long nextSegment;
+            try {
+                nextSegment = eventLog.roll();
+            } catch (IOException e) {
+                snapshotRunning.set(false);
+                throw new UncheckedIOException(e);
+            }
+            snapshotExecutor.execute(() -> writeSnapshot(sequence, states, nextSegment));
+        }
+    }
+
+    /**
+     * 将事件折叠到申请状态并更新投影；状态对象放入后不再修改，查询返回副本
+     */
+    private void fold(ClaimEvent event) {
+        TravelDelayClaim previous = claims.get(event.getClaimNumber());
+        if (previous == null && event.getType() != ClaimEvent.Type.SUBMITTED) {
+            logger.warn("理赔事件 {} 对应的申请不存在，已忽略: {}", event.getSequence(), event.getClaimNumber());
+            return;
+        }
+        if (event.getType() == ClaimEvent.Type.PAID
+                && previous.getClaimStatus() == TravelDelayClaim.ClaimStatus.PAID) {
+            logger.debug("申请已支付，忽略重复的支付事件 {}: {}", event.getSequence(), event.getClaimNumber());
+            return;
+        }
+        TravelDelayClaim next = event.applyTo(previous);
+        claims.put(next.getClaimNumber(), next);
+        index(previous, next);
+    }
+
+    private void index(TravelDelayClaim previous, TravelDelayClaim next) {
+        String claimNumber = next.getClaimNumber();
+        if (previous == null) {
+            lastId.accumulateAndGet(next.getId(), Math::max);
+            claimsById.put(next.getId(), claimNumber);
+            claimsByPolicy.computeIfAbsent(next.getPolicyNumber(), key -> ConcurrentHashMap.newKeySet())
+                    .add(claimNumber);
+            claimsByDate.computeIfAbsent(next.getClaimDate(), key -> ConcurrentHashMap.newKeySet()).add(claimNumber);
+            if (next.getPolicyNumber() != null && next.getFlightNumber() != null
+                    && next.getScheduledDeparture() != null) {
+                duplicateKeys.add(duplicateKey(next.getPolicyNumber(), next.getFlightNumber(),
+                        next.getScheduledDeparture()));
+            }
+        }
+
+        boolean requiresReview = (next.getDelayHours() != null && next.getDelayHours() > 24)
+                || next.getClaimStatus() == TravelDelayClaim.ClaimStatus.PENDING;
+        if (requiresReview) {
+            reviewCandidates.add(claimNumber);
+        } else {
+            reviewCandidates.remove(claimNumber);
+        }
+        if (next.getClaimStatus() == TravelDelayClaim.ClaimStatus.APPROVED) {
+            approvedById.put(next.getId(), claimNumber);
+        } else {
+            approvedById.remove(next.getId());
+        }
+    }
+
+    private List<TravelDelayClaim> copies(Collection<String> claimNumbers) {
+        List<TravelDelayClaim> result = new ArrayList<>(claimNumbers.size());
+        for (String claimNumber : claimNumbers) {
+            TravelDelayClaim claim = claims.get(claimNumber);
+            if (claim != null) {
+                result.add(ClaimEvent.copyOf(claim));
+            }
+        }
+        result.sort(Comparator.comparing(TravelDelayClaim::getId));
+        return result;
+    }
+
+    private List<TravelDelayClaim> byDate(Map<LocalDateTime, Set<String>> range) {
+        List<String> claimNumbers = new ArrayList<>();
+        range.values().forEach(claimNumbers::addAll);
+        return copies(claimNumbers);
+    }
+
+    private Object lockFor(String claimNumber) {
+        return locks[(claimNumber.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private static String duplicateKey(String policyNumber, String flightNumber, LocalDateTime scheduledDeparture) {
+        return policyNumber + '|' + flightNumber + '|' + scheduledDeparture;
+    }
+
+    /**
+     * 写出快照：先写临时文件并刷盘，再原子替换，最后删除快照已覆盖的日志段
+     */
+    private void writeSnapshot(long sequence, List<TravelDelayClaim> states, long nextSegment) {
+        long start = System.currentTimeMillis();
+        Path temp = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                objectMapper.writeValue(out, new Snapshot(sequence, states));
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshotSequence = sequence;
+            eventLog.deleteSegmentsBefore(nextSegment);
+            logger.info("理赔事件快照已写出，序号: {}, 申请 {} 条，耗时 {} ms",
+                    sequence, states.size(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            logger.error("理赔事件快照写出失败，序号: {}", sequence, e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    private Snapshot loadSnapshot() throws IOException {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16)) {
+            return objectMapper.readValue(in, Snapshot.class);
+        }
+    }
+
+    /**
+     * 快照：最后包含的事件序号与当时全部申请的状态
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+        private long sequence;
+        private List<TravelDelayClaim> claims;
+    }
+}
@@ -0,0 +1,123 @@
+package com.insurance.claims.service.store;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.shard.ClaimShardRouter;
+
+/**
+ * 数据库表理赔申请存储（默认）
+ * 每个申请一行，生命周期变更以UPDATE写入，须在调用方的事务中使用。
+ * 启用分片时按保单号（写入、按保单查询、重复检查）或申请单号中的分片号路由，
+ * 单号未编码分片时在所有分片上查找；待审核、当日申请、日期范围与状态统计在各分片并行查询后合并。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+@ConditionalOnProperty(name = "claims.store.mode", havingValue = "jpa", matchIfMissing = true)
+public class JpaClaimStore implements ClaimStore {
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Override
+    public TravelDelayClaim submit(TravelDelayClaim claim) {
+        return onPolicyShard(claim.getPolicyNumber(), () -> claimRepository.save(claim));
+    }
+
+    @Override
+    public TravelDelayClaim decide(TravelDelayClaim claim) {
+        return onPolicyShard(claim.getPolicyNumber(), () -> claimRepository.save(claim));
+    }
+
+    @Override
+    public TravelDelayClaim review(TravelDelayClaim claim) {
+        return onPolicyShard(claim.getPolicyNumber(), () -> claimRepository.saveAndFlush(claim));
+    }
+
+    @Override
+    public int markPaid(List<Long> ids, Long runId, LocalDateTime now) {
+        return claimRepository.markPaid(ids, runId, now);
+    }
+
+    @Override
+    public Optional<TravelDelayClaim> findByClaimNumber(String claimNumber) {
+        int shard = shardRouter.shardOfClaimNumber(claimNumber);
+        if (shard >= 0) {
+            return shardRouter.onShard(shard, () -> claimRepository.findByClaimNumber(claimNumber));
+        }
+        return shardRouter.gather(() -> claimRepository.findByClaimNumber(claimNumber).stream().toList())
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<TravelDelayClaim> findByPolicyNumber(String policyNumber) {
+        return onPolicyShard(policyNumber, () -> claimRepository.findByPolicyNumber(policyNumber));
+    }
+
+    @Override
+    public List<TravelDelayClaim> findClaimsRequiringReview() {
+        return shardRouter.gather(claimRepository::findClaimsRequiringReview);
+    }
+
+    @Override
+    public List<TravelDelayClaim> findTodayClaims() {
+        return shardRouter.gather(claimRepository::findTodayClaims);
+    }
+
+    @Override
+    public List<TravelDelayClaim> findByClaimDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return shardRouter.gather(() -> claimRepository.findByClaimDateBetween(startDate, endDate));
+    }
+
+    @Override
+    public Map<ClaimStatus, Long> countByClaimStatus() {
+        Map<ClaimStatus, Long> counts = new EnumMap<>(ClaimStatus.class);
+        for (Object[] row : shardRouter.gather(claimRepository::countByClaimStatus)) {
+            counts.merge((ClaimStatus) row[0], (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean existsDuplicate(String policyNumber, String flightNumber, LocalDateTime scheduledDeparture) {
+        return onPolicyShard(policyNumber, () -> claimRepository
+                .existsByPolicyNumberAndFlightNumberAndScheduledDeparture(policyNumber, flightNumber,
+                        scheduledDeparture));
+    }
+
+    @Override
+    public Long findMaxId() {
+        return claimRepository.findMaxId();
+    }
+
+    @Override
+    public List<Object[]> findDuplicateKeysAfterId(Long afterId, int limit) {
+        return claimRepository.findDuplicateKeysAfterId(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<Object[]> findSettlementChunk(Long afterId, int limit) {
+        return claimRepository.findSettlementChunk(afterId, PageRequest.of(0, limit));
+    }
+
+    private <T> T onPolicyShard(String policyNumber, Supplier<T> work) {
+        return shardRouter.onShard(shardRouter.shardOfPolicy(policyNumber), work);
+    }
+}
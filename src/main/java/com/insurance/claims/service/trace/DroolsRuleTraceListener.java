@@ -0,0 +1,89 @@
+package com.insurance.claims.service.trace;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.MatchCancelledEvent;
+import org.kie.api.event.rule.MatchCreatedEvent;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.runtime.rule.Match;
+
+/**
+ * Drools规则执行追踪监听器
+ * 议程监听记录匹配创建、触发耗时与被取消（被更高优先级规则覆盖）的匹配，
+ * 规则运行时监听记录规则动作对事实的修改。仅在开启追踪的会话上注册。
+ * Phreak算法按需评估规则，优先级较低且在高优先级规则修改事实后不再成立的规则可能不会产生匹配记录。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class DroolsRuleTraceListener extends DefaultAgendaEventListener implements RuleRuntimeEventListener {
+
+    private final RuleTrace trace;
+    private final Map<Match, Long> firingStarts = new IdentityHashMap<>();
+    private long lastEventAt = System.nanoTime();
+
+    public DroolsRuleTraceListener(RuleTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public void matchCreated(MatchCreatedEvent event) {
+        trace.record(ruleName(event.getMatch()), RuleTrace.Outcome.MATCHED, lap());
+    }
+
+    @Override
+    public void matchCancelled(MatchCancelledEvent event) {
+        trace.record(ruleName(event.getMatch()), RuleTrace.Outcome.OVERRIDDEN, lap());
+    }
+
+    @Override
+    public void beforeMatchFired(BeforeMatchFiredEvent event) {
+        firingStarts.put(event.getMatch(), System.nanoTime());
+    }
+
+    @Override
+    public void afterMatchFired(AfterMatchFiredEvent event) {
+        Long start = firingStarts.remove(event.getMatch());
+        long now = System.nanoTime();
+        trace.record(ruleName(event.getMatch()), RuleTrace.Outcome.FIRED, start != null ? now - start : 0L);
+        lastEventAt = now;
+    }
+
+    @Override
+    public void objectUpdated(ObjectUpdatedEvent event) {
+        if (event.getRule() != null) {
+            trace.record(event.getRule().getName(), RuleTrace.Outcome.MODIFIED, 0L);
+        }
+    }
+
+    @Override
+    public void objectInserted(ObjectInsertedEvent event) {
+        // 事实由引擎服务插入，无需记录
+    }
+
+    @Override
+    public void objectDeleted(ObjectDeletedEvent event) {
+        // 规则中没有删除事实的动作
+    }
+
+    /**
+     * 距上一次事件的耗时，用于近似匹配阶段的网络评估开销
+     */
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - lastEventAt;
+        lastEventAt = now;
+        return elapsed;
+    }
+
+    private static String ruleName(Match match) {
+        return match.getRule().getName();
+    }
+}
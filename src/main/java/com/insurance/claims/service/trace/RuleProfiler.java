@@ -0,0 +1,160 @@
+package com.insurance.claims.service.trace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.model.ClaimDecision;
+
+/**
+ * 规则执行追踪与性能画像
+ * 按请求开关或按采样率决定是否追踪本次规则执行；追踪结果写入决策明细，
+ * 同时按规则名累计评估、匹配、触发、被覆盖次数与耗时，用于定位开销大的规则。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class RuleProfiler {
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final ConcurrentHashMap<String, RuleProfile> profiles = new ConcurrentHashMap<>();
+    private final LongAdder tracedExecutions = new LongAdder();
+
+    public RuleProfiler(
+            @Value("${claims.rules.trace.enabled:true}") boolean enabled,
+            @Value("${claims.rules.trace.sample-rate:0.0}") double sampleRate) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 开始一次规则执行
+     *
+     * @param engine    规则引擎名称
+     * @param requested 请求是否显式要求追踪
+     * @return 追踪记录，不追踪时返回null
+     */
+    public RuleTrace start(String engine, boolean requested) {
+        if (!enabled) {
+            return null;
+        }
+        if (requested || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            return new RuleTrace(engine);
+        }
+        return null;
+    }
+
+    /**
+     * 结束追踪：写入决策明细并累计规则画像
+     */
+    public void finish(RuleTrace trace, ClaimDecision decision) {
+        if (trace == null) {
+            return;
+        }
+
+        tracedExecutions.increment();
+        for (RuleTrace.Entry entry : trace.entries()) {
+            profiles.computeIfAbsent(entry.getRuleName(), RuleProfile::new).add(entry);
+        }
+        if (decision != null) {
+            if (decision.getRuleDetails() == null) {
+                decision.setRuleDetails(new ArrayList<>());
+            }
+            decision.getRuleDetails().addAll(trace.toRuleDetails());
+        }
+    }
+
+    /**
+     * 按累计耗时倒序排列的规则画像
+     */
+    public Map<String, Object> profiles() {
+        List<Map<String, Object>> rules = new ArrayList<>(profiles.size());
+        profiles.values().stream()
+                .sorted(Comparator.comparingLong(RuleProfile::totalNanos).reversed())
+                .forEach(profile -> rules.add(profile.toMap()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("sampleRate", sampleRate);
+        result.put("tracedExecutions", tracedExecutions.sum());
+        result.put("rules", rules);
+        return result;
+    }
+
+    public void reset() {
+        profiles.clear();
+        tracedExecutions.reset();
+    }
+
+    /**
+     * 单条规则的累计画像
+     */
+    private static final class RuleProfile {
+
+        private final String ruleName;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder fires = new LongAdder();
+        private final LongAdder overrides = new LongAdder();
+        private final LongAdder modifications = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private RuleProfile(String ruleName) {
+            this.ruleName = ruleName;
+        }
+
+        private void add(RuleTrace.Entry entry) {
+            switch (entry.getOutcome()) {
+                case EVALUATED:
+                    evaluations.increment();
+                    break;
+                case MATCHED:
+                    evaluations.increment();
+                    matches.increment();
+                    break;
+                case FIRED:
+                    fires.increment();
+                    break;
+                case OVERRIDDEN:
+                    overrides.increment();
+                    break;
+                default:
+                    modifications.increment();
+                    break;
+            }
+            totalNanos.add(entry.getNanos());
+            maxNanos.accumulateAndGet(entry.getNanos(), Math::max);
+        }
+
+        private long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        private Map<String, Object> toMap() {
+            long fired = fires.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("rule", ruleName);
+            map.put("evaluations", evaluations.sum());
+            map.put("matches", matches.sum());
+            map.put("fires", fired);
+            map.put("overrides", overrides.sum());
+            map.put("modifications", modifications.sum());
+            map.put("totalNanos", totalNanos.sum());
+            map.put("maxNanos", maxNanos.get());
+            map.put("avgNanosPerFire", fired == 0 ? 0 : totalNanos.sum() / fired);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.insurance.claims.service.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单次规则执行的追踪记录
+ * 按发生顺序记录每条规则的评估、匹配、触发与被覆盖情况及其纳秒耗时。
+ * 未开启追踪时调用方持有null，通过静态方法调用即可零开销跳过记录。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public class RuleTrace {
+
+    /**
+     * 规则执行结果
+     */
+    public enum Outcome {
+        EVALUATED("已评估未匹配"),
+        MATCHED("已匹配"),
+        FIRED("已触发"),
+        OVERRIDDEN("已被覆盖"),
+        MODIFIED("修改事实");
+
+        private final String description;
+
+        Outcome(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * 单条追踪记录
+     */
+    public static final class Entry {
+
+        private final String ruleName;
+        private final Outcome outcome;
+        private final long nanos;
+
+        Entry(String ruleName, Outcome outcome, long nanos) {
+            this.ruleName = ruleName;
+            this.outcome = outcome;
+            this.nanos = nanos;
+        }
+
+        public String getRuleName() {
+            return ruleName;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final String engine;
+    private final List<Entry> entries = new ArrayList<>();
+    private final long startedAt = System.nanoTime();
+    private long mark = startedAt;
+
+    public RuleTrace(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * 记录一条规则的条件评估，耗时为距上一次记录的时间
+     *
+     * @return 条件是否成立
+     */
+    public boolean evaluate(String ruleName, boolean matched) {
+        record(ruleName, matched ? Outcome.MATCHED : Outcome.EVALUATED, lap());
+        return matched;
+    }
+
+    /**
+     * 记录规则触发，耗时为距上一次记录的时间（即规则动作的执行耗时）
+     */
+    public void fired(String ruleName) {
+        record(ruleName, Outcome.FIRED, lap());
+    }
+
+    /**
+     * 记录带显式耗时的结果
+     */
+    public synchronized void record(String ruleName, Outcome outcome, long nanos) {
+        entries.add(new Entry(ruleName, outcome, nanos));
+    }
+
+    public synchronized List<Entry> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    public String engine() {
+        return engine;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * 渲染为决策明细文本
+     */
+    public synchronized List<String> toRuleDetails() {
+        List<String> details = new ArrayList<>(entries.size() + 1);
+        for (Entry entry : entries) {
+            details.add(entry.ruleName + ": " + entry.outcome.getDescription() + " (" + entry.nanos + "ns)");
+        }
+        details.add("规则执行合计[" + engine + "]: " + elapsedNanos() + "ns");
+        return details;
+    }
+
+    /**
+     * 记录条件评估，未开启追踪时直接返回条件
+     */
+    public static boolean evaluate(RuleTrace trace, String ruleName, boolean matched) {
+        return trace == null ? matched : trace.evaluate(ruleName, matched);
+    }
+
+    /**
+     * 记录规则触发，未开启追踪时不做任何事
+     */
+    public static void fired(RuleTrace trace, String ruleName) {
+        if (trace != null) {
+            trace.fired(ruleName);
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,47 @@
+package com.insurance.claims.service.validation;
+
+import java.util.List;
+import java.util.Map;
+
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+
+/**
+ * 理赔申请校验结果
+ * 只能由 {@link ClaimValidator} 创建，随申请在控制器、业务服务之间传递，持有它即表示申请已校验过，下游不再重复校验
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public final class ClaimValidation {
+
+    private final TravelDelayClaimRequest request;
+    private final long errors;
+
+    ClaimValidation(TravelDelayClaimRequest request, long errors) {
+        this.request = request;
+        this.errors = errors;
+    }
+
+    public TravelDelayClaimRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * 错误码掩码，0表示校验通过
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public boolean isValid() {
+        return errors == 0;
+    }
+
+    public List<ClaimValidationError> errorCodes() {
+        return ClaimValidationError.decode(errors);
+    }
+
+    public Map<String, String> fieldErrors() {
+        return ClaimValidationError.describe(errors);
+    }
+}
@@ -0,0 +1,82 @@
+package com.insurance.claims.service.validation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 理赔申请校验错误码
+ * 每个错误码占校验掩码中的一位（第 ordinal 位），新增错误码只能追加在末尾，最多64个
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+public enum ClaimValidationError {
+
+    POLICYHOLDER_NAME_BLANK("policyholderName", "投保人姓名不能为空"),
+    POLICYHOLDER_NAME_TOO_LONG("policyholderName", "投保人姓名长度不能超过50个字符"),
+    POLICY_NUMBER_BLANK("policyNumber", "保单号不能为空"),
+    POLICY_NUMBER_FORMAT("policyNumber", "保单号格式不正确，应为POL开头后跟9位数字"),
+    PRODUCT_CODE_FORMAT("productCode", "产品代码格式不正确"),
+    FLIGHT_NUMBER_BLANK("flightNumber", "航班号不能为空"),
+    FLIGHT_NUMBER_FORMAT("flightNumber", "航班号格式不正确"),
+    SCHEDULED_DEPARTURE_MISSING("scheduledDeparture", "计划起飞时间不能为空"),
+    ACTUAL_DEPARTURE_MISSING("actualDeparture", "实际起飞时间不能为空"),
+    DELAY_REASON_TOO_LONG("delayReason", "延误原因长度不能超过200个字符"),
+    CLAIMED_AMOUNT_TOO_SMALL("claimedAmount", "申请理赔金额必须大于0"),
+    CLAIMED_AMOUNT_TOO_LARGE("claimedAmount", "申请理赔金额不能超过9999.99"),
+    CLAIMED_AMOUNT_DIGITS("claimedAmount", "金额格式不正确");
+
+    private static final ClaimValidationError[] VALUES = values();
+
+    private final String field;
+    private final String message;
+    private final long bit;
+
+    ClaimValidationError(String field, String message) {
+        this.field = field;
+        this.message = message;
+        this.bit = 1L << ordinal();
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    public boolean in(long errors) {
+        return (errors & bit) != 0;
+    }
+
+    /**
+     * 掩码中包含的错误码（按定义顺序）
+     */
+    public static List<ClaimValidationError> decode(long errors) {
+        List<ClaimValidationError> result = new ArrayList<>(Long.bitCount(errors));
+        for (ClaimValidationError error : VALUES) {
+            if (error.in(errors)) {
+                result.add(error);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按字段汇总错误信息，同一字段有多个错误时以分号连接
+     */
+    public static Map<String, String> describe(long errors) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (ClaimValidationError error : decode(errors)) {
+            fieldErrors.merge(error.field, error.message, (a, b) -> a + "; " + b);
+        }
+        return fieldErrors;
+    }
+}
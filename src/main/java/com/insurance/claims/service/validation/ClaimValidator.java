@@ -0,0 +1,210 @@
+package com.insurance.claims.service.validation;
+
+import static com.insurance.claims.service.validation.ClaimValidationError.*;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 理赔申请校验器
+ * 与 TravelDelayClaimRequest 上的校验注解规则一致，但一次遍历完成全部字段检查：格式按字符逐位比对，不使用正则、
+ * 不截取字符串、不拼接错误信息，结果以错误码掩码返回，校验失败也不抛出异常。错误信息只在需要回传时由掩码展开。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimValidator {
+
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final int MAX_DELAY_REASON_LENGTH = 200;
+    private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999.99");
+
+    /**
+     * 校验申请并返回结果
+     */
+    public ClaimValidation check(TravelDelayClaimRequest request) {
+        return new ClaimValidation(request, validate(request));
+    }
+
+    /**
+     * 校验申请
+     *
+     * @return 错误码掩码，0表示校验通过
+     */
+    public long validate(TravelDelayClaimRequest request) {
+        long errors = 0;
+
+        String name = request.getPolicyholderName();
+        if (name == null || name.isBlank()) {
+            errors |= POLICYHOLDER_NAME_BLANK.bit();
+        }
+        if (name != null && name.length() > MAX_NAME_LENGTH) {
+            errors |= POLICYHOLDER_NAME_TOO_LONG.bit();
+        }
+
+        String policyNumber = request.getPolicyNumber();
+        if (policyNumber == null || policyNumber.isBlank()) {
+            errors |= POLICY_NUMBER_BLANK.bit();
+        }
+        if (policyNumber != null && !isPolicyNumber(policyNumber)) {
+            errors |= POLICY_NUMBER_FORMAT.bit();
+        }
+
+        String productCode = request.getProductCode();
+        if (productCode != null && !isProductCode(productCode)) {
+            errors |= PRODUCT_CODE_FORMAT.bit();
+        }
+
+        String flightNumber = request.getFlightNumber();
+        if (flightNumber == null || flightNumber.isBlank()) {
+            errors |= FLIGHT_NUMBER_BLANK.bit();
+        }
+        if (flightNumber != null && !isFlightNumber(flightNumber)) {
+            errors |= FLIGHT_NUMBER_FORMAT.bit();
+        }
+
+        if (request.getScheduledDeparture() == null) {
+            errors |= SCHEDULED_DEPARTURE_MISSING.bit();
+        }
+        if (request.getActualDeparture() == null) {
+            errors |= ACTUAL_DEPARTURE_MISSING.bit();
+        }
+
+        String delayReason = request.getDelayReason();
+        if (delayReason != null && delayReason.length() > MAX_DELAY_REASON_LENGTH) {
+            errors |= DELAY_REASON_TOO_LONG.bit();
+        }
+
+        BigDecimal amount = request.getClaimedAmount();
+        if (amount != null) {
+            errors |= amountErrors(amount);
+        }
+        return errors;
+    }
+
+    /**
+     * 规则引擎所需关键字段的缺失情况，供直接提交给规则引擎的申请做完整性检查
+     *
+     * @return 错误码掩码，0表示关键字段齐全
+     */
+    public static long missingRequiredFields(TravelDelayClaim claim) {
+        long errors = 0;
+        if (isBlank(claim.getPolicyNumber())) {
+            errors |= POLICY_NUMBER_BLANK.bit();
+        }
+        if (isBlank(claim.getFlightNumber())) {
+            errors |= FLIGHT_NUMBER_BLANK.bit();
+        }
+        if (claim.getScheduledDeparture() == null) {
+            errors |= SCHEDULED_DEPARTURE_MISSING.bit();
+        }
+        if (claim.getActualDeparture() == null) {
+            errors |= ACTUAL_DEPARTURE_MISSING.bit();
+        }
+        if (isBlank(claim.getPolicyholderName())) {
+            errors |= POLICYHOLDER_NAME_BLANK.bit();
+        }
+        return errors;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * POL + 9位数字
+     */
+    private static boolean isPolicyNumber(String value) {
+        if (value.length() != 12 || !value.startsWith("POL")) {
+            return false;
+        }
+        return allDigits(value, 3, 12);
+    }
+
+    /**
+     * 2位大写字母 + 3~4位数字
+     */
+    private static boolean isFlightNumber(String value) {
+        int length = value.length();
+        if (length < 5 || length > 6) {
+            return false;
+        }
+        return isUpper(value.charAt(0)) && isUpper(value.charAt(1)) && allDigits(value, 2, length);
+    }
+
+    /**
+     * 大写字母开头，后跟1~19位大写字母、数字或下划线，可带“-”加2~10位大写字母或数字的地区后缀
+     */
+    private static boolean isProductCode(String value) {
+        int length = value.length();
+        if (length < 2 || !isUpper(value.charAt(0))) {
+            return false;
+        }
+        int i = 1;
+        while (i < length && value.charAt(i) != '-') {
+            char c = value.charAt(i);
+            if (!isUpper(c) && !isDigit(c) && c != '_') {
+                return false;
+            }
+            i++;
+        }
+        int mainLength = i - 1;
+        if (mainLength < 1 || mainLength > 19) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        int suffixLength = length - i - 1;
+        if (suffixLength < 2 || suffixLength > 10) {
+            return false;
+        }
+        for (int j = i + 1; j < length; j++) {
+            char c = value.charAt(j);
+            if (!isUpper(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 金额范围0.01~9999.99，整数部分不超过4位、小数部分不超过2位（按输入的精度计，末尾的0也计入）
+     */
+    private static long amountErrors(BigDecimal amount) {
+        long errors = 0;
+        if (amount.compareTo(MIN_AMOUNT) < 0) {
+            errors |= CLAIMED_AMOUNT_TOO_SMALL.bit();
+        }
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            errors |= CLAIMED_AMOUNT_TOO_LARGE.bit();
+        }
+        if (amount.scale() > 2 || amount.precision() - amount.scale() > 4) {
+            errors |= CLAIMED_AMOUNT_DIGITS.bit();
+        }
+        return errors;
+    }
+
+    private static boolean allDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
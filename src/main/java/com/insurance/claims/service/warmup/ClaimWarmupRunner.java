@@ -0,0 +1,226 @@
+package com.insurance.claims.service.warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.insurance.claims.config.CachedJacksonHttpMessageConverter;
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.ClaimRuleEngine;
+import com.insurance.claims.service.SimpleRuleEngineService;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.validation.ClaimValidationError;
+import com.insurance.claims.service.validation.ClaimValidator;
+
+/**
+ * 启动预热
+ * 应用启动后、对外就绪前，用合成的申请语料反复执行报文解析、申请校验、规则决策与响应序列化，
+ * 使这些热点路径在接收真实流量前完成JIT编译。预热不写数据库，不经过查重、风控等有状态环节。
+ * ApplicationRunner执行完毕后Spring Boot才将就绪状态置为ACCEPTING_TRAFFIC，因此预热期间就绪探针返回未就绪。
+ * 设置 claims.warmup.exit-on-complete=true 时预热结束后退出进程，用于生成AppCDS归档的训练运行。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Component
+public class ClaimWarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimWarmupRunner.class);
+
+    private static final int CORPUS_SIZE = 512;
+    private static final String[] PRODUCT_CODES = { null, "DOMESTIC", "INTL-EU", "INTL-AS", "PREMIUM" };
+
+    /**
+     * 预热期间调高日志级别的日志器，避免每条合成申请都输出规则执行日志
+     */
+    private static final String[] QUIET_LOGGERS = {
+            "com.insurance.claims.service.SimpleRuleEngineService",
+            "com.insurance.claims.service.DroolsRuleEngineService",
+            "com.insurance.claims.service.rules"
+    };
+
+    public enum State {
+        DISABLED, PENDING, RUNNING, COMPLETED
+    }
+
+    @Autowired
+    private ClaimRuleEngine claimRuleEngine;
+
+    @Autowired
+    private SimpleRuleEngineService ruleEngineService;
+
+    @Autowired
+    private ClaimValidator claimValidator;
+
+    @Autowired
+    private List<CachedJacksonHttpMessageConverter> converters;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${claims.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${claims.warmup.iterations:20000}")
+    private int iterations;
+
+    @Value("${claims.warmup.max-duration-seconds:30}")
+    private long maxDurationSeconds;
+
+    @Value("${claims.warmup.exit-on-complete:false}")
+    private boolean exitOnComplete;
+
+    private volatile State state = State.PENDING;
+    private volatile int completedIterations;
+    private volatile long durationMillis;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+
+        state = State.RUNNING;
+        logger.info("开始启动预热，迭代次数: {}, 时间上限: {} 秒", iterations, maxDurationSeconds);
+        Map<String, LogLevel> savedLevels = quietLoggers();
+        long start = System.nanoTime();
+        try {
+            completedIterations = warmUp(corpus(), start + maxDurationSeconds * 1_000_000_000L);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("启动预热异常中止，已完成 {} 次: {}", completedIterations, e.getMessage());
+        } finally {
+            savedLevels.forEach(loggingSystem::setLogLevel);
+            durationMillis = (System.nanoTime() - start) / 1_000_000;
+            state = State.COMPLETED;
+        }
+        logger.info("启动预热完成，执行 {} 次，耗时 {} ms", completedIterations, durationMillis);
+
+        if (exitOnComplete) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 预热状态
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state);
+        stats.put("iterations", completedIterations);
+        stats.put("durationMillis", durationMillis);
+        return stats;
+    }
+
+    private int warmUp(List<TravelDelayClaimRequest> corpus, long deadline) throws IOException {
+        int done = 0;
+        for (int i = 0; i < iterations; i++) {
+            if ((i & 255) == 0 && System.nanoTime() > deadline) {
+                logger.info("启动预热达到时间上限");
+                break;
+            }
+            CachedJacksonHttpMessageConverter converter = converters.get(i % converters.size());
+            byte[] requestBytes = converter.writer(TravelDelayClaimRequest.class)
+                    .writeValueAsBytes(corpus.get(i % corpus.size()));
+            TravelDelayClaimRequest request = converter.reader(TravelDelayClaimRequest.class).readValue(requestBytes);
+
+            long errors = claimValidator.validate(request);
+            if (errors != 0) {
+                converter.writer(Map.class).writeValueAsBytes(ClaimValidationError.describe(errors));
+            } else {
+                TravelDelayClaim claim = toClaim(request, i);
+                claim.setDelayHours(ruleEngineService.calculateDelayHours(claim));
+                ClaimDecision decision = claimRuleEngine.executeClaimRules(claim, null);
+                ClaimResponse response = TravelDelayClaimService.buildClaimResponse(claim, decision);
+                converter.writer(ClaimResponse.class).writeValueAsBytes(response);
+                converter.writer(TravelDelayClaim.class).writeValueAsBytes(claim);
+            }
+            done++;
+            completedIterations = done;
+        }
+        return done;
+    }
+
+    private static TravelDelayClaim toClaim(TravelDelayClaimRequest request, int index) {
+        return TravelDelayClaim.builder()
+                .claimNumber("WARMUP" + index)
+                .policyholderName(request.getPolicyholderName())
+                .policyNumber(request.getPolicyNumber())
+                .productCode(request.getProductCode())
+                .flightNumber(request.getFlightNumber())
+                .scheduledDeparture(request.getScheduledDeparture())
+                .actualDeparture(request.getActualDeparture())
+                .delayReason(request.getDelayReason())
+                .claimedAmount(request.getClaimedAmount())
+                .claimStatus(TravelDelayClaim.ClaimStatus.PENDING)
+                .claimDate(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 合成申请语料：覆盖提前起飞、各延误档位、超长延误、金额不一致与少量格式错误的申请
+     */
+    static List<TravelDelayClaimRequest> corpus() {
+        Random random = new Random(20250626L);
+        LocalDateTime base = LocalDateTime.of(2025, 6, 26, 8, 0);
+        List<TravelDelayClaimRequest> corpus = new ArrayList<>(CORPUS_SIZE);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            int delayMinutes = random.nextInt(30 * 60 + 60) - 60;
+            BigDecimal amount = switch (random.nextInt(4)) {
+                case 0 -> null;
+                case 1 -> new BigDecimal("300.00");
+                case 2 -> new BigDecimal("600.00");
+                default -> BigDecimal.valueOf(random.nextInt(99_999) + 1, 2);
+            };
+            corpus.add(TravelDelayClaimRequest.builder()
+                    .policyholderName("预热客户" + i)
+                    .policyNumber(i % 16 == 15 ? "POL" + i : String.format("POL%09d", i))
+                    .productCode(PRODUCT_CODES[i % PRODUCT_CODES.length])
+                    .flightNumber("MU" + (1000 + i % 9000))
+                    .scheduledDeparture(base.plusMinutes(i))
+                    .actualDeparture(base.plusMinutes(i + delayMinutes))
+                    .delayReason(i % 3 == 0 ? "天气原因" : null)
+                    .claimedAmount(amount)
+                    .build());
+        }
+        return corpus;
+    }
+
+    private Map<String, LogLevel> quietLoggers() {
+        Map<String, LogLevel> saved = new LinkedHashMap<>();
+        for (String name : QUIET_LOGGERS) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            saved.put(name, configuration != null ? configuration.getConfiguredLevel() : null);
+            loggingSystem.setLogLevel(name, LogLevel.ERROR);
+        }
+        return saved;
+    }
+}
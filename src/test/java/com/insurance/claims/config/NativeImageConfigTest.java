@@ -0,0 +1,41 @@
+package com.insurance.claims.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 原生镜像提示测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class NativeImageConfigTest {
+
+    @Test
+    @DisplayName("测试登记报文类型、规则事实对象与规则文件的提示")
+    void testRegistersHints() {
+        // 执行
+        RuntimeHints hints = new RuntimeHints();
+        new NativeImageConfig.ClaimsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // 验证结果
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TravelDelayClaimRequest.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ClaimResponse.ClaimDetails.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ClaimDecision.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TravelDelayClaim.ClaimStatus.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("rules/core/claim-core.drl").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("rules/products/premium.csv").test(hints));
+    }
+}
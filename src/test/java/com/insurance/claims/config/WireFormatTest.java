@@ -0,0 +1,104 @@
+package com.insurance.claims.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 报文格式协商测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:wireformattest"
+})
+class WireFormatTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("smileHttpMessageConverter")
+    private CachedJacksonHttpMessageConverter smileConverter;
+
+    @Autowired
+    @Qualifier("cborHttpMessageConverter")
+    private CachedJacksonHttpMessageConverter cborConverter;
+
+    @Test
+    @DisplayName("测试以Smile提交申请并以CBOR返回结果")
+    void testSmileRequestCborResponse() throws Exception {
+        // 准备测试数据
+        TravelDelayClaimRequest request = TravelDelayClaimRequest.builder()
+                .policyholderName("王五")
+                .policyNumber("POL900000001")
+                .flightNumber("CA1501")
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 0))
+                .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, 0))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal("300.00"))
+                .build();
+        byte[] body = smileConverter.writer(TravelDelayClaimRequest.class).writeValueAsBytes(request);
+
+        // 执行
+        byte[] responseBody = mockMvc.perform(post("/claims/submit")
+                        .contentType(WireFormatConfig.APPLICATION_SMILE)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // 验证结果
+        ClaimResponse response = cborConverter.reader(ClaimResponse.class).readValue(responseBody);
+        assertNotNull(response.getClaimNumber());
+        assertEquals(6, response.getClaimDetails().getDelayHours());
+        assertNotNull(response.getClaimDetails().getClaimDate());
+
+        byte[] details = mockMvc.perform(get("/claims/" + response.getClaimNumber())
+                        .accept(WireFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        TravelDelayClaim claim = smileConverter.reader(TravelDelayClaim.class).readValue(details);
+        assertEquals("王五", claim.getPolicyholderName());
+        assertEquals(0, new BigDecimal("300.00").compareTo(claim.getClaimedAmount()));
+    }
+
+    @Test
+    @DisplayName("测试JSON请求仍按原格式处理")
+    void testJsonStillSupported() throws Exception {
+        mockMvc.perform(post("/claims/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"policyholderName\":\"赵六\",\"policyNumber\":\"POL900000002\","
+                                + "\"flightNumber\":\"MU5101\",\"scheduledDeparture\":\"2025-06-26 08:00:00\","
+                                + "\"actualDeparture\":\"2025-06-26 17:00:00\",\"claimedAmount\":600.00}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
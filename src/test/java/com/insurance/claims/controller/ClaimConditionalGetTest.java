@@ -0,0 +1,147 @@
+package com.insurance.claims.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.cache.ClaimSnapshotCache;
+
+/**
+ * 申请详情条件请求与响应压缩测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditionalgettest"
+})
+class ClaimConditionalGetTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private ClaimSnapshotCache claimSnapshotCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("测试申请未变更时返回304且不查询数据库，审核后ETag变化")
+    void testConditionalGet() throws Exception {
+        // 准备测试数据：异常延误进入人工审核
+        String claimNumber = claimService.processClaim(request(1, 30)).getClaimNumber();
+        HttpResponse<byte[]> first = get("/claims/" + claimNumber, null, null);
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        long loads = ((Number) claimSnapshotCache.stats().get("loads")).longValue();
+
+        // 执行
+        HttpResponse<byte[]> unchanged = get("/claims/" + claimNumber, etag, null);
+        long loadsAfter = ((Number) claimSnapshotCache.stats().get("loads")).longValue();
+        HttpResponse<byte[]> english = get("/claims/" + claimNumber, null, "en");
+        claimService.manualReview(claimNumber, true, "核实无误", null, null);
+        HttpResponse<byte[]> reviewed = get("/claims/" + claimNumber, etag, null);
+
+        // 验证结果
+        assertEquals(200, first.statusCode());
+        assertNotNull(etag);
+        assertTrue(first.headers().allValues("Vary").toString().contains("Accept-Language"));
+        assertEquals(304, unchanged.statusCode());
+        assertEquals(0, unchanged.body().length);
+        assertEquals(etag, unchanged.headers().firstValue("ETag").orElse(null));
+        assertEquals(loads, loadsAfter);
+
+        assertEquals(200, english.statusCode());
+        assertNotEquals(etag, english.headers().firstValue("ETag").orElse(null));
+        assertEquals("Abnormal delay (30 hours), manual review required",
+                objectMapper.readTree(english.body()).path("approvalResult").asText());
+
+        assertEquals(200, reviewed.statusCode());
+        assertNotEquals(etag, reviewed.headers().firstValue("ETag").orElse(null));
+        assertEquals("APPROVED", objectMapper.readTree(reviewed.body()).path("claimStatus").asText());
+    }
+
+    @Test
+    @DisplayName("测试列表查询响应按Accept-Encoding压缩")
+    void testListCompression() throws Exception {
+        // 准备测试数据
+        for (int i = 0; i < 20; i++) {
+            claimService.processClaim(request(100 + i, 6));
+        }
+
+        // 执行
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri("/claims/today"))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        // 验证结果
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+        JsonNode claims = objectMapper.readTree(json);
+        assertTrue(claims.size() >= 20);
+        assertTrue(response.body().length < json.length);
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch, String language) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).header("Accept", "application/json");
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        if (language != null) {
+            request.header("Accept-Language", language);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + contextPath + path);
+    }
+
+    private static TravelDelayClaimRequest request(int index, int delayHours) {
+        LocalDateTime scheduled = LocalDateTime.of(2025, 6, 26, 8, 0);
+        return TravelDelayClaimRequest.builder()
+                .policyholderName("轮询客户" + index)
+                .policyNumber(String.format("POL%09d", 700000000 + index))
+                .flightNumber("ET" + (1000 + index))
+                .scheduledDeparture(scheduled)
+                .actualDeparture(scheduled.plusHours(delayHours))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal(delayHours > 24 ? "600.00" : "300.00"))
+                .build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.insurance.claims.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.notify.ClaimSubscriptionRegistry;
+
+/**
+ * 决策推送订阅测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:subscriptiontest",
+        "claims.notify.dispatcher-threads=2",
+        "claims.notify.queue-capacity=16"
+})
+class ClaimSubscriptionTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private ClaimSubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("测试人工审核提交后推送审核结果并结束事件流")
+    void testPushReviewResult() throws Exception {
+        // 准备测试数据：异常延误进入人工审核
+        String claimNumber = claimService.processClaim(request(1, 30)).getClaimNumber();
+        HttpResponse<Stream<String>> response = subscribe("/claims/" + claimNumber + "/events");
+        int subscribed = subscriptionRegistry.subscriberCount();
+
+        // 执行
+        claimService.manualReview(claimNumber, true, "核实无误", null, null);
+        List<String> lines = CompletableFuture.supplyAsync(() -> response.body().collect(Collectors.toList()))
+                .get(10, TimeUnit.SECONDS);
+
+        // 验证结果
+        assertEquals(200, response.statusCode());
+        assertTrue(subscribed >= 1);
+        assertTrue(lines.contains("event:REVIEWED"));
+        JsonNode event = data(lines);
+        assertEquals(claimNumber, event.path("claimNumber").asText());
+        assertEquals("APPROVED", event.path("claimStatus").asText());
+    }
+
+    @Test
+    @DisplayName("测试订阅已有结果的申请立即推送当前状态，申请不存在返回404")
+    void testSnapshotAndNotFound() throws Exception {
+        // 准备测试数据：正常延误自动审批
+        String claimNumber = claimService.processClaim(request(2, 6)).getClaimNumber();
+
+        // 执行
+        HttpResponse<Stream<String>> response = subscribe("/claims/" + claimNumber + "/events");
+        List<String> lines = CompletableFuture.supplyAsync(() -> response.body().collect(Collectors.toList()))
+                .get(10, TimeUnit.SECONDS);
+        HttpResponse<Stream<String>> missing = subscribe("/claims/NOT-EXISTS/events");
+
+        // 验证结果
+        assertTrue(lines.contains("event:" + ClaimSubscriptionRegistry.SNAPSHOT_EVENT));
+        assertEquals("APPROVED", data(lines).path("claimStatus").asText());
+        assertEquals(404, missing.statusCode());
+        assertNull(ConcurrencyLimitFilter.laneOf("GET", "/claims/" + claimNumber + "/events"));
+    }
+
+    @Test
+    @DisplayName("测试按保单号订阅推送该保单下新申请的决策")
+    void testPolicySubscription() throws Exception {
+        // 准备测试数据
+        TravelDelayClaimRequest request = request(3, 6);
+        HttpResponse<Stream<String>> response = subscribe("/claims/policy/" + request.getPolicyNumber() + "/events");
+
+        // 执行
+        String claimNumber = claimService.processClaim(request).getClaimNumber();
+        List<String> lines = CompletableFuture.supplyAsync(() -> firstEvent(response.body()))
+                .get(10, TimeUnit.SECONDS);
+        response.body().close();
+
+        // 验证结果
+        assertEquals(200, response.statusCode());
+        assertTrue(lines.contains("event:DECIDED"));
+        assertEquals(claimNumber, data(lines).path("claimNumber").asText());
+    }
+
+    @Test
+    @DisplayName("测试不读取数据的订阅者被移除，不阻塞同一保单的其他订阅者")
+    void testStalledSubscriberDropped() throws Exception {
+        // 准备测试数据：一个只发请求不读响应的客户端与一个正常读取的客户端订阅同一保单
+        String policyNumber = String.format("POL%09d", 710000099);
+        String path = contextPath + "/claims/policy/" + policyNumber + "/events";
+        int before = subscriptionRegistry.subscriberCount();
+        long droppedBefore = (Long) subscriptionRegistry.stats().get("dropped");
+        Socket stalled = new Socket();
+        stalled.setReceiveBufferSize(1024);
+        stalled.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = stalled.getOutputStream();
+        out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        awaitSubscribers(before + 1);
+        HttpResponse<Stream<String>> response = subscribe("/claims/policy/" + policyNumber + "/events");
+        awaitSubscribers(before + 2);
+        AtomicInteger received = new AtomicInteger();
+        CompletableFuture.runAsync(() -> response.body()
+                .filter(line -> line.equals("event:DECIDED"))
+                .forEach(line -> received.incrementAndGet()));
+
+        // 执行：分批推送体积较大的事件，每批等待正常客户端读完，直到停滞的客户端被移除
+        String padding = "X".repeat(2000);
+        int sent = 0;
+        while (sent < 20000 && (Long) subscriptionRegistry.stats().get("dropped") == droppedBefore) {
+            for (int i = 0; i < 8; i++, sent++) {
+                subscriptionRegistry.onClaimDecision(ClaimDecisionEvent.builder()
+                        .type(ClaimDecisionEvent.Type.DECIDED)
+                        .policyNumber(policyNumber)
+                        .flightNumber(padding)
+                        .claimStatus(ClaimStatus.APPROVED)
+                        .occurredAt(LocalDateTime.now())
+                        .build());
+            }
+            awaitReceived(received, sent);
+        }
+
+        // 验证结果：停滞的客户端被移除，正常客户端收到全部事件
+        assertEquals(droppedBefore + 1, subscriptionRegistry.stats().get("dropped"));
+        assertEquals(before + 1, subscriptionRegistry.subscriberCount());
+        assertEquals(sent, received.get());
+        response.body().close();
+        stalled.close();
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (subscriptionRegistry.subscriberCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, subscriptionRegistry.subscriberCount());
+    }
+
+    private static void awaitReceived(AtomicInteger received, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (received.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, received.get());
+    }
+
+    /**
+     * 读取到第一个事件的数据行为止，保单订阅的事件流不会自行结束
+     */
+    private static List<String> firstEvent(Stream<String> body) {
+        List<String> lines = new ArrayList<>();
+        Iterator<String> iterator = body.iterator();
+        while (iterator.hasNext()) {
+            String line = iterator.next();
+            lines.add(line);
+            if (line.startsWith("data:")) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    private HttpResponse<Stream<String>> subscribe(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + contextPath + path))
+                .header("Accept", "text/event-stream")
+                .build(), HttpResponse.BodyHandlers.ofLines());
+    }
+
+    private JsonNode data(List<String> lines) throws Exception {
+        String data = lines.stream().filter(line -> line.startsWith("data:")).findFirst().orElseThrow();
+        return objectMapper.readTree(data.substring("data:".length()));
+    }
+
+    private static TravelDelayClaimRequest request(int index, int delayHours) {
+        LocalDateTime scheduled = LocalDateTime.of(2025, 6, 26, 8, 0);
+        return TravelDelayClaimRequest.builder()
+                .policyholderName("订阅客户" + index)
+                .policyNumber(String.format("POL%09d", 710000000 + index))
+                .flightNumber("SE" + (1000 + index))
+                .scheduledDeparture(scheduled)
+                .actualDeparture(scheduled.plusHours(delayHours))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal(delayHours > 24 ? "600.00" : "300.00"))
+                .build();
+    }
+}
@@ -0,0 +1,245 @@
+package com.insurance.claims.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+
+/**
+ * 端到端压测
+ * 以随机端口启动内嵌服务器，按开放模型混合提交申请、轮询申请详情、查询待审核列表与人工审核（领取后审核）四类负载，
+ * 各负载的延迟分布写入 target/load/*.hgrm。默认构建不执行，运行方式：mvn -Pload test。
+ * 运行参数通过系统属性设置：load.duration、load.warmup、load.virtual-users、load.rate.{负载}、
+ * load.p99-tolerance、load.throughput-tolerance、load.max-error-rate；-Dload.write-baseline=true 时将本次结果写入
+ * target/load/baseline.properties，复制到 src/test/resources/load/ 后作为新基线。
+ * 稳定性压测（-Dload.soak=true）默认持续1小时，只检查错误率、GC后堆占用增长与GC耗时占比，不与延迟基线比较。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/load/claims",
+        "claims.warmup.enabled=true",
+        "claims.audit.directory=target/load/decision-audit",
+        "claims.audit.segment-bytes=67108864",
+        "claims.outbox.file-path=target/load/outbox/claim-events.jsonl",
+        "claims.archive.directory=target/load/archive",
+        "logging.level.[com.insurance.claims]=WARN"
+})
+class ClaimLoadTest {
+
+    private static final Path OUTPUT = Path.of("target", "load");
+    private static final String BASELINE = "/load/baseline.properties";
+    private static final long MB = 1024 * 1024;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicReferenceArray<String> recentClaims = new AtomicReferenceArray<>(1024);
+    private final AtomicInteger storedClaims = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisabledIfSystemProperty(named = "load.soak", matches = "true")
+    @DisplayName("测试混合负载的p99延迟与吞吐量相对基线未退化")
+    void testMixedWorkloadAgainstBaseline() throws Exception {
+        // 准备测试数据
+        LoadBaseline baseline = LoadBaseline.load(BASELINE);
+
+        try (LoadGenerator generator = generator()) {
+            generator.run(duration("load.warmup", "PT15S"));
+
+            // 执行
+            Map<String, LoadGenerator.Result> results = generator.run(duration("load.duration", "PT60S"));
+
+            // 验证结果
+            report(generator, results);
+            if (Boolean.getBoolean("load.write-baseline")) {
+                LoadBaseline.write(OUTPUT.resolve("baseline.properties"), results);
+                System.out.println("压测基线已写入 " + OUTPUT.resolve("baseline.properties").toAbsolutePath());
+            }
+            assertErrorRates(results);
+            List<String> regressions = baseline.regressions(results,
+                    setting("load.p99-tolerance", 0.5), setting("load.throughput-tolerance", 0.1));
+            assertTrue(regressions.isEmpty(), "相对基线退化：" + regressions);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "load.soak", matches = "true")
+    @DisplayName("测试长时间运行时GC后堆占用不持续增长且GC耗时占比受控")
+    void testSoak() throws Exception {
+        // 准备测试数据
+        try (LoadGenerator generator = generator()) {
+            generator.run(duration("load.warmup", "PT15S"));
+
+            // 执行
+            Map<String, LoadGenerator.Result> results;
+            long heapGrowth;
+            double gcFraction;
+            try (HeapMonitor monitor = new HeapMonitor(duration("load.soak.sample-interval", "PT30S"))) {
+                results = generator.run(duration("load.soak.duration", "PT1H"));
+                heapGrowth = monitor.heapGrowthBytes();
+                gcFraction = monitor.gcTimeFraction();
+                monitor.writeCsv(OUTPUT.resolve("soak-heap.csv"));
+                System.out.printf("GC %d 次, 耗时占比 %.2f%%, GC后堆占用增长 %.1f MB%n",
+                        monitor.gcCount(), gcFraction * 100, heapGrowth / (double) MB);
+            }
+
+            // 验证结果
+            report(generator, results);
+            assertErrorRates(results);
+            double maxGrowthMb = setting("load.soak.max-heap-growth-mb", 64);
+            assertTrue(heapGrowth <= maxGrowthMb * MB,
+                    String.format("GC后堆占用增长 %.1f MB 超过 %.0f MB", heapGrowth / (double) MB, maxGrowthMb));
+            double maxGcFraction = setting("load.soak.max-gc-fraction", 0.05);
+            assertTrue(gcFraction <= maxGcFraction,
+                    String.format("GC耗时占比 %.2f%% 超过 %.2f%%", gcFraction * 100, maxGcFraction * 100));
+        }
+    }
+
+    private LoadGenerator generator() {
+        return new LoadGenerator((int) setting("load.virtual-users", 64))
+                .workload("submit", setting("load.rate.submit", 20), this::submit)
+                .workload("detail", setting("load.rate.detail", 40), this::pollDetail)
+                .workload("review-list", setting("load.rate.review-list", 2), this::listPendingReviews)
+                .workload("review", setting("load.rate.review", 4), this::review);
+    }
+
+    /**
+     * 提交申请，每4笔中有1笔延误时长异常，进入人工审核
+     */
+    private Boolean submit() throws Exception {
+        long sequence = submitted.incrementAndGet();
+        LocalDateTime scheduled = LocalDateTime.of(2025, 6, 26, 8, 0);
+        TravelDelayClaimRequest request = TravelDelayClaimRequest.builder()
+                .policyholderName("压测客户" + sequence)
+                .policyNumber(String.format("POL%09d", 800000000 + sequence))
+                .flightNumber("LT" + (1000 + sequence % 500))
+                .scheduledDeparture(scheduled)
+                .actualDeparture(scheduled.plusHours(sequence % 4 == 0 ? 30 : 6))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal("300.00"))
+                .build();
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/claims/submit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request))));
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        String claimNumber = objectMapper.readTree(response.body()).path("claimNumber").asText();
+        recentClaims.set(storedClaims.getAndIncrement() % recentClaims.length(), claimNumber);
+        return true;
+    }
+
+    private Boolean pollDetail() throws Exception {
+        int stored = Math.min(storedClaims.get(), recentClaims.length());
+        String claimNumber = stored > 0 ? recentClaims.get(ThreadLocalRandom.current().nextInt(stored)) : null;
+        if (claimNumber == null) {
+            return null;
+        }
+        return send(HttpRequest.newBuilder(uri("/claims/" + claimNumber)).GET()).statusCode() == 200;
+    }
+
+    private Boolean listPendingReviews() throws Exception {
+        return send(HttpRequest.newBuilder(uri("/claims/review/pending")).GET()).statusCode() == 200;
+    }
+
+    /**
+     * 审核员领取1笔待审核申请并完成审核；队列为空时不计入统计
+     */
+    private Boolean review() throws Exception {
+        String reviewerId = "load-" + Thread.currentThread().getName();
+        HttpResponse<String> lease = send(HttpRequest.newBuilder(uri("/claims/review/queue/lease"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("reviewerId", reviewerId, "batchSize", 1, "leaseSeconds", 60)))));
+        if (lease.statusCode() != 200) {
+            return false;
+        }
+        JsonNode leased = objectMapper.readTree(lease.body());
+        if (leased.isEmpty()) {
+            return null;
+        }
+        String claimNumber = leased.get(0).path("claimNumber").asText();
+        HttpResponse<String> review = send(HttpRequest.newBuilder(uri("/claims/" + claimNumber + "/review"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("approved", true, "notes", "压测审核", "reviewerId", reviewerId)))));
+        return review.statusCode() == 200;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.header("Accept", "application/json").timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + contextPath + path);
+    }
+
+    private static void report(LoadGenerator generator, Map<String, LoadGenerator.Result> results)
+            throws Exception {
+        results.values().forEach(System.out::println);
+        generator.writeDistributions(OUTPUT);
+    }
+
+    private static void assertErrorRates(Map<String, LoadGenerator.Result> results) {
+        double maxErrorRate = setting("load.max-error-rate", 0.01);
+        for (LoadGenerator.Result result : results.values()) {
+            assertTrue(result.errorRate() <= maxErrorRate,
+                    String.format("%s 错误率 %.2f%% 超过 %.2f%%", result.name(), result.errorRate() * 100,
+                            maxErrorRate * 100));
+        }
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return Duration.parse(System.getProperty(key, defaultValue));
+    }
+
+    private static double setting(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
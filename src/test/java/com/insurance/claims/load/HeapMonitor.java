@@ -0,0 +1,153 @@
+package com.insurance.claims.load;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * 稳定性压测堆与GC监控
+ * 监听每次GC后的堆占用，按采样间隔记录区间内GC后堆占用的最低值（存活对象的下限）、GC次数与累计耗时。
+ * 内存泄漏表现为GC后堆占用下限持续上升；应用与压测发生器运行在同一JVM内，统计包含两者。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+final class HeapMonitor implements AutoCloseable {
+
+    private final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+    private final List<Sample> samples = new ArrayList<>();
+    private final AtomicLong minHeapAfterGc = new AtomicLong(Long.MAX_VALUE);
+    private final NotificationListener listener = this::onGc;
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-heap-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long startNanos = System.nanoTime();
+    private final long startGcCount = totalGcCount();
+    private final long startGcMillis = gcMillis();
+
+    HeapMonitor(Duration interval) {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+        }
+        sampler.scheduleAtFixedRate(this::sample, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 首尾各取四分之一采样点的GC后堆占用下限均值之差（字节），有GC记录的采样点不足4个时返回0
+     */
+    synchronized long heapGrowthBytes() {
+        List<Long> floors = samples.stream()
+                .filter(sample -> sample.heapAfterGcBytes() > 0)
+                .map(Sample::heapAfterGcBytes)
+                .toList();
+        if (floors.size() < 4) {
+            return 0;
+        }
+        int quarter = floors.size() / 4;
+        return average(floors.subList(floors.size() - quarter, floors.size())) - average(floors.subList(0, quarter));
+    }
+
+    /**
+     * GC累计耗时占运行时长的比例
+     */
+    double gcTimeFraction() {
+        double elapsedMillis = (System.nanoTime() - startNanos) / 1e6;
+        return elapsedMillis <= 0 ? 0 : (gcMillis() - startGcMillis) / elapsedMillis;
+    }
+
+    long gcCount() {
+        return totalGcCount() - startGcCount;
+    }
+
+    synchronized void writeCsv(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("elapsed_seconds,heap_used_bytes,heap_after_gc_bytes,gc_count,gc_millis\n");
+            for (Sample sample : samples) {
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,%d,%d%n", sample.elapsedSeconds(),
+                        sample.heapUsedBytes(), sample.heapAfterGcBytes(), sample.gcCount(), sample.gcMillis()));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                ((NotificationEmitter) gc).removeNotificationListener(listener);
+            } catch (Exception e) {
+                // 监听器已移除
+            }
+        }
+    }
+
+    private void onGc(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                .from((CompositeData) notification.getUserData());
+        long used = info.getGcInfo().getMemoryUsageAfterGc().entrySet().stream()
+                .filter(pool -> heapPools.contains(pool.getKey()))
+                .mapToLong(pool -> pool.getValue().getUsed())
+                .sum();
+        minHeapAfterGc.accumulateAndGet(used, Math::min);
+    }
+
+    private synchronized void sample() {
+        long floor = minHeapAfterGc.getAndSet(Long.MAX_VALUE);
+        samples.add(new Sample(
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                floor == Long.MAX_VALUE ? 0 : floor,
+                gcCount(),
+                gcMillis() - startGcMillis));
+    }
+
+    private static long totalGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static long average(List<Long> values) {
+        return (long) values.stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+
+    private record Sample(long elapsedSeconds, long heapUsedBytes, long heapAfterGcBytes, long gcCount,
+            long gcMillis) {
+    }
+}
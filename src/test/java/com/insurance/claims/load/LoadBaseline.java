@@ -0,0 +1,98 @@
+package com.insurance.claims.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 压测基线
+ * 每个负载记录到达率、p99延迟（毫秒）与吞吐量（每秒成功请求数），键为 {负载}.rate、{负载}.p99-ms、{负载}.throughput。
+ * 基线与运行环境相关，更换压测机器或调整到达率后需重新生成。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+final class LoadBaseline {
+
+    private final Properties values;
+
+    private LoadBaseline(Properties values) {
+        this.values = values;
+    }
+
+    /**
+     * 从类路径加载基线，不存在时返回空基线（不做比较）
+     */
+    static LoadBaseline load(String resource) throws IOException {
+        Properties values = new Properties();
+        try (InputStream in = LoadBaseline.class.getResourceAsStream(resource)) {
+            if (in != null) {
+                values.load(in);
+            }
+        }
+        return new LoadBaseline(values);
+    }
+
+    boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * 与基线比较，返回退化项说明；p99 超过基线的 (1 + p99Tolerance) 倍或吞吐量低于基线的 (1 - throughputTolerance) 倍视为退化。
+     * 基线中没有的负载不比较，到达率与基线不一致时无法比较吞吐量，同样视为失败
+     */
+    List<String> regressions(Map<String, LoadGenerator.Result> results, double p99Tolerance,
+            double throughputTolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (LoadGenerator.Result result : results.values()) {
+            String name = result.name();
+            if (!values.containsKey(name + ".p99-ms")) {
+                continue;
+            }
+            double rate = value(name + ".rate");
+            if (Math.abs(rate - result.ratePerSecond()) > 1e-6) {
+                regressions.add(String.format("%s 到达率 %.1f/s 与基线 %.1f/s 不一致，请重新生成基线",
+                        name, result.ratePerSecond(), rate));
+                continue;
+            }
+            double p99 = value(name + ".p99-ms");
+            if (result.p99() > p99 * (1 + p99Tolerance)) {
+                regressions.add(String.format("%s p99 %.2f ms 超过基线 %.2f ms 的 %.0f%%",
+                        name, result.p99(), p99, (1 + p99Tolerance) * 100));
+            }
+            double throughput = value(name + ".throughput");
+            if (result.throughput() < throughput * (1 - throughputTolerance)) {
+                regressions.add(String.format("%s 吞吐量 %.1f/s 低于基线 %.1f/s 的 %.0f%%",
+                        name, result.throughput(), throughput, (1 - throughputTolerance) * 100));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * 以本次结果生成基线文件
+     */
+    static void write(Path file, Map<String, LoadGenerator.Result> results) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# 压测基线：mvn -Pload test -Dload.write-baseline=true 生成\n");
+            for (LoadGenerator.Result result : results.values()) {
+                writer.write(String.format(Locale.ROOT, "%s.rate=%.1f%n", result.name(), result.ratePerSecond()));
+                writer.write(String.format(Locale.ROOT, "%s.p99-ms=%.2f%n", result.name(), result.p99()));
+                writer.write(String.format(Locale.ROOT, "%s.throughput=%.1f%n", result.name(), result.throughput()));
+            }
+        }
+    }
+
+    private double value(String key) {
+        return Double.parseDouble(values.getProperty(key, "0"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.insurance.claims.load;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 开放模型压测发生器
+ * 各负载按设定的到达率（泊松到达）独立产生请求，交给固定数量的虚拟用户线程执行；到达不因响应变慢而推迟，
+ * 虚拟用户全部繁忙时请求排队等待。延迟从计划到达时刻算起，包含排队时间，避免协调遗漏导致低估尾部延迟。
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final List<Workload> workloads = new ArrayList<>();
+    private final ExecutorService virtualUsers;
+    private final LongAdder inflight = new LongAdder();
+    private final Random random = new Random(42);
+
+    LoadGenerator(int virtualUsers) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.virtualUsers = new ThreadPoolExecutor(virtualUsers, virtualUsers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "load-vu-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 注册负载：action 返回 true 表示请求成功，返回 false 或抛出异常计为错误，返回 null 表示本次无事可做（不计入统计）
+     */
+    LoadGenerator workload(String name, double ratePerSecond, Callable<Boolean> action) {
+        if (ratePerSecond > 0) {
+            workloads.add(new Workload(name, ratePerSecond, action));
+        }
+        return this;
+    }
+
+    /**
+     * 按到达率持续产生请求，结束后等待已产生的请求完成；每次运行前清空统计
+     */
+    Map<String, Result> run(Duration duration) throws InterruptedException {
+        workloads.forEach(Workload::reset);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (Workload workload : workloads) {
+            workload.nextArrival = start + nextInterval(workload);
+        }
+
+        while (true) {
+            Workload next = workloads.get(0);
+            for (Workload workload : workloads) {
+                if (workload.nextArrival < next.nextArrival) {
+                    next = workload;
+                }
+            }
+            long intended = next.nextArrival;
+            if (intended >= deadline) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload workload = next;
+            inflight.increment();
+            virtualUsers.execute(() -> {
+                try {
+                    workload.execute(intended);
+                } finally {
+                    inflight.decrement();
+                }
+            });
+            workload.nextArrival = intended + nextInterval(workload);
+        }
+
+        long drainStart = System.nanoTime();
+        while (inflight.sum() > 0) {
+            if (System.nanoTime() - drainStart > TimeUnit.MINUTES.toNanos(2)) {
+                throw new IllegalStateException("压测请求在2分钟内未完成");
+            }
+            Thread.sleep(10);
+        }
+        double seconds = duration.toNanos() / 1e9;
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Workload workload : workloads) {
+            results.put(workload.name, workload.result(seconds));
+        }
+        return results;
+    }
+
+    /**
+     * 将各负载的延迟分布（HdrHistogram .hgrm 格式，单位毫秒）写入目录
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Workload workload : workloads) {
+            try (PrintStream out = new PrintStream(
+                    new FileOutputStream(directory.resolve(workload.name + ".hgrm").toFile()), false, "UTF-8")) {
+                workload.histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        virtualUsers.shutdownNow();
+    }
+
+    private long nextInterval(Workload workload) {
+        double seconds = -Math.log(1.0 - random.nextDouble()) / workload.ratePerSecond;
+        return (long) (seconds * 1e9);
+    }
+
+    /**
+     * 单个负载的统计结果，延迟单位为毫秒
+     */
+    record Result(String name, double ratePerSecond, long requests, long errors, double throughput,
+            double p50, double p90, double p99, double p999, double max) {
+
+        double errorRate() {
+            long total = requests + errors;
+            return total == 0 ? 0 : (double) errors / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s 到达率 %6.1f/s, 成功 %7d, 错误 %5d, 吞吐 %7.1f/s, "
+                    + "p50 %7.2f ms, p90 %7.2f ms, p99 %7.2f ms, p99.9 %7.2f ms, max %8.2f ms",
+                    name, ratePerSecond, requests, errors, throughput, p50, p90, p99, p999, max);
+        }
+    }
+
+    private static final class Workload {
+
+        private final String name;
+        private final double ratePerSecond;
+        private final Callable<Boolean> action;
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private long nextArrival;
+
+        private Workload(String name, double ratePerSecond, Callable<Boolean> action) {
+            this.name = name;
+            this.ratePerSecond = ratePerSecond;
+            this.action = action;
+        }
+
+        private void execute(long intended) {
+            Boolean success;
+            try {
+                success = action.call();
+            } catch (Exception e) {
+                success = false;
+            }
+            if (success == null) {
+                return;
+            }
+            if (!success) {
+                errors.increment();
+                return;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            histogram.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+        }
+
+        private void reset() {
+            histogram.reset();
+            errors.reset();
+        }
+
+        private Result result(double seconds) {
+            long count = histogram.getTotalCount();
+            return new Result(name, ratePerSecond, count, errors.sum(), count / seconds,
+                    millis(50), millis(90), millis(99), millis(99.9), histogram.getMaxValue() / 1000.0);
+        }
+
+        private double millis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.insurance.claims.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+
+/**
+ * 人工审核工作队列服务测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewQueueServiceTest {
+
+    private static final int CLAIM_COUNT = 40;
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<TravelDelayClaim> claims = new ArrayList<>();
+        for (int i = 0; i < CLAIM_COUNT; i++) {
+            ClaimDecision.RiskLevel riskLevel = i % 4 == 0 ? ClaimDecision.RiskLevel.HIGH : ClaimDecision.RiskLevel.MEDIUM;
+            BigDecimal amount = new BigDecimal(100 + i);
+            claims.add(TravelDelayClaim.builder()
+                    .claimNumber("QUEUE" + i)
+                    .policyholderName("张三")
+                    .policyNumber(String.format("POL%09d", i))
+                    .flightNumber("CZ3251")
+                    .claimedAmount(amount)
+                    .claimStatus(TravelDelayClaim.ClaimStatus.PENDING)
+                    .riskLevel(riskLevel)
+                    .reviewPriority(ReviewQueueService.priorityOf(riskLevel, amount))
+                    .claimDate(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        claimRepository.saveAll(claims);
+    }
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试按优先级领取")
+    void testLeaseByPriority() {
+        // 执行领取
+        List<TravelDelayClaim> leased = reviewQueueService.lease("reviewer-01", 5, 60);
+
+        // 验证结果：高风险申请优先，同风险等级下金额大的优先
+        assertEquals(5, leased.size());
+        assertEquals("QUEUE36", leased.get(0).getClaimNumber());
+        assertTrue(leased.stream().allMatch(c -> c.getRiskLevel() == ClaimDecision.RiskLevel.HIGH));
+        assertEquals(CLAIM_COUNT - 5, reviewQueueService.availableCount());
+
+        // 释放后重新回到队列
+        reviewQueueService.release("reviewer-01", List.of("QUEUE36"));
+        assertEquals(CLAIM_COUNT - 4, reviewQueueService.availableCount());
+    }
+
+    @Test
+    @DisplayName("测试等待时间长的低风险申请排到新进的中风险申请之前")
+    void testLeaseAgesWaitingClaims() {
+        // 准备测试数据：等待15小时的低风险申请，决策优先级低于所有中风险申请
+        BigDecimal amount = new BigDecimal(100);
+        claimRepository.save(TravelDelayClaim.builder()
+                .claimNumber("QUEUE-AGED")
+                .policyholderName("李四")
+                .policyNumber("POL000000999")
+                .flightNumber("CZ3251")
+                .claimedAmount(amount)
+                .claimStatus(TravelDelayClaim.ClaimStatus.PENDING)
+                .riskLevel(ClaimDecision.RiskLevel.LOW)
+                .reviewPriority(ReviewQueueService.priorityOf(ClaimDecision.RiskLevel.LOW, amount))
+                .claimDate(LocalDateTime.now().minusHours(15))
+                .build());
+
+        // 执行领取：10条高风险申请之后即为等待已久的低风险申请
+        List<TravelDelayClaim> leased = reviewQueueService.lease("reviewer-01", 11, 60);
+
+        // 验证结果
+        assertEquals(11, leased.size());
+        assertTrue(leased.subList(0, 10).stream().allMatch(c -> c.getRiskLevel() == ClaimDecision.RiskLevel.HIGH));
+        assertEquals("QUEUE-AGED", leased.get(10).getClaimNumber());
+    }
+
+    @Test
+    @DisplayName("测试多个审核员并发领取不重复")
+    void testConcurrentLeases() throws Exception {
+        // 准备并发审核员
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<String> leasedClaims = ConcurrentHashMap.newKeySet();
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // 执行并发领取
+        for (int r = 0; r < 8; r++) {
+            String reviewerId = "reviewer-" + r;
+            futures.add(executor.submit(() -> {
+                int count = 0;
+                List<TravelDelayClaim> batch;
+                while (!(batch = reviewQueueService.lease(reviewerId, 3, 60)).isEmpty()) {
+                    for (TravelDelayClaim claim : batch) {
+                        assertTrue(leasedClaims.add(claim.getClaimNumber()), "申请被重复领取: " + claim.getClaimNumber());
+                        count++;
+                    }
+                }
+                return count;
+            }));
+        }
+
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+
+        // 验证结果
+        assertEquals(CLAIM_COUNT, total);
+        assertEquals(CLAIM_COUNT, leasedClaims.size());
+        assertEquals(0, reviewQueueService.availableCount());
+    }
+}
@@ -11,7 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.ActiveProfiles;
 
 import com.insurance.claims.model.ClaimDecision;
 import com.insurance.claims.model.TravelDelayClaim;
@@ -23,7 +23,7 @@ import com.insurance.claims.model.TravelDelayClaim;
  * @since 2025-06-26
  */
 @SpringBootTest
-@TestPropertySource(locations = "classpath:application-test.yml")
+@ActiveProfiles("test")
 class SimpleRuleEngineServiceTest {
 
     private SimpleRuleEngineService ruleEngineService;
@@ -0,0 +1,154 @@
+package com.insurance.claims.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.insurance.claims.exception.ClaimConflictException;
+import com.insurance.claims.exception.InvalidClaimTransitionException;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.warmup.ClaimWarmupRunner;
+
+/**
+ * 旅游延误险理赔业务服务测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TravelDelayClaimServiceTest {
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimWarmupRunner warmupRunner;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试测试配置生效，启动时不执行预热")
+    void testWarmupDisabledUnderTestProfile() {
+        // 验证结果
+        assertEquals(ClaimWarmupRunner.State.DISABLED, warmupRunner.getState());
+        assertEquals(0, warmupRunner.stats().get("iterations"));
+    }
+
+    @Test
+    @DisplayName("测试理赔状态流转规则")
+    void testStatusTransitions() {
+        assertTrue(ClaimStatus.PENDING.canTransitionTo(ClaimStatus.APPROVED));
+        assertTrue(ClaimStatus.PENDING.canTransitionTo(ClaimStatus.REJECTED));
+        assertTrue(ClaimStatus.APPROVED.canTransitionTo(ClaimStatus.PAID));
+        assertFalse(ClaimStatus.PENDING.canTransitionTo(ClaimStatus.PAID));
+        assertFalse(ClaimStatus.REJECTED.canTransitionTo(ClaimStatus.APPROVED));
+        assertFalse(ClaimStatus.PAID.canTransitionTo(ClaimStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("测试已审核申请不能再次审核")
+    void testReviewAfterDecisionIsRejected() {
+        // 准备测试数据
+        savePendingClaim("REVIEW001");
+        claimService.manualReview("REVIEW001", true, "同意", null, null);
+
+        // 执行并验证
+        assertThrows(InvalidClaimTransitionException.class,
+                () -> claimService.manualReview("REVIEW001", false, "拒绝", null, null));
+        assertEquals(ClaimStatus.APPROVED, claimRepository.findByClaimNumber("REVIEW001").get().getClaimStatus());
+    }
+
+    @Test
+    @DisplayName("测试客户端版本号不一致时拒绝审核")
+    void testExpectedVersionMismatch() {
+        // 准备测试数据
+        TravelDelayClaim claim = savePendingClaim("REVIEW002");
+
+        // 执行并验证
+        assertThrows(ClaimConflictException.class,
+                () -> claimService.manualReview("REVIEW002", true, "同意", null, claim.getVersion() + 1));
+        TravelDelayClaim reviewed = claimService.manualReview("REVIEW002", true, "同意", null, claim.getVersion());
+        assertEquals(ClaimStatus.APPROVED, reviewed.getClaimStatus());
+        assertEquals(claim.getVersion() + 1, reviewed.getVersion());
+    }
+
+    @Test
+    @DisplayName("测试并发审核同一申请只有一个成功")
+    void testConcurrentReviewsOnSameClaim() throws Exception {
+        // 准备测试数据
+        savePendingClaim("REVIEW003");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TravelDelayClaim>> futures = new ArrayList<>();
+
+        // 执行并发审核
+        for (int i = 0; i < 4; i++) {
+            boolean approved = i % 2 == 0;
+            Callable<TravelDelayClaim> review = () -> {
+                start.await();
+                return claimService.manualReview("REVIEW003", approved, "并发审核", null, null);
+            };
+            futures.add(executor.submit(review));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        int conflicts = 0;
+        for (Future<TravelDelayClaim> future : futures) {
+            try {
+                future.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ClaimConflictException, "应为并发冲突异常: " + e.getCause());
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        // 验证结果
+        assertEquals(1, succeeded);
+        assertEquals(3, conflicts);
+    }
+
+    private TravelDelayClaim savePendingClaim(String claimNumber) {
+        return claimRepository.save(TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyholderName("张三")
+                .policyNumber("POL123456789")
+                .flightNumber("CZ3251")
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 30))
+                .actualDeparture(LocalDateTime.of(2025, 6, 27, 12, 30))
+                .delayHours(28)
+                .claimedAmount(new BigDecimal("600.00"))
+                .claimStatus(ClaimStatus.PENDING)
+                .build());
+    }
+}
@@ -0,0 +1,140 @@
+package com.insurance.claims.service.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.dto.ClaimTrendPoint;
+import com.insurance.claims.dto.ClaimTrendStats;
+import com.insurance.claims.service.analytics.RollingClaimAnalytics.Dimension;
+import com.insurance.claims.service.analytics.RollingClaimAnalytics.Metric;
+
+/**
+ * 滚动窗口理赔统计测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class RollingClaimAnalyticsTest {
+
+    private MutableClock clock;
+    private RollingClaimAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-26T00:00:00Z"));
+        analytics = new RollingClaimAnalytics(clock, 60, 24, 3);
+    }
+
+    @Test
+    @DisplayName("测试航班与航空公司排行")
+    void testTopK() {
+        // 准备测试数据
+        analytics.record("CZ3251", true, true, false, new BigDecimal("300.00"));
+        analytics.record("CZ3251", true, true, false, new BigDecimal("600.00"));
+        analytics.record("CZ1001", true, false, true, BigDecimal.ZERO);
+        analytics.record("MU5101", true, true, false, new BigDecimal("300.00"));
+
+        // 执行查询
+        List<ClaimTrendStats> flights = analytics.topK(Dimension.FLIGHT, Metric.CLAIMS, 1, 24);
+        List<ClaimTrendStats> airlines = analytics.topK(Dimension.AIRLINE, Metric.PAYOUT, 2, 24);
+
+        // 验证结果
+        assertEquals(1, flights.size());
+        assertEquals("CZ3251", flights.get(0).getKey());
+        assertEquals(2, flights.get(0).getClaimCount());
+        assertEquals("CZ", airlines.get(0).getKey());
+        assertEquals(new BigDecimal("900.00"), airlines.get(0).getPayoutAmount());
+        assertEquals(1, airlines.get(0).getReviewCount());
+        assertEquals("MU", airlines.get(1).getKey());
+    }
+
+    @Test
+    @DisplayName("测试时间序列与窗口过期")
+    void testSeriesAndExpiry() {
+        // 准备测试数据
+        analytics.record("CZ3251", true, true, false, new BigDecimal("300.00"));
+        clock.advanceHours(2);
+        analytics.record("CZ3251", true, false, false, BigDecimal.ZERO);
+
+        // 执行查询
+        List<ClaimTrendPoint> series = analytics.series(Dimension.FLIGHT, "CZ3251", 3);
+
+        // 验证结果
+        assertEquals(3, series.size());
+        assertEquals(1, series.get(0).getClaimCount());
+        assertEquals(0, series.get(1).getClaimCount());
+        assertEquals(1, series.get(2).getClaimCount());
+
+        // 超出24小时窗口后旧数据不再计入
+        clock.advanceHours(23);
+        List<ClaimTrendStats> flights = analytics.topK(Dimension.FLIGHT, Metric.CLAIMS, 10, 24);
+        assertEquals(1, flights.get(0).getClaimCount());
+    }
+
+    @Test
+    @DisplayName("测试单桶键数量上限")
+    void testKeyBoundPerBucket() {
+        // 准备测试数据：上限为3个键
+        analytics.record("CZ1001", true, false, false, null);
+        analytics.record("CZ1002", true, false, false, null);
+        analytics.record("CZ1003", true, false, false, null);
+        analytics.record("CZ1004", true, false, false, null);
+        analytics.record("CZ1005", true, false, false, null);
+
+        // 执行查询
+        List<ClaimTrendStats> flights = analytics.topK(Dimension.FLIGHT, Metric.CLAIMS, 10, 24);
+
+        // 验证结果：超出上限的键合并到溢出键
+        assertEquals(4, flights.size());
+        assertEquals(RollingClaimAnalytics.OVERFLOW_KEY, flights.get(0).getKey());
+        assertEquals(2, flights.get(0).getClaimCount());
+    }
+
+    @Test
+    @DisplayName("测试航空公司代码提取")
+    void testAirlineCode() {
+        assertEquals("CZ", RollingClaimAnalytics.airlineCode("CZ3251"));
+        assertEquals("3U", RollingClaimAnalytics.airlineCode("3U8888"));
+    }
+
+    /**
+     * 可手动推进的测试时钟
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advanceHours(long hours) {
+            now = now.plusMillis(TimeUnit.HOURS.toMillis(hours));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
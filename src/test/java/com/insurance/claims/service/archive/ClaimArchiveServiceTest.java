@@ -0,0 +1,164 @@
+package com.insurance.claims.service.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.TravelDelayClaimService;
+
+/**
+ * 理赔申请归档测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivetest",
+        "claims.archive.directory=target/test-archive",
+        "claims.archive.segment-max-bytes=4096",
+        "claims.archive.batch-size=8"
+})
+class ClaimArchiveServiceTest {
+
+    @Autowired
+    private ClaimArchiveService claimArchiveService;
+
+    @Autowired
+    private ClaimArchive claimArchive;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试归档超过保留期的已结案申请并透明查询")
+    void testArchiveAndLookup() {
+        // 准备测试数据：30条过期已结案、5条近期已支付、5条过期已批准
+        String prefix = "ARC" + UUID.randomUUID().toString().substring(0, 8);
+        LocalDateTime old = LocalDateTime.now().minusDays(100);
+        List<TravelDelayClaim> claims = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            claims.add(claim(prefix + "-OLD" + i, i % 2 == 0 ? ClaimStatus.REJECTED : ClaimStatus.PAID, old));
+        }
+        for (int i = 0; i < 5; i++) {
+            claims.add(claim(prefix + "-NEW" + i, ClaimStatus.PAID, LocalDateTime.now()));
+            claims.add(claim(prefix + "-APP" + i, ClaimStatus.APPROVED, old));
+        }
+        claimRepository.saveAll(claims);
+
+        // 执行归档
+        int archived = claimArchiveService.archiveNow();
+
+        // 验证结果：申请表只保留近期和未结案的申请，归档申请仍可按单号查询
+        assertEquals(30, archived);
+        assertEquals(10, claimRepository.count());
+        assertTrue(claimRepository.findByClaimNumber(prefix + "-OLD7").isEmpty());
+
+        TravelDelayClaim restored = claimService.getClaimByNumber(prefix + "-OLD7").orElseThrow();
+        assertEquals(ClaimStatus.PAID, restored.getClaimStatus());
+        assertEquals("李四", restored.getPolicyholderName());
+        assertEquals(new BigDecimal("600.00"), restored.getCalculatedAmount());
+        assertEquals(old.withNano(0), restored.getProcessDate().withNano(0));
+        assertTrue(claimService.getClaimByNumber(prefix + "-NEW1").isPresent());
+        assertTrue(claimService.getClaimByNumber(prefix + "-MISSING").isEmpty());
+
+        Map<String, Object> stats = claimArchive.stats();
+        assertTrue((Integer) stats.get("segments") > 1);
+        assertTrue((Double) stats.get("compressionRatio") < 1.0);
+        for (int i = 0; i < 30; i++) {
+            assertTrue(claimArchive.find(prefix + "-OLD" + i).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("测试归档段截断不完整记录并在封存后按索引查询")
+    void testSegmentRecovery(@TempDir Path directory) throws IOException {
+        // 准备测试数据
+        ArchiveSegment segment = ArchiveSegment.open(directory, 1);
+        long first = segment.append("CLAIM-A", bytes("a"), 1, 1);
+        long second = segment.append("CLAIM-B", bytes("bb"), 2, 2);
+        segment.commit(Map.of("CLAIM-A", first, "CLAIM-B", second));
+        segment.close();
+
+        // 模拟崩溃：末尾写入了不完整的记录
+        Path dataPath = directory.resolve("segment-000001.seg");
+        long committed = Files.size(dataPath);
+        try (FileChannel channel = FileChannel.open(dataPath, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 64, 1, 2, 3 }));
+        }
+
+        // 执行：重新打开后封存
+        ArchiveSegment reopened = ArchiveSegment.open(directory, 1);
+        assertEquals(committed, reopened.size());
+        assertEquals(2, reopened.entries());
+        reopened.seal();
+
+        // 验证结果
+        assertTrue(reopened.isSealed());
+        ArchiveSegment.Record record = reopened.find("CLAIM-B");
+        assertNotNull(record);
+        assertEquals("bb", new String(record.compressed, StandardCharsets.UTF_8));
+        assertNull(reopened.find("CLAIM-C"));
+        reopened.close();
+
+        ArchiveSegment sealed = ArchiveSegment.open(directory, 1);
+        assertEquals("a", new String(sealed.find("CLAIM-A").compressed, StandardCharsets.UTF_8));
+        sealed.close();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static TravelDelayClaim claim(String claimNumber, ClaimStatus status, LocalDateTime processDate) {
+        return TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyholderName("李四")
+                .policyNumber("POL000000001")
+                .flightNumber("MU5101")
+                .scheduledDeparture(processDate.minusHours(10))
+                .actualDeparture(processDate.minusHours(1))
+                .delayHours(9)
+                .claimedAmount(new BigDecimal("600.00"))
+                .calculatedAmount(new BigDecimal("600.00"))
+                .claimStatus(status)
+                .processDate(processDate)
+                .build();
+    }
+}
@@ -0,0 +1,297 @@
+package com.insurance.claims.service.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.ClaimRuleEngine;
+import com.insurance.claims.service.SimpleRuleEngineService;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.trace.RuleTrace;
+
+/**
+ * 决策审计日志测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:audittest",
+        "claims.audit.directory=target/test-data/decision-audit-replay",
+        "claims.audit.ring-capacity=16"
+})
+class DecisionAuditJournalTest {
+
+    private static final int CLAIMS = 40;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private DecisionAuditJournal journal;
+
+    @Autowired
+    private DecisionAuditReplayer replayer;
+
+    @Autowired
+    private SimpleRuleEngineService simpleRuleEngine;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试并发决策写入审计日志并以相同规则版本全部复现")
+    void testReplayReproducesDecisions() throws Exception {
+        // 准备测试数据：环形缓冲区容量小于申请数，覆盖缓冲区写满时的等待
+        LocalDateTime from = LocalDateTime.now();
+        List<ClaimResponse> responses = submitConcurrently(0);
+        LocalDateTime to = LocalDateTime.now().plusSeconds(1);
+
+        // 执行
+        DecisionReplayReport report = replayer.replay(from, to);
+
+        // 验证结果
+        assertEquals(CLAIMS, report.getDecisions());
+        assertEquals(CLAIMS, report.getReproduced());
+        assertEquals(0, report.getMismatched());
+        assertEquals(0, report.getOtherVersionDecisions());
+        assertEquals(CLAIMS, report.getDecisionsByRecordedVersion().get("simple"));
+
+        List<DecisionAuditRecord> records = new ArrayList<>();
+        journal.read(from, to, records::add);
+        DecisionAuditRecord record = records.stream()
+                .filter(r -> r.getClaimNumber().equals(responses.get(0).getClaimNumber()))
+                .findFirst().orElseThrow();
+        assertEquals("simple", record.getRuleEngine());
+        assertEquals(Integer.valueOf(6), record.getDelayHours());
+        assertEquals(responses.get(0).getStatus(), record.getClaimStatus());
+        assertEquals(0, new BigDecimal("300.00").compareTo(record.getClaimedAmount()));
+        assertEquals(0, journal.read(to.plusMinutes(1), to.plusMinutes(2), r -> { }));
+    }
+
+    @Test
+    @DisplayName("测试测试环境的审计日志写入 target 目录")
+    void testJournalDirectoryUnderTarget() throws Exception {
+        // 准备测试数据
+        Path directory = Path.of((String) journal.stats().get("directory"));
+        Path segment = directory.resolve(String.format("decisions-%010d.seg", journal.stats().get("segment")));
+
+        // 验证结果：目录与段文件大小取自测试配置
+        assertTrue(directory.startsWith(Path.of("target").toAbsolutePath()));
+        assertEquals(1024 * 1024L, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("测试以不同规则版本回放时报告差异")
+    void testReplayWithChangedRules() throws Exception {
+        // 准备测试数据
+        LocalDateTime from = LocalDateTime.now();
+        submitConcurrently(100);
+        LocalDateTime to = LocalDateTime.now().plusSeconds(1);
+        ClaimRuleEngine stricter = new ClaimRuleEngine() {
+            @Override
+            public String engineName() {
+                return "simple";
+            }
+
+            @Override
+            public String ruleVersion(TravelDelayClaim claim) {
+                return "simple-v2";
+            }
+
+            @Override
+            public ClaimDecision executeClaimRules(TravelDelayClaim claim, RuleTrace trace) {
+                ClaimDecision decision = simpleRuleEngine.executeClaimRules(claim, trace);
+                decision.setCompensationAmount(decision.getCompensationAmount().add(BigDecimal.ONE));
+                return decision;
+            }
+        };
+
+        // 执行
+        DecisionReplayReport report = replayer.replay(from, to, stricter);
+
+        // 验证结果
+        assertEquals(CLAIMS, report.getDecisions());
+        assertEquals(CLAIMS, report.getMismatched());
+        assertEquals(0, report.getSameVersionMismatches());
+        assertEquals(CLAIMS, report.getOtherVersionDecisions());
+        assertEquals(Math.min(CLAIMS, DecisionReplayReport.MAX_SAMPLES), report.getSamples().size());
+        assertEquals("simple-v2", report.getSamples().get(0).getReplayVersion());
+    }
+
+    @Test
+    @DisplayName("测试决策事务回滚时不写入审计日志，提交后写入")
+    void testAppendAfterCommitOnly() {
+        // 准备测试数据
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        TravelDelayClaim claim = TravelDelayClaim.builder().claimStatus(TravelDelayClaim.ClaimStatus.APPROVED).build();
+        long appended = (Long) journal.stats().get("appended");
+
+        // 执行
+        template.executeWithoutResult(status -> {
+            journal.append(record("ROLLBACK001"), claim);
+            status.setRollbackOnly();
+        });
+        long afterRollback = (Long) journal.stats().get("appended");
+        template.executeWithoutResult(status -> journal.append(record("COMMIT001"), claim));
+
+        // 验证结果
+        assertEquals(appended, afterRollback);
+        assertEquals(appended + 1, journal.stats().get("appended"));
+    }
+
+    @Test
+    @DisplayName("测试重启后在最后一个段续写并删除超过保留期限的段")
+    void testReopenTailSegment() throws Exception {
+        // 准备测试数据：保留期限之外的旧段
+        Path directory = Path.of("target", "test-data", "decision-audit-reopen");
+        FileSystemUtils.deleteRecursively(directory);
+        Files.createDirectories(directory);
+        Path expired = directory.resolve("decisions-0000000000.seg");
+        Files.write(expired, new byte[8]);
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(30, ChronoUnit.DAYS)));
+        LocalDateTime from = LocalDateTime.now().minusSeconds(1);
+
+        // 执行：两次启动各写入一条记录
+        DecisionAuditJournal first = restart(directory, "REOPEN001");
+        DecisionAuditJournal second = restart(directory, "REOPEN002");
+        List<String> claimNumbers = new ArrayList<>();
+        second.read(from, LocalDateTime.now().plusSeconds(1), r -> claimNumbers.add(r.getClaimNumber()));
+
+        // 验证结果
+        assertEquals(1L, first.stats().get("expiredSegments"));
+        assertEquals(1, second.stats().get("segment"));
+        assertEquals(List.of("REOPEN001", "REOPEN002"), claimNumbers);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("测试写线程阻塞、缓冲区已满时请求线程限时等待后丢弃记录")
+    void testOfferTimesOutWhenRingFull() throws Exception {
+        // 准备测试数据：写线程编码第一条记录时阻塞，随后放满16个位置
+        Path directory = Path.of("target", "test-data", "decision-audit-full");
+        FileSystemUtils.deleteRecursively(directory);
+        DecisionAuditJournal journal = new DecisionAuditJournal(true, directory.toString(), 16, 1024 * 1024, 50,
+                512, 7, 20);
+        journal.init();
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        journal.onDecisionCommitted(new DecisionAuditRecord() {
+            @Override
+            public String getClaimNumber() {
+                writerBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "BLOCKED";
+            }
+        });
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 16; i++) {
+            journal.onDecisionCommitted(record("FULL" + i));
+        }
+
+        // 执行
+        long start = System.nanoTime();
+        journal.onDecisionCommitted(record("DROPPED"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        journal.sync();
+
+        // 验证结果
+        assertTrue(waitedMillis < 2000);
+        assertEquals(1L, journal.stats().get("dropped"));
+        assertEquals(17L, journal.stats().get("written"));
+        journal.close();
+    }
+
+    private static DecisionAuditJournal restart(Path directory, String claimNumber) throws Exception {
+        DecisionAuditJournal restarted = new DecisionAuditJournal(true, directory.toString(), 16, 1024 * 1024, 50,
+                512, 7, 100);
+        restarted.init();
+        restarted.onDecisionCommitted(record(claimNumber));
+        restarted.sync();
+        restarted.close();
+        return restarted;
+    }
+
+    private static DecisionAuditRecord record(String claimNumber) {
+        return DecisionAuditRecord.builder()
+                .decidedAt(LocalDateTime.now())
+                .claimNumber(claimNumber)
+                .ruleEngine("simple")
+                .ruleVersion("simple")
+                .build();
+    }
+
+    private List<ClaimResponse> submitConcurrently(int offset) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ClaimResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < CLAIMS; i++) {
+                TravelDelayClaimRequest request = TravelDelayClaimRequest.builder()
+                        .policyholderName("审计客户" + i)
+                        .policyNumber(String.format("POL%09d", 600000000 + offset + i))
+                        .flightNumber("MU" + (5100 + i))
+                        .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 0))
+                        .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, 0))
+                        .delayReason("天气原因")
+                        .claimedAmount(new BigDecimal("300.00"))
+                        .build();
+                futures.add(executor.submit(() -> claimService.processClaim(request)));
+            }
+            List<ClaimResponse> responses = new ArrayList<>();
+            for (Future<ClaimResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.insurance.claims.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 理赔申请快照缓存测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class ClaimSnapshotCacheTest {
+
+    @Test
+    @DisplayName("测试并发未命中只触发一次加载")
+    void testConcurrentMissesAreCoalesced() throws Exception {
+        // 准备测试数据
+        ClaimSnapshotCache cache = new ClaimSnapshotCache(true, 100, 60);
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // 执行：8个线程同时读取同一申请，加载函数阻塞直到全部线程进入
+        List<Future<Optional<TravelDelayClaim>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> cache.get("CLAIM001", key -> {
+                queries.incrementAndGet();
+                await(release);
+                return Optional.of(claim(key));
+            })));
+        }
+        while (((Number) cache.stats().get("coalescedLoads")).longValue() < 7) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // 验证结果
+        TravelDelayClaim first = futures.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+        for (Future<Optional<TravelDelayClaim>> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        executor.shutdown();
+        assertEquals(1, queries.get());
+        assertEquals(7L, cache.stats().get("coalescedLoads"));
+
+        cache.get("CLAIM001", key -> {
+            throw new AssertionError("缓存命中时不应查询数据库");
+        });
+    }
+
+    @Test
+    @DisplayName("测试加载期间发生失效时不缓存旧快照")
+    void testInvalidationDuringLoad() {
+        // 准备测试数据
+        ClaimSnapshotCache cache = new ClaimSnapshotCache(true, 100, 60);
+        AtomicInteger queries = new AtomicInteger();
+
+        // 执行：加载过程中申请状态发生变更
+        cache.get("CLAIM002", key -> {
+            queries.incrementAndGet();
+            cache.invalidate(key);
+            return Optional.of(claim(key));
+        });
+        cache.get("CLAIM002", key -> {
+            queries.incrementAndGet();
+            return Optional.of(claim(key));
+        });
+
+        // 验证结果：第二次读取重新查询
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    @DisplayName("测试加载期间其他申请失效不影响本次加载写入缓存")
+    void testInvalidationOfOtherClaimDuringLoad() {
+        // 准备测试数据
+        ClaimSnapshotCache cache = new ClaimSnapshotCache(true, 100, 60);
+        AtomicInteger queries = new AtomicInteger();
+
+        // 执行：加载过程中其他申请状态发生变更
+        cache.get("CLAIM003", key -> {
+            queries.incrementAndGet();
+            cache.invalidate("CLAIM004");
+            return Optional.of(claim(key));
+        });
+        cache.get("CLAIM003", key -> {
+            queries.incrementAndGet();
+            return Optional.of(claim(key));
+        });
+
+        // 验证结果：第二次读取命中缓存
+        assertEquals(1, queries.get());
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("测试缓存容量有上限")
+    void testBoundedSize() {
+        // 准备测试数据
+        ClaimSnapshotCache cache = new ClaimSnapshotCache(true, 50, 60);
+
+        // 执行
+        for (int i = 0; i < 500; i++) {
+            cache.get("CLAIM" + i, key -> Optional.of(claim(key)));
+        }
+
+        // 验证结果
+        assertTrue(((Number) cache.stats().get("size")).intValue() <= 50);
+        assertTrue(((Number) cache.stats().get("evictions")).longValue() >= 450);
+    }
+
+    private static TravelDelayClaim claim(String claimNumber) {
+        return TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .claimStatus(TravelDelayClaim.ClaimStatus.PENDING)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.insurance.claims.service.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 布隆过滤器测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class ClaimBloomFilterTest {
+
+    private static final int INSERTIONS = 100_000;
+
+    @Test
+    @DisplayName("测试无漏判且误判率接近目标值")
+    void testFalsePositiveRate() {
+        // 准备测试数据
+        ClaimBloomFilter filter = new ClaimBloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(key(i));
+        }
+
+        // 验证结果：已加入的元素全部命中
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(key(i)), "布隆过滤器不应漏判");
+        }
+
+        // 验证结果：未加入的元素误判率不超过目标值的1.5倍
+        int falsePositives = 0;
+        for (int i = INSERTIONS; i < INSERTIONS * 2; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / INSERTIONS;
+        assertTrue(observed < 0.015, "误判率过高: " + observed);
+        assertEquals(7, filter.hashFunctions());
+        assertTrue(filter.memoryBytes() < 125 * 1024, "内存占用过高: " + filter.memoryBytes());
+    }
+
+    @Test
+    @DisplayName("测试快照写出与读取")
+    void testSnapshotRoundTrip() throws IOException {
+        // 准备测试数据
+        ClaimBloomFilter filter = new ClaimBloomFilter(1_000, 0.01);
+        filter.put(key(1));
+        filter.put(key(2));
+
+        // 执行快照写出与读取
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        ClaimBloomFilter restored = ClaimBloomFilter.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // 验证结果
+        assertTrue(restored.mightContain(key(1)));
+        assertTrue(restored.mightContain(key(2)));
+        assertEquals(filter.insertions(), restored.insertions());
+        assertEquals(filter.bitSize(), restored.bitSize());
+    }
+
+    private static String key(int i) {
+        return String.format("POL%09d|CZ%04d|2025-06-26T08:30", i, i % 10_000);
+    }
+}
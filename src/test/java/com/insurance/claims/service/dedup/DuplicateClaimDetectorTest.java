@@ -0,0 +1,139 @@
+package com.insurance.claims.service.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.TravelDelayClaimService;
+
+/**
+ * 重复理赔申请检测服务测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dedupdetectortest",
+        "claims.dedup.snapshot-path=target/test-data/dedup-detector-test.bloom"
+})
+class DuplicateClaimDetectorTest {
+
+    private static final int SUBMITTERS = 8;
+
+    private static final LocalDateTime SCHEDULED = LocalDateTime.of(2025, 6, 26, 8, 0);
+
+    @Autowired
+    private DuplicateClaimDetector duplicateClaimDetector;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试并发提交相同申请时只有一条被判定为首个申请，其余按重复申请拒赔")
+    void testConcurrentDuplicateSubmissions() throws Exception {
+        // 准备测试数据
+        TravelDelayClaimRequest request = TravelDelayClaimRequest.builder()
+                .policyholderName("张三")
+                .policyNumber("POL700000001")
+                .flightNumber("CA1501")
+                .scheduledDeparture(SCHEDULED)
+                .actualDeparture(SCHEDULED.plusHours(6))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal("300.00"))
+                .build();
+
+        // 执行：所有线程同时提交
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMITTERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < SUBMITTERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return claimService.processClaim(request);
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // 验证结果
+        List<TravelDelayClaim> claims = claimRepository.findByPolicyNumber("POL700000001");
+        assertEquals(SUBMITTERS, claims.size());
+        assertEquals(1, claims.stream().filter(claim -> claim.getDedupKey() != null).count());
+        assertEquals(SUBMITTERS - 1, claims.stream()
+                .filter(claim -> claim.getReasonCode() == ClaimReasonCode.DUPLICATE_CLAIM).count());
+    }
+
+    @Test
+    @DisplayName("测试重建开始时尚未提交的申请不会从新过滤器中丢失")
+    void testRebuildKeepsUncommittedKeys() {
+        // 准备测试数据：申请已登记但事务未提交时完成重建，数据库扫描看不到该申请
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            TravelDelayClaim saved = claimRepository.save(claim("CLAIM-DEDUP-1"));
+            duplicateClaimDetector.register(saved);
+
+            Thread rebuild = new Thread(duplicateClaimDetector::rebuild);
+            rebuild.start();
+            try {
+                rebuild.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // 执行
+        DuplicateClaimDetector.Result result = duplicateClaimDetector.check(claim("CLAIM-DEDUP-2"));
+
+        // 验证结果
+        assertEquals(DuplicateClaimDetector.Result.DUPLICATE, result);
+    }
+
+    private static TravelDelayClaim claim(String claimNumber) {
+        return TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyholderName("李四")
+                .policyNumber("POL700000002")
+                .flightNumber("MU5101")
+                .scheduledDeparture(SCHEDULED)
+                .claimedAmount(new BigDecimal("300.00"))
+                .claimStatus(TravelDelayClaim.ClaimStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.insurance.claims.service.fraud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 分段锁滑动窗口计数器测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class SlidingWindowCounterTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    @DisplayName("测试窗口内计数与滑出窗口")
+    void testSlidingWindow() {
+        // 准备测试数据：24个1小时的时间槽
+        SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 24, 8);
+        long start = 1_000 * HOUR;
+
+        // 执行计数
+        assertEquals(1, counter.incrementAndGet("POL123456789", start));
+        assertEquals(2, counter.incrementAndGet("POL123456789", start + 2 * HOUR));
+        assertEquals(1, counter.incrementAndGet("POL987654321", start));
+
+        // 验证结果：第一次申请在24小时后滑出窗口
+        assertEquals(2, counter.get("POL123456789", start + 23 * HOUR));
+        assertEquals(1, counter.get("POL123456789", start + 24 * HOUR));
+        assertEquals(0, counter.get("POL123456789", start + 26 * HOUR));
+        assertEquals(0, counter.get("UNKNOWN", start));
+    }
+
+    @Test
+    @DisplayName("测试窗口内的迟到事件")
+    void testLateEvent() {
+        // 准备测试数据
+        SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 24, 8);
+        long start = 1_000 * HOUR;
+        counter.incrementAndGet("POL123456789", start + 5 * HOUR);
+
+        // 执行计数：窗口内的迟到事件计入，窗口外的忽略
+        assertEquals(2, counter.incrementAndGet("POL123456789", start + HOUR));
+        assertEquals(2, counter.incrementAndGet("POL123456789", start - 30 * HOUR));
+    }
+
+    @Test
+    @DisplayName("测试并发计数")
+    void testConcurrentIncrements() throws InterruptedException {
+        // 准备测试数据
+        SlidingWindowCounter counter = new SlidingWindowCounter(HOUR, 24, 4);
+        long now = 1_000 * HOUR;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // 执行并发计数
+        for (int i = 0; i < 8_000; i++) {
+            String key = "POL00000000" + (i % 10);
+            executor.execute(() -> counter.incrementAndGet(key, now));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // 验证结果
+        assertEquals(10, counter.size());
+        assertEquals(800, counter.get("POL000000003", now));
+    }
+}
@@ -0,0 +1,146 @@
+package com.insurance.claims.service.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.insurance.claims.controller.ConcurrencyLimitFilter;
+
+/**
+ * 自适应并发限制测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("测试并发饱和且延迟稳定时放大上限")
+    void testGrowsWhenSaturated() {
+        // 准备测试数据
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 1.5);
+
+        // 执行：每轮占满上限后以稳定延迟释放
+        for (int round = 0; round < 20; round++) {
+            saturateAndRelease(limiter, FAST);
+        }
+
+        // 验证结果
+        assertEquals(100, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("测试延迟升高时收缩上限并拒绝超额请求")
+    void testShrinksWhenLatencyRises() {
+        // 准备测试数据：以低延迟建立基线
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 1.5);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+        int baseline = limiter.limit();
+
+        // 执行：延迟升高20倍（持续高延迟时长期均值会逐步跟随，上限随后回升，这里只验证突增后的收缩）
+        for (int round = 0; round < 3; round++) {
+            saturateAndRelease(limiter, SLOW);
+        }
+
+        // 验证结果
+        assertTrue(limiter.limit() < baseline / 2, "上限应收缩: " + limiter.limit());
+        while (limiter.tryAcquire()) {
+            // 占满当前上限
+        }
+        assertEquals(limiter.limit(), limiter.inflight());
+        assertFalse(limiter.tryAcquire());
+        assertTrue(limiter.shed() >= 2);
+    }
+
+    @Test
+    @DisplayName("测试空闲时不放大上限")
+    void testDoesNotGrowWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 1.5);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("测试超过提交通道上限时返回503与Retry-After，其他通道不受影响")
+    void testFilterShedsSubmitLane() throws Exception {
+        // 准备测试数据：提交通道上限为1且已被占用
+        AdaptiveConcurrencyLimiter submit = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5);
+        AdaptiveConcurrencyLimiter read = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5);
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(
+                Map.of(TrafficLane.SUBMIT, submit, TrafficLane.READ, read));
+        assertTrue(submit.tryAcquire());
+
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(registry, true, 2);
+
+        // 执行
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/claims/submit"), rejected, new MockFilterChain());
+        MockHttpServletResponse served = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/claims/CLAIM20250626143000"), served,
+                new MockFilterChain());
+
+        // 验证结果
+        assertEquals(503, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("SUBMIT"));
+        assertEquals(200, served.getStatus());
+        assertEquals(1, submit.shed());
+        assertEquals(0, read.inflight());
+        assertEquals(1, read.accepted());
+        assertNull(ConcurrencyLimitFilter.laneOf("GET", "/actuator/health"));
+        assertEquals(TrafficLane.REVIEW, ConcurrencyLimitFilter.laneOf("POST", "/claims/C1/review"));
+    }
+
+    @Test
+    @DisplayName("测试带路径参数、百分号编码或上下文路径的提交请求仍归入提交通道")
+    void testFilterNormalizesLookupPath() throws Exception {
+        // 准备测试数据：提交通道上限为1且已被占用
+        AdaptiveConcurrencyLimiter submit = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.5);
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(Map.of(TrafficLane.SUBMIT, submit));
+        assertTrue(submit.tryAcquire());
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(registry, true, 1);
+        MockHttpServletRequest contextPath = new MockHttpServletRequest("POST", "/api/claims/submit");
+        contextPath.setContextPath("/api");
+
+        // 执行与验证结果
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {
+                new MockHttpServletRequest("POST", "/claims/submit;x=1"),
+                new MockHttpServletRequest("POST", "/claims/%73ubmit"),
+                new MockHttpServletRequest("POST", "/claims//submit"),
+                contextPath }) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(503, response.getStatus(), request.getRequestURI());
+        }
+        assertEquals(4, submit.shed());
+    }
+
+    private static void saturateAndRelease(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
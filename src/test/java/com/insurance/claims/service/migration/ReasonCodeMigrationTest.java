@@ -0,0 +1,161 @@
+package com.insurance.claims.service.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.store.ClaimStorageJson;
+
+/**
+ * 决策原因代码迁移测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reasonmigrationtest",
+        "claims.reason-migration.batch-size=2"
+})
+class ReasonCodeMigrationTest {
+
+    @Autowired
+    private ReasonCodeMigration migration;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试旧版整句审核结果分批迁移为原因代码，收尾时才删除旧列")
+    void testMigrateLegacyRows() {
+        // 准备测试数据：模拟迁移前的表结构与数据
+        jdbcTemplate.execute("ALTER TABLE travel_delay_claim ADD COLUMN approval_result VARCHAR(255)");
+        legacy("MIG001", "延误6小时，符合4-8小时理赔条件", null);
+        legacy("MIG002", "延误3小时，不足4小时不符合理赔条件", null);
+        legacy("MIG003", "延误时长异常（30小时），需要人工审核",
+                "需要人工审核: 延误时长超过24小时，建议核实航班信息和延误原因");
+        legacy("MIG004", "延误5小时，符合高端产品4-8小时理赔条件", null);
+        legacy("MIG005", "人工审核通过", "资料齐全");
+
+        // 执行：启动迁移不修改旧列
+        int migrated = migration.migrate();
+
+        // 验证结果
+        assertEquals(5, migrated);
+        TravelDelayClaim ranged = find("MIG001");
+        assertEquals(ClaimReasonCode.DELAY_WITHIN_RANGE, ranged.getReasonCode());
+        assertEquals("6|4|8", ranged.getReasonParams());
+        assertEquals("延误6小时，符合4-8小时理赔条件", ranged.getApprovalResult());
+        assertEquals("延误3小时，不足4小时不符合理赔条件", find("MIG002").getApprovalResult());
+
+        TravelDelayClaim review = find("MIG003");
+        assertEquals(ClaimReasonCode.ABNORMAL_DELAY, review.getReasonCode());
+        assertEquals(ClaimReasonCode.REVIEW_ABNORMAL_DELAY, review.getReviewCode());
+
+        TravelDelayClaim unknown = find("MIG004");
+        assertEquals(ClaimReasonCode.LEGACY_TEXT, unknown.getReasonCode());
+        assertEquals("延误5小时，符合高端产品4-8小时理赔条件", unknown.getApprovalResult());
+
+        TravelDelayClaim manual = find("MIG005");
+        assertEquals(ClaimReasonCode.MANUAL_APPROVED, manual.getReasonCode());
+        assertEquals("资料齐全", manual.getApprovalNotes());
+
+        assertEquals("延误6小时，符合4-8小时理赔条件", jdbcTemplate.queryForObject(
+                "SELECT approval_result FROM travel_delay_claim WHERE claim_number = 'MIG001'", String.class));
+        assertEquals(1L, migration.status().get("shardsWithLegacyColumn"));
+        assertEquals(0, migration.migrate());
+
+        // 执行：旧版本实例在收尾前写入的申请由收尾转换
+        legacy("MIG006", "延误3小时，不足4小时不符合理赔条件", null);
+        int finalized = migration.finalizeMigration();
+
+        // 验证结果
+        assertEquals(1, finalized);
+        assertEquals(ClaimReasonCode.DELAY_BELOW_MINIMUM, find("MIG006").getReasonCode());
+        assertNull(find("MIG003").getApprovalNotes());
+        assertEquals("资料齐全", find("MIG005").getApprovalNotes());
+        assertFalse(jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS"
+                + " WHERE TABLE_NAME = 'TRAVEL_DELAY_CLAIM'", String.class).contains("APPROVAL_RESULT"));
+        assertEquals(0L, migration.status().get("shardsWithLegacyColumn"));
+        assertEquals(0, migration.migrate());
+    }
+
+    @Test
+    @DisplayName("测试原因文本按语言渲染且持久化报文不含渲染文本")
+    void testLocalizedRendering() throws Exception {
+        // 准备测试数据
+        TravelDelayClaim claim = TravelDelayClaim.builder().claimNumber("LOC001").build();
+        claim.recordReason(ClaimReasonCode.DELAY_AT_LEAST, ClaimReasonCode.params(9, 8, null),
+                ClaimReasonCode.REVIEW_FREQUENCY, ClaimReasonCode.params(24, 4, 3, 4, 5, 1, 500));
+
+        // 执行
+        String chinese = claim.getApprovalResult();
+        LocaleContextHolder.setLocale(Locale.US);
+        String english = claim.getApprovalResult();
+        String stored = ClaimStorageJson.mapper(objectMapper).writeValueAsString(claim);
+
+        // 验证结果
+        assertEquals("延误9小时，符合8小时以上理赔条件", chinese);
+        assertEquals("Delayed 9 hours, eligible under the 8+ hour tier", english);
+        assertEquals("Unusual claim frequency, possible fraud, verify manually: within 24 hours, 4 claims on this policy"
+                + " (limit 3), 4 by this policyholder (limit 5), 1 on this flight (limit 500)", claim.getReviewSuggestion());
+        Map<?, ?> json = objectMapper.readValue(stored, Map.class);
+        assertFalse(json.containsKey("approvalResult"));
+        assertFalse(json.containsKey("reviewSuggestion"));
+        assertEquals("DELAY_AT_LEAST", json.get("reasonCode"));
+        assertEquals("24|4|3|4|5|1|500", json.get("reviewParams"));
+
+        // 迁移前写入的归档报文只有整句审核结果
+        TravelDelayClaim archived = ClaimStorageJson.mapper(objectMapper).readValue(
+                "{\"claimNumber\":\"LOC002\",\"approvalResult\":\"延误6小时，符合4-8小时理赔条件\"}",
+                TravelDelayClaim.class);
+        assertEquals(ClaimReasonCode.DELAY_WITHIN_RANGE, archived.getReasonCode());
+        assertEquals(List.of("6", "4", "8"), ClaimReasonCode.decodeParams(archived.getReasonParams()));
+    }
+
+    private void legacy(String claimNumber, String approvalResult, String approvalNotes) {
+        claimRepository.save(TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyholderName("迁移客户")
+                .policyNumber("POL000000001")
+                .approvalNotes(approvalNotes)
+                .build());
+        jdbcTemplate.update("UPDATE travel_delay_claim SET approval_result = ? WHERE claim_number = ?",
+                approvalResult, claimNumber);
+    }
+
+    private TravelDelayClaim find(String claimNumber) {
+        return claimRepository.findByClaimNumber(claimNumber).orElseThrow();
+    }
+}
@@ -0,0 +1,233 @@
+package com.insurance.claims.service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.event.ClaimDecisionEvent;
+import com.insurance.claims.model.ClaimOutboxEvent;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.repository.ClaimOutboxRepository;
+import com.insurance.claims.repository.OutboxPartitionLeaseRepository;
+import com.insurance.claims.repository.SettlementRunRepository;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.settlement.SettlementService;
+
+/**
+ * 发件箱中继测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxtest",
+        "claims.outbox.sink=memory",
+        "claims.outbox.partitions=4",
+        "claims.outbox.pollers=2",
+        "claims.outbox.batch-size=3",
+        "claims.outbox.poll-interval-millis=3600000",
+        "claims.settlement.output-dir=target/test-settlements"
+})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private ClaimOutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxPartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private InterceptingSink interceptingSink;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private SettlementRunRepository runRepository;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+        runRepository.deleteAll();
+        outboxRepository.deleteAll();
+        sink.clear();
+        interceptingSink.beforePublish = null;
+    }
+
+    @Test
+    @DisplayName("测试同一申请的事件按状态变更顺序投递")
+    void testPerClaimOrdering() {
+        // 准备测试数据：每条申请先人工审核通过，再结算支付
+        for (int i = 0; i < 10; i++) {
+            savePendingClaim("OUTBOX" + i);
+            claimService.manualReview("OUTBOX" + i, true, "同意", null, null);
+        }
+        settlementService.runNow();
+        assertEquals(20, outboxRepository.countByPublishedAtIsNull());
+
+        // 执行投递
+        int published = relay.pollOnce(0) + relay.pollOnce(1);
+
+        // 验证结果
+        assertEquals(20, published);
+        assertEquals(0, outboxRepository.countByPublishedAtIsNull());
+        assertEquals(0, relay.pollOnce(0) + relay.pollOnce(1));
+
+        Map<String, List<String>> typesByClaim = new HashMap<>();
+        for (ClaimOutboxEvent event : sink.received()) {
+            typesByClaim.computeIfAbsent(event.getClaimNumber(), key -> new ArrayList<>()).add(event.getEventType());
+        }
+        assertEquals(10, typesByClaim.size());
+        typesByClaim.values().forEach(types -> assertEquals(List.of("REVIEWED", "PAID"), types));
+    }
+
+    @Test
+    @DisplayName("测试事务回滚时不写入发件箱")
+    void testRollbackDiscardsOutboxEvent() {
+        // 执行：在事务中发布事件后回滚
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ClaimDecisionEvent.builder()
+                    .type(ClaimDecisionEvent.Type.DECIDED)
+                    .claimNumber("OUTBOX-ROLLBACK")
+                    .claimStatus(ClaimStatus.APPROVED)
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+            status.setRollbackOnly();
+        });
+
+        // 验证结果
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, relay.pollOnce(0) + relay.pollOnce(1));
+        assertEquals(0, sink.received().size());
+    }
+
+    @Test
+    @DisplayName("测试投递期间租约被他人接管时不标记已投递")
+    void testLostLeaseSkipsMark() {
+        // 准备测试数据：投递时模拟租约过期并被其他节点接管
+        savePendingClaim("OUTBOX-LEASE");
+        claimService.manualReview("OUTBOX-LEASE", true, "同意", null, null);
+        assertEquals(1, outboxRepository.countByPublishedAtIsNull());
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        interceptingSink.beforePublish = batch -> template.executeWithoutResult(status -> {
+            LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+            int partition = batch.get(0).getPartitionKey();
+            leaseRepository.findById(partition).ifPresent(lease -> {
+                lease.setLeaseExpiresAt(past);
+                leaseRepository.save(lease);
+            });
+            leaseRepository.acquire(partition, "relay-other", LocalDateTime.now().plusSeconds(30),
+                    LocalDateTime.now());
+        });
+
+        // 执行投递
+        int published = relay.pollOnce(0) + relay.pollOnce(1);
+
+        // 验证结果：事件已送出但未被标记，仍归新持有者，旧持有者也未释放他人的租约
+        assertEquals(0, published);
+        assertEquals(1, sink.received().size());
+        assertEquals(1, outboxRepository.countByPublishedAtIsNull());
+        assertTrue(leaseRepository.findAll().stream()
+                .anyMatch(lease -> "relay-other".equals(lease.getLeaseOwner())));
+
+        // 新持有者释放后重新投递（至少一次）
+        interceptingSink.beforePublish = null;
+        leaseRepository.findAll().forEach(lease -> template.executeWithoutResult(
+                status -> leaseRepository.release(lease.getPartitionId(), "relay-other")));
+        assertEquals(1, relay.pollOnce(0) + relay.pollOnce(1));
+        assertEquals(0, outboxRepository.countByPublishedAtIsNull());
+        assertEquals(2, sink.received().size());
+    }
+
+    private void savePendingClaim(String claimNumber) {
+        claimRepository.save(TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyholderName("张三")
+                .policyNumber("POL" + claimNumber)
+                .flightNumber("CA1234")
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 30))
+                .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, 30))
+                .delayHours(6)
+                .claimedAmount(new BigDecimal("300.00"))
+                .calculatedAmount(new BigDecimal("300.00"))
+                .claimStatus(ClaimStatus.PENDING)
+                .claimDate(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * 包装进程内投递目标，允许测试在投递前插入操作
+     */
+    static class InterceptingSink implements OutboxSink {
+
+        private final InMemoryOutboxSink delegate;
+        volatile Consumer<List<ClaimOutboxEvent>> beforePublish;
+
+        InterceptingSink(InMemoryOutboxSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void publish(List<ClaimOutboxEvent> batch) throws Exception {
+            Consumer<List<ClaimOutboxEvent>> hook = beforePublish;
+            if (hook != null) {
+                hook.accept(batch);
+            }
+            delegate.publish(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        @Primary
+        InterceptingSink interceptingSink(InMemoryOutboxSink delegate) {
+            return new InterceptingSink(delegate);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.insurance.claims.service.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 决策表与等价DRL规则的性能对比测试
+ * 默认构建不执行，运行方式：mvn -Pbenchmark test
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Tag("benchmark")
+class DecisionTableBenchmarkTest {
+
+    private static final int REGIONS = 200;
+    private static final int BANDS = 25;
+    private static final int BAND_HOURS = 4;
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    @DisplayName("对比5000行决策表与等价DRL规则的编译和决策耗时")
+    void compareWithDrl() {
+        // 准备测试数据
+        List<DecisionTableRuleSet.Row> rows = new ArrayList<>(REGIONS * BANDS);
+        StringBuilder drl = new StringBuilder(1 << 20)
+                .append("package rules.bench\n")
+                .append("import com.insurance.claims.model.TravelDelayClaim\n")
+                .append("import com.insurance.claims.model.ClaimDecision\n")
+                .append("import java.math.BigDecimal\n")
+                .append("global org.slf4j.Logger logger\n");
+        for (int region = 0; region < REGIONS; region++) {
+            for (int band = 0; band < BANDS; band++) {
+                int index = region * BANDS + band;
+                int min = band * BAND_HOURS;
+                int max = min + BAND_HOURS;
+                String amount = (region + 1) + "." + String.format("%02d", band);
+                String ruleName = "bench-" + index;
+                rows.add(new DecisionTableRuleSet.Row(regionCode(region), min, max, true, new BigDecimal(amount),
+                        ClaimDecision.RiskLevel.LOW, false, ruleName, null, null));
+                drl.append("rule \"").append(ruleName).append("\"\n")
+                        .append("    salience ").append(REGIONS * BANDS - index).append('\n')
+                        .append("    when\n")
+                        .append("        TravelDelayClaim(productCode == \"BENCH-").append(regionCode(region))
+                        .append("\", delayHours >= ").append(min).append(", delayHours < ").append(max).append(")\n")
+                        .append("        $decision: ClaimDecision(ruleName == null)\n")
+                        .append("    then\n")
+                        .append("        modify($decision) { setEligible(true), setCompensationAmount(new BigDecimal(\"")
+                        .append(amount).append("\")), setRuleName(\"").append(ruleName).append("\") };\n")
+                        .append("end\n");
+            }
+        }
+
+        // 执行：编译
+        long start = System.nanoTime();
+        DecisionTableRuleSet table = DecisionTableRuleSet.compile("bench-table", rows);
+        long tableCompileNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        DrlRuleSet drlRuleSet = compileDrl(drl.toString());
+        long drlCompileNanos = System.nanoTime() - start;
+
+        // 执行：决策（两者结果需一致）
+        for (int i = 0; i < 500; i++) {
+            ClaimDecision expected = decide(drlRuleSet, i);
+            ClaimDecision actual = decide(table, i);
+            assertEquals(expected.getRuleName(), actual.getRuleName());
+            assertEquals(expected.getCompensationAmount(), actual.getCompensationAmount());
+        }
+        long tableNanos = measure(table, ITERATIONS);
+        long drlNanos = measure(drlRuleSet, ITERATIONS / 20);
+
+        // 验证结果
+        System.out.printf("决策表 %d 行: 编译 %d ms, 单次决策 %d ns%n",
+                table.rowCount(), tableCompileNanos / 1_000_000, tableNanos);
+        System.out.printf("等价DRL %d 条规则: 编译 %d ms, 单次决策 %d ns%n",
+                rows.size(), drlCompileNanos / 1_000_000, drlNanos);
+        assertFalse(decide(table, REGIONS * BANDS * 7).getRuleName() == null);
+    }
+
+    private static String regionCode(int region) {
+        return String.format("R%03d", region);
+    }
+
+    private static TravelDelayClaim claim(int seed) {
+        return TravelDelayClaim.builder()
+                .productCode("BENCH-" + regionCode(Math.floorMod(seed * 31, REGIONS)))
+                .delayHours(Math.floorMod(seed * 7, BANDS * BAND_HOURS))
+                .build();
+    }
+
+    private static ClaimDecision decide(ProductRuleSet ruleSet, int seed) {
+        ClaimDecision decision = ClaimDecision.builder().eligible(false).compensationAmount(BigDecimal.ZERO).build();
+        ruleSet.execute(claim(seed), decision, null);
+        return decision;
+    }
+
+    private static long measure(ProductRuleSet ruleSet, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            decide(ruleSet, i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decide(ruleSet, i);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static DrlRuleSet compileDrl(String drl) {
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = kieServices.newReleaseId("com.insurance.claims", "rules-bench", "1.0.0");
+        KieFileSystem fileSystem = kieServices.newKieFileSystem();
+        fileSystem.generateAndWritePomXML(releaseId);
+        fileSystem.write("src/main/resources/rules/bench/bench.drl", drl);
+        KieBuilder builder = kieServices.newKieBuilder(fileSystem).buildAll();
+        if (builder.getResults().hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("DRL编译失败: " + builder.getResults().getMessages());
+        }
+        return new DrlRuleSet("bench-drl", kieServices.newKieContainer(releaseId).getKieBase());
+    }
+}
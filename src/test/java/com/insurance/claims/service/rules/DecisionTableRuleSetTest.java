@@ -0,0 +1,123 @@
+package com.insurance.claims.service.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+
+/**
+ * 决策表规则集测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class DecisionTableRuleSetTest {
+
+    private static final String CSV = String.join("\n",
+            "# 测试决策表",
+            "region,min_delay_hours,max_delay_hours,eligible,amount,risk_level,manual_review,rule_name,reason_code,review_code",
+            "EU,4,,true,800.00,LOW,false,欧洲4小时以上,,",
+            ",,4,false,0,LOW,false,不足4小时,,",
+            ",4,8,true,500.00,LOW,false,4-8小时,,",
+            ",6,12,true,999.00,LOW,false,被前面的行覆盖,,",
+            ",8,,true,1000.00,MEDIUM,true,8小时以上,abnormal_delay,review_abnormal_delay");
+
+    @Test
+    @DisplayName("测试CSV决策表按行序与地区匹配")
+    void testCsvLookup() {
+        // 准备测试数据
+        DecisionTableRuleSet table = DecisionTableRuleSet.compile("test", DecisionTableLoader.load("test.csv",
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8))));
+
+        // 验证结果
+        assertEquals(5, table.rowCount());
+        assertEquals("不足4小时", decide(table, "INTL", -2).getRuleName());
+        assertEquals("延误3小时，不足4小时不符合理赔条件", decide(table, "INTL", 3).getReason());
+        assertEquals(ClaimReasonCode.DELAY_WITHIN_RANGE, decide(table, "INTL", 7).getReasonCode());
+        assertEquals(List.of("7", "4", "8"), decide(table, "INTL", 7).getReasonParams());
+        assertEquals(ClaimReasonCode.DELAY_AT_LEAST, decide(table, "INTL-EU", 7).getReasonCode());
+        assertEquals(new BigDecimal("500.00"), decide(table, "INTL", 7).getCompensationAmount());
+        assertEquals(new BigDecimal("800.00"), decide(table, "INTL-EU", 7).getCompensationAmount());
+        assertFalse(decide(table, "INTL-EU", 3).isEligible());
+
+        ClaimDecision review = decide(table, "INTL-US", 100);
+        assertEquals(new BigDecimal("1000.00"), review.getCompensationAmount());
+        assertTrue(review.isRequiresManualReview());
+        assertEquals(ClaimReasonCode.ABNORMAL_DELAY, review.getReasonCode());
+        assertEquals(ClaimReasonCode.REVIEW_ABNORMAL_DELAY, review.getReviewCode());
+        assertEquals("延误时长超过24小时，建议核实航班信息和延误原因", review.getReviewSuggestion());
+    }
+
+    @Test
+    @DisplayName("测试Excel决策表解析")
+    void testExcelLookup() throws IOException {
+        // 准备测试数据：表头前有标题行
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("赔付档位");
+            sheet.createRow(0).createCell(0).setCellValue("国际产品赔付档位");
+            writeRow(sheet.createRow(2), "region", "min_delay_hours", "max_delay_hours", "eligible", "amount",
+                    "risk_level", "manual_review", "rule_name", "reason_code");
+            Row row = sheet.createRow(3);
+            row.createCell(1).setCellValue(4);
+            row.createCell(2).setCellValue(8);
+            row.createCell(3).setCellValue("true");
+            row.createCell(4).setCellValue(500);
+            row.createCell(5).setCellValue("LOW");
+            row.createCell(6).setCellValue("false");
+            row.createCell(7).setCellValue("延误4-8小时理赔规则");
+            row.createCell(8).setCellValue("DELAY_WITHIN_RANGE");
+            workbook.write(bytes);
+        }
+
+        // 执行
+        DecisionTableRuleSet table = DecisionTableRuleSet.compile("excel",
+                DecisionTableLoader.load("tiers.xlsx", new ByteArrayInputStream(bytes.toByteArray())));
+
+        // 验证结果
+        assertEquals(1, table.rowCount());
+        ClaimDecision decision = decide(table, null, 5);
+        assertEquals("延误4-8小时理赔规则", decision.getRuleName());
+        assertEquals("延误5小时，符合4-8小时理赔条件", decision.getReason());
+        assertEquals(0, new BigDecimal("500").compareTo(decision.getCompensationAmount()));
+        assertEquals(null, decide(table, null, 9).getRuleName());
+    }
+
+    @Test
+    @DisplayName("测试延误时长区间超出上限时拒绝编译")
+    void testRejectsOversizedRange() {
+        List<DecisionTableRuleSet.Row> rows = List.of(new DecisionTableRuleSet.Row(null, 0,
+                DecisionTableRuleSet.MAX_DENSE_HOURS + 1, true, BigDecimal.TEN, null, false, "超大区间", null, null));
+        assertThrows(IllegalArgumentException.class, () -> DecisionTableRuleSet.compile("oversized", rows));
+    }
+
+    private static ClaimDecision decide(DecisionTableRuleSet table, String productCode, int delayHours) {
+        ClaimDecision decision = ClaimDecision.builder().eligible(false).compensationAmount(BigDecimal.ZERO).build();
+        table.execute(TravelDelayClaim.builder().productCode(productCode).delayHours(delayHours).build(),
+                decision, null);
+        return decision;
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
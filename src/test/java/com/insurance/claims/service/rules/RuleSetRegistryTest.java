@@ -0,0 +1,110 @@
+package com.insurance.claims.service.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.DroolsRuleEngineService;
+
+/**
+ * 产品规则集注册表测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class RuleSetRegistryTest {
+
+    private RuleSetRegistry registry;
+    private DroolsRuleEngineService engine;
+
+    @BeforeEach
+    void setUp() {
+        registry = new RuleSetRegistry("rules/core/claim-core.drl", "rules/products", "domestic",
+                Map.of("DOMESTIC", "domestic", "INTL", "international", "premium", "premium"));
+        engine = new DroolsRuleEngineService(registry);
+    }
+
+    @Test
+    @DisplayName("测试产品代码路由")
+    void testResolve() {
+        assertEquals("domestic", registry.resolve(null));
+        assertEquals("international", registry.resolve("INTL"));
+        assertEquals("international", registry.resolve("INTL-EU"));
+        assertEquals("premium", registry.resolve("PREMIUM"));
+        assertEquals("domestic", registry.resolve("UNKNOWN"));
+
+        // 产品代码不区分大小写，与路由配置的键一致
+        assertEquals("international", registry.resolve("intl"));
+        assertEquals("international", registry.resolve("Intl-eu"));
+        assertEquals("premium", registry.resolve("premium"));
+    }
+
+    @Test
+    @DisplayName("测试产品规则集按需加载并共用核心规则")
+    void testLazyLoadingSharesCore() {
+        // 验证初始状态：只编译了核心规则
+        assertTrue(registry.loadedRuleSets().isEmpty());
+
+        // 执行：核心规则作出决策时不加载产品规则集
+        ClaimDecision review = engine.executeClaimRules(claim("PREMIUM", 30), null);
+        assertEquals("异常延误审核规则", review.getRuleName());
+        assertTrue(registry.loadedRuleSets().isEmpty());
+
+        // 执行：不同产品各自加载规则集
+        engine.executeClaimRules(claim("INTL-EU", 6), null);
+        engine.executeClaimRules(claim("PREMIUM", 6), null);
+
+        // 验证结果
+        assertEquals(Set.of("international", "premium"), registry.loadedRuleSets());
+        assertSame(registry.productRuleSet("premium"), registry.productRuleSet("premium"));
+        assertTrue(registry.productRuleSet("international") instanceof DrlRuleSet);
+        assertTrue(registry.productRuleSet("premium") instanceof DecisionTableRuleSet);
+    }
+
+    @Test
+    @DisplayName("测试各产品的赔付档位")
+    void testProductTiers() {
+        assertAmount("300.00", engine.executeClaimRules(claim(null, 6), null));
+        assertAmount("600.00", engine.executeClaimRules(claim("DOMESTIC", 10), null));
+        assertAmount("500.00", engine.executeClaimRules(claim("INTL", 6), null));
+        assertAmount("1000.00", engine.executeClaimRules(claim("INTL-US", 10), null));
+        assertAmount("200.00", engine.executeClaimRules(claim("PREMIUM", 3), null));
+        assertAmount("1200.00", engine.executeClaimRules(claim("PREMIUM", 10), null));
+
+        ClaimDecision rejected = engine.executeClaimRules(claim("DOMESTIC", 3), null);
+        assertFalse(rejected.isEligible());
+        assertEquals("延误不足4小时拒赔规则", rejected.getRuleName());
+    }
+
+    private static void assertAmount(String expected, ClaimDecision decision) {
+        assertTrue(decision.isEligible());
+        assertEquals(0, new BigDecimal(expected).compareTo(decision.getCompensationAmount()),
+                "理赔金额应为" + expected + "元，实际为" + decision.getCompensationAmount());
+    }
+
+    private static TravelDelayClaim claim(String productCode, int delayHours) {
+        LocalDateTime scheduled = LocalDateTime.of(2025, 6, 26, 8, 0);
+        return TravelDelayClaim.builder()
+                .claimNumber("RULESET" + delayHours)
+                .productCode(productCode)
+                .policyholderName("张三")
+                .policyNumber("POL123456789")
+                .flightNumber("CA1234")
+                .scheduledDeparture(scheduled)
+                .actualDeparture(scheduled.plusHours(delayHours))
+                .delayHours(delayHours)
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.insurance.claims.service.settlement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.insurance.claims.model.SettlementRun;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.repository.SettlementRunRepository;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+
+/**
+ * 赔款结算服务测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "claims.settlement.chunk-size=7",
+        "claims.settlement.output-dir=target/test-settlements"
+})
+class SettlementServiceTest {
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private SettlementRunRepository runRepository;
+
+    @AfterEach
+    void tearDown() {
+        claimRepository.deleteAll();
+        runRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("测试分块结算已批准申请")
+    void testSettleApprovedClaims() throws IOException {
+        // 准备测试数据：20条已批准、5条已拒绝
+        saveClaims(20, ClaimStatus.APPROVED);
+        saveClaims(5, ClaimStatus.REJECTED);
+
+        // 执行结算
+        SettlementRun run = settlementService.runNow().get(0);
+
+        // 验证结果
+        assertEquals(SettlementRun.Status.COMPLETED, run.getStatus());
+        assertEquals(20, run.getClaimCount());
+        assertEquals(new BigDecimal("6000.00"), run.getTotalAmount());
+        assertEquals(20, claimRepository.findByClaimStatus(ClaimStatus.PAID).size());
+        assertEquals(5, claimRepository.findByClaimStatus(ClaimStatus.REJECTED).size());
+
+        List<String> lines = Files.readAllLines(Paths.get(run.getFilePath()), StandardCharsets.UTF_8);
+        assertEquals(22, lines.size());
+        assertTrue(lines.get(0).startsWith("H|"));
+        assertEquals("T|20|6000.00", lines.get(21));
+    }
+
+    @Test
+    @DisplayName("测试崩溃后从检查点续跑不重复付款")
+    void testResumeFromCheckpoint() throws IOException {
+        // 准备测试数据
+        saveClaims(10, ClaimStatus.APPROVED);
+        SettlementRun first = settlementService.runNow().get(0);
+
+        // 模拟崩溃：新批次写入了未提交的付款记录后中断
+        saveClaims(3, ClaimStatus.APPROVED);
+        String filePath = "target/test-settlements/CRASHED.txt";
+        Files.createDirectories(Paths.get("target/test-settlements"));
+        byte[] header = "H|CRASHED|2025-06-26T00:00\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(Paths.get(filePath), header);
+        Files.write(Paths.get(filePath), "D|UNCOMMITTED|POL000000000|张三|CZ3251|300.00\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        runRepository.save(SettlementRun.builder()
+                .runNumber("CRASHED")
+                .status(SettlementRun.Status.RUNNING)
+                .filePath(filePath)
+                .lastClaimId(first.getLastClaimId())
+                .fileOffset((long) header.length)
+                .claimCount(0L)
+                .totalAmount(BigDecimal.ZERO)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        // 执行续跑
+        SettlementRun resumed = settlementService.runNow().get(0);
+
+        // 验证结果：未提交的记录被截断，只结算新增的3条
+        assertEquals("CRASHED", resumed.getRunNumber());
+        assertEquals(3, resumed.getClaimCount());
+        List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        assertTrue(lines.stream().noneMatch(l -> l.contains("UNCOMMITTED")));
+        assertEquals(13, claimRepository.findByClaimStatus(ClaimStatus.PAID).size());
+    }
+
+    @Test
+    @DisplayName("测试检查点已提交但支付未记录时续跑补记支付且不重复付款")
+    void testResumeMarksCommittedPayoutLines() throws IOException {
+        // 准备测试数据：前两条已写入并随检查点提交，但申请仍为已批准（提交后记录支付前崩溃）
+        saveClaims(3, ClaimStatus.APPROVED);
+        List<TravelDelayClaim> approved = claimRepository.findByClaimStatus(ClaimStatus.APPROVED);
+        approved.sort(Comparator.comparing(TravelDelayClaim::getId));
+        String filePath = "target/test-settlements/UNMARKED.txt";
+        Files.createDirectories(Paths.get("target/test-settlements"));
+        StringBuilder content = new StringBuilder("H|UNMARKED|2025-06-26T00:00\n");
+        for (TravelDelayClaim claim : approved.subList(0, 2)) {
+            content.append("D|").append(claim.getClaimNumber()).append("|").append(claim.getPolicyNumber())
+                    .append("|张三|CZ3251|300.00\n");
+        }
+        byte[] committed = content.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(Paths.get(filePath), committed);
+        runRepository.save(SettlementRun.builder()
+                .runNumber("UNMARKED")
+                .status(SettlementRun.Status.RUNNING)
+                .filePath(filePath)
+                .lastClaimId(approved.get(1).getId())
+                .fileOffset((long) committed.length)
+                .claimCount(2L)
+                .totalAmount(new BigDecimal("600.00"))
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        // 执行续跑
+        SettlementRun resumed = settlementService.runNow().get(0);
+
+        // 验证结果：前两条补记为已支付，第三条正常结算，付款文件中每条申请只出现一次
+        assertEquals("UNMARKED", resumed.getRunNumber());
+        assertEquals(3, resumed.getClaimCount());
+        assertEquals(3, claimRepository.findByClaimStatus(ClaimStatus.PAID).size());
+        List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        assertEquals(3, lines.stream().filter(l -> l.startsWith("D|")).distinct().count());
+    }
+
+    @Test
+    @DisplayName("测试异步触发与同步执行并发时同一批次串行执行")
+    void testConcurrentTriggerAndRunNow() throws Exception {
+        // 准备测试数据
+        saveClaims(200, ClaimStatus.APPROVED);
+
+        // 执行：异步触发后立即同步执行，两者续跑同一批次
+        SettlementRun triggered = settlementService.trigger().get(0);
+        SettlementRun run = settlementService.runNow().get(0);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (runRepository.findById(triggered.getId()).orElseThrow().getStatus() != SettlementRun.Status.COMPLETED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // 验证结果：付款文件中每条申请只出现一次
+        assertEquals(triggered.getRunNumber(), run.getRunNumber());
+        SettlementRun completed = runRepository.findById(run.getId()).orElseThrow();
+        assertEquals(SettlementRun.Status.COMPLETED, completed.getStatus());
+        assertEquals(200, completed.getClaimCount());
+        List<String> lines = Files.readAllLines(Paths.get(completed.getFilePath()), StandardCharsets.UTF_8);
+        assertEquals(202, lines.size());
+        assertEquals(200, lines.stream().filter(l -> l.startsWith("D|")).distinct().count());
+        assertEquals(200, claimRepository.findByClaimStatus(ClaimStatus.PAID).size());
+    }
+
+    private void saveClaims(int count, ClaimStatus status) {
+        long base = claimRepository.count();
+        List<TravelDelayClaim> claims = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            claims.add(TravelDelayClaim.builder()
+                    .claimNumber("SETTLE" + status + (base + i))
+                    .policyholderName("张三")
+                    .policyNumber(String.format("POL%09d", base + i))
+                    .flightNumber("CZ3251")
+                    .claimedAmount(new BigDecimal("300.00"))
+                    .calculatedAmount(status == ClaimStatus.APPROVED ? new BigDecimal("300.00") : BigDecimal.ZERO)
+                    .claimStatus(status)
+                    .build());
+        }
+        claimRepository.saveAll(claims);
+    }
+}
@@ -0,0 +1,184 @@
+package com.insurance.claims.service.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.insurance.claims.dto.ClaimResponse;
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.model.SettlementRun;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+import com.insurance.claims.repository.ClaimOutboxRepository;
+import com.insurance.claims.repository.SettlementRunRepository;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+import com.insurance.claims.service.ClaimNumberGenerator;
+import com.insurance.claims.service.TravelDelayClaimService;
+import com.insurance.claims.service.settlement.SettlementService;
+
+/**
+ * 理赔申请水平分片测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shardtest",
+        "claims.sharding.enabled=true",
+        "claims.sharding.urls=" + ClaimShardingTest.SHARD_0 + "," + ClaimShardingTest.SHARD_1 + ","
+                + ClaimShardingTest.SHARD_2,
+        "claims.settlement.output-dir=target/test-settlements-sharded"
+})
+class ClaimShardingTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:shardtest0";
+    static final String SHARD_1 = "jdbc:h2:mem:shardtest1";
+    static final String SHARD_2 = "jdbc:h2:mem:shardtest2";
+
+    private static final int CLAIMS = 30;
+
+    @Autowired
+    private TravelDelayClaimService claimService;
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private ClaimShardRouter shardRouter;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Autowired
+    private SettlementRunRepository runRepository;
+
+    @Autowired
+    private ClaimOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.forEachShard(shard -> {
+            claimRepository.deleteAll();
+            runRepository.deleteAll();
+            outboxRepository.deleteAll();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("测试申请按保单号写入所属分片且单号编码分片号")
+    void testClaimsRoutedByPolicyNumber() throws SQLException {
+        // 准备测试数据
+        int[] expected = new int[3];
+
+        // 执行
+        List<String> claimNumbers = new ArrayList<>();
+        for (int i = 0; i < CLAIMS; i++) {
+            String policyNumber = String.format("POL%09d", 700000000 + i);
+            ClaimResponse response = claimService.processClaim(request(policyNumber));
+            int shard = shardRouter.shardOfPolicy(policyNumber);
+            expected[shard]++;
+            assertEquals(shard, ClaimNumberGenerator.shardOf(response.getClaimNumber()));
+            claimNumbers.add(response.getClaimNumber());
+        }
+
+        // 验证结果：每个分片物理上只保存属于它的申请，按单号与跨分片查询均能找到
+        assertEquals(expected[0], countRows(SHARD_0));
+        assertEquals(expected[1], countRows(SHARD_1));
+        assertEquals(expected[2], countRows(SHARD_2));
+        assertTrue(expected[0] > 0 && expected[1] > 0 && expected[2] > 0);
+        for (String claimNumber : claimNumbers) {
+            assertTrue(claimService.getClaimByNumber(claimNumber).isPresent());
+        }
+        assertEquals(CLAIMS, claimService.getTodayClaims().size());
+        Map<ClaimStatus, Long> counts = claimService.getStatusCounts();
+        assertEquals(CLAIMS, counts.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(1, claimService.getClaimsByPolicyNumber("POL700000007").size());
+    }
+
+    @Test
+    @DisplayName("测试结算按分片分别生成批次")
+    void testSettlementPerShard() {
+        // 准备测试数据
+        for (int i = 0; i < CLAIMS; i++) {
+            claimService.processClaim(request(String.format("POL%09d", 710000000 + i)));
+        }
+        long approved = claimService.getStatusCounts().getOrDefault(ClaimStatus.APPROVED, 0L);
+
+        // 执行
+        List<SettlementRun> runs = settlementService.runNow();
+
+        // 验证结果
+        assertEquals(3, runs.size());
+        long settled = 0;
+        for (int shard = 0; shard < runs.size(); shard++) {
+            SettlementRun run = runs.get(shard);
+            assertEquals(SettlementRun.Status.COMPLETED, run.getStatus());
+            assertTrue(run.getRunNumber().endsWith(String.format("-S%02d", shard)));
+            assertEquals(run.getId(), settlementService.getRun(run.getRunNumber()).orElseThrow().getId());
+            settled += run.getClaimCount();
+        }
+        assertEquals(approved, settled);
+        assertEquals(approved, claimService.getStatusCounts().getOrDefault(ClaimStatus.PAID, 0L));
+        assertEquals(3, settlementService.getRecentRuns().size());
+    }
+
+    @Test
+    @DisplayName("测试同一事务访问多个分片时抛出异常")
+    void testCrossShardTransactionRejected() {
+        // 准备测试数据
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        // 执行并验证
+        assertThrows(IllegalStateException.class, () -> template.executeWithoutResult(status -> {
+            shardRouter.onShard(0, claimRepository::findMaxId);
+            shardRouter.onShard(1, claimRepository::findMaxId);
+        }));
+    }
+
+    private static TravelDelayClaimRequest request(String policyNumber) {
+        return TravelDelayClaimRequest.builder()
+                .policyholderName("分片客户")
+                .policyNumber(policyNumber)
+                .flightNumber("CA1501")
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 0))
+                .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, 0))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal("300.00"))
+                .build();
+    }
+
+    private static int countRows(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM travel_delay_claim")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
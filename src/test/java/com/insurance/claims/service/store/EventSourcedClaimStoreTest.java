@@ -0,0 +1,261 @@
+package com.insurance.claims.service.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.ClaimReasonCode;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.model.TravelDelayClaim.ClaimStatus;
+
+/**
+ * 事件溯源理赔存储测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class EventSourcedClaimStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("测试并发提交、决策、审核与支付事件折叠为当前状态")
+    void testLifecycleFolding() throws Exception {
+        // 准备测试数据
+        EventSourcedClaimStore store = open(1000);
+        List<TravelDelayClaim> submitted = submitConcurrently(store, 40);
+
+        // 执行：偶数号批准、奇数号转人工审核
+        for (TravelDelayClaim claim : submitted) {
+            decide(store, claim);
+        }
+        TravelDelayClaim pending = store.findByClaimNumber("ES0001").orElseThrow();
+        pending.transitionTo(ClaimStatus.APPROVED);
+        pending.setReasonCode(ClaimReasonCode.MANUAL_APPROVED);
+        store.review(pending);
+
+        // 验证结果
+        assertEquals(40, store.findByClaimDateBetween(LocalDateTime.now().minusHours(1), LocalDateTime.now()).size());
+        assertEquals(2, store.findByPolicyNumber("POL000000003").size());
+        assertEquals(19, store.findClaimsRequiringReview().size());
+        assertTrue(store.existsDuplicate("POL000000003", "MU5103", LocalDateTime.of(2025, 6, 26, 8, 3)));
+        assertFalse(store.existsDuplicate("POL000000003", "MU5103", LocalDateTime.of(2025, 6, 27, 8, 3)));
+
+        TravelDelayClaim reviewed = store.findByClaimNumber("ES0001").orElseThrow();
+        assertEquals(ClaimStatus.APPROVED, reviewed.getClaimStatus());
+        assertEquals(2L, reviewed.getVersion());
+        assertEquals("人工审核通过", reviewed.getApprovalResult());
+        assertEquals("延误6小时，符合4-8小时理赔条件",
+                store.findByClaimNumber("ES0002").orElseThrow().getApprovalResult());
+
+        List<Object[]> chunk = store.findSettlementChunk(0L, 100);
+        assertEquals(21, chunk.size());
+        List<Long> ids = new ArrayList<>();
+        chunk.forEach(row -> ids.add((Long) row[0]));
+        assertEquals(21, store.markPaid(ids, 7L, LocalDateTime.now()));
+        assertEquals(0, store.markPaid(ids, 7L, LocalDateTime.now()));
+        assertTrue(store.findSettlementChunk(0L, 100).isEmpty());
+        assertEquals(7L, store.findByClaimNumber("ES0000").orElseThrow().getSettlementRunId());
+        assertEquals(102L, store.stats().get("appendedEvents"));
+        store.close();
+    }
+
+    @Test
+    @DisplayName("测试版本不一致的审核抛出乐观锁异常")
+    void testStaleVersionRejected() throws Exception {
+        // 准备测试数据
+        EventSourcedClaimStore store = open(1000);
+        TravelDelayClaim claim = store.submit(claim(1));
+        TravelDelayClaim first = store.findByClaimNumber(claim.getClaimNumber()).orElseThrow();
+        TravelDelayClaim second = store.findByClaimNumber(claim.getClaimNumber()).orElseThrow();
+
+        // 执行
+        first.transitionTo(ClaimStatus.APPROVED);
+        store.review(first);
+        second.transitionTo(ClaimStatus.REJECTED);
+
+        // 验证结果
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> store.review(second));
+        assertEquals(ClaimStatus.APPROVED, store.findByClaimNumber(claim.getClaimNumber()).orElseThrow()
+                .getClaimStatus());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("测试重启后由快照与日志重建相同状态并截断不完整的尾部记录")
+    void testRecoverFromSnapshotAndLog() throws Exception {
+        // 准备测试数据：快照间隔10，共产生60个事件
+        EventSourcedClaimStore store = open(10);
+        for (TravelDelayClaim claim : submitConcurrently(store, 30)) {
+            decide(store, claim);
+        }
+        List<TravelDelayClaim> before = store.findByClaimDateBetween(LocalDateTime.now().minusHours(1),
+                LocalDateTime.now());
+        store.close();
+        appendGarbageToLastSegment();
+
+        // 执行
+        EventSourcedClaimStore reopened = open(10);
+
+        // 验证结果
+        assertTrue(Files.exists(directory.resolve("snapshot.json")));
+        assertTrue((Long) reopened.stats().get("snapshotSequence") > 0);
+        assertEquals(before, reopened.findByClaimDateBetween(LocalDateTime.now().minusHours(1), LocalDateTime.now()));
+        assertEquals(30L, reopened.findMaxId());
+        TravelDelayClaim next = reopened.submit(claim(99));
+        assertEquals(31L, next.getId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("测试事务中标记支付时支付事件在提交后才追加，回滚时申请保持已批准")
+    void testMarkPaidDeferredUntilCommit() throws Exception {
+        // 准备测试数据
+        EventSourcedClaimStore store = open(1000);
+        for (TravelDelayClaim claim : submitConcurrently(store, 4)) {
+            decide(store, claim);
+        }
+        List<Long> ids = new ArrayList<>();
+        store.findSettlementChunk(0L, 100).forEach(row -> ids.add((Long) row[0]));
+        assertEquals(2, ids.size());
+
+        // 执行：第一次事务回滚，第二次事务提交
+        List<TransactionSynchronization> rolledBack = inTransaction(() -> assertEquals(2,
+                store.markPaid(ids, 7L, LocalDateTime.now())));
+        rolledBack.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(2, store.findSettlementChunk(0L, 100).size());
+
+        List<TransactionSynchronization> committed = inTransaction(() -> {
+            assertEquals(2, store.markPaid(ids, 8L, LocalDateTime.now()));
+            assertEquals(2, store.findSettlementChunk(0L, 100).size());
+        });
+        committed.forEach(TransactionSynchronization::afterCommit);
+
+        // 验证结果
+        assertTrue(store.findSettlementChunk(0L, 100).isEmpty());
+        assertEquals(ClaimStatus.PAID, store.findByClaimNumber("ES0000").orElseThrow().getClaimStatus());
+        assertEquals(8L, store.findByClaimNumber("ES0000").orElseThrow().getSettlementRunId());
+        assertEquals(10L, store.stats().get("appendedEvents"));
+        store.close();
+    }
+
+    @Test
+    @DisplayName("测试提交监听失败不影响已落盘事件的写入结果")
+    void testListenerFailureDoesNotFailDurableAppend() throws Exception {
+        // 准备测试数据
+        ClaimEventLog log = new ClaimEventLog(directory, 16, events -> {
+            throw new IllegalStateException("监听失败");
+        });
+        log.replay(0, (sequence, payload) -> { });
+        log.start();
+
+        // 执行
+        log.append(ClaimEvent.submitted(claim(1)), new byte[] { '{', '}' }).join();
+
+        // 验证结果
+        assertEquals(1L, log.appended());
+        assertEquals(1L, log.listenerFailures());
+        log.close();
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private EventSourcedClaimStore open(long snapshotInterval) throws IOException {
+        EventSourcedClaimStore store = new EventSourcedClaimStore(Jackson2ObjectMapperBuilder.json().build(),
+                directory.toString(), 64, snapshotInterval);
+        store.init();
+        return store;
+    }
+
+    private static List<TravelDelayClaim> submitConcurrently(EventSourcedClaimStore store, int count)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TravelDelayClaim>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                TravelDelayClaim claim = claim(i);
+                futures.add(executor.submit(() -> store.submit(claim)));
+            }
+            List<TravelDelayClaim> result = new ArrayList<>();
+            for (Future<TravelDelayClaim> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void decide(EventSourcedClaimStore store, TravelDelayClaim claim) {
+        int index = Integer.parseInt(claim.getClaimNumber().substring(2));
+        claim.setCalculatedAmount(new BigDecimal("300.00"));
+        claim.setRiskLevel(ClaimDecision.RiskLevel.LOW);
+        claim.setProcessDate(LocalDateTime.now());
+        if (index % 2 == 0) {
+            claim.transitionTo(ClaimStatus.APPROVED);
+            claim.recordReason(ClaimReasonCode.DELAY_WITHIN_RANGE, ClaimReasonCode.params(6, 4, 8), null, null);
+        } else {
+            claim.recordReason(ClaimReasonCode.ABNORMAL_DELAY, ClaimReasonCode.params(6),
+                    ClaimReasonCode.REVIEW_ABNORMAL_DELAY, null);
+        }
+        store.decide(claim);
+    }
+
+    private static TravelDelayClaim claim(int index) {
+        return TravelDelayClaim.builder()
+                .claimNumber(String.format("ES%04d", index))
+                .policyholderName("测试客户" + index)
+                .policyNumber(String.format("POL%09d", index % 20))
+                .flightNumber("MU" + (5100 + index))
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, index % 60))
+                .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, index % 60))
+                .delayHours(6)
+                .claimedAmount(new BigDecimal("300.00"))
+                .build();
+    }
+
+    private void appendGarbageToLastSegment() throws IOException {
+        Path last;
+        try (Stream<Path> files = Files.list(directory)) {
+            last = files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted()
+                    .reduce((a, b) -> b).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, 7, 7 }));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.insurance.claims.service.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.model.ClaimDecision;
+import com.insurance.claims.model.TravelDelayClaim;
+import com.insurance.claims.service.DroolsRuleEngineService;
+import com.insurance.claims.service.SimpleRuleEngineService;
+import com.insurance.claims.service.rules.RuleSetRegistry;
+
+/**
+ * 规则执行追踪测试
+ * 
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class RuleTraceTest {
+
+    @Test
+    @DisplayName("测试未开启追踪时不产生追踪记录")
+    void testTraceOffByDefault() {
+        // 准备测试数据
+        RuleProfiler profiler = new RuleProfiler(true, 0.0);
+        SimpleRuleEngineService engine = new SimpleRuleEngineService();
+
+        // 执行
+        RuleTrace trace = profiler.start(engine.engineName(), false);
+        ClaimDecision decision = engine.executeClaimRules(claim("TRACE001", 6), trace);
+        profiler.finish(trace, decision);
+
+        // 验证结果
+        assertNull(trace);
+        assertTrue(decision.getRuleDetails().isEmpty());
+        assertEquals(0L, profiler.profiles().get("tracedExecutions"));
+    }
+
+    @Test
+    @DisplayName("测试简单规则引擎记录评估与触发的规则")
+    void testSimpleEngineTrace() {
+        // 准备测试数据
+        RuleProfiler profiler = new RuleProfiler(true, 0.0);
+        SimpleRuleEngineService engine = new SimpleRuleEngineService();
+
+        // 执行
+        RuleTrace trace = profiler.start(engine.engineName(), true);
+        ClaimDecision decision = engine.executeClaimRules(claim("TRACE002", 6), trace);
+        profiler.finish(trace, decision);
+
+        // 验证结果：前两条延误规则评估未匹配，4-8小时规则匹配并触发
+        List<RuleTrace.Entry> entries = trace.entries();
+        assertEquals(RuleTrace.Outcome.EVALUATED, outcomeOf(entries, "延误不足4小时拒赔规则"));
+        assertEquals(RuleTrace.Outcome.FIRED, outcomeOf(entries, "延误4-8小时理赔规则"));
+        assertTrue(decision.getRuleDetails().stream().anyMatch(d -> d.startsWith("延误4-8小时理赔规则: 已触发")));
+        assertEquals(1L, profileOf(profiler, "延误4-8小时理赔规则").get("fires"));
+    }
+
+    @Test
+    @DisplayName("测试Drools规则执行记录匹配、触发与事实修改")
+    void testDroolsTrace() {
+        // 准备测试数据：延误30小时同时满足异常延误与8小时以上规则
+        RuleProfiler profiler = new RuleProfiler(true, 0.0);
+        DroolsRuleEngineService engine = droolsEngine();
+
+        // 执行
+        RuleTrace trace = profiler.start(engine.engineName(), true);
+        ClaimDecision decision = engine.executeClaimRules(claim("TRACE003", 30), trace);
+        profiler.finish(trace, decision);
+
+        // 验证结果：优先级更高的异常延误规则决定结果，8小时以上规则不再触发
+        assertEquals("异常延误审核规则", decision.getRuleName());
+        assertTrue(decision.isRequiresManualReview());
+        assertEquals(RuleTrace.Outcome.FIRED, outcomeOf(trace.entries(), "异常延误时长需要人工审核"));
+        assertEquals(1L, profileOf(profiler, "异常延误时长需要人工审核").get("matches"));
+        assertEquals(1L, profileOf(profiler, "异常延误时长需要人工审核").get("fires"));
+        assertEquals(1L, profileOf(profiler, "异常延误时长需要人工审核").get("modifications"));
+        assertEquals(0L, profileOf(profiler, "延误8小时以上理赔600元").get("fires"));
+    }
+
+    @Test
+    @DisplayName("测试Drools规则与简单规则引擎结果一致")
+    void testDroolsMatchesSimpleEngine() {
+        // 准备测试数据
+        SimpleRuleEngineService simple = new SimpleRuleEngineService();
+        DroolsRuleEngineService drools = droolsEngine();
+
+        for (int hours : new int[] { 2, 4, 7, 8, 24, 30 }) {
+            // 执行
+            ClaimDecision expected = simple.executeClaimRules(claim("SAME" + hours, hours), null);
+            ClaimDecision actual = drools.executeClaimRules(claim("SAME" + hours, hours), null);
+
+            // 验证结果
+            assertEquals(expected.isEligible(), actual.isEligible(), "延误" + hours + "小时");
+            assertEquals(0, expected.getCompensationAmount().compareTo(actual.getCompensationAmount()),
+                    "延误" + hours + "小时");
+        }
+    }
+
+    private static DroolsRuleEngineService droolsEngine() {
+        return new DroolsRuleEngineService(
+                new RuleSetRegistry("rules/core/claim-core.drl", "rules/products", "domestic", Map.of()));
+    }
+
+    private static RuleTrace.Outcome outcomeOf(List<RuleTrace.Entry> entries, String ruleName) {
+        RuleTrace.Outcome last = null;
+        for (RuleTrace.Entry entry : entries) {
+            if (entry.getRuleName().equals(ruleName)) {
+                last = entry.getOutcome();
+            }
+        }
+        return last;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> profileOf(RuleProfiler profiler, String ruleName) {
+        List<Map<String, Object>> rules = (List<Map<String, Object>>) profiler.profiles().get("rules");
+        return rules.stream()
+                .filter(rule -> ruleName.equals(rule.get("rule")))
+                .findFirst()
+                .orElse(Map.of("fires", 0L, "overrides", 0L));
+    }
+
+    private static TravelDelayClaim claim(String claimNumber, int delayHours) {
+        LocalDateTime scheduled = LocalDateTime.of(2025, 6, 26, 8, 0);
+        return TravelDelayClaim.builder()
+                .claimNumber(claimNumber)
+                .policyholderName("张三")
+                .policyNumber("POL123456789")
+                .flightNumber("CA1234")
+                .scheduledDeparture(scheduled)
+                .actualDeparture(scheduled.plusHours(delayHours))
+                .delayHours(delayHours)
+                .claimedAmount(delayHours >= 8 ? new BigDecimal("600.00") : new BigDecimal("300.00"))
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.insurance.claims.service.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+import com.insurance.claims.exception.ClaimValidationException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * 申请校验拒绝路径性能测试
+ * 对比原流程（注解校验 + 抛出参数异常并包装为运行时异常）与单次掩码校验处理非法申请的吞吐量。
+ * 默认构建不执行，运行方式：mvn -Pbenchmark test
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@Tag("benchmark")
+class ClaimValidatorBenchmarkTest {
+
+    private static final int ITERATIONS = 500_000;
+
+    @Test
+    @DisplayName("对比非法申请在注解校验加异常与掩码校验下的吞吐量")
+    void compareRejectPath() {
+        // 准备测试数据：保单号与航班号格式错误、金额超限
+        TravelDelayClaimRequest request = TravelDelayClaimRequest.builder()
+                .policyholderName("张三")
+                .policyNumber("POL12345")
+                .productCode("DOMESTIC")
+                .flightNumber("C3251")
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 30))
+                .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, 30))
+                .claimedAmount(new BigDecimal("12000.00"))
+                .build();
+        ClaimValidator claimValidator = new ClaimValidator();
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator beanValidator = factory.getValidator();
+            assertEquals(4, beanValidator.validate(request).size());
+            assertEquals(4, Long.bitCount(claimValidator.validate(request)));
+
+            // 执行
+            long sink = 0;
+            double beanRate = 0;
+            double maskRate = 0;
+            double exceptionRate = 0;
+            for (int pass = 0; pass < 3; pass++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    try {
+                        Set<ConstraintViolation<TravelDelayClaimRequest>> violations = beanValidator.validate(request);
+                        if (!violations.isEmpty()) {
+                            throw new IllegalArgumentException("理赔申请数据不完整或格式错误: " + violations.size());
+                        }
+                    } catch (IllegalArgumentException e) {
+                        RuntimeException wrapped = new RuntimeException("处理理赔申请失败: " + e.getMessage(), e);
+                        sink += wrapped.getStackTrace().length;
+                    }
+                }
+                beanRate = rate(start);
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    sink += claimValidator.validate(request);
+                }
+                maskRate = rate(start);
+
+                start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    try {
+                        throw new ClaimValidationException(claimValidator.validate(request));
+                    } catch (ClaimValidationException e) {
+                        sink += e.getErrors();
+                    }
+                }
+                exceptionRate = rate(start);
+            }
+
+            // 验证结果
+            System.out.printf("注解校验+异常包装      %,12.0f 次/秒%n", beanRate);
+            System.out.printf("掩码校验               %,12.0f 次/秒%n", maskRate);
+            System.out.printf("掩码校验+无栈校验异常  %,12.0f 次/秒%n", exceptionRate);
+            System.out.println("sink=" + sink);
+        }
+    }
+
+    private static double rate(long startNanos) {
+        return ITERATIONS / ((System.nanoTime() - startNanos) / 1e9);
+    }
+}
@@ -0,0 +1,134 @@
+package com.insurance.claims.service.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.insurance.claims.dto.TravelDelayClaimRequest;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * 理赔申请校验器测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+class ClaimValidatorTest {
+
+    private static final ValidatorFactory FACTORY = Validation.buildDefaultValidatorFactory();
+
+    private final ClaimValidator claimValidator = new ClaimValidator();
+    private final Validator beanValidator = FACTORY.getValidator();
+
+    @AfterAll
+    static void closeFactory() {
+        FACTORY.close();
+    }
+
+    @Test
+    @DisplayName("测试合法申请校验通过")
+    void testValidRequest() {
+        // 执行
+        ClaimValidation validation = claimValidator.check(validRequest());
+
+        // 验证结果
+        assertTrue(validation.isValid());
+        assertEquals(0, validation.getErrors());
+    }
+
+    @Test
+    @DisplayName("测试多个字段错误一次校验全部返回")
+    void testCollectsAllErrors() {
+        // 准备测试数据
+        TravelDelayClaimRequest request = validRequest();
+        request.setPolicyNumber("POL12345");
+        request.setFlightNumber(null);
+        request.setClaimedAmount(new BigDecimal("0"));
+
+        // 执行
+        ClaimValidation validation = claimValidator.check(request);
+
+        // 验证结果
+        assertEquals(List.of(ClaimValidationError.POLICY_NUMBER_FORMAT, ClaimValidationError.FLIGHT_NUMBER_BLANK,
+                ClaimValidationError.CLAIMED_AMOUNT_TOO_SMALL), validation.errorCodes());
+        assertEquals("保单号格式不正确，应为POL开头后跟9位数字", validation.fieldErrors().get("policyNumber"));
+    }
+
+    @Test
+    @DisplayName("测试校验结果与请求上的校验注解一致")
+    void testConsistentWithBeanValidation() {
+        // 准备测试数据：逐项修改合法申请
+        List<Consumer<TravelDelayClaimRequest>> mutations = List.of(
+                r -> r.setPolicyholderName(null),
+                r -> r.setPolicyholderName("   "),
+                r -> r.setPolicyholderName("张".repeat(51)),
+                r -> r.setPolicyNumber(""),
+                r -> r.setPolicyNumber("POL12345678X"),
+                r -> r.setPolicyNumber("pol123456789"),
+                r -> r.setPolicyNumber("POL1234567890"),
+                r -> r.setProductCode("A"),
+                r -> r.setProductCode("INTL-E"),
+                r -> r.setProductCode("INTL-EU"),
+                r -> r.setProductCode("INTL_2-EU12345678"),
+                r -> r.setProductCode("INTL-EU-X1"),
+                r -> r.setProductCode("A" + "B".repeat(19)),
+                r -> r.setProductCode("A" + "B".repeat(20)),
+                r -> r.setProductCode("domestic"),
+                r -> r.setFlightNumber("CZ32"),
+                r -> r.setFlightNumber("CZ32511"),
+                r -> r.setFlightNumber("C23251"),
+                r -> r.setFlightNumber("MU1234"),
+                r -> r.setScheduledDeparture(null),
+                r -> r.setActualDeparture(null),
+                r -> r.setDelayReason("原".repeat(201)),
+                r -> r.setClaimedAmount(new BigDecimal("-5")),
+                r -> r.setClaimedAmount(new BigDecimal("0.001")),
+                r -> r.setClaimedAmount(new BigDecimal("300.500")),
+                r -> r.setClaimedAmount(new BigDecimal("9999.99")),
+                r -> r.setClaimedAmount(new BigDecimal("10000")),
+                r -> r.setClaimedAmount(new BigDecimal("123456")));
+
+        for (Consumer<TravelDelayClaimRequest> mutation : mutations) {
+            TravelDelayClaimRequest request = validRequest();
+            mutation.accept(request);
+
+            // 执行
+            Set<String> expected = beanValidator.validate(request).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Set<String> actual = claimValidator.check(request).errorCodes().stream()
+                    .map(error -> error.getField() + ": " + error.getMessage())
+                    .collect(Collectors.toCollection(TreeSet::new));
+
+            // 验证结果
+            assertEquals(expected, actual, request.toString());
+        }
+    }
+
+    private static TravelDelayClaimRequest validRequest() {
+        return TravelDelayClaimRequest.builder()
+                .policyholderName("张三")
+                .policyNumber("POL123456789")
+                .productCode("DOMESTIC")
+                .flightNumber("CZ3251")
+                .scheduledDeparture(LocalDateTime.of(2025, 6, 26, 8, 30))
+                .actualDeparture(LocalDateTime.of(2025, 6, 26, 14, 30))
+                .delayReason("天气原因")
+                .claimedAmount(new BigDecimal("300.00"))
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.insurance.claims.service.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.insurance.claims.actuator.ClaimWarmupHealthIndicator;
+import com.insurance.claims.repository.TravelDelayClaimRepository;
+
+/**
+ * 启动预热测试
+ *
+ * @author AI Assistant
+ * @since 2025-06-26
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmuptest",
+        "claims.warmup.enabled=true",
+        "claims.warmup.iterations=600"
+})
+class ClaimWarmupRunnerTest {
+
+    @Autowired
+    private ClaimWarmupRunner warmupRunner;
+
+    @Autowired
+    private ClaimWarmupHealthIndicator warmupHealthIndicator;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private TravelDelayClaimRepository claimRepository;
+
+    @Test
+    @DisplayName("测试预热在就绪前完成且不写入数据库")
+    void testWarmupCompletesBeforeReady() {
+        // 验证结果
+        assertEquals(ClaimWarmupRunner.State.COMPLETED, warmupRunner.getState());
+        assertEquals(600, warmupRunner.stats().get("iterations"));
+        assertEquals(Status.UP, warmupHealthIndicator.health().getStatus());
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+        assertEquals(0, claimRepository.count());
+    }
+}